@@ -3,32 +3,68 @@ package com.amazon.ata.music.playlist.service.activity;
 import com.amazon.ata.music.playlist.service.models.requests.AddSongToPlaylistRequest;
 import com.amazon.ata.music.playlist.service.models.results.AddSongToPlaylistResult;
 import com.amazon.ata.music.playlist.service.models.SongModel;
-import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackDao;
-import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.store.AlbumTrackStore;
+import com.amazon.ata.music.playlist.service.store.AsyncAlbumTrackStore;
+import com.amazon.ata.music.playlist.service.store.AsyncPlaylistStore;
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackKey;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistSongDao;
+import com.amazon.ata.music.playlist.service.dynamodb.SongStorageMode;
 import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
 import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
 import com.amazon.ata.music.playlist.service.converters.ModelConverter;
 import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
-import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.util.Futures;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 public class AddSongToPlaylistActivity implements RequestHandler<AddSongToPlaylistRequest, AddSongToPlaylistResult> {
     private final Logger log = LogManager.getLogger();
-    private final PlaylistDao playlistDao;
-    private final AlbumTrackDao albumTrackDao;
+    private final PlaylistStore playlistDao;
+    private final AlbumTrackStore albumTrackDao;
+    private final PlaylistSongDao playlistSongDao;
+    private final SongStorageMode songStorageMode;
+    private final AsyncPlaylistStore asyncPlaylistDao;
+    private final AsyncAlbumTrackStore asyncAlbumTrackDao;
     private final ModelConverter modelConverter;
 
-    public AddSongToPlaylistActivity(PlaylistDao playlistDao, AlbumTrackDao albumTrackDao) {
+    public AddSongToPlaylistActivity(PlaylistStore playlistDao, AlbumTrackStore albumTrackDao) {
+        this(playlistDao, albumTrackDao, null, SongStorageMode.EMBEDDED);
+    }
+
+    public AddSongToPlaylistActivity(PlaylistStore playlistDao, AlbumTrackStore albumTrackDao,
+                                     PlaylistSongDao playlistSongDao, SongStorageMode songStorageMode) {
+        // reads run on the calling thread, one after the other
+        this(playlistDao, albumTrackDao, playlistSongDao, songStorageMode, Runnable::run);
+    }
+
+    /**
+     * Instantiates a new AddSongToPlaylistActivity object.
+     *
+     * @param playlistDao PlaylistStore to access playlists.
+     * @param albumTrackDao AlbumTrackStore to access the album track catalog.
+     * @param playlistSongDao PlaylistSongDao to access the playlist_songs table in NORMALIZED mode.
+     * @param songStorageMode where the playlist's songs are stored.
+     * @param readExecutor runs the playlist and album track reads that NORMALIZED mode makes concurrently.
+     */
+    public AddSongToPlaylistActivity(PlaylistStore playlistDao, AlbumTrackStore albumTrackDao,
+                                     PlaylistSongDao playlistSongDao, SongStorageMode songStorageMode,
+                                     Executor readExecutor) {
         this.playlistDao = playlistDao;
         this.albumTrackDao = albumTrackDao;
+        this.playlistSongDao = playlistSongDao;
+        this.songStorageMode = songStorageMode;
+        this.asyncPlaylistDao = new AsyncPlaylistStore(playlistDao, readExecutor);
+        this.asyncAlbumTrackDao = new AsyncAlbumTrackStore(albumTrackDao, readExecutor);
         this.modelConverter = new ModelConverter();
     }
 
@@ -40,39 +76,54 @@ public class AddSongToPlaylistActivity implements RequestHandler<AddSongToPlayli
             throw new IllegalArgumentException("Request cannot be null");
         }
 
-        // Retrieve the playlist, throw exception if not found
-        Playlist playlist = playlistDao.getPlaylist(addSongToPlaylistRequest.getId());
-        if (playlist == null) {
-            throw new PlaylistNotFoundException("Playlist not found with ID: " + addSongToPlaylistRequest.getId());
-        }
+        String playlistId = addSongToPlaylistRequest.getId();
 
-        // Retrieve the album track, throw exception if not found
-        AlbumTrack albumTrack = albumTrackDao.getAlbumTrack(
-                addSongToPlaylistRequest.getAsin(),
-                addSongToPlaylistRequest.getTrackNumber()
-        );
+        // In NORMALIZED mode the playlist summary is read up front, independently of the album track, so both
+        // reads are made at once. Otherwise the album track is read on this thread
+        Playlist playlist = null;
+        AlbumTrack albumTrack;
+        if (songStorageMode == SongStorageMode.NORMALIZED) {
+            CompletableFuture<Playlist> playlistRead = asyncPlaylistDao.getPlaylistSummary(playlistId);
+            CompletableFuture<AlbumTrack> albumTrackRead = asyncAlbumTrackDao.getAlbumTrack(
+                    addSongToPlaylistRequest.getAsin(), addSongToPlaylistRequest.getTrackNumber());
+            // Retrieve the playlist first, so a missing playlist is reported before a missing album track
+            playlist = Futures.join(playlistRead);
+            albumTrack = Futures.join(albumTrackRead);
+        } else {
+            albumTrack = albumTrackDao.getAlbumTrack(addSongToPlaylistRequest.getAsin(),
+                    addSongToPlaylistRequest.getTrackNumber());
+        }
         if (albumTrack == null) {
+            if (playlist == null) {
+                // throws PlaylistNotFoundException first if the playlist is missing too
+                playlistDao.getPlaylistSummary(playlistId);
+            }
             throw new AlbumTrackNotFoundException("Album track not found with ASIN: " +
                     addSongToPlaylistRequest.getAsin() + " and Track Number: " +
                     addSongToPlaylistRequest.getTrackNumber());
         }
 
-        // Create a new list of songs if the current list is null
-        List<AlbumTrack> songList = (playlist.getSongList() != null)
-                ? new ArrayList<>(playlist.getSongList())
-                : new ArrayList<>();
-
-        // Add the song based on queueNext parameter
-        if (addSongToPlaylistRequest.isQueueNext()) {
-            songList.add(0, albumTrack);
+        List<AlbumTrack> songList;
+        if (songStorageMode == SongStorageMode.NORMALIZED) {
+            // One transaction puts the song into playlist_songs and increments the playlist item's songCount
+            playlistDao.addPlaylistSongs(playlist.getId(), Collections.singletonList(albumTrack),
+                    Collections.singletonList(addSongToPlaylistRequest.isQueueNext()));
+            songList = playlistSongDao.getPlaylistSongs(playlist.getId());
         } else {
-            songList.add(albumTrack);
-        }
+            // In REFERENCE mode only the song's keys are stored
+            AlbumTrack songToStore = songStorageMode == SongStorageMode.REFERENCE
+                    ? AlbumTrackKey.of(albumTrack).toKeyObject()
+                    : albumTrack;
 
-        playlist.setSongList(songList);
+            // One UpdateItem adds the song server-side, throws PlaylistNotFoundException if not found
+            playlist = addSongToPlaylistRequest.isQueueNext()
+                    ? playlistDao.prependSong(playlistId, songToStore)
+                    : playlistDao.appendSong(playlistId, songToStore);
 
-        // Save the updated playlist
-        playlistDao.savePlaylist(playlist);
+            songList = songStorageMode == SongStorageMode.REFERENCE
+                    ? albumTrackDao.hydrateAlbumTracks(playlist.getSongList())
+                    : playlist.getSongList();
+        }
 
         // Convert the updated song list to SongModels
         List<SongModel> updatedSongList = songList.stream()
@@ -83,4 +134,4 @@ public class AddSongToPlaylistActivity implements RequestHandler<AddSongToPlayli
                 .withSongList(updatedSongList)
                 .build();
     }
-}
\ No newline at end of file
+}
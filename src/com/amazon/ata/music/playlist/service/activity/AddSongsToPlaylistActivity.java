@@ -0,0 +1,204 @@
+package com.amazon.ata.music.playlist.service.activity;
+
+import com.amazon.ata.music.playlist.service.models.requests.AddSongsToPlaylistRequest;
+import com.amazon.ata.music.playlist.service.models.results.AddSongsToPlaylistResult;
+import com.amazon.ata.music.playlist.service.models.SongFailureModel;
+import com.amazon.ata.music.playlist.service.models.SongModel;
+import com.amazon.ata.music.playlist.service.models.SongToAddModel;
+import com.amazon.ata.music.playlist.service.store.AlbumTrackStore;
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackKey;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistSongDao;
+import com.amazon.ata.music.playlist.service.dynamodb.SongStorageMode;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.converters.ModelConverter;
+import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the AddSongsToPlaylistActivity for the MusicPlaylistService's AddSongsToPlaylist API.
+ *
+ * This API allows the customer to add many songs to one of their saved playlists with a single
+ * read and a single write of the playlist.
+ */
+public class AddSongsToPlaylistActivity implements RequestHandler<AddSongsToPlaylistRequest, AddSongsToPlaylistResult> {
+    private final Logger log = LogManager.getLogger();
+    private final PlaylistStore playlistDao;
+    private final AlbumTrackStore albumTrackDao;
+    private final PlaylistSongDao playlistSongDao;
+    private final SongStorageMode songStorageMode;
+    private final ModelConverter modelConverter;
+
+    /**
+     * Instantiates a new AddSongsToPlaylistActivity object that stores songs embedded in the playlist item.
+     *
+     * @param playlistDao PlaylistStore to access playlists.
+     * @param albumTrackDao AlbumTrackStore to access the album track catalog.
+     */
+    public AddSongsToPlaylistActivity(PlaylistStore playlistDao, AlbumTrackStore albumTrackDao) {
+        this(playlistDao, albumTrackDao, null, SongStorageMode.EMBEDDED);
+    }
+
+    /**
+     * Instantiates a new AddSongsToPlaylistActivity object.
+     *
+     * @param playlistDao PlaylistStore to access playlists.
+     * @param albumTrackDao AlbumTrackStore to access the album track catalog.
+     * @param playlistSongDao PlaylistSongDao to access the playlist_songs table in NORMALIZED mode.
+     * @param songStorageMode where the playlist's songs are stored.
+     */
+    public AddSongsToPlaylistActivity(PlaylistStore playlistDao, AlbumTrackStore albumTrackDao,
+                                      PlaylistSongDao playlistSongDao, SongStorageMode songStorageMode) {
+        this.playlistDao = playlistDao;
+        this.albumTrackDao = albumTrackDao;
+        this.playlistSongDao = playlistSongDao;
+        this.songStorageMode = songStorageMode;
+        this.modelConverter = new ModelConverter();
+    }
+
+    /**
+     * This method handles the incoming request by resolving every requested album track in batches, then
+     * retrieving the playlist, applying them in request order and persisting the playlist once. If another
+     * writer saves the playlist in between, the songs are applied again to the newer playlist.
+     * <p>
+     * Songs with queueNext set are placed at the front of the playlist, the others at the end, exactly as
+     * if each song had been added by its own AddSongToPlaylist call.
+     * <p>
+     * If the playlist does not exist, this should throw a PlaylistNotFoundException.
+     * <p>
+     * Songs that do not match an album track are skipped and reported in the result's failures.
+     *
+     * @param addSongsToPlaylistRequest request object containing the playlist ID and the ordered songs to add
+     * @return addSongsToPlaylistResult result object containing the playlist's updated list of
+     *                                  API defined {@link SongModel}s and any per-song failures
+     */
+    @Override
+    public AddSongsToPlaylistResult handleRequest(final AddSongsToPlaylistRequest addSongsToPlaylistRequest,
+                                                  Context context) {
+        log.info("Received AddSongsToPlaylistRequest {} ", addSongsToPlaylistRequest);
+
+        if (addSongsToPlaylistRequest == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+
+        String playlistId = addSongsToPlaylistRequest.getId();
+        List<SongToAddModel> songsToAdd = addSongsToPlaylistRequest.getSongs() != null
+                ? addSongsToPlaylistRequest.getSongs()
+                : new ArrayList<>();
+
+        List<AlbumTrackKey> keys = songsToAdd.stream()
+                .map(song -> new AlbumTrackKey(song.getAsin(), song.getTrackNumber()))
+                .collect(Collectors.toList());
+        List<AlbumTrack> albumTracks = albumTrackDao.getAlbumTracks(keys);
+
+        if (songStorageMode == SongStorageMode.NORMALIZED) {
+            return addToPlaylistSongs(playlistDao.getPlaylist(playlistId), songsToAdd, albumTracks);
+        }
+
+        List<SongFailureModel> failures = new ArrayList<>();
+        for (int i = 0; i < songsToAdd.size(); i++) {
+            if (albumTracks.get(i) == null) {
+                failures.add(toFailure(i, songsToAdd.get(i)));
+            }
+        }
+
+        Playlist playlist;
+        if (failures.size() < songsToAdd.size()) {
+            // Reapplied to a freshly read playlist if another writer saves it first
+            playlist = playlistDao.updatePlaylist(playlistId, current -> addSongs(current, songsToAdd, albumTracks));
+        } else {
+            playlist = playlistDao.getPlaylist(playlistId);
+        }
+
+        List<AlbumTrack> updatedAlbumTracks = playlist.getSongList() != null
+                ? playlist.getSongList()
+                : new ArrayList<>();
+        if (songStorageMode == SongStorageMode.REFERENCE) {
+            updatedAlbumTracks = albumTrackDao.hydrateAlbumTracks(updatedAlbumTracks);
+        }
+
+        List<SongModel> updatedSongList = updatedAlbumTracks.stream()
+                .map(modelConverter::toSongModel)
+                .collect(Collectors.toList());
+
+        return AddSongsToPlaylistResult.builder()
+                .withSongList(updatedSongList)
+                .withFailures(failures)
+                .build();
+    }
+
+    private void addSongs(Playlist playlist, List<SongToAddModel> songsToAdd, List<AlbumTrack> albumTracks) {
+        Deque<AlbumTrack> songList = playlist.getSongList() != null
+                ? new ArrayDeque<>(playlist.getSongList())
+                : new ArrayDeque<>();
+
+        for (int i = 0; i < songsToAdd.size(); i++) {
+            AlbumTrack albumTrack = albumTracks.get(i);
+            if (albumTrack == null) {
+                continue;
+            }
+
+            if (songsToAdd.get(i).isQueueNext()) {
+                songList.addFirst(albumTrack);
+            } else {
+                songList.addLast(albumTrack);
+            }
+        }
+
+        List<AlbumTrack> updatedSongList = new ArrayList<>(songList);
+        playlist.setSongList(songStorageMode == SongStorageMode.REFERENCE
+                ? AlbumTrackStore.toReferences(updatedSongList)
+                : updatedSongList);
+        playlist.setSongCount(updatedSongList.size());
+    }
+
+    private AddSongsToPlaylistResult addToPlaylistSongs(Playlist playlist, List<SongToAddModel> songsToAdd,
+                                                        List<AlbumTrack> albumTracks) {
+        List<AlbumTrack> foundAlbumTracks = new ArrayList<>();
+        List<Boolean> queueNext = new ArrayList<>();
+        List<SongFailureModel> failures = new ArrayList<>();
+
+        for (int i = 0; i < songsToAdd.size(); i++) {
+            if (albumTracks.get(i) == null) {
+                failures.add(toFailure(i, songsToAdd.get(i)));
+            } else {
+                foundAlbumTracks.add(albumTracks.get(i));
+                queueNext.add(songsToAdd.get(i).isQueueNext());
+            }
+        }
+
+        if (!foundAlbumTracks.isEmpty()) {
+            // The songs live outside the playlist item, so they are written in transactions with its songCount
+            playlistDao.addPlaylistSongs(playlist.getId(), foundAlbumTracks, queueNext);
+        }
+
+        List<SongModel> updatedSongList = playlistSongDao.getPlaylistSongs(playlist.getId()).stream()
+                .map(modelConverter::toSongModel)
+                .collect(Collectors.toList());
+
+        return AddSongsToPlaylistResult.builder()
+                .withSongList(updatedSongList)
+                .withFailures(failures)
+                .build();
+    }
+
+    private static SongFailureModel toFailure(int index, SongToAddModel songToAdd) {
+        return SongFailureModel.builder()
+                .withIndex(index)
+                .withAsin(songToAdd.getAsin())
+                .withTrackNumber(songToAdd.getTrackNumber())
+                .withReason(AlbumTrackNotFoundException.class.getSimpleName())
+                .build();
+    }
+}
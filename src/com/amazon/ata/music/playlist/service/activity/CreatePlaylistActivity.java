@@ -3,7 +3,7 @@ package com.amazon.ata.music.playlist.service.activity;
 import com.amazon.ata.music.playlist.service.models.requests.CreatePlaylistRequest;
 import com.amazon.ata.music.playlist.service.models.results.CreatePlaylistResult;
 import com.amazon.ata.music.playlist.service.models.PlaylistModel;
-import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
@@ -17,14 +17,14 @@ import org.apache.logging.log4j.Logger;
  */
 public class CreatePlaylistActivity implements RequestHandler<CreatePlaylistRequest, CreatePlaylistResult> {
     private final Logger log = LogManager.getLogger();
-    private final PlaylistDao playlistDao;
+    private final PlaylistStore playlistDao;
 
     /**
      * Instantiates a new CreatePlaylistActivity object.
      *
-     * @param playlistDao PlaylistDao to access the playlists table.
+     * @param playlistDao PlaylistStore to access playlists.
      */
-    public CreatePlaylistActivity(PlaylistDao playlistDao) {
+    public CreatePlaylistActivity(PlaylistStore playlistDao) {
         this.playlistDao = playlistDao;
     }
 
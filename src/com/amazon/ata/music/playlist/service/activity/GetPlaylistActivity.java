@@ -4,7 +4,7 @@ import com.amazon.ata.music.playlist.service.models.requests.GetPlaylistRequest;
 import com.amazon.ata.music.playlist.service.models.results.GetPlaylistResult;
 import com.amazon.ata.music.playlist.service.models.PlaylistModel;
 import com.amazon.ata.music.playlist.service.converters.ModelConverter;
-import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
 import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
 
 import com.amazonaws.services.lambda.runtime.Context;
@@ -19,19 +19,20 @@ import org.apache.logging.log4j.Logger;
  */
 public class GetPlaylistActivity implements RequestHandler<GetPlaylistRequest, GetPlaylistResult> {
     private final Logger log = LogManager.getLogger();
-    private final PlaylistDao playlistDao;
+    private final PlaylistStore playlistDao;
 
     /**
      * Instantiates a new GetPlaylistActivity object.
      *
-     * @param playlistDao PlaylistDao to access the playlist table.
+     * @param playlistDao PlaylistStore to access playlists.
      */
-    public GetPlaylistActivity(PlaylistDao playlistDao) {
+    public GetPlaylistActivity(PlaylistStore playlistDao) {
         this.playlistDao = playlistDao;
     }
 
     /**
-     * This method handles the incoming request by retrieving the playlist from the database.
+     * This method handles the incoming request by retrieving the playlist's summary attributes from the
+     * database, without its song list.
      * <p>
      * It then returns the playlist.
      * <p>
@@ -44,7 +45,7 @@ public class GetPlaylistActivity implements RequestHandler<GetPlaylistRequest, G
     public GetPlaylistResult handleRequest(final GetPlaylistRequest getPlaylistRequest, Context context) {
         log.info("Received GetPlaylistRequest {}", getPlaylistRequest);
         String requestedId = getPlaylistRequest.getId();
-        Playlist playlist = playlistDao.getPlaylist(requestedId);
+        Playlist playlist = playlistDao.getPlaylistSummary(requestedId);
         PlaylistModel playlistModel = new ModelConverter().toPlaylistModel(playlist);
 
         return GetPlaylistResult.builder()
@@ -1,62 +1,220 @@
 package com.amazon.ata.music.playlist.service.activity;
 
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
 import com.amazon.ata.music.playlist.service.models.requests.GetPlaylistSongsRequest;
 import com.amazon.ata.music.playlist.service.models.results.GetPlaylistSongsResult;
 import com.amazon.ata.music.playlist.service.models.SongModel;
-import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.models.SongOrder;
+import com.amazon.ata.music.playlist.service.store.AlbumTrackStore;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistSongDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistSongPage;
+import com.amazon.ata.music.playlist.service.dynamodb.SongStorageMode;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
 import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
 import com.amazon.ata.music.playlist.service.converters.ModelConverter;
+import com.amazon.ata.music.playlist.service.util.SongCursor;
+import com.amazon.ata.music.playlist.service.util.SongPermutation;
+import com.amazon.ata.music.playlist.service.util.SongPermutations;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the GetPlaylistSongsActivity for the MusicPlaylistService's GetPlaylistSongs API.
  *
- * This API allows the customer to get the list of songs of a saved playlist.
+ * This API allows the customer to get the list of songs of a saved playlist, all at once or one page at a time.
  */
 public class GetPlaylistSongsActivity implements RequestHandler<GetPlaylistSongsRequest, GetPlaylistSongsResult> {
+    static final int MAX_LIMIT = 1000;
+    static final int HYDRATION_BATCH_SIZE = 100;
+    // the largest integer a JavaScript number holds exactly, so generated seeds survive a round trip through one
+    static final long MAX_GENERATED_SEED = (1L << 53) - 1;
+
     private final Logger log = LogManager.getLogger();
-    private final PlaylistDao playlistDao;
+    private final PlaylistStore playlistDao;
+    private final AlbumTrackStore albumTrackDao;
+    private final PlaylistSongDao playlistSongDao;
+    private final SongStorageMode songStorageMode;
     private final ModelConverter modelConverter;
 
+    /**
+     * Instantiates a new GetPlaylistSongsActivity object that reads songs embedded in the playlist item.
+     *
+     * @param playlistDao PlaylistStore to access playlists.
+     */
+    public GetPlaylistSongsActivity(PlaylistStore playlistDao) {
+        this(playlistDao, null, null, SongStorageMode.EMBEDDED);
+    }
+
     /**
      * Instantiates a new GetPlaylistSongsActivity object.
      *
-     * @param playlistDao PlaylistDao to access the playlist table.
+     * @param playlistDao PlaylistStore to access playlists.
+     * @param albumTrackDao AlbumTrackStore to look up song details in REFERENCE mode.
+     * @param playlistSongDao PlaylistSongDao to access the playlist_songs table in NORMALIZED mode.
+     * @param songStorageMode where the playlist's songs are stored.
      */
-    public GetPlaylistSongsActivity(PlaylistDao playlistDao) {
+    public GetPlaylistSongsActivity(PlaylistStore playlistDao, AlbumTrackStore albumTrackDao,
+                                    PlaylistSongDao playlistSongDao, SongStorageMode songStorageMode) {
         this.playlistDao = playlistDao;
+        this.albumTrackDao = albumTrackDao;
+        this.playlistSongDao = playlistSongDao;
+        this.songStorageMode = songStorageMode;
         this.modelConverter = new ModelConverter();
     }
 
     /**
      * This method handles the incoming request by retrieving the playlist from the database.
      * <p>
-     * It then returns the playlist's song list.
+     * It then returns the playlist's songs in the requested order, from the cursor's position, or the first
+     * song, onwards: at most limit of them when a limit is given, with the cursor that continues from the next
+     * song if any remain. SHUFFLED and SMART_SHUFFLED songs are shuffled by the request's seed, or a new random
+     * one of at most 53 bits, which is returned so the client can repeat the shuffle; every page continues with
+     * the cursor's seed.
+     * Only the songs on the page are converted, and in REFERENCE mode only they are looked up in the catalog.
+     * In NORMALIZED mode a page of DEFAULT or REVERSED songs is queried from the playlist_songs table after
+     * the cursor's song, so songs added since the cursor was issued do not make it stale.
      * <p>
      * If the playlist does not exist, this should throw a PlaylistNotFoundException.
+     * If the limit is not between 1 and {@value #MAX_LIMIT}, or the cursor is malformed, was issued for a
+     * different order or seed, or is stale because songs were added or removed since it was issued, this should
+     * throw an InvalidAttributeValueException.
      *
-     * @param getPlaylistSongsRequest request object containing the playlist ID
-     * @return getPlaylistSongsResult result object containing the playlist's list of API defined {@link SongModel}s
+     * @param getPlaylistSongsRequest request object containing the playlist ID, and optionally the order, a
+     *                                limit, the previous page's cursor and a seed
+     * @return getPlaylistSongsResult result object containing the page's list of API defined {@link SongModel}s,
+     *         the next cursor and the seed
      */
     @Override
     public GetPlaylistSongsResult handleRequest(final GetPlaylistSongsRequest getPlaylistSongsRequest, Context context) {
         log.info("Received GetPlaylistSongsRequest {}", getPlaylistSongsRequest);
 
-        Playlist playlist = playlistDao.getPlaylist(getPlaylistSongsRequest.getId());
+        List<SongModel> songModels = new ArrayList<>();
+        return forEachSong(getPlaylistSongsRequest, songModels::add)
+                .withSongList(songModels)
+                .build();
+    }
+
+    /**
+     * Hands each song of the requested page to a consumer as soon as it is converted, without collecting the
+     * page, so a caller that writes the songs out as it goes holds only one of them at a time. In REFERENCE
+     * mode songs are looked up in the catalog {@value #HYDRATION_BATCH_SIZE} at a time.
+     * <p>
+     * Validates the request and throws as {@link #handleRequest} does.
+     *
+     * @param getPlaylistSongsRequest request object containing the playlist ID, and optionally the order, a
+     *                                limit, the previous page's cursor and a seed
+     * @param songConsumer receives the page's songs in order
+     * @return a result builder holding the next cursor, or null if the page is the last, and the seed of a
+     *         seeded order
+     */
+    public GetPlaylistSongsResult.Builder forEachSong(final GetPlaylistSongsRequest getPlaylistSongsRequest,
+                                                     Consumer<SongModel> songConsumer) {
+        SongOrder order = getPlaylistSongsRequest.getOrder() == null
+                ? SongOrder.DEFAULT
+                : getPlaylistSongsRequest.getOrder();
+        Long requestedSeed = getPlaylistSongsRequest.getSeed();
+        SongCursor cursor = getPlaylistSongsRequest.getCursor() == null
+                ? null
+                : SongCursor.fromToken(getPlaylistSongsRequest.getCursor());
+        long seed;
+        if (cursor != null) {
+            if (cursor.getOrder() != order) {
+                throw new InvalidAttributeValueException("Cursor was issued for order " + cursor.getOrder()
+                        + ", not " + order);
+            }
+            if (requestedSeed != null && SongPermutations.isSeeded(order) && cursor.getSeed() != requestedSeed) {
+                throw new InvalidAttributeValueException("Cursor was issued for seed " + cursor.getSeed()
+                        + ", not " + requestedSeed);
+            }
+            seed = cursor.getSeed();
+        } else if (SongPermutations.isSeeded(order)) {
+            seed = requestedSeed != null
+                    ? requestedSeed
+                    : ThreadLocalRandom.current().nextLong(MAX_GENERATED_SEED + 1);
+        } else {
+            seed = 0;
+        }
+        Integer limit = getPlaylistSongsRequest.getLimit();
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new InvalidAttributeValueException("Limit must be between 1 and " + MAX_LIMIT + ", was " + limit);
+        }
+
+        if (songStorageMode == SongStorageMode.NORMALIZED && limit != null
+                && (order == SongOrder.DEFAULT || order == SongOrder.REVERSED)
+                && (cursor == null || cursor.getPosition() != null)) {
+            return forEachSongByPosition(getPlaylistSongsRequest.getId(), order, limit, cursor, songConsumer);
+        }
+
+        // in NORMALIZED mode the playlist item holds no songs, so only its summary is read
+        Playlist playlist = songStorageMode == SongStorageMode.NORMALIZED
+                ? playlistDao.getPlaylistSummary(getPlaylistSongsRequest.getId())
+                : playlistDao.getPlaylist(getPlaylistSongsRequest.getId());
+        List<AlbumTrack> songList = songStorageMode == SongStorageMode.NORMALIZED
+                ? playlistSongDao.getPlaylistSongs(playlist.getId())
+                : playlist.getSongList();
+        if (songList == null) {
+            songList = new ArrayList<>();
+        } else if (!(songList instanceof RandomAccess)) {
+            // legacy LinkedList song lists, which every order reads by index; copies the references only
+            songList = new ArrayList<>(songList);
+        }
+        if (cursor != null && cursor.getSongCount() != songList.size()) {
+            throw new InvalidAttributeValueException("Cursor was issued when the playlist had "
+                    + cursor.getSongCount() + " songs, it now has " + songList.size() + "; start again without one");
+        }
+        SongPermutation permutation = SongPermutations.of(order, seed, songList);
 
-        List<SongModel> songModels = playlist.getSongList().stream()
-                .map(modelConverter::toSongModel)
-                .collect(Collectors.toList());
+        int start = cursor == null ? 0 : Math.min(cursor.getOffset(), songList.size());
+        int end = limit == null ? songList.size() : Math.min(songList.size(), start + limit);
+        List<AlbumTrack> batch = new ArrayList<>(Math.min(end - start, HYDRATION_BATCH_SIZE));
+        for (int batchStart = start; batchStart < end; batchStart += HYDRATION_BATCH_SIZE) {
+            batch.clear();
+            for (int position = batchStart; position < Math.min(end, batchStart + HYDRATION_BATCH_SIZE); position++) {
+                batch.add(songList.get(permutation.indexAt(position)));
+            }
+            // The playlist only holds (asin, trackNumber) pairs in REFERENCE mode, the rest comes from the catalog
+            List<AlbumTrack> songs = songStorageMode == SongStorageMode.REFERENCE
+                    ? albumTrackDao.hydrateAlbumTracks(batch)
+                    : batch;
+            for (AlbumTrack albumTrack : songs) {
+                songConsumer.accept(modelConverter.toSongModel(albumTrack));
+            }
+        }
 
         return GetPlaylistSongsResult.builder()
-                .withSongList(songModels)
-                .build();
+                .withNextCursor(end < songList.size()
+                        ? new SongCursor(order, seed, songList.size(), end).toToken()
+                        : null)
+                .withSeed(SongPermutations.isSeeded(order) ? seed : null);
+    }
+
+    // Reads one page of the playlist_songs table by sort key, from after the cursor's song
+    private GetPlaylistSongsResult.Builder forEachSongByPosition(String playlistId, SongOrder order, int limit,
+                                                                 SongCursor cursor,
+                                                                 Consumer<SongModel> songConsumer) {
+        Playlist playlist = playlistDao.getPlaylistSummary(playlistId);
+        PlaylistSongPage page = playlistSongDao.getPlaylistSongPage(playlist.getId(), order == SongOrder.REVERSED,
+                cursor == null ? null : cursor.getPosition(), limit);
+        for (AlbumTrack albumTrack : page.getSongs()) {
+            songConsumer.accept(modelConverter.toSongModel(albumTrack));
+        }
+
+        // the song count and offset let the cursor continue a request without a limit, which lists by offset
+        int songCount = playlist.getSongCount() == null ? 0 : playlist.getSongCount();
+        int end = (cursor == null ? 0 : cursor.getOffset()) + page.getSongs().size();
+        return GetPlaylistSongsResult.builder()
+                .withNextCursor(page.getLastPosition() != null
+                        ? new SongCursor(order, 0, songCount, end, page.getLastPosition()).toToken()
+                        : null);
     }
-}
\ No newline at end of file
+}
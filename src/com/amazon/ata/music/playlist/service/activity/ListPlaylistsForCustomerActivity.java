@@ -0,0 +1,83 @@
+package com.amazon.ata.music.playlist.service.activity;
+
+import com.amazon.ata.music.playlist.service.converters.ModelConverter;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistPage;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import com.amazon.ata.music.playlist.service.models.PlaylistModel;
+import com.amazon.ata.music.playlist.service.models.requests.ListPlaylistsForCustomerRequest;
+import com.amazon.ata.music.playlist.service.models.results.ListPlaylistsForCustomerResult;
+import com.amazon.ata.music.playlist.service.util.MusicPlaylistServiceUtils;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ListPlaylistsForCustomerActivity for the MusicPlaylistService's ListPlaylistsForCustomer API.
+ *
+ * This API allows the customer to list their saved playlists, one page at a time.
+ */
+public class ListPlaylistsForCustomerActivity
+        implements RequestHandler<ListPlaylistsForCustomerRequest, ListPlaylistsForCustomerResult> {
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final Logger log = LogManager.getLogger();
+    private final PlaylistDao playlistDao;
+    private final ModelConverter modelConverter;
+
+    /**
+     * Instantiates a new ListPlaylistsForCustomerActivity object.
+     *
+     * @param playlistDao PlaylistDao to query the playlists table's customerId index.
+     */
+    public ListPlaylistsForCustomerActivity(PlaylistDao playlistDao) {
+        this.playlistDao = playlistDao;
+        this.modelConverter = new ModelConverter();
+    }
+
+    /**
+     * This method handles the incoming request by querying one page of the customer's playlists, with
+     * their summary attributes only; song lists are never read.
+     * <p>
+     * It then returns the playlists and, if there may be more, the token that requests the next page.
+     * <p>
+     * If the customer ID has invalid characters, or the limit is not between 1 and {@value #MAX_LIMIT},
+     * throws an InvalidAttributeValueException.
+     *
+     * @param listPlaylistsForCustomerRequest request object containing the customer ID, an optional limit
+     *                                        (default {@value #DEFAULT_LIMIT}) and the previous page's token
+     * @return listPlaylistsForCustomerResult result object containing the API defined {@link PlaylistModel}s
+     */
+    @Override
+    public ListPlaylistsForCustomerResult handleRequest(
+            final ListPlaylistsForCustomerRequest listPlaylistsForCustomerRequest, Context context) {
+        log.info("Received ListPlaylistsForCustomerRequest {}", listPlaylistsForCustomerRequest);
+
+        String customerId = listPlaylistsForCustomerRequest.getCustomerId();
+        if (!MusicPlaylistServiceUtils.isValidString(customerId)) {
+            throw new InvalidAttributeValueException("Invalid customer ID " + customerId);
+        }
+        Integer requestedLimit = listPlaylistsForCustomerRequest.getLimit();
+        int limit = requestedLimit == null ? DEFAULT_LIMIT : requestedLimit;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidAttributeValueException("Limit must be between 1 and " + MAX_LIMIT + ", was " + limit);
+        }
+
+        PlaylistPage page = playlistDao.getPlaylistsForCustomer(customerId, limit,
+                listPlaylistsForCustomerRequest.getNextToken());
+        List<PlaylistModel> playlists = page.getPlaylists().stream()
+                .map(modelConverter::toPlaylistModel)
+                .collect(Collectors.toList());
+
+        return ListPlaylistsForCustomerResult.builder()
+                .withPlaylists(playlists)
+                .withNextToken(page.getNextPageToken())
+                .build();
+    }
+}
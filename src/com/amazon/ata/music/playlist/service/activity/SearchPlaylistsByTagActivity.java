@@ -0,0 +1,103 @@
+package com.amazon.ata.music.playlist.service.activity;
+
+import com.amazon.ata.music.playlist.service.converters.ModelConverter;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.models.PlaylistModel;
+import com.amazon.ata.music.playlist.service.models.TagMatch;
+import com.amazon.ata.music.playlist.service.models.requests.SearchPlaylistsByTagRequest;
+import com.amazon.ata.music.playlist.service.models.results.SearchPlaylistsByTagResult;
+import com.amazon.ata.music.playlist.service.store.PlaylistIdPage;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
+import com.amazon.ata.music.playlist.service.store.PlaylistTagIndex;
+import com.amazon.ata.music.playlist.service.util.MusicPlaylistServiceUtils;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the SearchPlaylistsByTagActivity for the MusicPlaylistService's SearchPlaylistsByTag API.
+ *
+ * This API allows the customer to find playlists by their tags, newest first, one page at a time.
+ */
+public class SearchPlaylistsByTagActivity
+        implements RequestHandler<SearchPlaylistsByTagRequest, SearchPlaylistsByTagResult> {
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final Logger log = LogManager.getLogger();
+    private final PlaylistStore playlistDao;
+    private final PlaylistTagIndex playlistTagIndex;
+    private final ModelConverter modelConverter;
+
+    /**
+     * Instantiates a new SearchPlaylistsByTagActivity object.
+     *
+     * @param playlistDao PlaylistStore to access playlists.
+     * @param playlistTagIndex PlaylistTagIndex to find the playlists with each tag.
+     */
+    public SearchPlaylistsByTagActivity(PlaylistStore playlistDao, PlaylistTagIndex playlistTagIndex) {
+        this.playlistDao = playlistDao;
+        this.playlistTagIndex = playlistTagIndex;
+        this.modelConverter = new ModelConverter();
+    }
+
+    /**
+     * This method handles the incoming request by looking up one page of the playlists with all of the
+     * requested tags, or with any of them when match is ANY, in the tag index, then reading each playlist's
+     * summary attributes.
+     * <p>
+     * It then returns the playlists, newest first, and the token that requests the next page if there is one.
+     * The index is held in memory, so a token is only valid until the service restarts.
+     * <p>
+     * If no tags are requested, a tag has invalid characters, or the limit is not between 1 and
+     * {@value #MAX_LIMIT}, throws an InvalidAttributeValueException.
+     *
+     * @param searchPlaylistsByTagRequest request object containing the tags, the match mode (default ALL),
+     *                                    an optional limit (default {@value #DEFAULT_LIMIT}) and the previous
+     *                                    page's token
+     * @return searchPlaylistsByTagResult result object containing the API defined {@link PlaylistModel}s
+     */
+    @Override
+    public SearchPlaylistsByTagResult handleRequest(final SearchPlaylistsByTagRequest searchPlaylistsByTagRequest,
+                                                   Context context) {
+        log.info("Received SearchPlaylistsByTagRequest {}", searchPlaylistsByTagRequest);
+
+        List<String> tags = searchPlaylistsByTagRequest.getTags();
+        if (tags == null || tags.isEmpty()) {
+            throw new InvalidAttributeValueException("At least one tag is required");
+        }
+        for (String tag : tags) {
+            if (!MusicPlaylistServiceUtils.isValidString(tag)) {
+                throw new InvalidAttributeValueException("Invalid tag " + tag);
+            }
+        }
+        Integer requestedLimit = searchPlaylistsByTagRequest.getLimit();
+        int limit = requestedLimit == null ? DEFAULT_LIMIT : requestedLimit;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidAttributeValueException("Limit must be between 1 and " + MAX_LIMIT + ", was " + limit);
+        }
+
+        PlaylistIdPage page = playlistTagIndex.search(tags, searchPlaylistsByTagRequest.getMatch() != TagMatch.ANY,
+                limit, searchPlaylistsByTagRequest.getNextToken());
+
+        List<PlaylistModel> playlists = new ArrayList<>(page.getPlaylistIds().size());
+        for (String id : page.getPlaylistIds()) {
+            try {
+                playlists.add(modelConverter.toPlaylistModel(playlistDao.getPlaylistSummary(id)));
+            } catch (PlaylistNotFoundException e) {
+                log.warn("Tag index lists playlist {}, which no longer exists", id);
+            }
+        }
+
+        return SearchPlaylistsByTagResult.builder()
+                .withPlaylists(playlists)
+                .withNextToken(page.getNextPageToken())
+                .build();
+    }
+}
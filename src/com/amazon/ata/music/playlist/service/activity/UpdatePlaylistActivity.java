@@ -3,7 +3,12 @@ package com.amazon.ata.music.playlist.service.activity;
 import com.amazon.ata.music.playlist.service.models.PlaylistModel;
 import com.amazon.ata.music.playlist.service.models.requests.UpdatePlaylistRequest;
 import com.amazon.ata.music.playlist.service.models.results.UpdatePlaylistResult;
-import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.converters.ModelConverter;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeChangeException;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import com.amazon.ata.music.playlist.service.util.MusicPlaylistServiceUtils;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
@@ -17,20 +22,20 @@ import org.apache.logging.log4j.Logger;
  */
 public class UpdatePlaylistActivity implements RequestHandler<UpdatePlaylistRequest, UpdatePlaylistResult> {
     private final Logger log = LogManager.getLogger();
-    private final PlaylistDao playlistDao;
+    private final PlaylistStore playlistDao;
 
     /**
      * Instantiates a new UpdatePlaylistActivity object.
      *
-     * @param playlistDao PlaylistDao to access the playlist table.
+     * @param playlistDao PlaylistStore to access playlists.
      */
-    public UpdatePlaylistActivity(PlaylistDao playlistDao) {
+    public UpdatePlaylistActivity(PlaylistStore playlistDao) {
         this.playlistDao = playlistDao;
     }
 
     /**
-     * This method handles the incoming request by retrieving the playlist, updating it,
-     * and persisting the playlist.
+     * This method handles the incoming request by retrieving the playlist's summary attributes, updating
+     * its name, and persisting them. The song list is never read or written.
      * <p>
      * It then returns the updated playlist.
      * <p>
@@ -50,8 +55,22 @@ public class UpdatePlaylistActivity implements RequestHandler<UpdatePlaylistRequ
     public UpdatePlaylistResult handleRequest(final UpdatePlaylistRequest updatePlaylistRequest, Context context) {
         log.info("Received UpdatePlaylistRequest {}", updatePlaylistRequest);
 
+        if (!MusicPlaylistServiceUtils.isValidString(updatePlaylistRequest.getName())
+                || !MusicPlaylistServiceUtils.isValidString(updatePlaylistRequest.getCustomerId())) {
+            throw new InvalidAttributeValueException("Playlist name and customer ID cannot be blank or contain " +
+                    "any of the characters \" ' \\");
+        }
+
+        Playlist playlist = playlistDao.updatePlaylistSummary(updatePlaylistRequest.getId(), current -> {
+            if (!updatePlaylistRequest.getCustomerId().equals(current.getCustomerId())) {
+                throw new InvalidAttributeChangeException("Cannot change the customer ID of playlist " +
+                        updatePlaylistRequest.getId());
+            }
+            current.setName(updatePlaylistRequest.getName());
+        });
+
         return UpdatePlaylistResult.builder()
-                .withPlaylist(new PlaylistModel())
+                .withPlaylist(new ModelConverter().toPlaylistModel(playlist))
                 .build();
     }
 }
@@ -0,0 +1,100 @@
+package com.amazon.ata.music.playlist.service.converters;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores a playlist's song list as a native DynamoDB List attribute holding one Map per song, so songs can
+ * be appended or prepended server-side with an UpdateItem list_append expression.
+ * <p>
+ * Song lists written in an older format are still read: the compact Binary format of
+ * {@link AlbumTrackListCodec} and, before that, a Gson JSON String read through
+ * {@link AlbumTrackLinkedListConverter}. Both are rewritten as a List on their next save; neither is
+ * written to the playlists table any more.
+ */
+public class AlbumTrackListAttributeConverter implements DynamoDBTypeConverter<AttributeValue, List<AlbumTrack>> {
+    // the same attribute names as the album_tracks table
+    static final String ASIN = "asin";
+    static final String TRACK_NUMBER = "track_number";
+    static final String ALBUM_NAME = "album_name";
+    static final String SONG_TITLE = "song_title";
+
+    private static final AlbumTrackListCodec CODEC = new AlbumTrackListCodec();
+    private static final AlbumTrackLinkedListConverter LEGACY_CONVERTER = new AlbumTrackLinkedListConverter();
+
+    @Override
+    public AttributeValue convert(List<AlbumTrack> albumTracks) {
+        List<AttributeValue> songs = new ArrayList<>(albumTracks.size());
+        for (AlbumTrack albumTrack : albumTracks) {
+            songs.add(toAttributeValue(albumTrack));
+        }
+        return new AttributeValue().withL(songs);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<AlbumTrack> unconvert(AttributeValue attributeValue) {
+        if (attributeValue.getL() != null) {
+            List<AlbumTrack> albumTracks = new ArrayList<>(attributeValue.getL().size());
+            for (AttributeValue song : attributeValue.getL()) {
+                albumTracks.add(fromAttributeValue(song));
+            }
+            return albumTracks;
+        }
+        if (attributeValue.getB() != null) {
+            return CODEC.decode(attributeValue.getB());
+        }
+        if (attributeValue.getS() != null) {
+            return LEGACY_CONVERTER.unconvert(attributeValue.getS());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Converts one song into the Map element stored in the song list. Null fields are left out.
+     *
+     * @param albumTrack the song to convert
+     * @return the song's Map attribute value
+     */
+    public static AttributeValue toAttributeValue(AlbumTrack albumTrack) {
+        Map<String, AttributeValue> song = new HashMap<>();
+        if (albumTrack.getAsin() != null) {
+            song.put(ASIN, new AttributeValue().withS(albumTrack.getAsin()));
+        }
+        if (albumTrack.getTrackNumber() != null) {
+            song.put(TRACK_NUMBER, new AttributeValue().withN(albumTrack.getTrackNumber().toString()));
+        }
+        if (albumTrack.getAlbumName() != null) {
+            song.put(ALBUM_NAME, new AttributeValue().withS(albumTrack.getAlbumName()));
+        }
+        if (albumTrack.getSongTitle() != null) {
+            song.put(SONG_TITLE, new AttributeValue().withS(albumTrack.getSongTitle()));
+        }
+        return new AttributeValue().withM(song);
+    }
+
+    private static AlbumTrack fromAttributeValue(AttributeValue attributeValue) {
+        Map<String, AttributeValue> song = attributeValue.getM();
+        AlbumTrack albumTrack = new AlbumTrack();
+        if (song.containsKey(ASIN)) {
+            albumTrack.setAsin(song.get(ASIN).getS());
+        }
+        if (song.containsKey(TRACK_NUMBER)) {
+            albumTrack.setTrackNumber(Integer.valueOf(song.get(TRACK_NUMBER).getN()));
+        }
+        if (song.containsKey(ALBUM_NAME)) {
+            albumTrack.setAlbumName(song.get(ALBUM_NAME).getS());
+        }
+        if (song.containsKey(SONG_TITLE)) {
+            albumTrack.setSongTitle(song.get(SONG_TITLE).getS());
+        }
+        return albumTrack;
+    }
+}
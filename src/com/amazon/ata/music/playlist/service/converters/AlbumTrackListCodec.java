@@ -0,0 +1,282 @@
+package com.amazon.ata.music.playlist.service.converters;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact, versioned binary encoding of a playlist's song list.
+ * <p>
+ * Layout, after a one byte version and a one byte flags field:
+ * <pre>
+ *   varint albumCount, then per album: string asin, string albumName
+ *   varint songCount,  then per song:  varint albumIndex, varint trackNumber, string songTitle
+ * </pre>
+ * Each distinct (asin, albumName) pair is written once and songs refer to it by index. Strings are
+ * a varint of (UTF-8 length + 1) followed by the bytes, with 0 meaning null. Track numbers are zigzag
+ * encoded plus one, with 0 meaning null. When the body is large enough and DEFLATE makes it smaller,
+ * it is stored compressed and the {@link #FLAG_DEFLATE} flag is set.
+ * <p>
+ * The playlists table no longer stores song lists in this format: they are a native List, which
+ * list_append can extend, see {@link AlbumTrackListAttributeConverter}. Items saved in it before are still
+ * decoded until their next save. The local storage engines still write every song list in this format, as
+ * part of their playlist records.
+ */
+public final class AlbumTrackListCodec {
+    static final byte VERSION_1 = 1;
+    static final byte FLAG_DEFLATE = 1;
+    // below this many body bytes compression rarely pays for its header
+    static final int DEFLATE_THRESHOLD_BYTES = 256;
+
+    private final boolean deflateEnabled;
+
+    /**
+     * Instantiates an AlbumTrackListCodec that compresses large song lists.
+     */
+    public AlbumTrackListCodec() {
+        this(true);
+    }
+
+    /**
+     * Instantiates an AlbumTrackListCodec.
+     *
+     * @param deflateEnabled whether large song lists may be DEFLATE compressed
+     */
+    public AlbumTrackListCodec(boolean deflateEnabled) {
+        this.deflateEnabled = deflateEnabled;
+    }
+
+    /**
+     * Encodes the song list.
+     *
+     * @param albumTracks the songs to encode, in playlist order
+     * @return the encoded bytes
+     */
+    public byte[] encode(List<AlbumTrack> albumTracks) {
+        Map<AlbumKey, Integer> albumIndexes = new HashMap<>();
+        List<AlbumKey> albums = new ArrayList<>();
+        int[] songAlbumIndexes = new int[albumTracks.size()];
+        for (int i = 0; i < albumTracks.size(); i++) {
+            AlbumTrack albumTrack = albumTracks.get(i);
+            AlbumKey album = new AlbumKey(albumTrack.getAsin(), albumTrack.getAlbumName());
+            Integer index = albumIndexes.get(album);
+            if (index == null) {
+                index = albums.size();
+                albumIndexes.put(album, index);
+                albums.add(album);
+            }
+            songAlbumIndexes[i] = index;
+        }
+
+        Writer body = new Writer(16 + albumTracks.size() * 24);
+        body.writeVarLong(albums.size());
+        for (AlbumKey album : albums) {
+            body.writeString(album.asin);
+            body.writeString(album.albumName);
+        }
+        body.writeVarLong(albumTracks.size());
+        for (int i = 0; i < albumTracks.size(); i++) {
+            AlbumTrack albumTrack = albumTracks.get(i);
+            body.writeVarLong(songAlbumIndexes[i]);
+            body.writeVarLong(encodeTrackNumber(albumTrack.getTrackNumber()));
+            body.writeString(albumTrack.getSongTitle());
+        }
+
+        byte flags = 0;
+        byte[] bodyBytes = body.toByteArray();
+        if (deflateEnabled && bodyBytes.length >= DEFLATE_THRESHOLD_BYTES) {
+            byte[] deflated = deflate(bodyBytes);
+            if (deflated.length < bodyBytes.length) {
+                bodyBytes = deflated;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+
+        byte[] encoded = new byte[bodyBytes.length + 2];
+        encoded[0] = VERSION_1;
+        encoded[1] = flags;
+        System.arraycopy(bodyBytes, 0, encoded, 2, bodyBytes.length);
+        return encoded;
+    }
+
+    /**
+     * Decodes a song list produced by {@link #encode}.
+     *
+     * @param encoded the encoded bytes
+     * @return the decoded songs, in playlist order
+     * @throws IllegalArgumentException if the bytes are not a supported encoding
+     */
+    public List<AlbumTrack> decode(ByteBuffer encoded) {
+        ByteBuffer buffer = encoded.duplicate();
+        if (!buffer.hasArray()) {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.get(copy);
+            buffer = ByteBuffer.wrap(copy);
+        }
+        if (buffer.remaining() < 2) {
+            throw new IllegalArgumentException("Encoded song list is too short");
+        }
+        byte version = buffer.get();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported song list encoding version " + version);
+        }
+        byte flags = buffer.get();
+        if ((flags & FLAG_DEFLATE) != 0) {
+            buffer = ByteBuffer.wrap(inflate(buffer));
+        }
+
+        int albumCount = (int) readVarLong(buffer);
+        String[] asins = new String[albumCount];
+        String[] albumNames = new String[albumCount];
+        for (int i = 0; i < albumCount; i++) {
+            asins[i] = readString(buffer);
+            albumNames[i] = readString(buffer);
+        }
+
+        int songCount = (int) readVarLong(buffer);
+        List<AlbumTrack> albumTracks = new ArrayList<>(songCount);
+        for (int i = 0; i < songCount; i++) {
+            int albumIndex = (int) readVarLong(buffer);
+            AlbumTrack albumTrack = new AlbumTrack();
+            albumTrack.setAsin(asins[albumIndex]);
+            albumTrack.setAlbumName(albumNames[albumIndex]);
+            albumTrack.setTrackNumber(decodeTrackNumber(readVarLong(buffer)));
+            albumTrack.setSongTitle(readString(buffer));
+            albumTracks.add(albumTrack);
+        }
+        return albumTracks;
+    }
+
+    private static long encodeTrackNumber(Integer trackNumber) {
+        if (trackNumber == null) {
+            return 0;
+        }
+        return ((long) ((trackNumber << 1) ^ (trackNumber >> 31)) & 0xFFFFFFFFL) + 1;
+    }
+
+    private static Integer decodeTrackNumber(long value) {
+        if (value == 0) {
+            return null;
+        }
+        int zigzag = (int) (value - 1);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in encoded song list");
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = (int) readVarLong(buffer);
+        if (length == 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length - 1,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length - 1);
+        return value;
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer buffer) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            ByteArrayOutputStream out = new ByteArrayOutputStream(buffer.remaining() * 4);
+            byte[] chunk = new byte[4096];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(chunk);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed song list");
+                }
+                out.write(chunk, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Malformed compressed song list", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+        Writer(int initialSize) {
+            super(initialSize);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class AlbumKey {
+        private final String asin;
+        private final String albumName;
+
+        private AlbumKey(String asin, String albumName) {
+            this.asin = asin;
+            this.albumName = albumName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AlbumKey that = (AlbumKey) o;
+            return Objects.equals(asin, that.asin) &&
+                    Objects.equals(albumName, that.albumName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(asin, albumName);
+        }
+    }
+}
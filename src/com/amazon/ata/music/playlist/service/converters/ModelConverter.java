@@ -5,6 +5,7 @@ import com.amazon.ata.music.playlist.service.models.SongModel;
 import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
 import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class ModelConverter {
@@ -16,6 +17,10 @@ public class ModelConverter {
     public PlaylistModel toPlaylistModel(Playlist playlist) {
         return PlaylistModel.builder()
                 .withId(playlist.getId())
+                .withName(playlist.getName())
+                .withCustomerId(playlist.getCustomerId())
+                .withSongCount(playlist.getSongCount() == null ? 0 : playlist.getSongCount())
+                .withTags(playlist.getTags() == null ? null : new ArrayList<>(playlist.getTags()))
                 .build();
     }
 
@@ -1,22 +1,107 @@
 package com.amazon.ata.music.playlist.service.dependency;
 
-import com.amazon.ata.aws.dynamodb.DynamoDbClientProvider;
 import com.amazon.ata.music.playlist.service.activity.AddSongToPlaylistActivity;
+import com.amazon.ata.music.playlist.service.activity.AddSongsToPlaylistActivity;
 import com.amazon.ata.music.playlist.service.activity.CreatePlaylistActivity;
 import com.amazon.ata.music.playlist.service.activity.GetPlaylistActivity;
 import com.amazon.ata.music.playlist.service.activity.GetPlaylistSongsActivity;
+import com.amazon.ata.music.playlist.service.activity.ListPlaylistsForCustomerActivity;
+import com.amazon.ata.music.playlist.service.activity.SearchPlaylistsByTagActivity;
 import com.amazon.ata.music.playlist.service.activity.UpdatePlaylistActivity;
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackCache;
 import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackDao;
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackKey;
+import com.amazon.ata.music.playlist.service.dynamodb.DynamoDbClientConfig;
 import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistSongDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistUpdateMetrics;
+import com.amazon.ata.music.playlist.service.dynamodb.SongStorageMode;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.loader.AlbumTrackBulkLoader;
+import com.amazon.ata.music.playlist.service.loader.AlbumTrackStoreBatchWriter;
+import com.amazon.ata.music.playlist.service.loader.BatchWriter;
+import com.amazon.ata.music.playlist.service.loader.DynamoDbBatchWriter;
+import com.amazon.ata.music.playlist.service.store.AlbumTrackStore;
+import com.amazon.ata.music.playlist.service.store.CachingPlaylistStore;
+import com.amazon.ata.music.playlist.service.store.CoalescingPlaylistStore;
+import com.amazon.ata.music.playlist.service.store.InMemoryRecordStore;
+import com.amazon.ata.music.playlist.service.store.LocalAlbumTrackStore;
+import com.amazon.ata.music.playlist.service.store.LocalPlaylistStore;
+import com.amazon.ata.music.playlist.service.store.LogStructuredPlaylistStore;
+import com.amazon.ata.music.playlist.service.store.MappedFileRecordStore;
+import com.amazon.ata.music.playlist.service.store.PlaylistCache;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
+import com.amazon.ata.music.playlist.service.store.PlaylistTagIndex;
+import com.amazon.ata.music.playlist.service.store.RecordStore;
+import com.amazon.ata.music.playlist.service.store.ScannablePlaylistStore;
+import com.amazon.ata.music.playlist.service.store.SingleFlightPlaylistStore;
+import com.amazon.ata.music.playlist.service.store.SnapshotAlbumTrackStore;
+import com.amazon.ata.music.playlist.service.store.StorageEngine;
+import com.amazon.ata.music.playlist.service.store.TagIndexingPlaylistStore;
+import com.amazon.ata.music.playlist.service.util.SingleFlight;
 
-import com.amazonaws.regions.Regions;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class manages service dependencies.
  */
 public class App {
+    // Environment variable selecting where playlist songs are stored, see SongStorageMode
+    static final String SONG_STORAGE_MODE_ENV = "SONG_STORAGE_MODE";
+    // Environment variable selecting where playlists and album tracks are stored, see StorageEngine
+    static final String STORAGE_ENGINE_ENV = "STORAGE_ENGINE";
+    // Environment variable naming the directory used by the MAPPED_FILE and LOG_STRUCTURED storage engines
+    static final String STORAGE_PATH_ENV = "STORAGE_PATH";
+    static final String PLAYLISTS_FILE = "playlists.db";
+    static final String ALBUM_TRACKS_FILE = "album_tracks.db";
+    static final String PLAYLIST_LOG_DIRECTORY = "playlists";
+    static final long PLAYLIST_LOG_COMPACTION_CHECK_SECONDS = 60;
+    // Environment variable that turns on coalescing of AddSongToPlaylist writes, see CoalescingPlaylistStore
+    static final String ADD_SONG_COALESCING_WINDOW_MILLIS_ENV = "ADD_SONG_COALESCING_WINDOW_MILLIS";
+    static final int ADD_SONG_COALESCING_MAX_BATCH_SIZE = 20;
+    static final int ADD_SONG_COALESCING_FLUSH_THREADS = 4;
+    // Threads running the reads an activity makes concurrently
+    static final int STORE_READ_THREADS = 16;
+    // Environment variable that turns on the PlaylistCache, and one overriding its default size. Each Lambda
+    // function has its own cache that only sees its own writes, so a TTL bounds how stale reads can be
+    static final String PLAYLIST_CACHE_TTL_SECONDS_ENV = "PLAYLIST_CACHE_TTL_SECONDS";
+    static final String PLAYLIST_CACHE_MAXIMUM_SIZE_ENV = "PLAYLIST_CACHE_MAXIMUM_SIZE";
+    // Environment variable naming a catalog snapshot that, when set, serves every album track read
+    static final String CATALOG_SNAPSHOT_PATH_ENV = "CATALOG_SNAPSHOT_PATH";
+    // Environment variables tuning AlbumTrackBulkLoader; a target of 0 items per second is unthrottled
+    static final String BULK_LOAD_WORKERS_ENV = "BULK_LOAD_WORKERS";
+    static final String BULK_LOAD_WRITES_PER_SECOND_ENV = "BULK_LOAD_WRITES_PER_SECOND";
+    static final int DEFAULT_BULK_LOAD_WORKERS = 8;
+
+    private DynamoDbClientConfig dynamoDbClientConfig;
+    private AmazonDynamoDB amazonDynamoDB;
     private DynamoDBMapper dynamoDBMapper;
+    private AlbumTrackCache albumTrackCache;
+    private PlaylistCache playlistCache;
+    private SingleFlight<String, Playlist> playlistLoads;
+    private SingleFlight<AlbumTrackKey, AlbumTrack> albumTrackLoads;
+    private PlaylistUpdateMetrics playlistUpdateMetrics;
+    private ScannablePlaylistStore localPlaylistStore;
+    private PlaylistTagIndex playlistTagIndex;
+    private CoalescingPlaylistStore coalescingPlaylistStore;
+    private ExecutorService storeReadExecutor;
+    private LocalAlbumTrackStore localAlbumTrackStore;
+    private SnapshotAlbumTrackStore snapshotAlbumTrackStore;
 
     /**
      * Provides a new CreatePlaylistActivity with injected dependencies.
@@ -24,7 +109,7 @@ public class App {
      * @return createPlaylistActivity a new CreatePlaylistActivity with injected dependencies.
      */
     public CreatePlaylistActivity provideCreatePlaylistActivity() {
-        return new CreatePlaylistActivity(providePlaylistDao());
+        return new CreatePlaylistActivity(providePlaylistStore());
     }
 
     /**
@@ -33,7 +118,7 @@ public class App {
      * @return getPlaylistActivity a new GetPlaylistActivity with injected dependencies.
      */
     public GetPlaylistActivity provideGetPlaylistActivity() {
-        return new GetPlaylistActivity(providePlaylistDao());
+        return new GetPlaylistActivity(providePlaylistStore());
     }
 
     /**
@@ -42,7 +127,7 @@ public class App {
      * @return updatePlaylistActivity a new UpdatePlaylistActivity with injected dependencies.
      */
     public UpdatePlaylistActivity provideUpdatePlaylistActivity() {
-        return new UpdatePlaylistActivity(providePlaylistDao());
+        return new UpdatePlaylistActivity(providePlaylistStore());
     }
 
     /**
@@ -51,7 +136,18 @@ public class App {
      * @return addSongToPlaylistActivity a new AddSongToPlaylistActivity with injected dependencies.
      */
     public AddSongToPlaylistActivity provideAddSongToPlaylistActivity() {
-        return new AddSongToPlaylistActivity(providePlaylistDao(), provideAlbumTrackDao());
+        return new AddSongToPlaylistActivity(provideAddSongPlaylistStore(), provideAlbumTrackStore(),
+                providePlaylistSongDao(), provideSongStorageMode(), provideStoreReadExecutor());
+    }
+
+    /**
+     * Provides a new AddSongsToPlaylistActivity with injected dependencies.
+     *
+     * @return addSongsToPlaylistActivity a new AddSongsToPlaylistActivity with injected dependencies.
+     */
+    public AddSongsToPlaylistActivity provideAddSongsToPlaylistActivity() {
+        return new AddSongsToPlaylistActivity(providePlaylistStore(), provideAlbumTrackStore(),
+                providePlaylistSongDao(), provideSongStorageMode());
     }
 
     /**
@@ -60,15 +156,307 @@ public class App {
      * @return getPlaylistSongsActivity a new GetPlaylistSongsActivity with injected dependencies.
      */
     public GetPlaylistSongsActivity provideGetPlaylistSongsActivity() {
-        return new GetPlaylistSongsActivity(providePlaylistDao());
+        return new GetPlaylistSongsActivity(providePlaylistStore(), provideAlbumTrackStore(),
+                providePlaylistSongDao(), provideSongStorageMode());
+    }
+
+    /**
+     * Provides a new ListPlaylistsForCustomerActivity with injected dependencies.
+     *
+     * @return listPlaylistsForCustomerActivity a new ListPlaylistsForCustomerActivity with injected dependencies.
+     * @throws IllegalStateException if a local storage engine is configured, since the activity queries the
+     *                               playlists table's customerId index
+     */
+    public ListPlaylistsForCustomerActivity provideListPlaylistsForCustomerActivity() {
+        if (provideStorageEngine() != StorageEngine.DYNAMODB) {
+            throw new IllegalStateException("ListPlaylistsForCustomer requires the DYNAMODB storage engine");
+        }
+        return new ListPlaylistsForCustomerActivity(providePlaylistDao());
+    }
+
+    /**
+     * Provides a new SearchPlaylistsByTagActivity with injected dependencies.
+     *
+     * @return searchPlaylistsByTagActivity a new SearchPlaylistsByTagActivity with injected dependencies.
+     * @throws IllegalStateException if the DYNAMODB storage engine is configured, since the tag index only
+     *                               sees the playlists saved by this process
+     */
+    public SearchPlaylistsByTagActivity provideSearchPlaylistsByTagActivity() {
+        if (provideStorageEngine() == StorageEngine.DYNAMODB) {
+            throw new IllegalStateException("SearchPlaylistsByTag requires a local storage engine");
+        }
+        return new SearchPlaylistsByTagActivity(providePlaylistStore(), providePlaylistTagIndex());
+    }
+
+    /**
+     * Provides a new AlbumTrackBulkLoader that writes to the configured storage engine's catalog, with
+     * BULK_LOAD_WORKERS workers and a BULK_LOAD_WRITES_PER_SECOND target when they are set.
+     *
+     * @return albumTrackBulkLoader a new AlbumTrackBulkLoader with injected dependencies.
+     */
+    public AlbumTrackBulkLoader provideAlbumTrackBulkLoader() {
+        BatchWriter batchWriter = provideStorageEngine() == StorageEngine.DYNAMODB
+                ? new DynamoDbBatchWriter(provideAmazonDynamoDB(), "album_tracks")
+                : new AlbumTrackStoreBatchWriter(provideLocalAlbumTrackStore());
+        String workers = System.getenv(BULK_LOAD_WORKERS_ENV);
+        String writesPerSecond = System.getenv(BULK_LOAD_WRITES_PER_SECOND_ENV);
+        return new AlbumTrackBulkLoader(batchWriter,
+                workers == null ? DEFAULT_BULK_LOAD_WORKERS : Integer.parseInt(workers),
+                writesPerSecond == null ? 0 : Double.parseDouble(writesPerSecond));
+    }
+
+    /**
+     * Provides the {@link PlaylistStore} for the configured storage engine, reading through a
+     * {@link CachingPlaylistStore} only when PLAYLIST_CACHE_TTL_SECONDS is set.
+     *
+     * @return a {@link PlaylistStore} instance
+     */
+    private PlaylistStore providePlaylistStore() {
+        PlaylistStore playlistStore = provideStorageEngine() == StorageEngine.DYNAMODB
+                ? new SingleFlightPlaylistStore(providePlaylistDao(), providePlaylistLoads())
+                : new TagIndexingPlaylistStore(provideLocalPlaylistStore(), providePlaylistTagIndex());
+        if (System.getenv(PLAYLIST_CACHE_TTL_SECONDS_ENV) == null) {
+            return playlistStore;
+        }
+        return new CachingPlaylistStore(playlistStore, providePlaylistCache());
     }
 
     private PlaylistDao providePlaylistDao() {
-        return new PlaylistDao(provideDynamoDBMapper());
+        return new PlaylistDao(provideDynamoDBMapper(), provideAmazonDynamoDB(), providePlaylistUpdateMetrics(),
+                provideDynamoDbClientConfig().getConsistentReads());
+    }
+
+    private PlaylistSongDao providePlaylistSongDao() {
+        return new PlaylistSongDao(provideDynamoDBMapper());
+    }
+
+    /**
+     * Provides the {@link SongStorageMode} named by the SONG_STORAGE_MODE environment variable,
+     * defaulting to EMBEDDED. NORMALIZED mode keeps songs in the playlist_songs table, so it needs the
+     * DYNAMODB storage engine.
+     *
+     * @return the configured {@link SongStorageMode}
+     * @throws IllegalStateException if NORMALIZED mode is configured with a local storage engine
+     */
+    private SongStorageMode provideSongStorageMode() {
+        String configuredMode = System.getenv(SONG_STORAGE_MODE_ENV);
+        SongStorageMode songStorageMode = configuredMode == null
+                ? SongStorageMode.EMBEDDED
+                : SongStorageMode.valueOf(configuredMode);
+        if (songStorageMode == SongStorageMode.NORMALIZED && provideStorageEngine() != StorageEngine.DYNAMODB) {
+            throw new IllegalStateException("NORMALIZED song storage requires the DYNAMODB storage engine");
+        }
+        return songStorageMode;
+    }
+
+    /**
+     * Provides the {@link PlaylistStore} AddSongToPlaylistActivity adds songs through: a singleton
+     * {@link CoalescingPlaylistStore} when ADD_SONG_COALESCING_WINDOW_MILLIS is set, so bursts of songs added
+     * to one playlist by concurrent requests share a write, and the plain store otherwise.
+     *
+     * @return a {@link PlaylistStore} instance
+     */
+    private PlaylistStore provideAddSongPlaylistStore() {
+        String windowMillis = System.getenv(ADD_SONG_COALESCING_WINDOW_MILLIS_ENV);
+        if (windowMillis == null) {
+            return providePlaylistStore();
+        }
+        if (null == coalescingPlaylistStore) {
+            coalescingPlaylistStore = new CoalescingPlaylistStore(providePlaylistStore(), Long.parseLong(windowMillis),
+                    ADD_SONG_COALESCING_MAX_BATCH_SIZE,
+                    Executors.newScheduledThreadPool(ADD_SONG_COALESCING_FLUSH_THREADS, new ThreadFactoryBuilder()
+                            .setNameFormat("add-song-flush-%d")
+                            .setDaemon(true)
+                            .build()));
+        }
+        return coalescingPlaylistStore;
+    }
+
+    /**
+     * Lazily provides the {@link ExecutorService} singleton that runs the reads activities make concurrently.
+     *
+     * @return an {@link ExecutorService} instance
+     */
+    private ExecutorService provideStoreReadExecutor() {
+        if (null == storeReadExecutor) {
+            storeReadExecutor = Executors.newFixedThreadPool(STORE_READ_THREADS, new ThreadFactoryBuilder()
+                    .setNameFormat("store-read-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return storeReadExecutor;
+    }
+
+    private AlbumTrackStore provideAlbumTrackStore() {
+        if (System.getenv(CATALOG_SNAPSHOT_PATH_ENV) != null) {
+            return provideSnapshotAlbumTrackStore();
+        }
+        if (provideStorageEngine() == StorageEngine.DYNAMODB) {
+            return new AlbumTrackDao(provideDynamoDBMapper(), provideAlbumTrackCache(), provideAlbumTrackLoads());
+        }
+        return provideLocalAlbumTrackStore();
+    }
+
+    /**
+     * Provides the {@link StorageEngine} named by the STORAGE_ENGINE environment variable, defaulting to
+     * DYNAMODB.
+     *
+     * @return the configured {@link StorageEngine}
+     */
+    private StorageEngine provideStorageEngine() {
+        String storageEngine = System.getenv(STORAGE_ENGINE_ENV);
+        return storageEngine == null ? StorageEngine.DYNAMODB : StorageEngine.valueOf(storageEngine);
+    }
+
+    /**
+     * Lazily provides a singleton {@link LogStructuredPlaylistStore} for the LOG_STRUCTURED engine, or
+     * {@link LocalPlaylistStore} for the others, so every activity sees the same playlists.
+     *
+     * @return a local {@link PlaylistStore} instance
+     */
+    private ScannablePlaylistStore provideLocalPlaylistStore() {
+        if (null == localPlaylistStore) {
+            if (provideStorageEngine() == StorageEngine.LOG_STRUCTURED) {
+                LogStructuredPlaylistStore logStore =
+                        new LogStructuredPlaylistStore(provideStorageDirectory().resolve(PLAYLIST_LOG_DIRECTORY));
+                logStore.startBackgroundCompaction(PLAYLIST_LOG_COMPACTION_CHECK_SECONDS, TimeUnit.SECONDS);
+                localPlaylistStore = logStore;
+            } else {
+                localPlaylistStore = new LocalPlaylistStore(provideRecordStore(PLAYLISTS_FILE));
+            }
+        }
+        return localPlaylistStore;
     }
 
-    private AlbumTrackDao provideAlbumTrackDao() {
-        return new AlbumTrackDao(provideDynamoDBMapper());
+    /**
+     * Lazily provides the {@link PlaylistTagIndex} singleton, indexing the tags of the playlists already in
+     * the local store in the order the store lists them.
+     *
+     * @return a {@link PlaylistTagIndex} instance
+     */
+    private PlaylistTagIndex providePlaylistTagIndex() {
+        if (null == playlistTagIndex) {
+            ScannablePlaylistStore playlistStore = provideLocalPlaylistStore();
+            PlaylistTagIndex tagIndex = new PlaylistTagIndex();
+            for (String id : playlistStore.getPlaylistIds()) {
+                tagIndex.index(id, playlistStore.getPlaylistSummary(id).getTags());
+            }
+            playlistTagIndex = tagIndex;
+        }
+        return playlistTagIndex;
+    }
+
+    /**
+     * Lazily provides a {@link LocalAlbumTrackStore} singleton instance.
+     *
+     * @return a {@link LocalAlbumTrackStore} instance
+     */
+    private LocalAlbumTrackStore provideLocalAlbumTrackStore() {
+        if (null == localAlbumTrackStore) {
+            localAlbumTrackStore = new LocalAlbumTrackStore(provideRecordStore(ALBUM_TRACKS_FILE));
+        }
+        return localAlbumTrackStore;
+    }
+
+    /**
+     * Lazily provides a {@link SnapshotAlbumTrackStore} singleton over the catalog snapshot named by
+     * CATALOG_SNAPSHOT_PATH, so the file is mapped once per container.
+     *
+     * @return a {@link SnapshotAlbumTrackStore} instance
+     */
+    private SnapshotAlbumTrackStore provideSnapshotAlbumTrackStore() {
+        if (null == snapshotAlbumTrackStore) {
+            snapshotAlbumTrackStore = new SnapshotAlbumTrackStore(Paths.get(System.getenv(CATALOG_SNAPSHOT_PATH_ENV)));
+        }
+        return snapshotAlbumTrackStore;
+    }
+
+    private RecordStore provideRecordStore(String fileName) {
+        if (provideStorageEngine() == StorageEngine.IN_MEMORY) {
+            return new InMemoryRecordStore();
+        }
+        return new MappedFileRecordStore(provideStorageDirectory().resolve(fileName));
+    }
+
+    private Path provideStorageDirectory() {
+        String storagePath = System.getenv(STORAGE_PATH_ENV);
+        Path directory = storagePath != null
+                ? Paths.get(storagePath)
+                : Paths.get(System.getProperty("java.io.tmpdir"), "music-playlist-service");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create storage directory " + directory, e);
+        }
+        return directory;
+    }
+
+    /**
+     * Lazily provides an {@link AlbumTrackCache} singleton instance, so cached catalog entries
+     * survive across warm Lambda invocations.
+     *
+     * @return an {@link AlbumTrackCache} instance
+     */
+    private AlbumTrackCache provideAlbumTrackCache() {
+        if (null == albumTrackCache) {
+            albumTrackCache = new AlbumTrackCache();
+        }
+        return albumTrackCache;
+    }
+
+    /**
+     * Lazily provides a {@link PlaylistCache} singleton instance with the PLAYLIST_CACHE_TTL_SECONDS TTL,
+     * sized by PLAYLIST_CACHE_MAXIMUM_SIZE when it is set, so cached playlists survive across warm Lambda
+     * invocations.
+     *
+     * @return a {@link PlaylistCache} instance
+     */
+    private PlaylistCache providePlaylistCache() {
+        if (null == playlistCache) {
+            String maximumSize = System.getenv(PLAYLIST_CACHE_MAXIMUM_SIZE_ENV);
+            playlistCache = new PlaylistCache(
+                    maximumSize == null ? PlaylistCache.DEFAULT_MAXIMUM_SIZE : Long.parseLong(maximumSize),
+                    Duration.ofSeconds(Long.parseLong(System.getenv(PLAYLIST_CACHE_TTL_SECONDS_ENV))),
+                    Ticker.systemTicker());
+        }
+        return playlistCache;
+    }
+
+    /**
+     * Lazily provides the {@link SingleFlight} singleton that concurrent playlist reads share loads through.
+     *
+     * @return a {@link SingleFlight} instance
+     */
+    private SingleFlight<String, Playlist> providePlaylistLoads() {
+        if (null == playlistLoads) {
+            playlistLoads = new SingleFlight<>();
+        }
+        return playlistLoads;
+    }
+
+    /**
+     * Lazily provides the {@link SingleFlight} singleton that concurrent album track reads share loads through.
+     *
+     * @return a {@link SingleFlight} instance
+     */
+    private SingleFlight<AlbumTrackKey, AlbumTrack> provideAlbumTrackLoads() {
+        if (null == albumTrackLoads) {
+            albumTrackLoads = new SingleFlight<>();
+        }
+        return albumTrackLoads;
+    }
+
+    /**
+     * Lazily provides a {@link PlaylistUpdateMetrics} singleton instance, so update contention is counted
+     * across warm Lambda invocations.
+     *
+     * @return a {@link PlaylistUpdateMetrics} instance
+     */
+    private PlaylistUpdateMetrics providePlaylistUpdateMetrics() {
+        if (null == playlistUpdateMetrics) {
+            playlistUpdateMetrics = new PlaylistUpdateMetrics();
+        }
+        return playlistUpdateMetrics;
     }
 
     /**
@@ -78,8 +466,38 @@ public class App {
      */
     private DynamoDBMapper provideDynamoDBMapper() {
         if (null == dynamoDBMapper) {
-            dynamoDBMapper = new DynamoDBMapper(DynamoDbClientProvider.getDynamoDBClient(Regions.US_WEST_2));
+            dynamoDBMapper = new DynamoDBMapper(provideAmazonDynamoDB(),
+                    provideDynamoDbClientConfig().toMapperConfig());
         }
         return dynamoDBMapper;
     }
+
+    /**
+     * Lazily provides an {@link AmazonDynamoDB} client singleton instance, configured by
+     * {@link DynamoDbClientConfig}.
+     *
+     * @return an {@link AmazonDynamoDB} instance
+     */
+    private AmazonDynamoDB provideAmazonDynamoDB() {
+        if (null == amazonDynamoDB) {
+            DynamoDbClientConfig clientConfig = provideDynamoDbClientConfig();
+            amazonDynamoDB = AmazonDynamoDBClientBuilder.standard()
+                    .withRegion(clientConfig.getRegion())
+                    .withClientConfiguration(clientConfig.toClientConfiguration())
+                    .build();
+        }
+        return amazonDynamoDB;
+    }
+
+    /**
+     * Lazily provides the {@link DynamoDbClientConfig} singleton loaded from the environment.
+     *
+     * @return a {@link DynamoDbClientConfig} instance
+     */
+    private DynamoDbClientConfig provideDynamoDbClientConfig() {
+        if (null == dynamoDbClientConfig) {
+            dynamoDbClientConfig = DynamoDbClientConfig.fromEnvironment();
+        }
+        return dynamoDbClientConfig;
+    }
 }
@@ -0,0 +1,119 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.time.Duration;
+
+/**
+ * Bounded, size-limited cache of album_tracks items keyed by {@link AlbumTrackKey}.
+ * <p>
+ * Found tracks are kept for a long TTL since catalog metadata rarely changes. Keys that have no
+ * album track are remembered separately with a short TTL, so repeated lookups of a bad key do not
+ * reach DynamoDB but a newly imported track becomes visible quickly. Both sides evict least recently
+ * used entries once full.
+ */
+public class AlbumTrackCache {
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    public static final long DEFAULT_NEGATIVE_MAXIMUM_SIZE = 1_000;
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+
+    private final Cache<AlbumTrackKey, AlbumTrack> albumTracks;
+    private final Cache<AlbumTrackKey, Boolean> missingAlbumTracks;
+
+    /**
+     * Instantiates an AlbumTrackCache with the default sizes and TTLs.
+     */
+    public AlbumTrackCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL, DEFAULT_NEGATIVE_MAXIMUM_SIZE, DEFAULT_NEGATIVE_TTL,
+                Ticker.systemTicker());
+    }
+
+    /**
+     * Instantiates an AlbumTrackCache.
+     *
+     * @param maximumSize the maximum number of found album tracks to keep
+     * @param ttl how long a found album track is kept after it was loaded
+     * @param negativeMaximumSize the maximum number of missing keys to remember
+     * @param negativeTtl how long a missing key is remembered
+     * @param ticker the time source used for expiration
+     */
+    public AlbumTrackCache(long maximumSize, Duration ttl, long negativeMaximumSize, Duration negativeTtl,
+                           Ticker ticker) {
+        this.albumTracks = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.missingAlbumTracks = CacheBuilder.newBuilder()
+                .maximumSize(negativeMaximumSize)
+                .expireAfterWrite(negativeTtl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached album track for the key.
+     *
+     * @param key the album track key
+     * @return the cached AlbumTrack, or null if it is not cached
+     */
+    public AlbumTrack get(AlbumTrackKey key) {
+        return albumTracks.getIfPresent(key);
+    }
+
+    /**
+     * Returns whether the key was recently looked up and found to have no album track.
+     *
+     * @param key the album track key
+     * @return true if the key is cached as missing
+     */
+    public boolean isMissing(AlbumTrackKey key) {
+        return missingAlbumTracks.getIfPresent(key) != null;
+    }
+
+    /**
+     * Caches a found album track.
+     *
+     * @param key the album track key
+     * @param albumTrack the loaded AlbumTrack
+     */
+    public void put(AlbumTrackKey key, AlbumTrack albumTrack) {
+        albumTracks.put(key, albumTrack);
+        missingAlbumTracks.invalidate(key);
+    }
+
+    /**
+     * Remembers that the key has no album track.
+     *
+     * @param key the album track key
+     */
+    public void putMissing(AlbumTrackKey key) {
+        missingAlbumTracks.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * Returns hit, miss and eviction counters for found album tracks.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return albumTracks.stats();
+    }
+
+    /**
+     * Returns hit, miss and eviction counters for keys remembered as missing.
+     *
+     * @return the negative cache statistics
+     */
+    public CacheStats getMissingStats() {
+        return missingAlbumTracks.stats();
+    }
+}
@@ -2,39 +2,188 @@ package com.amazon.ata.music.playlist.service.dynamodb;
 
 import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
 import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
+import com.amazon.ata.music.playlist.service.store.AlbumTrackStore;
+import com.amazon.ata.music.playlist.service.util.SingleFlight;
 
+import com.amazonaws.services.dynamodbv2.datamodeling.BatchLoadContext;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Accesses data for an album using {@link AlbumTrack} to represent the model in DynamoDB.
  */
-public class AlbumTrackDao {
+public class AlbumTrackDao implements AlbumTrackStore {
+    // BatchGetItem accepts at most 100 keys per call
+    static final int MAX_BATCH_GET_SIZE = 100;
+
+    private static final DynamoDBMapperConfig BATCH_LOAD_CONFIG = DynamoDBMapperConfig.builder()
+            .withBatchLoadRetryStrategy(new BackoffBatchLoadRetryStrategy())
+            .build();
+
     private final DynamoDBMapper dynamoDbMapper;
+    private final AlbumTrackCache albumTrackCache;
+    private final SingleFlight<AlbumTrackKey, AlbumTrack> albumTrackLoads;
 
     /**
-     * Instantiates an AlbumTrackDao object.
+     * Instantiates an AlbumTrackDao object with its own {@link AlbumTrackCache}.
      *
      * @param dynamoDbMapper the {@link DynamoDBMapper} used to interact with the album_track table
      */
     public AlbumTrackDao(DynamoDBMapper dynamoDbMapper) {
+        this(dynamoDbMapper, new AlbumTrackCache());
+    }
+
+    /**
+     * Instantiates an AlbumTrackDao object.
+     *
+     * @param dynamoDbMapper the {@link DynamoDBMapper} used to interact with the album_track table
+     * @param albumTrackCache the {@link AlbumTrackCache} shared by every AlbumTrackDao in the process
+     */
+    public AlbumTrackDao(DynamoDBMapper dynamoDbMapper, AlbumTrackCache albumTrackCache) {
+        this(dynamoDbMapper, albumTrackCache, new SingleFlight<>());
+    }
+
+    /**
+     * Instantiates an AlbumTrackDao object.
+     *
+     * @param dynamoDbMapper the {@link DynamoDBMapper} used to interact with the album_track table
+     * @param albumTrackCache the {@link AlbumTrackCache} shared by every AlbumTrackDao in the process
+     * @param albumTrackLoads the {@link SingleFlight} shared by every AlbumTrackDao in the process
+     */
+    public AlbumTrackDao(DynamoDBMapper dynamoDbMapper, AlbumTrackCache albumTrackCache,
+                         SingleFlight<AlbumTrackKey, AlbumTrack> albumTrackLoads) {
         this.dynamoDbMapper = dynamoDbMapper;
+        this.albumTrackCache = albumTrackCache;
+        this.albumTrackLoads = albumTrackLoads;
     }
 
     /**
-     * Retrieves an album track by its asin and track number.
+     * Retrieves an album track by its asin and track number, reading through the album track cache.
+     * Concurrent cache misses for the same album track share one load.
      *
      * @param asin The album identifier
      * @param trackNumber The track number
      * @return The retrieved AlbumTrack
      * @throws AlbumTrackNotFoundException if no matching album track is found
      */
+    @Override
     public AlbumTrack getAlbumTrack(String asin, int trackNumber) {
-        AlbumTrack albumTrack = this.dynamoDbMapper.load(AlbumTrack.class, asin, trackNumber);
+        AlbumTrackKey key = new AlbumTrackKey(asin, trackNumber);
+        AlbumTrack albumTrack = albumTrackCache.get(key);
+        if (albumTrack != null) {
+            return albumTrack;
+        }
+
+        if (!albumTrackCache.isMissing(key)) {
+            albumTrack = albumTrackLoads.load(key, () -> loadAlbumTrack(key));
+        }
 
         if (albumTrack == null) {
             throw new AlbumTrackNotFoundException("Could not find album track with asin " + asin + " and track number " + trackNumber);
         }
+        return albumTrack;
+    }
 
+    private AlbumTrack loadAlbumTrack(AlbumTrackKey key) {
+        AlbumTrack albumTrack = this.dynamoDbMapper.load(AlbumTrack.class, key.getAsin(), key.getTrackNumber());
+        if (albumTrack == null) {
+            albumTrackCache.putMissing(key);
+        } else {
+            albumTrackCache.put(key, albumTrack);
+        }
         return albumTrack;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves many album tracks, reading through the album track cache and using one BatchGetItem call
+     * per {@value #MAX_BATCH_GET_SIZE} distinct uncached keys. Unprocessed keys are retried with jittered
+     * exponential backoff.
+     *
+     * @param keys The asin and track number pairs to look up
+     * @return The retrieved AlbumTracks in the same order as the requested keys, with null in the
+     *         position of any key that has no matching album track
+     */
+    @Override
+    public List<AlbumTrack> getAlbumTracks(Collection<AlbumTrackKey> keys) {
+        Set<AlbumTrackKey> distinctKeys = new LinkedHashSet<>(keys);
+        Map<AlbumTrackKey, AlbumTrack> found = new HashMap<>();
+        Set<AlbumTrackKey> keysToLoad = new LinkedHashSet<>();
+
+        for (AlbumTrackKey key : distinctKeys) {
+            AlbumTrack cached = albumTrackCache.get(key);
+            if (cached != null) {
+                found.put(key, cached);
+            } else if (!albumTrackCache.isMissing(key)) {
+                keysToLoad.add(key);
+            }
+        }
+
+        List<AlbumTrack> batch = new ArrayList<>(Math.min(keysToLoad.size(), MAX_BATCH_GET_SIZE));
+        for (AlbumTrackKey key : keysToLoad) {
+            batch.add(key.toKeyObject());
+            if (batch.size() == MAX_BATCH_GET_SIZE) {
+                loadBatch(batch, found);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            loadBatch(batch, found);
+        }
+
+        for (AlbumTrackKey key : keysToLoad) {
+            AlbumTrack albumTrack = found.get(key);
+            if (albumTrack != null) {
+                albumTrackCache.put(key, albumTrack);
+            } else {
+                albumTrackCache.putMissing(key);
+            }
+        }
+
+        List<AlbumTrack> albumTracks = new ArrayList<>(keys.size());
+        for (AlbumTrackKey key : keys) {
+            albumTracks.add(found.get(key));
+        }
+        return albumTracks;
+    }
+
+    private void loadBatch(List<AlbumTrack> batch, Map<AlbumTrackKey, AlbumTrack> found) {
+        Map<String, List<Object>> results = this.dynamoDbMapper.batchLoad(batch, BATCH_LOAD_CONFIG);
+        for (List<Object> items : results.values()) {
+            for (Object item : items) {
+                AlbumTrack albumTrack = (AlbumTrack) item;
+                found.put(AlbumTrackKey.of(albumTrack), albumTrack);
+            }
+        }
+    }
+
+    /**
+     * Retries unprocessed BatchGetItem keys with full-jitter exponential backoff.
+     */
+    static final class BackoffBatchLoadRetryStrategy implements DynamoDBMapperConfig.BatchLoadRetryStrategy {
+        static final int MAX_RETRIES = 5;
+        static final long BASE_DELAY_MILLIS = 25;
+        static final long MAX_DELAY_MILLIS = 1000;
+
+        @Override
+        public boolean shouldRetry(BatchLoadContext batchLoadContext) {
+            Map<?, ?> unprocessedKeys = batchLoadContext.getBatchGetItemResult().getUnprocessedKeys();
+            return unprocessedKeys != null && !unprocessedKeys.isEmpty()
+                    && batchLoadContext.getRetriesAttempted() < MAX_RETRIES;
+        }
+
+        @Override
+        public long getDelayBeforeNextRetry(BatchLoadContext batchLoadContext) {
+            long ceiling = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << batchLoadContext.getRetriesAttempted());
+            return ThreadLocalRandom.current().nextLong(ceiling + 1);
+        }
+    }
+}
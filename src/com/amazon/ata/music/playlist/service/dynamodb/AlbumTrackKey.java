@@ -0,0 +1,76 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+
+import java.util.Objects;
+
+/**
+ * Identifies a single item in the album_tracks table by its asin and track number.
+ */
+public final class AlbumTrackKey {
+    private final String asin;
+    private final int trackNumber;
+
+    /**
+     * Instantiates an AlbumTrackKey object.
+     *
+     * @param asin The album identifier
+     * @param trackNumber The track number
+     */
+    public AlbumTrackKey(String asin, int trackNumber) {
+        this.asin = asin;
+        this.trackNumber = trackNumber;
+    }
+
+    /**
+     * Returns the key of the given album track.
+     *
+     * @param albumTrack The album track
+     * @return the AlbumTrackKey identifying albumTrack
+     */
+    public static AlbumTrackKey of(AlbumTrack albumTrack) {
+        return new AlbumTrackKey(albumTrack.getAsin(), albumTrack.getTrackNumber());
+    }
+
+    public String getAsin() {
+        return asin;
+    }
+
+    public int getTrackNumber() {
+        return trackNumber;
+    }
+
+    /**
+     * Builds an {@link AlbumTrack} with only its key attributes set, as expected by DynamoDBMapper batch calls.
+     *
+     * @return an AlbumTrack key object
+     */
+    public AlbumTrack toKeyObject() {
+        AlbumTrack albumTrack = new AlbumTrack();
+        albumTrack.setAsin(asin);
+        albumTrack.setTrackNumber(trackNumber);
+        return albumTrack;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AlbumTrackKey that = (AlbumTrackKey) o;
+        return trackNumber == that.trackNumber &&
+                Objects.equals(asin, that.asin);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(asin, trackNumber);
+    }
+
+    @Override
+    public String toString() {
+        return "AlbumTrackKey{" +
+                "asin='" + asin + '\'' +
+                ", trackNumber=" + trackNumber +
+                '}';
+    }
+}
@@ -0,0 +1,366 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.regions.Regions;
+import com.amazonaws.retry.PredefinedBackoffStrategies;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.retry.RetryPolicy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.ConsistentReads;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.SaveBehavior;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * The settings of the DynamoDB client and mapper: connection pool, timeouts, retries and the mapper's
+ * read consistency and save behavior.
+ * <p>
+ * Every setting defaults to what the SDK uses for DynamoDB, so an unconfigured client behaves as before.
+ * The operation timeout caps one call including all of its retries, which bounds tail latency when the
+ * table throttles; the request timeout caps each attempt.
+ * <p>
+ * The save behavior applies to every save the mapper makes without its own config, which is every
+ * savePlaylist call and every album track save. Only UPDATE and UPDATE_SKIP_NULL_ATTRIBUTES are accepted:
+ * CLOBBER and PUT skip the version check that makes concurrent playlist saves safe, and APPEND_SET merges
+ * saved tags into the stored ones instead of replacing them.
+ */
+public class DynamoDbClientConfig {
+    // Names of the environment variables, or properties file keys, holding each setting
+    public static final String CONFIG_FILE_ENV = "DYNAMODB_CONFIG_FILE";
+    public static final String REGION = "DYNAMODB_REGION";
+    public static final String MAX_CONNECTIONS = "DYNAMODB_MAX_CONNECTIONS";
+    public static final String CONNECTION_TIMEOUT_MILLIS = "DYNAMODB_CONNECTION_TIMEOUT_MILLIS";
+    public static final String SOCKET_TIMEOUT_MILLIS = "DYNAMODB_SOCKET_TIMEOUT_MILLIS";
+    public static final String REQUEST_TIMEOUT_MILLIS = "DYNAMODB_REQUEST_TIMEOUT_MILLIS";
+    public static final String OPERATION_TIMEOUT_MILLIS = "DYNAMODB_OPERATION_TIMEOUT_MILLIS";
+    public static final String TCP_KEEP_ALIVE = "DYNAMODB_TCP_KEEP_ALIVE";
+    public static final String MAX_ERROR_RETRY = "DYNAMODB_MAX_ERROR_RETRY";
+    public static final String BASE_BACKOFF_MILLIS = "DYNAMODB_BASE_BACKOFF_MILLIS";
+    public static final String THROTTLED_BASE_BACKOFF_MILLIS = "DYNAMODB_THROTTLED_BASE_BACKOFF_MILLIS";
+    public static final String MAX_BACKOFF_MILLIS = "DYNAMODB_MAX_BACKOFF_MILLIS";
+    public static final String CONSISTENT_READS = "DYNAMODB_CONSISTENT_READS";
+    public static final String SAVE_BEHAVIOR = "DYNAMODB_SAVE_BEHAVIOR";
+
+    // The SDK's DynamoDB backoff, see PredefinedRetryPolicies.DYNAMODB_DEFAULT_BACKOFF_STRATEGY
+    static final int DEFAULT_BASE_BACKOFF_MILLIS = 25;
+    static final int DEFAULT_THROTTLED_BASE_BACKOFF_MILLIS = 500;
+    static final int DEFAULT_MAX_BACKOFF_MILLIS = 20_000;
+
+    private final Regions region;
+    private final int maxConnections;
+    private final int connectionTimeoutMillis;
+    private final int socketTimeoutMillis;
+    private final int requestTimeoutMillis;
+    private final int operationTimeoutMillis;
+    private final boolean tcpKeepAlive;
+    private final int maxErrorRetry;
+    private final int baseBackoffMillis;
+    private final int throttledBaseBackoffMillis;
+    private final int maxBackoffMillis;
+    private final ConsistentReads consistentReads;
+    private final SaveBehavior saveBehavior;
+
+    public DynamoDbClientConfig(Builder builder) {
+        this.region = builder.region;
+        this.maxConnections = builder.maxConnections;
+        this.connectionTimeoutMillis = builder.connectionTimeoutMillis;
+        this.socketTimeoutMillis = builder.socketTimeoutMillis;
+        this.requestTimeoutMillis = builder.requestTimeoutMillis;
+        this.operationTimeoutMillis = builder.operationTimeoutMillis;
+        this.tcpKeepAlive = builder.tcpKeepAlive;
+        this.maxErrorRetry = builder.maxErrorRetry;
+        this.baseBackoffMillis = builder.baseBackoffMillis;
+        this.throttledBaseBackoffMillis = builder.throttledBaseBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.consistentReads = builder.consistentReads;
+        this.saveBehavior = builder.saveBehavior;
+    }
+
+    /**
+     * Loads the settings from the environment. A properties file named by DYNAMODB_CONFIG_FILE, using the
+     * environment variable names as keys, supplies the settings the environment does not set.
+     *
+     * @return the loaded DynamoDbClientConfig
+     * @throws IllegalArgumentException if a setting has an invalid value
+     * @throws UncheckedIOException if the properties file cannot be read
+     */
+    public static DynamoDbClientConfig fromEnvironment() {
+        String configFile = System.getenv(CONFIG_FILE_ENV);
+        Properties properties = configFile == null ? new Properties() : loadProperties(Paths.get(configFile));
+        return fromSettings(name -> System.getenv(name) != null ? System.getenv(name) : properties.getProperty(name));
+    }
+
+    // package private for testing
+    static DynamoDbClientConfig fromSettings(Function<String, String> settings) {
+        Builder builder = builder();
+        String region = settings.apply(REGION);
+        if (region != null) {
+            try {
+                builder.withRegion(Regions.fromName(region.trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(REGION + " must be an AWS region name such as " +
+                        Regions.US_WEST_2.getName() + ", was " + region, e);
+            }
+        }
+        builder.withMaxConnections(intSetting(settings, MAX_CONNECTIONS, builder.maxConnections))
+                .withConnectionTimeoutMillis(
+                        intSetting(settings, CONNECTION_TIMEOUT_MILLIS, builder.connectionTimeoutMillis))
+                .withSocketTimeoutMillis(intSetting(settings, SOCKET_TIMEOUT_MILLIS, builder.socketTimeoutMillis))
+                .withRequestTimeoutMillis(intSetting(settings, REQUEST_TIMEOUT_MILLIS, builder.requestTimeoutMillis))
+                .withOperationTimeoutMillis(
+                        intSetting(settings, OPERATION_TIMEOUT_MILLIS, builder.operationTimeoutMillis))
+                .withMaxErrorRetry(intSetting(settings, MAX_ERROR_RETRY, builder.maxErrorRetry))
+                .withBaseBackoffMillis(intSetting(settings, BASE_BACKOFF_MILLIS, builder.baseBackoffMillis))
+                .withThrottledBaseBackoffMillis(
+                        intSetting(settings, THROTTLED_BASE_BACKOFF_MILLIS, builder.throttledBaseBackoffMillis))
+                .withMaxBackoffMillis(intSetting(settings, MAX_BACKOFF_MILLIS, builder.maxBackoffMillis));
+        String tcpKeepAlive = settings.apply(TCP_KEEP_ALIVE);
+        if (tcpKeepAlive != null) {
+            builder.withTcpKeepAlive(Boolean.parseBoolean(tcpKeepAlive));
+        }
+        String consistentReads = settings.apply(CONSISTENT_READS);
+        if (consistentReads != null) {
+            try {
+                builder.withConsistentReads(ConsistentReads.valueOf(consistentReads.trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(CONSISTENT_READS + " must be " + ConsistentReads.CONSISTENT +
+                        " or " + ConsistentReads.EVENTUAL + ", was " + consistentReads, e);
+            }
+        }
+        String saveBehavior = settings.apply(SAVE_BEHAVIOR);
+        if (saveBehavior != null) {
+            try {
+                builder.withSaveBehavior(SaveBehavior.valueOf(saveBehavior.trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(SAVE_BEHAVIOR + " must be " + SaveBehavior.UPDATE + " or " +
+                        SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES + ", was " + saveBehavior, e);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the client settings, including a retry policy with the configured backoff.
+     *
+     * @return a new ClientConfiguration
+     */
+    public ClientConfiguration toClientConfiguration() {
+        RetryPolicy retryPolicy = new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION,
+                new PredefinedBackoffStrategies.SDKDefaultBackoffStrategy(
+                        baseBackoffMillis, throttledBaseBackoffMillis, maxBackoffMillis),
+                maxErrorRetry, false);
+        return new ClientConfiguration()
+                .withMaxConnections(maxConnections)
+                .withConnectionTimeout(connectionTimeoutMillis)
+                .withSocketTimeout(socketTimeoutMillis)
+                .withRequestTimeout(requestTimeoutMillis)
+                .withClientExecutionTimeout(operationTimeoutMillis)
+                .withTcpKeepAlive(tcpKeepAlive)
+                .withRetryPolicy(retryPolicy);
+    }
+
+    /**
+     * Returns the mapper settings. Calls that pass their own config, such as summary saves, keep their
+     * own save behavior.
+     *
+     * @return a new DynamoDBMapperConfig
+     */
+    public DynamoDBMapperConfig toMapperConfig() {
+        return DynamoDBMapperConfig.builder()
+                .withConsistentReads(consistentReads)
+                .withSaveBehavior(saveBehavior)
+                .build();
+    }
+
+    public Regions getRegion() {
+        return region;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getOperationTimeoutMillis() {
+        return operationTimeoutMillis;
+    }
+
+    public int getMaxErrorRetry() {
+        return maxErrorRetry;
+    }
+
+    public ConsistentReads getConsistentReads() {
+        return consistentReads;
+    }
+
+    public SaveBehavior getSaveBehavior() {
+        return saveBehavior;
+    }
+
+    @Override
+    public String toString() {
+        return "DynamoDbClientConfig{" +
+                "region=" + region +
+                ", maxConnections=" + maxConnections +
+                ", connectionTimeoutMillis=" + connectionTimeoutMillis +
+                ", socketTimeoutMillis=" + socketTimeoutMillis +
+                ", requestTimeoutMillis=" + requestTimeoutMillis +
+                ", operationTimeoutMillis=" + operationTimeoutMillis +
+                ", tcpKeepAlive=" + tcpKeepAlive +
+                ", maxErrorRetry=" + maxErrorRetry +
+                ", baseBackoffMillis=" + baseBackoffMillis +
+                ", throttledBaseBackoffMillis=" + throttledBaseBackoffMillis +
+                ", maxBackoffMillis=" + maxBackoffMillis +
+                ", consistentReads=" + consistentReads +
+                ", saveBehavior=" + saveBehavior +
+                '}';
+    }
+
+    private static Properties loadProperties(Path configFile) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(configFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read DynamoDB client config " + configFile, e);
+        }
+        return properties;
+    }
+
+    private static int intSetting(Function<String, String> settings, String name, int defaultValue) {
+        String value = settings.apply(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException(name + " cannot be negative, was " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number, was " + value, e);
+        }
+    }
+
+    public static Builder builder() {return new Builder();}
+
+    public static final class Builder {
+        private Regions region = Regions.US_WEST_2;
+        private int maxConnections = ClientConfiguration.DEFAULT_MAX_CONNECTIONS;
+        private int connectionTimeoutMillis = ClientConfiguration.DEFAULT_CONNECTION_TIMEOUT;
+        private int socketTimeoutMillis = ClientConfiguration.DEFAULT_SOCKET_TIMEOUT;
+        private int requestTimeoutMillis = ClientConfiguration.DEFAULT_REQUEST_TIMEOUT;
+        private int operationTimeoutMillis = ClientConfiguration.DEFAULT_CLIENT_EXECUTION_TIMEOUT;
+        private boolean tcpKeepAlive = ClientConfiguration.DEFAULT_TCP_KEEP_ALIVE;
+        private int maxErrorRetry = PredefinedRetryPolicies.DYNAMODB_DEFAULT_MAX_ERROR_RETRY;
+        private int baseBackoffMillis = DEFAULT_BASE_BACKOFF_MILLIS;
+        private int throttledBaseBackoffMillis = DEFAULT_THROTTLED_BASE_BACKOFF_MILLIS;
+        private int maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+        private ConsistentReads consistentReads = ConsistentReads.EVENTUAL;
+        private SaveBehavior saveBehavior = SaveBehavior.UPDATE;
+
+        public Builder withRegion(Regions regionToUse) {
+            this.region = regionToUse;
+            return this;
+        }
+
+        public Builder withMaxConnections(int maxConnectionsToUse) {
+            this.maxConnections = maxConnectionsToUse;
+            return this;
+        }
+
+        public Builder withConnectionTimeoutMillis(int connectionTimeoutMillisToUse) {
+            this.connectionTimeoutMillis = connectionTimeoutMillisToUse;
+            return this;
+        }
+
+        public Builder withSocketTimeoutMillis(int socketTimeoutMillisToUse) {
+            this.socketTimeoutMillis = socketTimeoutMillisToUse;
+            return this;
+        }
+
+        /**
+         * Caps each attempt of a call; 0 disables the cap.
+         *
+         * @param requestTimeoutMillisToUse the per-attempt timeout
+         * @return this Builder
+         */
+        public Builder withRequestTimeoutMillis(int requestTimeoutMillisToUse) {
+            this.requestTimeoutMillis = requestTimeoutMillisToUse;
+            return this;
+        }
+
+        /**
+         * Caps a call including all of its retries and backoff; 0 disables the cap.
+         *
+         * @param operationTimeoutMillisToUse the per-operation timeout budget
+         * @return this Builder
+         */
+        public Builder withOperationTimeoutMillis(int operationTimeoutMillisToUse) {
+            this.operationTimeoutMillis = operationTimeoutMillisToUse;
+            return this;
+        }
+
+        public Builder withTcpKeepAlive(boolean tcpKeepAliveToUse) {
+            this.tcpKeepAlive = tcpKeepAliveToUse;
+            return this;
+        }
+
+        public Builder withMaxErrorRetry(int maxErrorRetryToUse) {
+            this.maxErrorRetry = maxErrorRetryToUse;
+            return this;
+        }
+
+        public Builder withBaseBackoffMillis(int baseBackoffMillisToUse) {
+            this.baseBackoffMillis = baseBackoffMillisToUse;
+            return this;
+        }
+
+        /**
+         * Sets the base delay before retrying a throttled call, which backs off more than other errors.
+         *
+         * @param throttledBaseBackoffMillisToUse the base delay for throttling errors
+         * @return this Builder
+         */
+        public Builder withThrottledBaseBackoffMillis(int throttledBaseBackoffMillisToUse) {
+            this.throttledBaseBackoffMillis = throttledBaseBackoffMillisToUse;
+            return this;
+        }
+
+        public Builder withMaxBackoffMillis(int maxBackoffMillisToUse) {
+            this.maxBackoffMillis = maxBackoffMillisToUse;
+            return this;
+        }
+
+        public Builder withConsistentReads(ConsistentReads consistentReadsToUse) {
+            this.consistentReads = consistentReadsToUse;
+            return this;
+        }
+
+        /**
+         * Sets the save behavior of every mapper save that does not pass its own config.
+         *
+         * @param saveBehaviorToUse UPDATE or UPDATE_SKIP_NULL_ATTRIBUTES
+         * @return this Builder
+         * @throws IllegalArgumentException for any other save behavior, since CLOBBER and PUT would skip the
+         *                                  playlists' version check and APPEND_SET would merge their tags
+         */
+        public Builder withSaveBehavior(SaveBehavior saveBehaviorToUse) {
+            if (saveBehaviorToUse != SaveBehavior.UPDATE
+                    && saveBehaviorToUse != SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES) {
+                throw new IllegalArgumentException("Save behavior must be " + SaveBehavior.UPDATE + " or " +
+                        SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES + ", was " + saveBehaviorToUse);
+            }
+            this.saveBehavior = saveBehaviorToUse;
+            return this;
+        }
+
+        public DynamoDbClientConfig build() {return new DynamoDbClientConfig(this);}
+    }
+}
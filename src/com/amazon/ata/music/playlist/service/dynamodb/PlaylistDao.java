@@ -1,23 +1,131 @@
 package com.amazon.ata.music.playlist.service.dynamodb;
 
+import com.amazon.ata.music.playlist.service.converters.AlbumTrackListAttributeConverter;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
 import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.dynamodb.models.PlaylistSong;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
 import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.ConsistentReads;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.Put;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * Accesses data for a playlist using {@link Playlist} to represent the model in DynamoDB.
  */
-public class PlaylistDao {
+public class PlaylistDao implements PlaylistStore {
+    // "name" is a DynamoDB reserved word, so it is referenced through an expression attribute name, as is "version"
+    static final String SUMMARY_PROJECTION_EXPRESSION = "id, #name, customerId, songCount, tags, #version";
+
+    static final String TABLE_NAME = "playlists";
+    static final String APPEND_SONG_EXPRESSION =
+            "SET songList = list_append(if_not_exists(songList, :emptyList), :songs) " +
+            "ADD songCount :one, #version :one";
+    static final String PREPEND_SONG_EXPRESSION =
+            "SET songList = list_append(:songs, if_not_exists(songList, :emptyList)) " +
+            "ADD songCount :one, #version :one";
+    static final String INCREMENT_SONG_COUNT_EXPRESSION = "ADD songCount :count, #version :one";
+    private static final String PLAYLIST_EXISTS_CONDITION = "attribute_exists(id)";
+    // "position" is a DynamoDB reserved word; a Put only finds the key's hash attribute if the key is taken
+    private static final String POSITION_FREE_CONDITION = "attribute_not_exists(playlist_id)";
+    private static final String CONDITION_FAILED_CODE = "ConditionalCheckFailed";
+    // returned when list_append meets a songList stored in a pre-List format, among other validation errors
+    private static final String VALIDATION_ERROR_CODE = "ValidationException";
+    // only this message means the songList is not a List; any other ValidationException, such as the item
+    // growing past 400 KB, would fail the same way on a save
+    private static final String OPERAND_TYPE_MISMATCH_MESSAGE =
+            "operand in the update expression has an incorrect data type";
+
+    static final int MAX_UPDATE_ATTEMPTS = 5;
+    // the playlist UpdateItem is the transaction's other item, within DynamoDB's original 25 item limit
+    static final int MAX_TRANSACTION_SONGS = 24;
+    private static final int MAX_PUT_ATTEMPTS = 3;
+    static final long UPDATE_RETRY_BASE_DELAY_MILLIS = 10;
+    static final long UPDATE_RETRY_MAX_DELAY_MILLIS = 200;
+
+    private static final DynamoDBMapperConfig SKIP_NULL_ATTRIBUTES_CONFIG =
+            DynamoDBMapperConfig.SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES.config();
+    private static final Map<String, String> SUMMARY_ATTRIBUTE_NAMES = new HashMap<>();
+    static {
+        SUMMARY_ATTRIBUTE_NAMES.put("#name", "name");
+        SUMMARY_ATTRIBUTE_NAMES.put("#version", "version");
+    }
+    private static final AlbumTrackListAttributeConverter SONG_LIST_CONVERTER = new AlbumTrackListAttributeConverter();
+
+    private final Logger log = LogManager.getLogger();
     public final DynamoDBMapper dynamoDbMapper;
+    private final AmazonDynamoDB amazonDynamoDb;
+    private final PlaylistUpdateMetrics playlistUpdateMetrics;
+    private final boolean consistentReads;
+
+    /**
+     * Instantiates a PlaylistDao object with its own {@link PlaylistUpdateMetrics}.
+     *
+     * @param dynamoDbMapper the {@link DynamoDBMapper} used to interact with the playlists table
+     * @param amazonDynamoDb the {@link AmazonDynamoDB} client used for UpdateItem calls the mapper cannot express
+     */
+    public PlaylistDao(DynamoDBMapper dynamoDbMapper, AmazonDynamoDB amazonDynamoDb) {
+        this(dynamoDbMapper, amazonDynamoDb, new PlaylistUpdateMetrics());
+    }
+
+    /**
+     * Instantiates a PlaylistDao object whose summary reads are eventually consistent, like the mapper's
+     * default loads.
+     *
+     * @param dynamoDbMapper the {@link DynamoDBMapper} used to interact with the playlists table
+     * @param amazonDynamoDb the {@link AmazonDynamoDB} client used for UpdateItem calls the mapper cannot express
+     * @param playlistUpdateMetrics the {@link PlaylistUpdateMetrics} shared by every PlaylistDao in the process
+     */
+    public PlaylistDao(DynamoDBMapper dynamoDbMapper, AmazonDynamoDB amazonDynamoDb,
+                       PlaylistUpdateMetrics playlistUpdateMetrics) {
+        this(dynamoDbMapper, amazonDynamoDb, playlistUpdateMetrics, ConsistentReads.EVENTUAL);
+    }
 
     /**
      * Instantiates a PlaylistDao object.
      *
      * @param dynamoDbMapper the {@link DynamoDBMapper} used to interact with the playlists table
+     * @param amazonDynamoDb the {@link AmazonDynamoDB} client used for UpdateItem calls the mapper cannot express
+     * @param playlistUpdateMetrics the {@link PlaylistUpdateMetrics} shared by every PlaylistDao in the process
+     * @param consistentReads the read consistency the mapper is configured with, which summary queries follow
      */
-    public PlaylistDao(DynamoDBMapper dynamoDbMapper) {
+    public PlaylistDao(DynamoDBMapper dynamoDbMapper, AmazonDynamoDB amazonDynamoDb,
+                       PlaylistUpdateMetrics playlistUpdateMetrics, ConsistentReads consistentReads) {
         this.dynamoDbMapper = dynamoDbMapper;
+        this.amazonDynamoDb = amazonDynamoDb;
+        this.playlistUpdateMetrics = playlistUpdateMetrics;
+        this.consistentReads = consistentReads == ConsistentReads.CONSISTENT;
     }
 
     /**
@@ -26,6 +134,7 @@ public class PlaylistDao {
      * @param id the Playlist ID
      * @return the stored Playlist, or null if none was found.
      */
+    @Override
     public Playlist getPlaylist(String id) {
         Playlist playlist = this.dynamoDbMapper.load(Playlist.class, id);
 
@@ -36,7 +145,342 @@ public class PlaylistDao {
         return playlist;
     }
 
-    public Object savePlaylist(Playlist originalPlaylist) {
-        return null;
+    /**
+     * Returns the {@link Playlist} corresponding to the specified id with only its id, name, customerId,
+     * songCount and tags attributes. The songList is left out of the response by a ProjectionExpression,
+     * so it is neither transferred nor decoded; the returned Playlist has a null songList.
+     * <p>
+     * A Query is strongly consistent unless told otherwise, so the query is made with the mapper's read
+     * consistency, like {@link #getPlaylist}. DynamoDB bills the query for the whole item whatever the
+     * projection, so this read costs the same capacity as a full load.
+     *
+     * @param id the Playlist ID
+     * @return the stored Playlist's summary attributes
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    @Override
+    public Playlist getPlaylistSummary(String id) {
+        Playlist hashKey = new Playlist();
+        hashKey.setId(id);
+        DynamoDBQueryExpression<Playlist> queryExpression = new DynamoDBQueryExpression<Playlist>()
+                .withHashKeyValues(hashKey)
+                .withConsistentRead(consistentReads)
+                .withProjectionExpression(SUMMARY_PROJECTION_EXPRESSION)
+                .withExpressionAttributeNames(SUMMARY_ATTRIBUTE_NAMES)
+                .withLimit(1);
+
+        QueryResultPage<Playlist> page = this.dynamoDbMapper.queryPage(Playlist.class, queryExpression);
+        List<Playlist> results = page.getResults();
+        if (results == null || results.isEmpty()) {
+            throw new PlaylistNotFoundException("Could not find playlist with id " + id);
+        }
+
+        return results.get(0);
+    }
+
+    /**
+     * Returns one page of a customer's playlists with only their summary attributes, using the
+     * {@value Playlist#CUSTOMER_ID_INDEX} global secondary index. The index does not project the songList,
+     * so it is never read.
+     *
+     * @param customerId the customer whose playlists to list
+     * @param limit the maximum number of playlists to return
+     * @param pageToken the nextPageToken of the previous page, or null for the first page
+     * @return the page of Playlists, each with a null songList
+     * @throws InvalidAttributeValueException if the page token was not issued by this method
+     */
+    public PlaylistPage getPlaylistsForCustomer(String customerId, int limit, String pageToken) {
+        Playlist hashKey = new Playlist();
+        hashKey.setCustomerId(customerId);
+        DynamoDBQueryExpression<Playlist> queryExpression = new DynamoDBQueryExpression<Playlist>()
+                .withIndexName(Playlist.CUSTOMER_ID_INDEX)
+                .withHashKeyValues(hashKey)
+                .withConsistentRead(false)
+                .withProjectionExpression(SUMMARY_PROJECTION_EXPRESSION)
+                .withExpressionAttributeNames(SUMMARY_ATTRIBUTE_NAMES)
+                .withLimit(limit)
+                .withExclusiveStartKey(pageToken == null ? null : toStartKey(customerId, pageToken));
+
+        QueryResultPage<Playlist> page = this.dynamoDbMapper.queryPage(Playlist.class, queryExpression);
+        List<Playlist> playlists = page.getResults() != null ? page.getResults() : new ArrayList<>();
+        Map<String, AttributeValue> lastEvaluatedKey = page.getLastEvaluatedKey();
+        return new PlaylistPage(playlists, lastEvaluatedKey == null ? null : toPageToken(lastEvaluatedKey));
+    }
+
+    /**
+     * Saves the provided {@link Playlist} to the playlists table, replacing any existing item with the same id.
+     * <p>
+     * The save only succeeds if the stored version still matches the Playlist's version, which it then
+     * increments. Use {@link #updatePlaylist} to retry a change that lost a race.
+     *
+     * @param playlist the Playlist to save
+     * @return the saved Playlist
+     * @throws ConditionalCheckFailedException if the playlist was changed since it was read
+     */
+    @Override
+    public Playlist savePlaylist(Playlist playlist) {
+        this.dynamoDbMapper.save(playlist);
+        return playlist;
+    }
+
+    /**
+     * Updates the stored playlist with the non-null attributes of the provided {@link Playlist}, leaving
+     * every null attribute as it is stored. Use this to save a Playlist read by {@link #getPlaylistSummary}
+     * without removing its songList. Like {@link #savePlaylist}, the save is conditional on the version.
+     *
+     * @param playlist the Playlist to save
+     * @return the saved Playlist
+     * @throws ConditionalCheckFailedException if the playlist was changed since it was read
+     */
+    @Override
+    public Playlist savePlaylistSummary(Playlist playlist) {
+        this.dynamoDbMapper.save(playlist, SKIP_NULL_ATTRIBUTES_CONFIG);
+        return playlist;
+    }
+
+    /**
+     * Reads the playlist, applies the mutation and saves it, conditional on the playlist's version. When
+     * another writer saved the playlist in between, the playlist is read again and the mutation reapplied,
+     * after a jittered exponential backoff, up to {@value #MAX_UPDATE_ATTEMPTS} attempts.
+     *
+     * @param id the Playlist ID
+     * @param mutation the change to make; it may run more than once, each time on a freshly read Playlist
+     * @return the saved Playlist
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     * @throws ConditionalCheckFailedException if every attempt lost to a concurrent writer
+     */
+    @Override
+    public Playlist updatePlaylist(String id, Consumer<Playlist> mutation) {
+        return update(id, mutation, this::getPlaylist, this::savePlaylist);
+    }
+
+    /**
+     * Same as {@link #updatePlaylist}, but reads the playlist with {@link #getPlaylistSummary} and saves it
+     * with {@link #savePlaylistSummary}, so the songList is neither read nor written.
+     *
+     * @param id the Playlist ID
+     * @param mutation the change to make; it may run more than once, each time on a freshly read Playlist
+     * @return the saved Playlist
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     * @throws ConditionalCheckFailedException if every attempt lost to a concurrent writer
+     */
+    @Override
+    public Playlist updatePlaylistSummary(String id, Consumer<Playlist> mutation) {
+        return update(id, mutation, this::getPlaylistSummary, this::savePlaylistSummary);
+    }
+
+    /**
+     * Adds a song to the end of the playlist with a single UpdateItem call using list_append, and increments
+     * its songCount. The playlist is not read first, and concurrent calls never lose each other's songs.
+     *
+     * @param id the Playlist ID
+     * @param albumTrack the song to add
+     * @return a Playlist holding only the id and the updated songList, songCount and version
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    @Override
+    public Playlist appendSong(String id, AlbumTrack albumTrack) {
+        return addSong(id, albumTrack, false);
+    }
+
+    /**
+     * Adds a song to the start of the playlist with a single UpdateItem call using list_append, and
+     * increments its songCount. The playlist is not read first, and concurrent calls never lose each
+     * other's songs.
+     *
+     * @param id the Playlist ID
+     * @param albumTrack the song to add
+     * @return a Playlist holding only the id and the updated songList, songCount and version
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    @Override
+    public Playlist prependSong(String id, AlbumTrack albumTrack) {
+        return addSong(id, albumTrack, true);
+    }
+
+    /**
+     * Adds songs to the playlist_songs table for NORMALIZED song storage. Each TransactWriteItems call puts up
+     * to {@value #MAX_TRANSACTION_SONGS} songs together with the UpdateItem that adds them to the playlist's
+     * songCount and increments its version, so the songCount always matches the songs stored. Larger adds
+     * take several transactions, each of which either stores its songs or fails without a trace. The
+     * playlist is not read first.
+     *
+     * @param id the Playlist ID
+     * @param albumTracks the songs to add, in order
+     * @param queueNext for each song, true to place it before every other song
+     * @return a Playlist holding only the id
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    @Override
+    public Playlist addPlaylistSongs(String id, List<AlbumTrack> albumTracks, List<Boolean> queueNext) {
+        for (int from = 0; from < albumTracks.size(); from += MAX_TRANSACTION_SONGS) {
+            int to = Math.min(from + MAX_TRANSACTION_SONGS, albumTracks.size());
+            addPlaylistSongsTransaction(id, albumTracks.subList(from, to), queueNext.subList(from, to));
+        }
+
+        Playlist playlist = new Playlist();
+        playlist.setId(id);
+        return playlist;
+    }
+
+    private void addPlaylistSongsTransaction(String id, List<AlbumTrack> albumTracks, List<Boolean> queueNext) {
+        Map<String, AttributeValue> expressionValues = new HashMap<>();
+        expressionValues.put(":count", new AttributeValue().withN(Integer.toString(albumTracks.size())));
+        expressionValues.put(":one", new AttributeValue().withN("1"));
+        TransactWriteItem incrementSongCount = new TransactWriteItem().withUpdate(new Update()
+                .withTableName(TABLE_NAME)
+                .withKey(Collections.singletonMap("id", new AttributeValue().withS(id)))
+                .withUpdateExpression(INCREMENT_SONG_COUNT_EXPRESSION)
+                .withConditionExpression(PLAYLIST_EXISTS_CONDITION)
+                .withExpressionAttributeNames(Collections.singletonMap("#version", "version"))
+                .withExpressionAttributeValues(expressionValues));
+
+        for (int attempt = 1; ; attempt++) {
+            List<TransactWriteItem> transactItems = new ArrayList<>(albumTracks.size() + 1);
+            transactItems.add(incrementSongCount);
+            for (PlaylistSong playlistSong : PlaylistSongDao.newPlaylistSongs(id, albumTracks, queueNext)) {
+                transactItems.add(new TransactWriteItem().withPut(new Put()
+                        .withTableName(PlaylistSongDao.TABLE_NAME)
+                        .withItem(PlaylistSongDao.toItem(playlistSong))
+                        .withConditionExpression(POSITION_FREE_CONDITION)));
+            }
+
+            try {
+                this.amazonDynamoDb.transactWriteItems(new TransactWriteItemsRequest()
+                        .withTransactItems(transactItems));
+                return;
+            } catch (TransactionCanceledException e) {
+                List<CancellationReason> reasons = e.getCancellationReasons() != null
+                        ? e.getCancellationReasons()
+                        : Collections.emptyList();
+                if (!reasons.isEmpty() && isConditionFailure(reasons.get(0))) {
+                    throw new PlaylistNotFoundException("Could not find playlist with id " + id, e);
+                }
+                // a failed Put means another process took one of the positions; retry with new ones
+                boolean positionTaken = reasons.stream().anyMatch(PlaylistDao::isConditionFailure);
+                if (!positionTaken || attempt == MAX_PUT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static boolean isConditionFailure(CancellationReason reason) {
+        return CONDITION_FAILED_CODE.equals(reason.getCode());
+    }
+
+    private Playlist addSong(String id, AlbumTrack albumTrack, boolean queueNext) {
+        Map<String, AttributeValue> expressionValues = new HashMap<>();
+        expressionValues.put(":songs", new AttributeValue().withL(
+                AlbumTrackListAttributeConverter.toAttributeValue(albumTrack)));
+        expressionValues.put(":emptyList", new AttributeValue().withL(Collections.emptyList()));
+        expressionValues.put(":one", new AttributeValue().withN("1"));
+
+        UpdateItemRequest updateItemRequest = new UpdateItemRequest()
+                .withTableName(TABLE_NAME)
+                .withKey(Collections.singletonMap("id", new AttributeValue().withS(id)))
+                .withUpdateExpression(queueNext ? PREPEND_SONG_EXPRESSION : APPEND_SONG_EXPRESSION)
+                .withConditionExpression(PLAYLIST_EXISTS_CONDITION)
+                .withExpressionAttributeNames(Collections.singletonMap("#version", "version"))
+                .withExpressionAttributeValues(expressionValues)
+                .withReturnValues(ReturnValue.UPDATED_NEW);
+
+        Map<String, AttributeValue> updated;
+        try {
+            updated = this.amazonDynamoDb.updateItem(updateItemRequest).getAttributes();
+        } catch (ConditionalCheckFailedException e) {
+            throw new PlaylistNotFoundException("Could not find playlist with id " + id, e);
+        } catch (AmazonDynamoDBException e) {
+            if (!isSongListTypeMismatch(e)) {
+                throw e;
+            }
+            return addSongBySave(id, albumTrack, queueNext);
+        }
+
+        Playlist playlist = new Playlist();
+        playlist.setId(id);
+        playlist.setSongList(SONG_LIST_CONVERTER.unconvert(updated.get("songList")));
+        playlist.setSongCount(Integer.valueOf(updated.get("songCount").getN()));
+        if (updated.containsKey("version")) {
+            playlist.setVersion(Long.valueOf(updated.get("version").getN()));
+        }
+        return playlist;
+    }
+
+    private static boolean isSongListTypeMismatch(AmazonDynamoDBException e) {
+        return VALIDATION_ERROR_CODE.equals(e.getErrorCode()) && e.getErrorMessage() != null
+                && e.getErrorMessage().contains(OPERAND_TYPE_MISMATCH_MESSAGE);
+    }
+
+    // Read-modify-write for playlists whose songList is not yet a List; the save migrates it to one
+    private Playlist addSongBySave(String id, AlbumTrack albumTrack, boolean queueNext) {
+        return updatePlaylist(id, playlist -> {
+            List<AlbumTrack> songList = playlist.getSongList() != null
+                    ? new ArrayList<>(playlist.getSongList())
+                    : new ArrayList<>();
+            if (queueNext) {
+                songList.add(0, albumTrack);
+            } else {
+                songList.add(albumTrack);
+            }
+            playlist.setSongList(songList);
+            playlist.setSongCount(songList.size());
+        });
+    }
+
+    // The index key of a page is the customerId, which the caller passes again, so the token holds the id
+    private static String toPageToken(Map<String, AttributeValue> lastEvaluatedKey) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(lastEvaluatedKey.get("id").getS().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, AttributeValue> toStartKey(String customerId, String pageToken) {
+        String id;
+        try {
+            id = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidAttributeValueException("Invalid page token " + pageToken, e);
+        }
+        Map<String, AttributeValue> startKey = new HashMap<>();
+        startKey.put("id", new AttributeValue().withS(id));
+        startKey.put("customerId", new AttributeValue().withS(customerId));
+        return startKey;
+    }
+
+    private Playlist update(String id, Consumer<Playlist> mutation, Function<String, Playlist> loader,
+                            UnaryOperator<Playlist> saver) {
+        for (int attempt = 1; ; attempt++) {
+            Playlist playlist = loader.apply(id);
+            mutation.accept(playlist);
+            try {
+                Playlist saved = saver.apply(playlist);
+                recordUpdate(id, attempt, attempt - 1, true);
+                return saved;
+            } catch (ConditionalCheckFailedException e) {
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    recordUpdate(id, attempt, attempt, false);
+                    throw e;
+                }
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private void recordUpdate(String id, int attempts, int conflicts, boolean succeeded) {
+        playlistUpdateMetrics.recordUpdate(attempts, conflicts, succeeded);
+        if (conflicts > 0) {
+            log.warn("Playlist {} update {} after {} version conflicts", id, succeeded ? "saved" : "gave up",
+                    conflicts);
+        }
+    }
+
+    private static void backOff(int attempt, ConditionalCheckFailedException conflict) {
+        long ceiling = Math.min(UPDATE_RETRY_MAX_DELAY_MILLIS, UPDATE_RETRY_BASE_DELAY_MILLIS << (attempt - 1));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
     }
 }
@@ -0,0 +1,32 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+
+import java.util.List;
+
+/**
+ * One page of playlists returned by a paginated query, and the token that continues it.
+ */
+public class PlaylistPage {
+    private final List<Playlist> playlists;
+    private final String nextPageToken;
+
+    /**
+     * Instantiates a PlaylistPage object.
+     *
+     * @param playlists the playlists on this page
+     * @param nextPageToken the token that requests the next page, or null if this is the last page
+     */
+    public PlaylistPage(List<Playlist> playlists, String nextPageToken) {
+        this.playlists = playlists;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<Playlist> getPlaylists() {
+        return playlists;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+}
@@ -0,0 +1,192 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.PlaylistSong;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accesses the songs of a playlist using {@link PlaylistSong} to represent one song per item in DynamoDB.
+ * <p>
+ * Songs are ordered by their position sort key. Appended songs get increasing positive positions and
+ * songs queued next get decreasing negative positions, so both kinds of insert are a single Put that
+ * never reads or rewrites the rest of the playlist. Songs are written by {@link PlaylistDao#addPlaylistSongs},
+ * in the same transaction that keeps the playlist item's songCount current.
+ * <p>
+ * Positions come from this host's clock, so they order the adds made by one process. Songs added to the
+ * same playlist by different hosts within their clock skew of each other may be listed in either order.
+ */
+public class PlaylistSongDao {
+    static final String TABLE_NAME = "playlist_songs";
+    static final int QUERY_PAGE_SIZE = 500;
+
+    // positions are host-local microsecond timestamps, bumped so each one handed out by this process is
+    // unique; they are not ordered across hosts
+    private static final AtomicLong LAST_POSITION = new AtomicLong();
+
+    private final DynamoDBMapper dynamoDbMapper;
+
+    /**
+     * Instantiates a PlaylistSongDao object.
+     *
+     * @param dynamoDbMapper the {@link DynamoDBMapper} used to interact with the playlist_songs table
+     */
+    public PlaylistSongDao(DynamoDBMapper dynamoDbMapper) {
+        this.dynamoDbMapper = dynamoDbMapper;
+    }
+
+    /**
+     * Returns every song of the playlist in playlist order, reading the playlist_songs table one
+     * Query page at a time.
+     *
+     * @param playlistId the Playlist ID
+     * @return the playlist's songs, or an empty list if it has none
+     */
+    public List<AlbumTrack> getPlaylistSongs(String playlistId) {
+        List<AlbumTrack> songs = new ArrayList<>();
+        Map<String, AttributeValue> exclusiveStartKey = null;
+        do {
+            QueryResultPage<PlaylistSong> page = dynamoDbMapper.queryPage(PlaylistSong.class,
+                    queryExpression(playlistId, exclusiveStartKey, QUERY_PAGE_SIZE));
+            for (PlaylistSong playlistSong : page.getResults()) {
+                songs.add(toAlbumTrack(playlistSong));
+            }
+            exclusiveStartKey = page.getLastEvaluatedKey();
+        } while (exclusiveStartKey != null);
+
+        return songs;
+    }
+
+    /**
+     * Returns one page of the playlist's songs, in playlist order or reversed, starting after a position.
+     * The page is read with a key-ordered Query from the position onwards, so it never reads the songs
+     * before it, and reads one song past the page to learn whether another page follows.
+     *
+     * @param playlistId the Playlist ID
+     * @param reversed true to list the songs last first
+     * @param afterPosition the lastPosition of the previous page, or null for the first page
+     * @param limit the maximum number of songs to return
+     * @return the page of songs
+     */
+    public PlaylistSongPage getPlaylistSongPage(String playlistId, boolean reversed, Long afterPosition, int limit) {
+        List<PlaylistSong> playlistSongs = new ArrayList<>(limit + 1);
+        Map<String, AttributeValue> exclusiveStartKey = afterPosition == null
+                ? null
+                : toKey(playlistId, afterPosition);
+        // a Query page stops at 1 MB, so it can hold fewer songs than asked for and still not be the last
+        do {
+            QueryResultPage<PlaylistSong> page = dynamoDbMapper.queryPage(PlaylistSong.class,
+                    queryExpression(playlistId, exclusiveStartKey, limit + 1 - playlistSongs.size())
+                            .withScanIndexForward(!reversed));
+            playlistSongs.addAll(page.getResults());
+            exclusiveStartKey = page.getLastEvaluatedKey();
+        } while (exclusiveStartKey != null && playlistSongs.size() <= limit);
+
+        List<AlbumTrack> songs = new ArrayList<>(Math.min(limit, playlistSongs.size()));
+        for (PlaylistSong playlistSong : playlistSongs.subList(0, Math.min(limit, playlistSongs.size()))) {
+            songs.add(toAlbumTrack(playlistSong));
+        }
+        return new PlaylistSongPage(songs,
+                playlistSongs.size() > limit ? playlistSongs.get(limit - 1).getPosition() : null);
+    }
+
+    /**
+     * Returns the PlaylistSongs to store for album tracks added to the playlist, each at a new position.
+     * Songs are placed in list order, exactly as if each had been added on its own.
+     *
+     * @param playlistId the Playlist ID
+     * @param albumTracks the album tracks to add
+     * @param queueNext for each album track, true to place it before every other song
+     * @return the PlaylistSongs, in the order of the album tracks
+     */
+    static List<PlaylistSong> newPlaylistSongs(String playlistId, List<AlbumTrack> albumTracks,
+                                               List<Boolean> queueNext) {
+        long firstPosition = reservePositions(albumTracks.size());
+        List<PlaylistSong> playlistSongs = new ArrayList<>(albumTracks.size());
+        for (int i = 0; i < albumTracks.size(); i++) {
+            playlistSongs.add(toPlaylistSong(playlistId, albumTracks.get(i),
+                    toPosition(firstPosition + i, queueNext.get(i))));
+        }
+        return playlistSongs;
+    }
+
+    /**
+     * Returns the playlist_songs item a PlaylistSong is stored as, for writes the mapper cannot express.
+     *
+     * @param playlistSong the PlaylistSong
+     * @return the item's attributes
+     */
+    static Map<String, AttributeValue> toItem(PlaylistSong playlistSong) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("playlist_id", new AttributeValue().withS(playlistSong.getPlaylistId()));
+        item.put("position", new AttributeValue().withN(Long.toString(playlistSong.getPosition())));
+        item.put("asin", new AttributeValue().withS(playlistSong.getAsin()));
+        item.put("track_number", new AttributeValue().withN(Integer.toString(playlistSong.getTrackNumber())));
+        if (playlistSong.getAlbumName() != null) {
+            item.put("album_name", new AttributeValue().withS(playlistSong.getAlbumName()));
+        }
+        if (playlistSong.getSongTitle() != null) {
+            item.put("song_title", new AttributeValue().withS(playlistSong.getSongTitle()));
+        }
+        return item;
+    }
+
+    private static DynamoDBQueryExpression<PlaylistSong> queryExpression(String playlistId,
+                                                                         Map<String, AttributeValue> exclusiveStartKey,
+                                                                         int limit) {
+        PlaylistSong hashKey = new PlaylistSong();
+        hashKey.setPlaylistId(playlistId);
+        return new DynamoDBQueryExpression<PlaylistSong>()
+                .withHashKeyValues(hashKey)
+                .withExclusiveStartKey(exclusiveStartKey)
+                .withLimit(limit);
+    }
+
+    private static Map<String, AttributeValue> toKey(String playlistId, long position) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("playlist_id", new AttributeValue().withS(playlistId));
+        key.put("position", new AttributeValue().withN(Long.toString(position)));
+        return key;
+    }
+
+    private static long reservePositions(int count) {
+        long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        long lastReserved = LAST_POSITION.accumulateAndGet(now,
+                (last, current) -> Math.max(last + 1, current) + count - 1);
+        return lastReserved - count + 1;
+    }
+
+    private static long toPosition(long sequence, boolean queueNext) {
+        return queueNext ? -sequence : sequence;
+    }
+
+    private static PlaylistSong toPlaylistSong(String playlistId, AlbumTrack albumTrack, long position) {
+        PlaylistSong playlistSong = new PlaylistSong();
+        playlistSong.setPlaylistId(playlistId);
+        playlistSong.setPosition(position);
+        playlistSong.setAsin(albumTrack.getAsin());
+        playlistSong.setTrackNumber(albumTrack.getTrackNumber());
+        playlistSong.setAlbumName(albumTrack.getAlbumName());
+        playlistSong.setSongTitle(albumTrack.getSongTitle());
+        return playlistSong;
+    }
+
+    private static AlbumTrack toAlbumTrack(PlaylistSong playlistSong) {
+        AlbumTrack albumTrack = new AlbumTrack();
+        albumTrack.setAsin(playlistSong.getAsin());
+        albumTrack.setTrackNumber(playlistSong.getTrackNumber());
+        albumTrack.setAlbumName(playlistSong.getAlbumName());
+        albumTrack.setSongTitle(playlistSong.getSongTitle());
+        return albumTrack;
+    }
+}
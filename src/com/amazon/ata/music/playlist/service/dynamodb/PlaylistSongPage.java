@@ -0,0 +1,32 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+
+import java.util.List;
+
+/**
+ * One page of a playlist's songs read from the playlist_songs table, and the position that continues it.
+ */
+public class PlaylistSongPage {
+    private final List<AlbumTrack> songs;
+    private final Long lastPosition;
+
+    /**
+     * Instantiates a PlaylistSongPage object.
+     *
+     * @param songs the songs on this page, in the order they were read
+     * @param lastPosition the position of the last song on this page, or null if this is the last page
+     */
+    public PlaylistSongPage(List<AlbumTrack> songs, Long lastPosition) {
+        this.songs = songs;
+        this.lastPosition = lastPosition;
+    }
+
+    public List<AlbumTrack> getSongs() {
+        return songs;
+    }
+
+    public Long getLastPosition() {
+        return lastPosition;
+    }
+}
@@ -0,0 +1,112 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazon.ata.music.playlist.service.util.ReportSchedule;
+
+import com.google.common.base.Ticker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the outcomes of optimistic-locking playlist updates made through {@link PlaylistDao}, so contention
+ * on hot playlists can be observed.
+ * <p>
+ * Every save attempt is counted once. An attempt that loses the version check is a conflict; each conflict
+ * is followed by a retry unless the update has run out of attempts, in which case it is exhausted.
+ * <p>
+ * The counts since the process started are logged at most once per report interval, by the update that
+ * finds the interval has passed.
+ */
+public class PlaylistUpdateMetrics {
+    private final Logger log = LogManager.getLogger();
+    private final ReportSchedule reportSchedule;
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    /**
+     * Instantiates a PlaylistUpdateMetrics object that logs its counts every minute.
+     */
+    public PlaylistUpdateMetrics() {
+        this(ReportSchedule.DEFAULT_INTERVAL, Ticker.systemTicker());
+    }
+
+    /**
+     * Instantiates a PlaylistUpdateMetrics object.
+     *
+     * @param reportInterval the time between logged reports
+     * @param ticker the time source for the report interval
+     */
+    public PlaylistUpdateMetrics(Duration reportInterval, Ticker ticker) {
+        this.reportSchedule = new ReportSchedule(reportInterval, ticker);
+    }
+
+    /**
+     * Records one finished update.
+     *
+     * @param attemptCount the number of save attempts the update made
+     * @param conflictCount the number of those attempts that failed the version check
+     * @param succeeded whether the last attempt saved the playlist
+     */
+    public void recordUpdate(int attemptCount, int conflictCount, boolean succeeded) {
+        updates.increment();
+        attempts.add(attemptCount);
+        conflicts.add(conflictCount);
+        if (!succeeded) {
+            exhausted.increment();
+        }
+        if (reportSchedule.tryReport()) {
+            log.info("Playlist updates: {}", this);
+        }
+    }
+
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    public long getAttemptCount() {
+        return attempts.sum();
+    }
+
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    /**
+     * Returns the number of save attempts made after a conflict.
+     *
+     * @return the retry count
+     */
+    public long getRetryCount() {
+        return attempts.sum() - updates.sum();
+    }
+
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    /**
+     * Returns the fraction of save attempts that failed the version check.
+     *
+     * @return the conflict rate, or 0 if no attempt was made
+     */
+    public double getConflictRate() {
+        long attemptCount = attempts.sum();
+        return attemptCount == 0 ? 0 : (double) conflicts.sum() / attemptCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PlaylistUpdateMetrics{" +
+                "updates=" + getUpdateCount() +
+                ", attempts=" + getAttemptCount() +
+                ", conflicts=" + getConflictCount() +
+                ", retries=" + getRetryCount() +
+                ", exhausted=" + getExhaustedCount() +
+                ", conflictRate=" + getConflictRate() +
+                '}';
+    }
+}
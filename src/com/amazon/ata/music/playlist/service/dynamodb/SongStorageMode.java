@@ -0,0 +1,20 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+/**
+ * Where the songs of a playlist are stored.
+ */
+public enum SongStorageMode {
+    /**
+     * Songs are stored in the songList attribute of the playlist item.
+     */
+    EMBEDDED,
+    /**
+     * Songs are stored as one item per song in the playlist_songs table.
+     */
+    NORMALIZED,
+    /**
+     * Songs are stored in the songList attribute of the playlist item as (asin, trackNumber) references
+     * only; album name and song title are looked up from the album_tracks catalog on read.
+     */
+    REFERENCE
+}
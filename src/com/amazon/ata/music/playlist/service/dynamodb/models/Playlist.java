@@ -1,11 +1,13 @@
 package com.amazon.ata.music.playlist.service.dynamodb.models;
 
-import com.amazon.ata.music.playlist.service.converters.AlbumTrackLinkedListConverter;
+import com.amazon.ata.music.playlist.service.converters.AlbumTrackListAttributeConverter;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexHashKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverted;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBVersionAttribute;
 
 import java.util.List;
 import java.util.Set;
@@ -15,8 +17,16 @@ import java.util.Set;
  */
 @DynamoDBTable(tableName = "playlists")
 public class Playlist {
+    // Global secondary index on customerId that projects only the summary attributes, never the songList
+    public static final String CUSTOMER_ID_INDEX = "customerId-index";
+
     private String id;
+    private String name;
+    private String customerId;
+    private Integer songCount;
+    private Set<String> tags;
     private List<AlbumTrack> songList;
+    private Long version;
 
     @DynamoDBHashKey(attributeName = "id")
     public String getId() {
@@ -27,8 +37,45 @@ public class Playlist {
         this.id = id;
     }
 
+    @DynamoDBAttribute(attributeName = "name")
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @DynamoDBAttribute(attributeName = "customerId")
+    @DynamoDBIndexHashKey(globalSecondaryIndexName = CUSTOMER_ID_INDEX, attributeName = "customerId")
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    @DynamoDBAttribute(attributeName = "songCount")
+    public Integer getSongCount() {
+        return songCount;
+    }
+
+    public void setSongCount(Integer songCount) {
+        this.songCount = songCount;
+    }
+
+    @DynamoDBAttribute(attributeName = "tags")
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
     // PARTICIPANTS: You do not need to modify the songList getters/setters or annotations
-    @DynamoDBTypeConverted(converter = AlbumTrackLinkedListConverter.class)
+    @DynamoDBTypeConverted(converter = AlbumTrackListAttributeConverter.class)
     @DynamoDBAttribute(attributeName = "songList")
     public List<AlbumTrack> getSongList() {
         return songList;
@@ -38,16 +85,17 @@ public class Playlist {
         this.songList = songList;
     }
 
-    public void setCustomerId(String customerABC) {
+    /**
+     * Incremented by DynamoDBMapper on every save, which only succeeds if the stored version is unchanged.
+     *
+     * @return the version read with this Playlist, or null if it was never saved
+     */
+    @DynamoDBVersionAttribute(attributeName = "version")
+    public Long getVersion() {
+        return version;
     }
 
-    public void setTags(Set<String> tag) {
-    }
-
-    public void setName(String aPlaylist) {
-    }
-
-    public void setSongCount(int size) {
-
+    public void setVersion(Long version) {
+        this.version = version;
     }
 }
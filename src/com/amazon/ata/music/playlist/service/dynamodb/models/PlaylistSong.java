@@ -0,0 +1,74 @@
+package com.amazon.ata.music.playlist.service.dynamodb.models;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBRangeKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+
+/**
+ * Represents a record in the playlist_songs table: one song of a playlist, ordered within the
+ * playlist by its position.
+ */
+@DynamoDBTable(tableName = "playlist_songs")
+public class PlaylistSong {
+    private String playlistId;
+    private Long position;
+    private String asin;
+    private Integer trackNumber;
+    private String albumName;
+    private String songTitle;
+
+    @DynamoDBHashKey(attributeName = "playlist_id")
+    public String getPlaylistId() {
+        return playlistId;
+    }
+
+    public void setPlaylistId(String playlistId) {
+        this.playlistId = playlistId;
+    }
+
+    @DynamoDBRangeKey(attributeName = "position")
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    @DynamoDBAttribute(attributeName = "asin")
+    public String getAsin() {
+        return asin;
+    }
+
+    public void setAsin(String asin) {
+        this.asin = asin;
+    }
+
+    @DynamoDBAttribute(attributeName = "track_number")
+    public Integer getTrackNumber() {
+        return trackNumber;
+    }
+
+    public void setTrackNumber(Integer trackNumber) {
+        this.trackNumber = trackNumber;
+    }
+
+    @DynamoDBAttribute(attributeName = "album_name")
+    public String getAlbumName() {
+        return albumName;
+    }
+
+    public void setAlbumName(String albumName) {
+        this.albumName = albumName;
+    }
+
+    @DynamoDBAttribute(attributeName = "song_title")
+    public String getSongTitle() {
+        return songTitle;
+    }
+
+    public void setSongTitle(String songTitle) {
+        this.songTitle = songTitle;
+    }
+}
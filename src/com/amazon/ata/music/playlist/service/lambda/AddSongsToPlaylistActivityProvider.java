@@ -0,0 +1,29 @@
+package com.amazon.ata.music.playlist.service.lambda;
+
+import com.amazon.ata.music.playlist.service.dependency.App;
+import com.amazon.ata.music.playlist.service.models.requests.AddSongsToPlaylistRequest;
+import com.amazon.ata.music.playlist.service.models.results.AddSongsToPlaylistResult;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+
+public class AddSongsToPlaylistActivityProvider implements RequestHandler<AddSongsToPlaylistRequest, AddSongsToPlaylistResult> {
+
+    private static App app;
+
+    public AddSongsToPlaylistActivityProvider() {
+
+    }
+
+    @Override
+    public AddSongsToPlaylistResult handleRequest(final AddSongsToPlaylistRequest addSongsToPlaylistRequest, Context context) {
+        return getApp().provideAddSongsToPlaylistActivity().handleRequest(addSongsToPlaylistRequest, context);
+    }
+
+    private App getApp() {
+        if (app == null) {
+            app = new App();
+        }
+
+        return app;
+    }
+}
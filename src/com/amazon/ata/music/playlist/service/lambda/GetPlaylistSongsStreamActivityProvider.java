@@ -0,0 +1,114 @@
+package com.amazon.ata.music.playlist.service.lambda;
+
+import com.amazon.ata.music.playlist.service.activity.GetPlaylistSongsActivity;
+import com.amazon.ata.music.playlist.service.dependency.App;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import com.amazon.ata.music.playlist.service.models.SongModel;
+import com.amazon.ata.music.playlist.service.models.requests.GetPlaylistSongsRequest;
+import com.amazon.ata.music.playlist.service.models.results.GetPlaylistSongsResult;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming variant of {@link GetPlaylistSongsActivityProvider} for playlists too big to hold as one result.
+ * <p>
+ * Reads the GetPlaylistSongsRequest from the input and writes each SongModel to the output as soon as it is
+ * converted, so neither the result nor its serialized form is ever built in memory. The output has the same
+ * shape as a GetPlaylistSongsResult: {"songList": [...], "nextCursor": ..., "seed": ...}.
+ * <p>
+ * Output is held back only until {@value #OUTPUT_BUFFER_CHARS} characters have been written. A request that
+ * fails after that leaves a truncated result that is not valid JSON, so a caller must treat output that
+ * does not parse as a failed request, never as a short song list.
+ */
+public class GetPlaylistSongsStreamActivityProvider implements RequestStreamHandler {
+    static final int OUTPUT_BUFFER_CHARS = 8192;
+
+    private static final Gson GSON = new Gson();
+
+    private static App app;
+
+    public GetPlaylistSongsStreamActivityProvider() {
+
+    }
+
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        streamSongs(getApp().provideGetPlaylistSongsActivity(), input, output);
+    }
+
+    /**
+     * Reads a request from the input and writes the songs the activity returns for it to the output.
+     * Nothing is written if the request fails before {@value #OUTPUT_BUFFER_CHARS} characters of the result
+     * have been; a later failure leaves the result truncated.
+     *
+     * @param activity the activity to list the songs with
+     * @param input the JSON GetPlaylistSongsRequest
+     * @param output receives the JSON result
+     * @throws IOException if the input can't be read or the output can't be written
+     * @throws InvalidAttributeValueException if the input is empty, null or not a JSON request
+     */
+    static void streamSongs(GetPlaylistSongsActivity activity, InputStream input, OutputStream output)
+            throws IOException {
+        GetPlaylistSongsRequest request;
+        try {
+            request = GSON.fromJson(new InputStreamReader(input, StandardCharsets.UTF_8),
+                    GetPlaylistSongsRequest.class);
+        } catch (JsonParseException e) {
+            throw new InvalidAttributeValueException("Invalid GetPlaylistSongsRequest", e);
+        }
+        if (request == null) {
+            throw new InvalidAttributeValueException("Missing GetPlaylistSongsRequest");
+        }
+
+        // not flushed on failure, so a result that fails within the buffer is never written
+        JsonWriter json = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(output, StandardCharsets.UTF_8), OUTPUT_BUFFER_CHARS));
+        json.beginObject();
+        json.name("songList");
+        json.beginArray();
+        GetPlaylistSongsResult result;
+        try {
+            result = activity.forEachSong(request, song -> writeSong(json, song)).build();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        json.endArray();
+        json.name("nextCursor").value(result.getNextCursor());
+        json.name("seed").value(result.getSeed());
+        json.endObject();
+        json.flush();
+    }
+
+    private static void writeSong(JsonWriter json, SongModel song) {
+        try {
+            json.beginObject();
+            json.name("asin").value(song.getAsin());
+            json.name("album").value(song.getAlbum());
+            json.name("trackNumber").value(song.getTrackNumber());
+            json.name("title").value(song.getTitle());
+            json.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private App getApp() {
+        if (app == null) {
+            app = new App();
+        }
+
+        return app;
+    }
+}
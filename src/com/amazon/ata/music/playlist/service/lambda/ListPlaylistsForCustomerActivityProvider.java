@@ -0,0 +1,32 @@
+package com.amazon.ata.music.playlist.service.lambda;
+
+import com.amazon.ata.music.playlist.service.dependency.App;
+import com.amazon.ata.music.playlist.service.models.requests.ListPlaylistsForCustomerRequest;
+import com.amazon.ata.music.playlist.service.models.results.ListPlaylistsForCustomerResult;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+
+public class ListPlaylistsForCustomerActivityProvider
+        implements RequestHandler<ListPlaylistsForCustomerRequest, ListPlaylistsForCustomerResult> {
+
+    private static App app;
+
+    public ListPlaylistsForCustomerActivityProvider() {
+
+    }
+
+    @Override
+    public ListPlaylistsForCustomerResult handleRequest(
+            final ListPlaylistsForCustomerRequest listPlaylistsForCustomerRequest, Context context) {
+        return getApp().provideListPlaylistsForCustomerActivity()
+                .handleRequest(listPlaylistsForCustomerRequest, context);
+    }
+
+    private App getApp() {
+        if (app == null) {
+            app = new App();
+        }
+
+        return app;
+    }
+}
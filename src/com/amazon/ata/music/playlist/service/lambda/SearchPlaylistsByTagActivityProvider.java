@@ -0,0 +1,32 @@
+package com.amazon.ata.music.playlist.service.lambda;
+
+import com.amazon.ata.music.playlist.service.dependency.App;
+import com.amazon.ata.music.playlist.service.models.requests.SearchPlaylistsByTagRequest;
+import com.amazon.ata.music.playlist.service.models.results.SearchPlaylistsByTagResult;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+
+public class SearchPlaylistsByTagActivityProvider
+        implements RequestHandler<SearchPlaylistsByTagRequest, SearchPlaylistsByTagResult> {
+
+    private static App app;
+
+    public SearchPlaylistsByTagActivityProvider() {
+
+    }
+
+    @Override
+    public SearchPlaylistsByTagResult handleRequest(
+            final SearchPlaylistsByTagRequest searchPlaylistsByTagRequest, Context context) {
+        return getApp().provideSearchPlaylistsByTagActivity()
+                .handleRequest(searchPlaylistsByTagRequest, context);
+    }
+
+    private App getApp() {
+        if (app == null) {
+            app = new App();
+        }
+
+        return app;
+    }
+}
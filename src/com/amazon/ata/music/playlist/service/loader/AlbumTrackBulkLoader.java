@@ -0,0 +1,250 @@
+package com.amazon.ata.music.playlist.service.loader;
+
+import com.amazon.ata.music.playlist.service.dependency.App;
+
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads album_tracks seed data from a file in the BatchWriteItem request format, such as
+ * configurations/AlbumTracksData.json, into the catalog.
+ * <p>
+ * The file is streamed, grouped into batches of {@value #MAX_BATCH_SIZE} items, and each batch is written
+ * on a bounded pool of workers; when every worker is busy and the queue is full, the reading thread writes
+ * the next batch itself, so only a few batches are ever held in memory. Unprocessed items, and batches
+ * whose write throws, are resubmitted with exponential backoff and full jitter. Writes can be held to a
+ * target number of items per second, and progress is logged as items per second.
+ * <p>
+ * Run with ./gradlew loadAlbumTracks, against the storage engine App is configured for.
+ */
+public class AlbumTrackBulkLoader {
+    static final String TABLE_NAME = "album_tracks";
+    static final int MAX_BATCH_SIZE = 25;
+    static final int DEFAULT_MAX_ATTEMPTS = 10;
+    static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(50);
+    static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(5);
+    static final String DEFAULT_FILE = "configurations/AlbumTracksData.json";
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Logger log = LogManager.getLogger();
+    private final BatchWriter batchWriter;
+    private final int workers;
+    private final RateLimiter rateLimiter;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+
+    /**
+     * Instantiates an AlbumTrackBulkLoader object with the default retry settings.
+     *
+     * @param batchWriter writes each batch to the catalog
+     * @param workers the number of batches written at once
+     * @param writesPerSecond the target number of items written per second, or 0 to write as fast as possible
+     */
+    public AlbumTrackBulkLoader(BatchWriter batchWriter, int workers, double writesPerSecond) {
+        this(batchWriter, workers, writesPerSecond, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    /**
+     * Instantiates an AlbumTrackBulkLoader object.
+     *
+     * @param batchWriter writes each batch to the catalog
+     * @param workers the number of batches written at once
+     * @param writesPerSecond the target number of items written per second, or 0 to write as fast as possible
+     * @param maxAttempts the number of times a batch is written before its unprocessed items count as failed
+     * @param baseBackoff the longest wait before the first resubmission, doubled for each one after
+     * @param maxBackoff the longest wait before any resubmission
+     */
+    AlbumTrackBulkLoader(BatchWriter batchWriter, int workers, double writesPerSecond, int maxAttempts,
+                         Duration baseBackoff, Duration maxBackoff) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be at least 1, was " + workers);
+        }
+        if (writesPerSecond < 0) {
+            throw new IllegalArgumentException("writesPerSecond must not be negative, was " + writesPerSecond);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1, was " + maxAttempts);
+        }
+        this.batchWriter = batchWriter;
+        this.workers = workers;
+        this.rateLimiter = writesPerSecond == 0 ? null : RateLimiter.create(writesPerSecond);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Loads the seed file named by the first argument, or configurations/AlbumTracksData.json, into the
+     * catalog of the storage engine App is configured for. Exits with status 1 if any item failed.
+     *
+     * @param args the optional seed file path
+     * @throws IOException if the file can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        LoadSummary summary = new App().provideAlbumTrackBulkLoader().load(file);
+        LogManager.getLogger().info("Loaded {}: {}", file, summary);
+        if (summary.getItemsFailed() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Loads the album tracks in a seed file.
+     *
+     * @param file a file in the BatchWriteItem request format
+     * @return what was written
+     * @throws IOException if the file can't be read
+     */
+    public LoadSummary load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Loads the album tracks in seed data, returning once every batch has been written or has failed.
+     *
+     * @param reader seed data in the BatchWriteItem request format
+     * @return what was written
+     * @throws IOException if the seed data can't be read
+     */
+    public LoadSummary load(Reader reader) throws IOException {
+        Progress progress = new Progress();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers),
+                new ThreadFactoryBuilder().setNameFormat("album-track-loader-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try (BatchWriteItemFileReader items = new BatchWriteItemFileReader(reader, TABLE_NAME)) {
+            List<WriteRequest> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            for (WriteRequest item = items.next(); item != null; item = items.next()) {
+                batch.add(item);
+                if (batch.size() == MAX_BATCH_SIZE) {
+                    submit(executor, batch, progress);
+                    batch = new ArrayList<>(MAX_BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(executor, batch, progress);
+            }
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        return progress.toSummary();
+    }
+
+    private void submit(ThreadPoolExecutor executor, List<WriteRequest> batch, Progress progress) {
+        executor.execute(() -> writeBatch(batch, progress));
+    }
+
+    private void writeBatch(List<WriteRequest> batch, Progress progress) {
+        List<WriteRequest> pending = batch;
+        for (int attempt = 1; ; attempt++) {
+            if (rateLimiter != null) {
+                rateLimiter.acquire(pending.size());
+            }
+            List<WriteRequest> unprocessed;
+            try {
+                unprocessed = batchWriter.write(pending);
+            } catch (RuntimeException e) {
+                log.warn("Writing a batch of {} album tracks failed on attempt {}", pending.size(), attempt, e);
+                unprocessed = pending;
+            }
+            progress.written(pending.size() - unprocessed.size());
+            if (unprocessed.isEmpty()) {
+                return;
+            }
+            if (attempt == maxAttempts) {
+                log.error("Giving up on {} album tracks after {} attempts", unprocessed.size(), attempt);
+                progress.failed(unprocessed.size());
+                return;
+            }
+            progress.resubmitted(unprocessed.size());
+            try {
+                TimeUnit.MILLISECONDS.sleep(backoffMillis(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                progress.failed(unprocessed.size());
+                return;
+            }
+            pending = unprocessed;
+        }
+    }
+
+    /**
+     * Picks a random wait of up to the base backoff doubled once per earlier attempt, capped at the max
+     * backoff.
+     */
+    private long backoffMillis(int attempt) {
+        long ceiling = baseBackoff.toMillis() << Math.min(attempt - 1, 30);
+        ceiling = Math.min(Math.max(ceiling, 0), maxBackoff.toMillis());
+        return ceiling == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void awaitTermination(ThreadPoolExecutor executor) {
+        try {
+            while (!executor.awaitTermination(PROGRESS_INTERVAL_NANOS, TimeUnit.NANOSECONDS)) {
+                log.info("Waiting for {} album track batches", executor.getQueue().size() + executor.getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Counts the items as they are written, logging the items per second every ten seconds.
+     */
+    private class Progress {
+        private final Stopwatch stopwatch = Stopwatch.createStarted();
+        private final LongAdder itemsWritten = new LongAdder();
+        private final LongAdder itemsFailed = new LongAdder();
+        private final LongAdder itemsResubmitted = new LongAdder();
+        private final AtomicLong nextReportNanos = new AtomicLong(PROGRESS_INTERVAL_NANOS);
+
+        void written(int items) {
+            itemsWritten.add(items);
+            long elapsedNanos = stopwatch.elapsed(TimeUnit.NANOSECONDS);
+            long reportNanos = nextReportNanos.get();
+            if (elapsedNanos >= reportNanos
+                    && nextReportNanos.compareAndSet(reportNanos, elapsedNanos + PROGRESS_INTERVAL_NANOS)) {
+                log.info("Loading album tracks: {}", toSummary());
+            }
+        }
+
+        void failed(int items) {
+            itemsFailed.add(items);
+        }
+
+        void resubmitted(int items) {
+            itemsResubmitted.add(items);
+        }
+
+        LoadSummary toSummary() {
+            return new LoadSummary(itemsWritten.sum(), itemsFailed.sum(), itemsResubmitted.sum(),
+                    stopwatch.elapsed());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.amazon.ata.music.playlist.service.loader;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.store.LocalAlbumTrackStore;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link BatchWriter} that puts each item into a {@link LocalAlbumTrackStore}, for the storage engines
+ * other than DYNAMODB. Every item is processed.
+ */
+public class AlbumTrackStoreBatchWriter implements BatchWriter {
+    private final LocalAlbumTrackStore albumTrackStore;
+
+    /**
+     * Instantiates an AlbumTrackStoreBatchWriter object.
+     *
+     * @param albumTrackStore the store to put the album tracks into
+     */
+    public AlbumTrackStoreBatchWriter(LocalAlbumTrackStore albumTrackStore) {
+        this.albumTrackStore = albumTrackStore;
+    }
+
+    @Override
+    public List<WriteRequest> write(List<WriteRequest> batch) {
+        for (WriteRequest writeRequest : batch) {
+            albumTrackStore.putAlbumTrack(toAlbumTrack(writeRequest.getPutRequest().getItem()));
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Converts an album_tracks item to the AlbumTrack it stores.
+     *
+     * @param item the item's attributes, named as in the album_tracks table
+     * @return the AlbumTrack
+     * @throws IllegalArgumentException if the item is missing its asin or track number
+     */
+    static AlbumTrack toAlbumTrack(Map<String, AttributeValue> item) {
+        if (stringAttribute(item, "asin") == null || item.get("track_number") == null
+                || item.get("track_number").getN() == null) {
+            throw new IllegalArgumentException("Album track item has no asin and track_number: " + item);
+        }
+        AlbumTrack albumTrack = new AlbumTrack();
+        albumTrack.setAsin(stringAttribute(item, "asin"));
+        albumTrack.setTrackNumber(Integer.parseInt(item.get("track_number").getN()));
+        albumTrack.setAlbumName(stringAttribute(item, "album_name"));
+        albumTrack.setSongTitle(stringAttribute(item, "song_title"));
+        return albumTrack;
+    }
+
+    private static String stringAttribute(Map<String, AttributeValue> item, String name) {
+        AttributeValue value = item.get(name);
+        return value == null ? null : value.getS();
+    }
+}
@@ -0,0 +1,164 @@
+package com.amazon.ata.music.playlist.service.loader;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the put requests for one table out of a file in the BatchWriteItem request format, such as
+ * configurations/AlbumTracksData.json, one at a time, so the file is never held in memory.
+ * <p>
+ * Attribute values of type S, N, BOOL, NULL, SS and NS are supported. Other tables in the file are skipped.
+ */
+public class BatchWriteItemFileReader implements Closeable {
+    private final JsonReader json;
+    private final String tableName;
+    private boolean inTable;
+    private boolean finished;
+
+    /**
+     * Instantiates a BatchWriteItemFileReader object.
+     *
+     * @param reader the file contents
+     * @param tableName the table whose put requests to read
+     */
+    public BatchWriteItemFileReader(Reader reader, String tableName) {
+        this.json = new JsonReader(reader);
+        this.tableName = tableName;
+    }
+
+    /**
+     * Reads the next put request for the table.
+     *
+     * @return the next put request, or null once there are no more
+     * @throws IOException if the file can't be read
+     * @throws IllegalArgumentException if the file isn't in the BatchWriteItem request format
+     */
+    public WriteRequest next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!inTable && !seekTable()) {
+            finished = true;
+            return null;
+        }
+        if (!json.hasNext()) {
+            json.endArray();
+            inTable = false;
+            return next();
+        }
+        return readWriteRequest();
+    }
+
+    @Override
+    public void close() throws IOException {
+        json.close();
+    }
+
+    private boolean seekTable() throws IOException {
+        if (json.peek() == JsonToken.BEGIN_OBJECT) {
+            json.beginObject();
+        }
+        while (json.hasNext()) {
+            if (json.nextName().equals(tableName)) {
+                json.beginArray();
+                inTable = true;
+                return true;
+            }
+            json.skipValue();
+        }
+        json.endObject();
+        return false;
+    }
+
+    private WriteRequest readWriteRequest() throws IOException {
+        WriteRequest writeRequest = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            if (!name.equals("PutRequest")) {
+                throw new IllegalArgumentException("Unsupported write request " + name + " at " + json.getPath());
+            }
+            writeRequest = new WriteRequest(new PutRequest(readItem()));
+        }
+        json.endObject();
+        if (writeRequest == null) {
+            throw new IllegalArgumentException("Empty write request at " + json.getPath());
+        }
+        return writeRequest;
+    }
+
+    private Map<String, AttributeValue> readItem() throws IOException {
+        Map<String, AttributeValue> item = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("Item")) {
+                item = new HashMap<>();
+                json.beginObject();
+                while (json.hasNext()) {
+                    item.put(json.nextName(), readAttributeValue());
+                }
+                json.endObject();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        if (item == null) {
+            throw new IllegalArgumentException("PutRequest has no Item at " + json.getPath());
+        }
+        return item;
+    }
+
+    private AttributeValue readAttributeValue() throws IOException {
+        AttributeValue value = new AttributeValue();
+        json.beginObject();
+        while (json.hasNext()) {
+            String type = json.nextName();
+            switch (type) {
+                case "S":
+                    value.setS(json.nextString());
+                    break;
+                case "N":
+                    value.setN(json.nextString());
+                    break;
+                case "BOOL":
+                    value.setBOOL(json.nextBoolean());
+                    break;
+                case "NULL":
+                    value.setNULL(json.nextBoolean());
+                    break;
+                case "SS":
+                    value.setSS(readStrings());
+                    break;
+                case "NS":
+                    value.setNS(readStrings());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported attribute type " + type + " at " + json.getPath());
+            }
+        }
+        json.endObject();
+        return value;
+    }
+
+    private List<String> readStrings() throws IOException {
+        List<String> strings = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            strings.add(json.nextString());
+        }
+        json.endArray();
+        return strings;
+    }
+}
@@ -0,0 +1,18 @@
+package com.amazon.ata.music.playlist.service.loader;
+
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+import java.util.List;
+
+/**
+ * Writes one batch of items to the album track catalog, in the form of a BatchWriteItem call.
+ */
+public interface BatchWriter {
+    /**
+     * Writes a batch of put requests.
+     *
+     * @param batch at most {@link AlbumTrackBulkLoader#MAX_BATCH_SIZE} put requests
+     * @return the requests that were not processed and should be resubmitted, or an empty list
+     */
+    List<WriteRequest> write(List<WriteRequest> batch);
+}
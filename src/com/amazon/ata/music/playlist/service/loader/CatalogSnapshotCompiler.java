@@ -0,0 +1,67 @@
+package com.amazon.ata.music.playlist.service.loader;
+
+import com.amazon.ata.music.playlist.service.store.CatalogSnapshotWriter;
+import com.amazon.ata.music.playlist.service.store.SnapshotAlbumTrackStore;
+
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Build step that compiles album_tracks seed data in the BatchWriteItem request format, such as
+ * configurations/AlbumTracksData.json, into the catalog snapshot read by {@link SnapshotAlbumTrackStore}.
+ * <p>
+ * Run with ./gradlew buildCatalogSnapshot.
+ */
+public final class CatalogSnapshotCompiler {
+    static final String DEFAULT_SNAPSHOT_FILE = "build/catalog/album_tracks.snapshot";
+
+    private static final Logger log = LogManager.getLogger();
+
+    private CatalogSnapshotCompiler() {
+    }
+
+    /**
+     * Compiles the seed file named by the first argument, or configurations/AlbumTracksData.json, into the
+     * snapshot file named by the second, or build/catalog/album_tracks.snapshot.
+     *
+     * @param args the optional seed file and snapshot file paths
+     * @throws IOException if a file can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Path seedFile = Paths.get(args.length > 0 ? args[0] : AlbumTrackBulkLoader.DEFAULT_FILE);
+        Path snapshotFile = Paths.get(args.length > 1 ? args[1] : DEFAULT_SNAPSHOT_FILE);
+        if (snapshotFile.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+        }
+        try (Reader reader = Files.newBufferedReader(seedFile, StandardCharsets.UTF_8)) {
+            int albumTracks = compile(reader, snapshotFile);
+            log.info("Compiled {} album tracks from {} into {}", albumTracks, seedFile, snapshotFile);
+        }
+    }
+
+    /**
+     * Compiles album_tracks seed data into a catalog snapshot.
+     *
+     * @param reader seed data in the BatchWriteItem request format
+     * @param snapshotFile the snapshot file, replaced if it exists
+     * @return the number of album tracks in the snapshot
+     * @throws IOException if the seed data can't be read or the snapshot can't be written
+     */
+    public static int compile(Reader reader, Path snapshotFile) throws IOException {
+        CatalogSnapshotWriter writer = new CatalogSnapshotWriter();
+        try (BatchWriteItemFileReader items = new BatchWriteItemFileReader(reader, AlbumTrackBulkLoader.TABLE_NAME)) {
+            for (WriteRequest item = items.next(); item != null; item = items.next()) {
+                writer.add(AlbumTrackStoreBatchWriter.toAlbumTrack(item.getPutRequest().getItem()));
+            }
+        }
+        return writer.write(snapshotFile);
+    }
+}
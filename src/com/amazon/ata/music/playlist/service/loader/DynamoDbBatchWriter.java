@@ -0,0 +1,38 @@
+package com.amazon.ata.music.playlist.service.loader;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link BatchWriter} that sends each batch to a DynamoDB table with BatchWriteItem.
+ */
+public class DynamoDbBatchWriter implements BatchWriter {
+    private final AmazonDynamoDB amazonDynamoDB;
+    private final String tableName;
+
+    /**
+     * Instantiates a DynamoDbBatchWriter object.
+     *
+     * @param amazonDynamoDB the client to send the batches with
+     * @param tableName the table to write to
+     */
+    public DynamoDbBatchWriter(AmazonDynamoDB amazonDynamoDB, String tableName) {
+        this.amazonDynamoDB = amazonDynamoDB;
+        this.tableName = tableName;
+    }
+
+    @Override
+    public List<WriteRequest> write(List<WriteRequest> batch) {
+        BatchWriteItemResult result = amazonDynamoDB.batchWriteItem(new BatchWriteItemRequest()
+                .withRequestItems(Collections.singletonMap(tableName, batch)));
+        List<WriteRequest> unprocessed = result.getUnprocessedItems() == null
+                ? null
+                : result.getUnprocessedItems().get(tableName);
+        return unprocessed == null ? Collections.emptyList() : unprocessed;
+    }
+}
@@ -0,0 +1,60 @@
+package com.amazon.ata.music.playlist.service.loader;
+
+import java.time.Duration;
+
+/**
+ * What a bulk load wrote, and how quickly.
+ */
+public class LoadSummary {
+    private final long itemsWritten;
+    private final long itemsFailed;
+    private final long itemsResubmitted;
+    private final Duration elapsed;
+
+    /**
+     * Instantiates a LoadSummary object.
+     *
+     * @param itemsWritten the items that were written
+     * @param itemsFailed the items still unprocessed after the last attempt
+     * @param itemsResubmitted the resubmissions of unprocessed or failed items, counted once per attempt
+     * @param elapsed how long the load took
+     */
+    public LoadSummary(long itemsWritten, long itemsFailed, long itemsResubmitted, Duration elapsed) {
+        this.itemsWritten = itemsWritten;
+        this.itemsFailed = itemsFailed;
+        this.itemsResubmitted = itemsResubmitted;
+        this.elapsed = elapsed;
+    }
+
+    public long getItemsWritten() {
+        return itemsWritten;
+    }
+
+    public long getItemsFailed() {
+        return itemsFailed;
+    }
+
+    public long getItemsResubmitted() {
+        return itemsResubmitted;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Returns the write throughput of the load.
+     *
+     * @return the items written per second of elapsed time
+     */
+    public double getItemsPerSecond() {
+        long millis = Math.max(1, elapsed.toMillis());
+        return itemsWritten * 1000.0 / millis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d items written, %d failed, %d resubmitted in %d ms (%.0f items/s)",
+                itemsWritten, itemsFailed, itemsResubmitted, elapsed.toMillis(), getItemsPerSecond());
+    }
+}
@@ -0,0 +1,110 @@
+package com.amazon.ata.music.playlist.service.models;
+
+import java.util.Objects;
+
+public class SongFailureModel {
+    private int index;
+    private String asin;
+    private int trackNumber;
+    private String reason;
+
+    public SongFailureModel() {
+
+    }
+
+    public SongFailureModel(Builder builder) {
+        this.index = builder.index;
+        this.asin = builder.asin;
+        this.trackNumber = builder.trackNumber;
+        this.reason = builder.reason;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getAsin() {
+        return asin;
+    }
+
+    public void setAsin(String asin) {
+        this.asin = asin;
+    }
+
+    public int getTrackNumber() {
+        return trackNumber;
+    }
+
+    public void setTrackNumber(int trackNumber) {
+        this.trackNumber = trackNumber;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SongFailureModel that = (SongFailureModel) o;
+        return index == that.index &&
+                trackNumber == that.trackNumber &&
+                Objects.equals(asin, that.asin) &&
+                Objects.equals(reason, that.reason);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, asin, trackNumber, reason);
+    }
+
+    @Override
+    public String toString() {
+        return "SongFailureModel{" +
+                "index=" + index +
+                ", asin='" + asin + '\'' +
+                ", trackNumber=" + trackNumber +
+                ", reason='" + reason + '\'' +
+                '}';
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static final class Builder {
+        private int index;
+        private String asin;
+        private int trackNumber;
+        private String reason;
+
+        public Builder withIndex(int indexToUse) {
+            this.index = indexToUse;
+            return this;
+        }
+
+        public Builder withAsin(String asinToUse) {
+            this.asin = asinToUse;
+            return this;
+        }
+
+        public Builder withTrackNumber(int trackNumberToUse) {
+            this.trackNumber = trackNumberToUse;
+            return this;
+        }
+
+        public Builder withReason(String reasonToUse) {
+            this.reason = reasonToUse;
+            return this;
+        }
+
+        public SongFailureModel build() { return new SongFailureModel(this); }
+    }
+}
@@ -3,5 +3,7 @@ package com.amazon.ata.music.playlist.service.models;
 public enum SongOrder {
     DEFAULT,
     REVERSED,
-    SHUFFLED
+    SHUFFLED,
+    // shuffled, with songs from the same album spread as far apart as possible
+    SMART_SHUFFLED
 }
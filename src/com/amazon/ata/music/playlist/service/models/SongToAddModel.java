@@ -0,0 +1,92 @@
+package com.amazon.ata.music.playlist.service.models;
+
+import java.util.Objects;
+
+public class SongToAddModel {
+    private String asin;
+    private int trackNumber;
+    private boolean queueNext;
+
+    public SongToAddModel() {
+
+    }
+
+    public SongToAddModel(Builder builder) {
+        this.asin = builder.asin;
+        this.trackNumber = builder.trackNumber;
+        this.queueNext = builder.queueNext;
+    }
+
+    public String getAsin() {
+        return asin;
+    }
+
+    public void setAsin(String asin) {
+        this.asin = asin;
+    }
+
+    public int getTrackNumber() {
+        return trackNumber;
+    }
+
+    public void setTrackNumber(int trackNumber) {
+        this.trackNumber = trackNumber;
+    }
+
+    public boolean isQueueNext() {
+        return queueNext;
+    }
+
+    public void setQueueNext(boolean queueNext) {
+        this.queueNext = queueNext;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SongToAddModel that = (SongToAddModel) o;
+        return trackNumber == that.trackNumber &&
+                queueNext == that.queueNext &&
+                Objects.equals(asin, that.asin);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(asin, trackNumber, queueNext);
+    }
+
+    @Override
+    public String toString() {
+        return "SongToAddModel{" +
+                "asin='" + asin + '\'' +
+                ", trackNumber=" + trackNumber +
+                ", queueNext=" + queueNext +
+                '}';
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static final class Builder {
+        private String asin;
+        private int trackNumber;
+        private boolean queueNext;
+
+        public Builder withAsin(String asinToUse) {
+            this.asin = asinToUse;
+            return this;
+        }
+
+        public Builder withTrackNumber(int trackNumberToUse) {
+            this.trackNumber = trackNumberToUse;
+            return this;
+        }
+
+        public Builder withQueueNext(boolean queueNextToUse) {
+            this.queueNext = queueNextToUse;
+            return this;
+        }
+
+        public SongToAddModel build() { return new SongToAddModel(this); }
+    }
+}
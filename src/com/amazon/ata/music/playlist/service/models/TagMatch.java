@@ -0,0 +1,6 @@
+package com.amazon.ata.music.playlist.service.models;
+
+public enum TagMatch {
+    ALL,
+    ANY
+}
@@ -0,0 +1,85 @@
+package com.amazon.ata.music.playlist.service.models.requests;
+
+import com.amazon.ata.music.playlist.service.models.SongToAddModel;
+
+import java.util.List;
+import java.util.Objects;
+
+public class AddSongsToPlaylistRequest {
+    private String id;
+    private List<SongToAddModel> songs;
+
+    public AddSongsToPlaylistRequest() {
+    }
+
+    public AddSongsToPlaylistRequest(String id, List<SongToAddModel> songs) {
+        this.id = id;
+        this.songs = songs;
+    }
+
+    public AddSongsToPlaylistRequest(Builder builder) {
+        this.id = builder.id;
+        this.songs = builder.songs;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<SongToAddModel> getSongs() {
+        return songs;
+    }
+
+    public void setSongs(List<SongToAddModel> songs) {
+        this.songs = songs;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AddSongsToPlaylistRequest that = (AddSongsToPlaylistRequest) o;
+        return Objects.equals(id, that.id) &&
+                Objects.equals(songs, that.songs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, songs);
+    }
+
+    @Override
+    public String toString() {
+        return "AddSongsToPlaylistRequest{" +
+                "id='" + id + '\'' +
+                ", songs=" + songs +
+                '}';
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static final class Builder {
+        private String id;
+        private List<SongToAddModel> songs;
+
+        private Builder() {
+
+        }
+
+        public Builder withId(String idToUse) {
+            this.id = idToUse;
+            return this;
+        }
+
+        public Builder withSongs(List<SongToAddModel> songsToUse) {
+            this.songs = songsToUse;
+            return this;
+        }
+
+        public AddSongsToPlaylistRequest build() { return new AddSongsToPlaylistRequest(this); }
+    }
+}
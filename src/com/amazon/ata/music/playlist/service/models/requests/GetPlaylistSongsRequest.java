@@ -7,6 +7,9 @@ import java.util.Objects;
 public class GetPlaylistSongsRequest {
     private String id;
     private SongOrder order;
+    private Integer limit;
+    private String cursor;
+    private Long seed;
 
     public GetPlaylistSongsRequest() {
     }
@@ -19,6 +22,9 @@ public class GetPlaylistSongsRequest {
     public GetPlaylistSongsRequest(Builder builder) {
         this.id = builder.id;
         this.order = builder.order;
+        this.limit = builder.limit;
+        this.cursor = builder.cursor;
+        this.seed = builder.seed;
     }
 
     public String getId() {
@@ -37,6 +43,30 @@ public class GetPlaylistSongsRequest {
         this.order = order;
     }
 
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
     @Override
     public boolean equals(Object o) {
 
@@ -44,12 +74,15 @@ public class GetPlaylistSongsRequest {
         if (o == null || getClass() != o.getClass()) return false;
         GetPlaylistSongsRequest that = (GetPlaylistSongsRequest) o;
         return Objects.equals(id, that.id) &&
-                order == that.order;
+                order == that.order &&
+                Objects.equals(limit, that.limit) &&
+                Objects.equals(cursor, that.cursor) &&
+                Objects.equals(seed, that.seed);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, order);
+        return Objects.hash(id, order, limit, cursor, seed);
     }
 
     @Override
@@ -57,6 +90,9 @@ public class GetPlaylistSongsRequest {
         return "GetPlaylistSongsRequest{" +
                 "id='" + id + '\'' +
                 ", order=" + order +
+                ", limit=" + limit +
+                ", cursor='" + cursor + '\'' +
+                ", seed=" + seed +
                 '}';
     }
 
@@ -65,6 +101,9 @@ public class GetPlaylistSongsRequest {
     public static final class Builder {
         private String id;
         private SongOrder order;
+        private Integer limit;
+        private String cursor;
+        private Long seed;
 
         private Builder() {
 
@@ -80,6 +119,21 @@ public class GetPlaylistSongsRequest {
             return this;
         }
 
+        public Builder withLimit(Integer limitToUse) {
+            this.limit = limitToUse;
+            return this;
+        }
+
+        public Builder withCursor(String cursorToUse) {
+            this.cursor = cursorToUse;
+            return this;
+        }
+
+        public Builder withSeed(Long seedToUse) {
+            this.seed = seedToUse;
+            return this;
+        }
+
         public GetPlaylistSongsRequest build() { return new GetPlaylistSongsRequest(this); }
     }
 }
@@ -0,0 +1,96 @@
+package com.amazon.ata.music.playlist.service.models.requests;
+
+import java.util.Objects;
+
+public class ListPlaylistsForCustomerRequest {
+    private String customerId;
+    private Integer limit;
+    private String nextToken;
+
+    public ListPlaylistsForCustomerRequest() {
+
+    }
+
+    public ListPlaylistsForCustomerRequest(Builder builder) {
+        this.customerId = builder.customerId;
+        this.limit = builder.limit;
+        this.nextToken = builder.nextToken;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ListPlaylistsForCustomerRequest that = (ListPlaylistsForCustomerRequest) o;
+        return Objects.equals(customerId, that.customerId) &&
+                Objects.equals(limit, that.limit) &&
+                Objects.equals(nextToken, that.nextToken);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, limit, nextToken);
+    }
+
+    @Override
+    public String toString() {
+        return "ListPlaylistsForCustomerRequest{" +
+                "customerId='" + customerId + '\'' +
+                ", limit=" + limit +
+                ", nextToken='" + nextToken + '\'' +
+                '}';
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static final class Builder {
+        private String customerId;
+        private Integer limit;
+        private String nextToken;
+
+        private Builder() {
+
+        }
+
+        public Builder withCustomerId(String customerIdToUse) {
+            this.customerId = customerIdToUse;
+            return this;
+        }
+
+        public Builder withLimit(Integer limitToUse) {
+            this.limit = limitToUse;
+            return this;
+        }
+
+        public Builder withNextToken(String nextTokenToUse) {
+            this.nextToken = nextTokenToUse;
+            return this;
+        }
+
+        public ListPlaylistsForCustomerRequest build() { return new ListPlaylistsForCustomerRequest(this); }
+    }
+}
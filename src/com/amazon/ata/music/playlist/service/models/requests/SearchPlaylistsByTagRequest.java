@@ -0,0 +1,117 @@
+package com.amazon.ata.music.playlist.service.models.requests;
+
+import com.amazon.ata.music.playlist.service.models.TagMatch;
+
+import java.util.List;
+import java.util.Objects;
+
+public class SearchPlaylistsByTagRequest {
+    private List<String> tags;
+    private TagMatch match;
+    private Integer limit;
+    private String nextToken;
+
+    public SearchPlaylistsByTagRequest() {
+
+    }
+
+    public SearchPlaylistsByTagRequest(Builder builder) {
+        this.tags = builder.tags;
+        this.match = builder.match;
+        this.limit = builder.limit;
+        this.nextToken = builder.nextToken;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public TagMatch getMatch() {
+        return match;
+    }
+
+    public void setMatch(TagMatch match) {
+        this.match = match;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SearchPlaylistsByTagRequest that = (SearchPlaylistsByTagRequest) o;
+        return Objects.equals(tags, that.tags) &&
+                match == that.match &&
+                Objects.equals(limit, that.limit) &&
+                Objects.equals(nextToken, that.nextToken);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tags, match, limit, nextToken);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchPlaylistsByTagRequest{" +
+                "tags=" + tags +
+                ", match=" + match +
+                ", limit=" + limit +
+                ", nextToken='" + nextToken + '\'' +
+                '}';
+    }
+
+    public static Builder builder() { return new Builder(); }
+
+    public static final class Builder {
+        private List<String> tags;
+        private TagMatch match;
+        private Integer limit;
+        private String nextToken;
+
+        private Builder() {
+
+        }
+
+        public Builder withTags(List<String> tagsToUse) {
+            this.tags = tagsToUse;
+            return this;
+        }
+
+        public Builder withMatch(TagMatch matchToUse) {
+            this.match = matchToUse;
+            return this;
+        }
+
+        public Builder withLimit(Integer limitToUse) {
+            this.limit = limitToUse;
+            return this;
+        }
+
+        public Builder withNextToken(String nextTokenToUse) {
+            this.nextToken = nextTokenToUse;
+            return this;
+        }
+
+        public SearchPlaylistsByTagRequest build() { return new SearchPlaylistsByTagRequest(this); }
+    }
+}
@@ -0,0 +1,51 @@
+package com.amazon.ata.music.playlist.service.models.results;
+
+import com.amazon.ata.music.playlist.service.models.SongFailureModel;
+import com.amazon.ata.music.playlist.service.models.SongModel;
+
+import java.util.List;
+
+public class AddSongsToPlaylistResult {
+    private List<SongModel> songList;
+    private List<SongFailureModel> failures;
+
+    public AddSongsToPlaylistResult(Builder builder) {
+        this.songList = builder.songList;
+        this.failures = builder.failures;
+    }
+
+    public List<SongModel> getSongList() {
+        return songList;
+    }
+
+    public void setSongList(List<SongModel> songList) {
+        this.songList = songList;
+    }
+
+    public List<SongFailureModel> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<SongFailureModel> failures) {
+        this.failures = failures;
+    }
+
+    public static Builder builder() {return new Builder();}
+
+    public static final class Builder {
+        private List<SongModel> songList;
+        private List<SongFailureModel> failures;
+
+        public Builder withSongList(List<SongModel> songListToUse) {
+            this.songList = songListToUse;
+            return this;
+        }
+
+        public Builder withFailures(List<SongFailureModel> failuresToUse) {
+            this.failures = failuresToUse;
+            return this;
+        }
+
+        public AddSongsToPlaylistResult build() {return new AddSongsToPlaylistResult(this);}
+    }
+}
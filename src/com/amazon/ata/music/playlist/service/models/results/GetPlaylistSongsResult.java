@@ -6,9 +6,13 @@ import java.util.List;
 
 public class GetPlaylistSongsResult {
     private List<SongModel> songList;
+    private String nextCursor;
+    private Long seed;
 
     public GetPlaylistSongsResult(Builder builder) {
         this.songList = builder.songList;
+        this.nextCursor = builder.nextCursor;
+        this.seed = builder.seed;
     }
 
     public List<SongModel> getSongList() {
@@ -19,16 +23,44 @@ public class GetPlaylistSongsResult {
         this.songList = songList;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
     public static Builder builder() {return new Builder();}
 
     public static final class Builder {
         private List<SongModel> songList;
+        private String nextCursor;
+        private Long seed;
 
         public Builder withSongList(List<SongModel> songListToUse) {
             this.songList = songListToUse;
             return this;
         }
 
+        public Builder withNextCursor(String nextCursorToUse) {
+            this.nextCursor = nextCursorToUse;
+            return this;
+        }
+
+        public Builder withSeed(Long seedToUse) {
+            this.seed = seedToUse;
+            return this;
+        }
+
         public GetPlaylistSongsResult build() {return new GetPlaylistSongsResult(this);}
     }
 }
@@ -0,0 +1,50 @@
+package com.amazon.ata.music.playlist.service.models.results;
+
+import com.amazon.ata.music.playlist.service.models.PlaylistModel;
+
+import java.util.List;
+
+public class ListPlaylistsForCustomerResult {
+    private List<PlaylistModel> playlists;
+    private String nextToken;
+
+    public ListPlaylistsForCustomerResult(Builder builder) {
+        this.playlists = builder.playlists;
+        this.nextToken = builder.nextToken;
+    }
+
+    public List<PlaylistModel> getPlaylists() {
+        return playlists;
+    }
+
+    public void setPlaylists(List<PlaylistModel> playlists) {
+        this.playlists = playlists;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    public static Builder builder() {return new Builder();}
+
+    public static final class Builder {
+        private List<PlaylistModel> playlists;
+        private String nextToken;
+
+        public Builder withPlaylists(List<PlaylistModel> playlistsToUse) {
+            this.playlists = playlistsToUse;
+            return this;
+        }
+
+        public Builder withNextToken(String nextTokenToUse) {
+            this.nextToken = nextTokenToUse;
+            return this;
+        }
+
+        public ListPlaylistsForCustomerResult build() {return new ListPlaylistsForCustomerResult(this);}
+    }
+}
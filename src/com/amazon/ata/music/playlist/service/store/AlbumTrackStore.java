@@ -0,0 +1,73 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackKey;
+import com.amazon.ata.music.playlist.service.dynamodb.SongStorageMode;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Looks up album tracks from the catalog. Implementations select where the catalog is kept, see
+ * {@link StorageEngine}.
+ */
+public interface AlbumTrackStore {
+    /**
+     * Retrieves an album track by its asin and track number.
+     *
+     * @param asin The album identifier
+     * @param trackNumber The track number
+     * @return The retrieved AlbumTrack
+     * @throws AlbumTrackNotFoundException if no matching album track is found
+     */
+    AlbumTrack getAlbumTrack(String asin, int trackNumber);
+
+    /**
+     * Retrieves many album tracks.
+     *
+     * @param keys The asin and track number pairs to look up
+     * @return The retrieved AlbumTracks in the same order as the requested keys, with null in the
+     *         position of any key that has no matching album track
+     */
+    List<AlbumTrack> getAlbumTracks(Collection<AlbumTrackKey> keys);
+
+    /**
+     * Fills in the catalog attributes of album track references, such as those stored by playlists in
+     * {@link SongStorageMode#REFERENCE} mode, using {@link #getAlbumTracks}.
+     *
+     * @param references album tracks with at least their asin and track number set
+     * @return the catalog AlbumTracks in the same order as the references; a reference that no longer
+     *         matches an album track is returned unchanged
+     */
+    default List<AlbumTrack> hydrateAlbumTracks(List<AlbumTrack> references) {
+        List<AlbumTrackKey> keys = new ArrayList<>(references.size());
+        for (AlbumTrack reference : references) {
+            keys.add(AlbumTrackKey.of(reference));
+        }
+
+        List<AlbumTrack> albumTracks = getAlbumTracks(keys);
+        for (int i = 0; i < albumTracks.size(); i++) {
+            if (albumTracks.get(i) == null) {
+                albumTracks.set(i, references.get(i));
+            }
+        }
+        return albumTracks;
+    }
+
+    /**
+     * Strips album tracks down to their asin and track number, the form stored by playlists in
+     * {@link SongStorageMode#REFERENCE} mode.
+     *
+     * @param albumTracks the album tracks
+     * @return new AlbumTracks holding only the key attributes, in the same order
+     */
+    static List<AlbumTrack> toReferences(List<AlbumTrack> albumTracks) {
+        List<AlbumTrack> references = new ArrayList<>(albumTracks.size());
+        for (AlbumTrack albumTrack : albumTracks) {
+            references.add(AlbumTrackKey.of(albumTrack).toKeyObject());
+        }
+        return references;
+    }
+}
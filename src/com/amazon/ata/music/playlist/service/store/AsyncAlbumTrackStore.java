@@ -0,0 +1,41 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs {@link AlbumTrackStore} reads on an executor, so a caller can overlap them with other reads.
+ * <p>
+ * A read fails its future with the exception the store threw; wait for it with
+ * {@link com.amazon.ata.music.playlist.service.util.Futures#join} to get that exception unwrapped.
+ */
+public class AsyncAlbumTrackStore {
+    private final AlbumTrackStore albumTrackStore;
+    private final Executor executor;
+
+    /**
+     * Instantiates an AsyncAlbumTrackStore object.
+     *
+     * @param albumTrackStore the {@link AlbumTrackStore} to read from
+     * @param executor runs the reads
+     */
+    public AsyncAlbumTrackStore(AlbumTrackStore albumTrackStore, Executor executor) {
+        this.albumTrackStore = albumTrackStore;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts reading an album track by its asin and track number.
+     *
+     * @param asin The album identifier
+     * @param trackNumber The track number
+     * @return The retrieved AlbumTrack, or a future failed with {@link AlbumTrackNotFoundException} if no
+     *         matching album track is found
+     */
+    public CompletableFuture<AlbumTrack> getAlbumTrack(String asin, int trackNumber) {
+        return CompletableFuture.supplyAsync(() -> albumTrackStore.getAlbumTrack(asin, trackNumber), executor);
+    }
+}
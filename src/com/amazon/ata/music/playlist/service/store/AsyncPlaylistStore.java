@@ -0,0 +1,40 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs {@link PlaylistStore} reads on an executor, so a caller can overlap them with other reads.
+ * <p>
+ * A read fails its future with the exception the store threw; wait for it with
+ * {@link com.amazon.ata.music.playlist.service.util.Futures#join} to get that exception unwrapped.
+ */
+public class AsyncPlaylistStore {
+    private final PlaylistStore playlistStore;
+    private final Executor executor;
+
+    /**
+     * Instantiates an AsyncPlaylistStore object.
+     *
+     * @param playlistStore the {@link PlaylistStore} to read from
+     * @param executor runs the reads
+     */
+    public AsyncPlaylistStore(PlaylistStore playlistStore, Executor executor) {
+        this.playlistStore = playlistStore;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts reading the {@link Playlist} corresponding to the specified id without its songList.
+     *
+     * @param id the Playlist ID
+     * @return the stored Playlist summary, or a future failed with {@link PlaylistNotFoundException} if no
+     *         playlist with the id exists
+     */
+    public CompletableFuture<Playlist> getPlaylistSummary(String id) {
+        return CompletableFuture.supplyAsync(() -> playlistStore.getPlaylistSummary(id), executor);
+    }
+}
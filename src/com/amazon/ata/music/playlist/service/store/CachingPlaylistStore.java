@@ -0,0 +1,108 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link PlaylistStore} that reads playlists through a {@link PlaylistCache} and keeps it current on every
+ * write made through it.
+ * <p>
+ * A write whose result holds the whole playlist caches that result; any other write marks the cached
+ * playlist as changed at the version it saved. A failed write forgets the playlist, since the failure may
+ * mean the cached copy is stale.
+ */
+public class CachingPlaylistStore implements PlaylistStore {
+    private final PlaylistStore delegate;
+    private final PlaylistCache playlistCache;
+
+    /**
+     * Instantiates a CachingPlaylistStore object.
+     *
+     * @param delegate the {@link PlaylistStore} that stores the playlists
+     * @param playlistCache the {@link PlaylistCache} shared by every CachingPlaylistStore in the process
+     */
+    public CachingPlaylistStore(PlaylistStore delegate, PlaylistCache playlistCache) {
+        this.delegate = delegate;
+        this.playlistCache = playlistCache;
+    }
+
+    @Override
+    public Playlist getPlaylist(String id) {
+        Playlist playlist = playlistCache.get(id);
+        if (playlist == null) {
+            playlist = delegate.getPlaylist(id);
+            playlistCache.put(playlist);
+        }
+        return playlist;
+    }
+
+    @Override
+    public Playlist getPlaylistSummary(String id) {
+        Playlist playlist = playlistCache.getSummary(id);
+        if (playlist == null) {
+            playlist = delegate.getPlaylistSummary(id);
+            playlistCache.put(playlist);
+        }
+        return playlist;
+    }
+
+    @Override
+    public Playlist savePlaylist(Playlist playlist) {
+        return cacheResult(playlist.getId(), () -> delegate.savePlaylist(playlist));
+    }
+
+    @Override
+    public Playlist savePlaylistSummary(Playlist playlist) {
+        return markChanged(playlist.getId(), () -> delegate.savePlaylistSummary(playlist));
+    }
+
+    @Override
+    public Playlist updatePlaylist(String id, Consumer<Playlist> mutation) {
+        return cacheResult(id, () -> delegate.updatePlaylist(id, mutation));
+    }
+
+    @Override
+    public Playlist updatePlaylistSummary(String id, Consumer<Playlist> mutation) {
+        return markChanged(id, () -> delegate.updatePlaylistSummary(id, mutation));
+    }
+
+    @Override
+    public Playlist appendSong(String id, AlbumTrack albumTrack) {
+        return markChanged(id, () -> delegate.appendSong(id, albumTrack));
+    }
+
+    @Override
+    public Playlist prependSong(String id, AlbumTrack albumTrack) {
+        return markChanged(id, () -> delegate.prependSong(id, albumTrack));
+    }
+
+    @Override
+    public Playlist addPlaylistSongs(String id, List<AlbumTrack> albumTracks, List<Boolean> queueNext) {
+        return markChanged(id, () -> delegate.addPlaylistSongs(id, albumTracks, queueNext));
+    }
+
+    private Playlist cacheResult(String id, Supplier<Playlist> write) {
+        Playlist saved = write(id, write);
+        playlistCache.put(saved);
+        return saved;
+    }
+
+    private Playlist markChanged(String id, Supplier<Playlist> write) {
+        Playlist saved = write(id, write);
+        playlistCache.invalidate(id, saved.getVersion());
+        return saved;
+    }
+
+    private Playlist write(String id, Supplier<Playlist> write) {
+        try {
+            return write.get();
+        } catch (RuntimeException e) {
+            playlistCache.invalidate(id, null);
+            throw e;
+        }
+    }
+}
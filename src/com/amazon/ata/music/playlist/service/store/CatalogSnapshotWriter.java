@@ -0,0 +1,134 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+
+import com.google.common.primitives.UnsignedBytes;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compiles album tracks into the immutable catalog snapshot read by {@link SnapshotAlbumTrackStore}.
+ * <p>
+ * Tracks are collected in memory, sorted by asin (in UTF-8 byte order) and track number, and written
+ * to a temporary file that is then moved into place, so a reader never maps a partly written snapshot.
+ * A later track with the same asin and track number replaces an earlier one.
+ */
+public class CatalogSnapshotWriter {
+    private static final Comparator<String> UTF8_ORDER = Comparator.comparing(
+        (String s) -> s.getBytes(StandardCharsets.UTF_8), UnsignedBytes.lexicographicalComparator());
+
+    private final Map<String, TreeMap<Integer, AlbumTrack>> tracksByAsin = new TreeMap<>(UTF8_ORDER);
+    private int trackCount;
+
+    /**
+     * Adds an album track to the snapshot.
+     *
+     * @param albumTrack the album track, with at least its asin and track number set
+     */
+    public void add(AlbumTrack albumTrack) {
+        if (albumTrack.getAsin() == null || albumTrack.getTrackNumber() == null) {
+            throw new IllegalArgumentException("Album track has no asin and track number");
+        }
+        AlbumTrack replaced = tracksByAsin.computeIfAbsent(albumTrack.getAsin(), asin -> new TreeMap<>())
+                .put(albumTrack.getTrackNumber(), albumTrack);
+        if (replaced == null) {
+            trackCount++;
+        }
+    }
+
+    /**
+     * Writes the snapshot of every album track added so far.
+     *
+     * @param file the snapshot file, replaced if it exists
+     * @return the number of album tracks written
+     * @throws IOException if the file can't be written
+     */
+    public int write(Path file) throws IOException {
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> stringIds = new HashMap<>();
+        for (Map.Entry<String, TreeMap<Integer, AlbumTrack>> asin : tracksByAsin.entrySet()) {
+            assignStringId(asin.getKey(), strings, stringIds);
+            for (AlbumTrack albumTrack : asin.getValue().values()) {
+                assignStringId(albumTrack.getAlbumName(), strings, stringIds);
+                assignStringId(albumTrack.getSongTitle(), strings, stringIds);
+            }
+        }
+        List<byte[]> encodedStrings = new ArrayList<>(strings.size());
+        long stringBytes = 0;
+        for (String string : strings) {
+            byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+            encodedStrings.add(encoded);
+            stringBytes += encoded.length;
+        }
+
+        int asinTableOffset = SnapshotAlbumTrackStore.HEADER_BYTES;
+        long trackTableOffset = asinTableOffset + (long) tracksByAsin.size() * SnapshotAlbumTrackStore.ASIN_ENTRY_BYTES;
+        long stringTableOffset = trackTableOffset + (long) trackCount * SnapshotAlbumTrackStore.TRACK_ENTRY_BYTES;
+        long stringDataOffset = stringTableOffset + (strings.size() + 1L) * Integer.BYTES;
+        if (stringDataOffset + stringBytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Catalog snapshot cannot grow past 2 GiB");
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(SnapshotAlbumTrackStore.MAGIC);
+            out.writeInt(SnapshotAlbumTrackStore.FORMAT_VERSION);
+            out.writeInt(tracksByAsin.size());
+            out.writeInt(trackCount);
+            out.writeInt(strings.size());
+            out.writeInt(asinTableOffset);
+            out.writeInt((int) trackTableOffset);
+            out.writeInt((int) stringTableOffset);
+
+            int firstTrack = 0;
+            for (Map.Entry<String, TreeMap<Integer, AlbumTrack>> asin : tracksByAsin.entrySet()) {
+                out.writeLong(SnapshotAlbumTrackStore.prefix(asin.getKey()));
+                out.writeInt(stringIds.get(asin.getKey()));
+                out.writeInt(firstTrack);
+                out.writeInt(asin.getValue().size());
+                firstTrack += asin.getValue().size();
+            }
+            for (TreeMap<Integer, AlbumTrack> tracks : tracksByAsin.values()) {
+                for (AlbumTrack albumTrack : tracks.values()) {
+                    out.writeInt(albumTrack.getTrackNumber());
+                    out.writeInt(lookUpStringId(albumTrack.getAlbumName(), stringIds));
+                    out.writeInt(lookUpStringId(albumTrack.getSongTitle(), stringIds));
+                }
+            }
+            int stringOffset = 0;
+            for (byte[] encoded : encodedStrings) {
+                out.writeInt(stringOffset);
+                stringOffset += encoded.length;
+            }
+            out.writeInt(stringOffset);
+            for (byte[] encoded : encodedStrings) {
+                out.write(encoded);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return trackCount;
+    }
+
+    private static int lookUpStringId(String string, Map<String, Integer> stringIds) {
+        return string == null ? SnapshotAlbumTrackStore.NULL_STRING : stringIds.get(string);
+    }
+
+    private static void assignStringId(String string, List<String> strings, Map<String, Integer> stringIds) {
+        if (string != null && !stringIds.containsKey(string)) {
+            stringIds.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+}
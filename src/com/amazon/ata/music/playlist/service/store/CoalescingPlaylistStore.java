@@ -0,0 +1,229 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.util.Futures;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link PlaylistStore} that coalesces bursts of songs added to the same playlist into one write.
+ * <p>
+ * The first append or prepend to a playlist opens a batch that is flushed after a short window, or as
+ * soon as it holds the maximum batch size. Songs added meanwhile join the batch. The flush applies them
+ * in arrival order to one copy of the playlist with {@link PlaylistStore#updatePlaylist}, and each caller
+ * receives the song list as it was right after its own song was added. If the flush fails, every caller
+ * in the batch receives the exception. All other calls go straight to the wrapped store.
+ * <p>
+ * Callers block until their batch is flushed, so this is meant for long-running processes where many
+ * requests for one playlist are served concurrently.
+ */
+public class CoalescingPlaylistStore implements PlaylistStore {
+    private final Logger log = LogManager.getLogger();
+    private final PlaylistStore delegate;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService flushExecutor;
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder songsAdded = new LongAdder();
+
+    /**
+     * Instantiates a CoalescingPlaylistStore object.
+     *
+     * @param delegate the {@link PlaylistStore} that stores the playlists
+     * @param windowMillis how long a batch collects songs before it is flushed
+     * @param maxBatchSize the number of songs that flushes a batch before its window ends
+     * @param flushExecutor runs the flushes
+     */
+    public CoalescingPlaylistStore(PlaylistStore delegate, long windowMillis, int maxBatchSize,
+                                   ScheduledExecutorService flushExecutor) {
+        this.delegate = delegate;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.flushExecutor = flushExecutor;
+    }
+
+    @Override
+    public Playlist getPlaylist(String id) {
+        return delegate.getPlaylist(id);
+    }
+
+    @Override
+    public Playlist getPlaylistSummary(String id) {
+        return delegate.getPlaylistSummary(id);
+    }
+
+    @Override
+    public Playlist savePlaylist(Playlist playlist) {
+        return delegate.savePlaylist(playlist);
+    }
+
+    @Override
+    public Playlist savePlaylistSummary(Playlist playlist) {
+        return delegate.savePlaylistSummary(playlist);
+    }
+
+    @Override
+    public Playlist updatePlaylist(String id, Consumer<Playlist> mutation) {
+        return delegate.updatePlaylist(id, mutation);
+    }
+
+    @Override
+    public Playlist updatePlaylistSummary(String id, Consumer<Playlist> mutation) {
+        return delegate.updatePlaylistSummary(id, mutation);
+    }
+
+    @Override
+    public Playlist appendSong(String id, AlbumTrack albumTrack) {
+        return addSong(id, new PendingSong(albumTrack, false));
+    }
+
+    @Override
+    public Playlist prependSong(String id, AlbumTrack albumTrack) {
+        return addSong(id, new PendingSong(albumTrack, true));
+    }
+
+    @Override
+    public Playlist addPlaylistSongs(String id, List<AlbumTrack> albumTracks, List<Boolean> queueNext) {
+        return delegate.addPlaylistSongs(id, albumTracks, queueNext);
+    }
+
+    /**
+     * Returns the number of writes made for appended or prepended songs.
+     *
+     * @return the flush count
+     */
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    /**
+     * Returns the number of songs appended or prepended.
+     *
+     * @return the song count
+     */
+    public long getSongsAddedCount() {
+        return songsAdded.sum();
+    }
+
+    private Playlist addSong(String id, PendingSong song) {
+        while (true) {
+            Batch batch = batches.computeIfAbsent(id, this::openBatch);
+            int size = batch.add(song);
+            if (size > 0) {
+                if (size == maxBatchSize) {
+                    flushExecutor.execute(() -> flush(batch));
+                }
+                break;
+            }
+            // the batch closed before the song joined it; it is being flushed, so join the next one
+        }
+
+        return Futures.join(song.result);
+    }
+
+    private Batch openBatch(String id) {
+        Batch batch = new Batch(id);
+        flushExecutor.schedule(() -> flush(batch), windowMillis, TimeUnit.MILLISECONDS);
+        return batch;
+    }
+
+    private void flush(Batch batch) {
+        List<PendingSong> songs = batch.close();
+        if (songs == null) {
+            return;
+        }
+        batches.remove(batch.id, batch);
+
+        List<List<AlbumTrack>> songLists = new ArrayList<>(songs.size());
+        try {
+            Playlist saved = delegate.updatePlaylist(batch.id, playlist -> {
+                // the mutation is reapplied from scratch if the update is retried
+                songLists.clear();
+                List<AlbumTrack> songList = playlist.getSongList() != null
+                        ? new ArrayList<>(playlist.getSongList())
+                        : new ArrayList<>();
+                for (PendingSong song : songs) {
+                    if (song.queueNext) {
+                        songList.add(0, song.albumTrack);
+                    } else {
+                        songList.add(song.albumTrack);
+                    }
+                    songLists.add(new ArrayList<>(songList));
+                }
+                playlist.setSongList(songList);
+                playlist.setSongCount(songList.size());
+            });
+            flushes.increment();
+            songsAdded.add(songs.size());
+            int baseSongCount = saved.getSongCount() - songs.size();
+            for (int i = 0; i < songs.size(); i++) {
+                Playlist result = new Playlist();
+                result.setId(batch.id);
+                result.setSongList(songLists.get(i));
+                result.setSongCount(baseSongCount + i + 1);
+                result.setVersion(saved.getVersion());
+                songs.get(i).result.complete(result);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not add {} songs to playlist {}", songs.size(), batch.id, e);
+            for (PendingSong song : songs) {
+                song.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * A song waiting to be added, and the caller's result.
+     */
+    private static final class PendingSong {
+        private final AlbumTrack albumTrack;
+        private final boolean queueNext;
+        private final CompletableFuture<Playlist> result = new CompletableFuture<>();
+
+        private PendingSong(AlbumTrack albumTrack, boolean queueNext) {
+            this.albumTrack = albumTrack;
+            this.queueNext = queueNext;
+        }
+    }
+
+    /**
+     * The songs waiting to be added to one playlist by the next flush.
+     */
+    private static final class Batch {
+        private final String id;
+        private List<PendingSong> songs = new ArrayList<>();
+
+        private Batch(String id) {
+            this.id = id;
+        }
+
+        // Returns the batch size including the song, or 0 if the batch is already closed
+        private synchronized int add(PendingSong song) {
+            if (songs == null) {
+                return 0;
+            }
+            songs.add(song);
+            return songs.size();
+        }
+
+        // Returns the songs to flush, or null if another flush already took them
+        private synchronized List<PendingSong> close() {
+            List<PendingSong> closed = songs;
+            songs = null;
+            return closed;
+        }
+    }
+}
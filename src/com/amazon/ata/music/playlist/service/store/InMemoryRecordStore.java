@@ -0,0 +1,28 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RecordStore} held in a concurrent hash map.
+ */
+public class InMemoryRecordStore implements RecordStore {
+    private final Map<String, byte[]> records = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] get(String key) {
+        return records.get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value) {
+        records.put(key, value);
+    }
+
+    @Override
+    public List<String> keys() {
+        return new ArrayList<>(records.keySet());
+    }
+}
@@ -0,0 +1,62 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackKey;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link AlbumTrackStore} that keeps each album track as one record in a {@link RecordStore}, keyed by
+ * its asin and track number.
+ */
+public class LocalAlbumTrackStore implements AlbumTrackStore {
+    private final RecordStore records;
+
+    /**
+     * Instantiates a LocalAlbumTrackStore object.
+     *
+     * @param records the {@link RecordStore} holding the encoded album tracks
+     */
+    public LocalAlbumTrackStore(RecordStore records) {
+        this.records = records;
+    }
+
+    @Override
+    public AlbumTrack getAlbumTrack(String asin, int trackNumber) {
+        AlbumTrack albumTrack = load(new AlbumTrackKey(asin, trackNumber));
+        if (albumTrack == null) {
+            throw new AlbumTrackNotFoundException("Could not find album track with asin " + asin + " and track number " + trackNumber);
+        }
+        return albumTrack;
+    }
+
+    @Override
+    public List<AlbumTrack> getAlbumTracks(Collection<AlbumTrackKey> keys) {
+        List<AlbumTrack> albumTracks = new ArrayList<>(keys.size());
+        for (AlbumTrackKey key : keys) {
+            albumTracks.add(load(key));
+        }
+        return albumTracks;
+    }
+
+    /**
+     * Adds the album track to the catalog, replacing any album track with the same asin and track number.
+     *
+     * @param albumTrack the album track to add
+     */
+    public void putAlbumTrack(AlbumTrack albumTrack) {
+        records.put(recordKey(AlbumTrackKey.of(albumTrack)), RecordCodec.encodeAlbumTrack(albumTrack));
+    }
+
+    private AlbumTrack load(AlbumTrackKey key) {
+        byte[] record = records.get(recordKey(key));
+        return record == null ? null : RecordCodec.decodeAlbumTrack(record);
+    }
+
+    private static String recordKey(AlbumTrackKey key) {
+        return key.getAsin() + '#' + key.getTrackNumber();
+    }
+}
@@ -0,0 +1,149 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+
+import com.google.common.util.concurrent.Striped;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * {@link PlaylistStore} that keeps each playlist as one record in a {@link RecordStore}.
+ * <p>
+ * Writes to a playlist are serialized by a lock striped on its id. Saves check and increment the version
+ * the same way the DynamoDB mapper does, so a Playlist read before another writer's save cannot
+ * overwrite it. Updates run under the lock and therefore never need to retry.
+ */
+public class LocalPlaylistStore implements ScannablePlaylistStore {
+    private static final int LOCK_STRIPES = 64;
+
+    private final RecordStore records;
+    private final Striped<Lock> locks = Striped.lock(LOCK_STRIPES);
+
+    /**
+     * Instantiates a LocalPlaylistStore object.
+     *
+     * @param records the {@link RecordStore} holding the encoded playlists
+     */
+    public LocalPlaylistStore(RecordStore records) {
+        this.records = records;
+    }
+
+    @Override
+    public List<String> getPlaylistIds() {
+        return records.keys();
+    }
+
+    @Override
+    public Playlist getPlaylist(String id) {
+        byte[] record = records.get(id);
+        if (record == null) {
+            throw new PlaylistNotFoundException("Could not find playlist with id " + id);
+        }
+        return RecordCodec.decodePlaylist(record);
+    }
+
+    @Override
+    public Playlist getPlaylistSummary(String id) {
+        Playlist playlist = getPlaylist(id);
+        playlist.setSongList(null);
+        return playlist;
+    }
+
+    @Override
+    public Playlist savePlaylist(Playlist playlist) {
+        Lock lock = locks.get(playlist.getId());
+        lock.lock();
+        try {
+            Playlist stored = load(playlist.getId());
+            long version = PlaylistMutations.nextVersion(playlist.getId(), playlist.getVersion(),
+                    storedVersion(stored));
+            playlist.setVersion(version);
+            records.put(playlist.getId(), RecordCodec.encodePlaylist(playlist));
+            return playlist;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Playlist savePlaylistSummary(Playlist playlist) {
+        Lock lock = locks.get(playlist.getId());
+        lock.lock();
+        try {
+            Playlist stored = load(playlist.getId());
+            long version = PlaylistMutations.nextVersion(playlist.getId(), playlist.getVersion(),
+                    storedVersion(stored));
+            Playlist saved = stored != null ? stored : new Playlist();
+            PlaylistMutations.mergeSummary(saved, playlist);
+            saved.setVersion(version);
+            records.put(playlist.getId(), RecordCodec.encodePlaylist(saved));
+            playlist.setVersion(version);
+            return playlist;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Playlist updatePlaylist(String id, Consumer<Playlist> mutation) {
+        return update(id, mutation, false);
+    }
+
+    @Override
+    public Playlist updatePlaylistSummary(String id, Consumer<Playlist> mutation) {
+        return update(id, mutation, true);
+    }
+
+    @Override
+    public Playlist appendSong(String id, AlbumTrack albumTrack) {
+        return addSong(id, albumTrack, false);
+    }
+
+    @Override
+    public Playlist prependSong(String id, AlbumTrack albumTrack) {
+        return addSong(id, albumTrack, true);
+    }
+
+    @Override
+    public Playlist addPlaylistSongs(String id, List<AlbumTrack> albumTracks, List<Boolean> queueNext) {
+        throw new UnsupportedOperationException("NORMALIZED song storage requires the DYNAMODB storage engine");
+    }
+
+    private Playlist update(String id, Consumer<Playlist> mutation, boolean summary) {
+        Lock lock = locks.get(id);
+        lock.lock();
+        try {
+            Playlist playlist = summary ? getPlaylistSummary(id) : getPlaylist(id);
+            mutation.accept(playlist);
+            return summary ? savePlaylistSummary(playlist) : savePlaylist(playlist);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Playlist addSong(String id, AlbumTrack albumTrack, boolean queueNext) {
+        Lock lock = locks.get(id);
+        lock.lock();
+        try {
+            Playlist stored = getPlaylist(id);
+            PlaylistMutations.addSong(stored, albumTrack, queueNext);
+            records.put(id, RecordCodec.encodePlaylist(stored));
+            return PlaylistMutations.addSongResult(stored);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Playlist load(String id) {
+        byte[] record = records.get(id);
+        return record == null ? null : RecordCodec.decodePlaylist(record);
+    }
+
+    private static Long storedVersion(Playlist stored) {
+        return stored == null ? null : stored.getVersion();
+    }
+}
@@ -0,0 +1,643 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * {@link PlaylistStore} that appends every playlist change to a log of {@link Segment} files in a local
+ * directory, so a write is one sequential append instead of a rewrite of the whole playlist.
+ * <p>
+ * A save writes the full playlist; a summary save, append or prepend writes only what changed. An in-memory
+ * index maps each playlist id to the chain of records that rebuild it: its last full record and the change
+ * records after it. A chain longer than {@value #MAX_CHAIN_LENGTH} records is cut by writing the full
+ * playlist again.
+ * <p>
+ * Opening the store replays the segments in order to rebuild the index, truncating a record torn by a
+ * crash. Compaction rolls to a new segment, writes every playlist in full to a compacted segment that
+ * replaces the older ones and deletes them, while writes continue in the new segment. The compacted
+ * segment is renamed into place only once it is complete, so a crash during compaction leaves a log that
+ * replays to the same playlists.
+ */
+public class LogStructuredPlaylistStore implements ScannablePlaylistStore, Closeable {
+    static final long DEFAULT_MAX_SEGMENT_BYTES = 64L << 20;
+    static final int MAX_CHAIN_LENGTH = 32;
+    static final long MIN_COMPACTION_BYTES = 1L << 20;
+    static final double COMPACTION_GARBAGE_RATIO = 0.5;
+
+    static final byte PUT = 1;
+    static final byte SUMMARY = 2;
+    static final byte APPEND_SONG = 3;
+    static final byte PREPEND_SONG = 4;
+
+    private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("segment-(\\d{20})\\.log");
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int LOCK_STRIPES = 64;
+
+    private final Logger log = LogManager.getLogger();
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final boolean syncEveryWrite;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final Striped<Lock> playlistLocks = Striped.lock(LOCK_STRIPES);
+    // held to read records, and exclusively to delete compacted segments
+    private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+    // serializes appends, index changes that go with them, and segment rolls
+    private final Lock appendLock = new ReentrantLock();
+    private final Lock compactionLock = new ReentrantLock();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final AtomicLong liveBytes = new AtomicLong();
+    private Segment activeSegment;
+    private long nextSegmentId;
+    private ScheduledExecutorService compactionExecutor;
+
+    /**
+     * Instantiates a LogStructuredPlaylistStore with {@value #DEFAULT_MAX_SEGMENT_BYTES}-byte segments that
+     * leaves syncing written records to the operating system.
+     *
+     * @param directory the directory holding the segment files; created if it does not exist
+     */
+    public LogStructuredPlaylistStore(Path directory) {
+        this(directory, DEFAULT_MAX_SEGMENT_BYTES, false);
+    }
+
+    /**
+     * Instantiates a LogStructuredPlaylistStore, replaying any segments already in the directory.
+     *
+     * @param directory the directory holding the segment files; created if it does not exist
+     * @param maxSegmentBytes the size after which writes roll to a new segment
+     * @param syncEveryWrite whether every write is forced to the storage device before it returns, so it
+     *                       also survives a power loss and not only a process crash
+     */
+    public LogStructuredPlaylistStore(Path directory, long maxSegmentBytes, boolean syncEveryWrite) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.syncEveryWrite = syncEveryWrite;
+        recover();
+    }
+
+    @Override
+    public Playlist getPlaylist(String id) {
+        segmentsLock.readLock().lock();
+        try {
+            return materialize(getEntry(id));
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Playlist getPlaylistSummary(String id) {
+        Playlist playlist = getPlaylist(id);
+        playlist.setSongList(null);
+        return playlist;
+    }
+
+    @Override
+    public Playlist savePlaylist(Playlist playlist) {
+        String id = playlist.getId();
+        Lock lock = playlistLocks.get(id);
+        lock.lock();
+        try {
+            long version = PlaylistMutations.nextVersion(id, playlist.getVersion(), storedVersion(id));
+            playlist.setVersion(version);
+            write(PUT, id, version, RecordCodec.encodePlaylist(playlist));
+            return playlist;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Playlist savePlaylistSummary(Playlist playlist) {
+        String id = playlist.getId();
+        Lock lock = playlistLocks.get(id);
+        lock.lock();
+        segmentsLock.readLock().lock();
+        try {
+            Entry entry = index.get(id);
+            long version = PlaylistMutations.nextVersion(id, playlist.getVersion(),
+                    entry == null ? null : entry.version);
+            playlist.setVersion(version);
+            if (entry != null && entry.chain.size() < MAX_CHAIN_LENGTH) {
+                write(SUMMARY, id, version, RecordCodec.encodePlaylist(playlist));
+            } else {
+                Playlist saved = entry == null ? new Playlist() : materialize(entry);
+                PlaylistMutations.mergeSummary(saved, playlist);
+                saved.setVersion(version);
+                write(PUT, id, version, RecordCodec.encodePlaylist(saved));
+            }
+            return playlist;
+        } finally {
+            segmentsLock.readLock().unlock();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Playlist updatePlaylist(String id, Consumer<Playlist> mutation) {
+        Lock lock = playlistLocks.get(id);
+        lock.lock();
+        try {
+            Playlist playlist = getPlaylist(id);
+            mutation.accept(playlist);
+            return savePlaylist(playlist);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Playlist updatePlaylistSummary(String id, Consumer<Playlist> mutation) {
+        Lock lock = playlistLocks.get(id);
+        lock.lock();
+        try {
+            Playlist playlist = getPlaylistSummary(id);
+            mutation.accept(playlist);
+            return savePlaylistSummary(playlist);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Playlist appendSong(String id, AlbumTrack albumTrack) {
+        return addSong(id, albumTrack, false);
+    }
+
+    @Override
+    public Playlist prependSong(String id, AlbumTrack albumTrack) {
+        return addSong(id, albumTrack, true);
+    }
+
+    @Override
+    public Playlist addPlaylistSongs(String id, List<AlbumTrack> albumTracks, List<Boolean> queueNext) {
+        throw new UnsupportedOperationException("NORMALIZED song storage requires the DYNAMODB storage engine");
+    }
+
+    /**
+     * Runs {@link #compact} whenever at least {@value #MIN_COMPACTION_BYTES} bytes are on disk and at least
+     * half of them belong to records no playlist needs anymore.
+     *
+     * @param period how often to check
+     * @param unit the unit of the period
+     */
+    public synchronized void startBackgroundCompaction(long period, TimeUnit unit) {
+        if (compactionExecutor != null) {
+            return;
+        }
+        compactionExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("playlist-log-compaction-%d")
+                .setDaemon(true)
+                .build());
+        compactionExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                if (getTotalBytes() >= MIN_COMPACTION_BYTES && getGarbageRatio() >= COMPACTION_GARBAGE_RATIO) {
+                    compact();
+                }
+            } catch (RuntimeException e) {
+                log.error("Playlist log compaction failed", e);
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Rewrites every playlist as one full record in a new segment and deletes the segments it replaces.
+     * Reads and writes continue while it runs.
+     */
+    public void compact() {
+        if (!compactionLock.tryLock()) {
+            return;
+        }
+        try {
+            long compactedSegmentId;
+            Map<String, Entry> snapshot;
+            List<Segment> replacedSegments;
+            appendLock.lock();
+            try {
+                compactedSegmentId = nextSegmentId++;
+                roll();
+                snapshot = new HashMap<>(index);
+                replacedSegments = new ArrayList<>(segments.headMap(compactedSegmentId).values());
+            } finally {
+                appendLock.unlock();
+            }
+
+            Segment compacted = writeCompactedSegment(compactedSegmentId, snapshot);
+            Map<String, Location> compactedLocations = new HashMap<>();
+            compacted.scan((offset, body) -> compactedLocations.put(LogRecord.decode(body).id,
+                    new Location(compacted, offset, Segment.HEADER_BYTES + body.length)));
+
+            appendLock.lock();
+            try {
+                segments.put(compactedSegmentId, compacted);
+                for (Map.Entry<String, Location> replaced : compactedLocations.entrySet()) {
+                    Entry before = snapshot.get(replaced.getKey());
+                    index.computeIfPresent(replaced.getKey(),
+                        (id, current) -> swapPrefix(current, before, replaced.getValue()));
+                }
+            } finally {
+                appendLock.unlock();
+            }
+
+            deleteSegments(replacedSegments);
+            log.info("Compacted {} playlists from {} segments", compactedLocations.size(),
+                    replacedSegments.size());
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Forces every written record to the storage device.
+     */
+    public void sync() {
+        appendLock.lock();
+        try {
+            activeSegment.sync();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the id of every stored playlist, in no particular order.
+     *
+     * @return the playlist ids
+     */
+    @Override
+    public List<String> getPlaylistIds() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    /**
+     * Returns the bytes of every segment on disk.
+     *
+     * @return the total segment size
+     */
+    public long getTotalBytes() {
+        appendLock.lock();
+        try {
+            long totalBytes = 0;
+            for (Segment segment : segments.values()) {
+                totalBytes += segment.size();
+            }
+            return totalBytes;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the fraction of the bytes on disk that no playlist needs anymore and compaction would free.
+     *
+     * @return the garbage ratio, or 0 if the log is empty
+     */
+    public double getGarbageRatio() {
+        long totalBytes = getTotalBytes();
+        return totalBytes == 0 ? 0 : 1 - (double) liveBytes.get() / totalBytes;
+    }
+
+    /**
+     * Stops background compaction, syncs the log and closes every segment.
+     */
+    @Override
+    public synchronized void close() {
+        if (compactionExecutor != null) {
+            compactionExecutor.shutdownNow();
+        }
+        segmentsLock.writeLock().lock();
+        appendLock.lock();
+        try {
+            activeSegment.sync();
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+        } finally {
+            appendLock.unlock();
+            segmentsLock.writeLock().unlock();
+        }
+    }
+
+    private Playlist addSong(String id, AlbumTrack albumTrack, boolean queueNext) {
+        Lock lock = playlistLocks.get(id);
+        lock.lock();
+        segmentsLock.readLock().lock();
+        try {
+            Entry entry = getEntry(id);
+            Playlist stored = materialize(entry);
+            PlaylistMutations.addSong(stored, albumTrack, queueNext);
+            if (entry.chain.size() < MAX_CHAIN_LENGTH) {
+                write(queueNext ? PREPEND_SONG : APPEND_SONG, id, stored.getVersion(),
+                        RecordCodec.encodeAlbumTrack(albumTrack));
+            } else {
+                write(PUT, id, stored.getVersion(), RecordCodec.encodePlaylist(stored));
+            }
+            return PlaylistMutations.addSongResult(stored);
+        } finally {
+            segmentsLock.readLock().unlock();
+            lock.unlock();
+        }
+    }
+
+    private Entry getEntry(String id) {
+        Entry entry = index.get(id);
+        if (entry == null) {
+            throw new PlaylistNotFoundException("Could not find playlist with id " + id);
+        }
+        return entry;
+    }
+
+    private Long storedVersion(String id) {
+        Entry entry = index.get(id);
+        return entry == null ? null : entry.version;
+    }
+
+    private void write(byte type, String id, long version, byte[] payload) {
+        byte[] body = new LogRecord(type, id, version, payload).encode();
+        appendLock.lock();
+        try {
+            if (activeSegment.size() >= maxSegmentBytes) {
+                roll();
+            }
+            long offset = activeSegment.append(body, syncEveryWrite);
+            Location location = new Location(activeSegment, offset, Segment.HEADER_BYTES + body.length);
+            index.compute(id, (key, current) -> {
+                Entry updated = type == PUT || current == null
+                        ? new Entry(Collections.singletonList(location), version)
+                        : current.append(location, version);
+                liveBytes.addAndGet(updated.bytes - (current == null ? 0 : current.bytes));
+                return updated;
+            });
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Callers hold segmentsLock, or are the compaction that alone deletes the segments read
+    private static Playlist materialize(Entry entry) {
+        Playlist playlist = null;
+        for (Location location : entry.chain) {
+            LogRecord record = LogRecord.decode(location.segment.read(location.offset));
+            if (record.type == PUT) {
+                playlist = RecordCodec.decodePlaylist(record.payload);
+            } else if (record.type == SUMMARY) {
+                PlaylistMutations.mergeSummary(playlist, RecordCodec.decodePlaylist(record.payload));
+            } else {
+                PlaylistMutations.addSong(playlist, RecordCodec.decodeAlbumTrack(record.payload),
+                        record.type == PREPEND_SONG);
+            }
+            playlist.setVersion(record.version);
+        }
+        return playlist;
+    }
+
+    // Must hold appendLock
+    private void roll() {
+        if (activeSegment != null) {
+            activeSegment.sync();
+        }
+        long id = nextSegmentId++;
+        activeSegment = Segment.open(id, segmentPath(id));
+        segments.put(id, activeSegment);
+    }
+
+    private Segment writeCompactedSegment(long segmentId, Map<String, Entry> snapshot) {
+        Path finalPath = segmentPath(segmentId);
+        Path tempPath = finalPath.resolveSibling(finalPath.getFileName() + TEMP_SUFFIX);
+        Segment temp = Segment.open(segmentId, tempPath);
+        try {
+            for (Map.Entry<String, Entry> playlist : snapshot.entrySet()) {
+                Entry entry = playlist.getValue();
+                byte[] payload = entry.chain.size() == 1
+                        ? LogRecord.decode(entry.chain.get(0).segment.read(entry.chain.get(0).offset)).payload
+                        : RecordCodec.encodePlaylist(materialize(entry));
+                temp.append(new LogRecord(PUT, playlist.getKey(), entry.version, payload).encode(), false);
+            }
+            temp.sync();
+        } finally {
+            temp.close();
+        }
+        try {
+            Files.move(tempPath, finalPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not install compacted segment " + finalPath, e);
+        }
+        return Segment.open(segmentId, finalPath);
+    }
+
+    private Entry swapPrefix(Entry current, Entry replaced, Location compacted) {
+        if (current.chain.size() < replaced.chain.size() || current.chain.get(0) != replaced.chain.get(0)) {
+            // rewritten in full after compaction started
+            return current;
+        }
+        List<Location> chain = new ArrayList<>();
+        chain.add(compacted);
+        chain.addAll(current.chain.subList(replaced.chain.size(), current.chain.size()));
+        Entry swapped = new Entry(Collections.unmodifiableList(chain), current.version);
+        liveBytes.addAndGet(swapped.bytes - current.bytes);
+        return swapped;
+    }
+
+    // Deleted oldest first, so a crash part way leaves only newer segments that replay onto the compacted one
+    private void deleteSegments(List<Segment> replacedSegments) {
+        segmentsLock.writeLock().lock();
+        try {
+            for (Segment segment : replacedSegments) {
+                appendLock.lock();
+                try {
+                    segments.remove(segment.getId());
+                } finally {
+                    appendLock.unlock();
+                }
+                segment.close();
+                Files.deleteIfExists(segment.getPath());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete compacted segments", e);
+        } finally {
+            segmentsLock.writeLock().unlock();
+        }
+    }
+
+    private void recover() {
+        TreeMap<Long, Path> segmentFiles = new TreeMap<>();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String fileName = file.getFileName().toString();
+                    Matcher matcher = SEGMENT_FILE_NAME.matcher(fileName);
+                    if (fileName.endsWith(TEMP_SUFFIX)) {
+                        // an unfinished compaction
+                        Files.delete(file);
+                    } else if (matcher.matches()) {
+                        segmentFiles.put(Long.parseLong(matcher.group(1)), file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open playlist log " + directory, e);
+        }
+
+        for (Map.Entry<Long, Path> segmentFile : segmentFiles.entrySet()) {
+            Segment segment = Segment.open(segmentFile.getKey(), segmentFile.getValue());
+            segments.put(segment.getId(), segment);
+            if (segment.scan((offset, body) -> replay(segment, offset, body))) {
+                log.warn("Truncated a torn record at the end of {}", segment.getPath());
+            }
+        }
+        for (Entry entry : index.values()) {
+            liveBytes.addAndGet(entry.bytes);
+        }
+
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            activeSegment = segments.lastEntry().getValue();
+            nextSegmentId = activeSegment.getId() + 1;
+        }
+    }
+
+    private void replay(Segment segment, long offset, byte[] body) {
+        LogRecord record = LogRecord.decode(body);
+        Location location = new Location(segment, offset, Segment.HEADER_BYTES + body.length);
+        Entry current = index.get(record.id);
+        if (record.type == PUT) {
+            index.put(record.id, new Entry(Collections.singletonList(location), record.version));
+        } else if (current != null) {
+            index.put(record.id, current.append(location, record.version));
+        } else {
+            // its full record was in a segment deleted by compaction, which rewrote the playlist later in the log
+            log.debug("Skipping a change to playlist {} with no full record", record.id);
+        }
+    }
+
+    private Path segmentPath(long segmentId) {
+        return directory.resolve(String.format("segment-%020d.log", segmentId));
+    }
+
+    /**
+     * Where a record is stored.
+     */
+    private static final class Location {
+        private final Segment segment;
+        private final long offset;
+        private final int size;
+
+        private Location(Segment segment, long offset, int size) {
+            this.segment = segment;
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+
+    /**
+     * The records that rebuild one playlist, and the version they rebuild it at.
+     */
+    private static final class Entry {
+        private final List<Location> chain;
+        private final long version;
+        private final long bytes;
+
+        private Entry(List<Location> chain, long version) {
+            this.chain = chain;
+            this.version = version;
+            long chainBytes = 0;
+            for (Location location : chain) {
+                chainBytes += location.size;
+            }
+            this.bytes = chainBytes;
+        }
+
+        private Entry append(Location location, long newVersion) {
+            List<Location> appended = new ArrayList<>(chain.size() + 1);
+            appended.addAll(chain);
+            appended.add(location);
+            return new Entry(Collections.unmodifiableList(appended), newVersion);
+        }
+    }
+
+    /**
+     * The body of a log record: its type, the playlist id, the playlist version after the change and the
+     * encoded change.
+     */
+    static final class LogRecord {
+        private final byte type;
+        private final String id;
+        private final long version;
+        private final byte[] payload;
+
+        LogRecord(byte type, String id, long version, byte[] payload) {
+            this.type = type;
+            this.id = id;
+            this.version = version;
+            this.payload = payload;
+        }
+
+        byte[] encode() {
+            byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(13 + idBytes.length + payload.length);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(type);
+                out.writeInt(idBytes.length);
+                out.write(idBytes);
+                out.writeLong(version);
+                out.write(payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not encode log record for playlist " + id, e);
+            }
+            return bytes.toByteArray();
+        }
+
+        static LogRecord decode(byte[] body) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(body))) {
+                byte type = in.readByte();
+                byte[] idBytes = new byte[in.readInt()];
+                in.readFully(idBytes);
+                long version = in.readLong();
+                byte[] payload = new byte[in.available()];
+                in.readFully(payload);
+                return new LogRecord(type, new String(idBytes, StandardCharsets.UTF_8), version, payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not decode log record", e);
+            }
+        }
+    }
+}
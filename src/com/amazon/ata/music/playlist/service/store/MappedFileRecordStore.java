@@ -0,0 +1,291 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link RecordStore} kept in a single memory-mapped file, so records survive restarts and only the
+ * key index lives on the heap.
+ * <p>
+ * Records are appended as
+ * <pre>
+ *   int keyLength, int valueLength, key bytes (UTF-8), value bytes
+ * </pre>
+ * and a put of an existing key appends a new record that shadows the old one. The key length is written
+ * last, so a record cut short by a crash reads as the end of the file. Opening the file scans it once to
+ * rebuild the index. The file grows by doubling and is limited to 2 GiB.
+ * <p>
+ * When a put does not fit and at least half of the file is shadowed records, the live records are first
+ * copied to a new file that then atomically replaces this one, so a crash leaves either file intact and
+ * the file stays within a small multiple of the live records' size.
+ * <p>
+ * The store holds an exclusive lock on a ".lock" file next to the records for as long as it is open, so a
+ * second store over the same file, in this process or another, fails to open rather than corrupt it.
+ */
+public class MappedFileRecordStore implements RecordStore, Closeable {
+    static final int INITIAL_SIZE_BYTES = 1 << 20;
+    private static final int HEADER_BYTES = 8;
+
+    private final Path file;
+    private final FileChannel lockChannel;
+    private final FileLock fileLock;
+    private FileChannel channel;
+    // in the order keys were first put, which shadowing records do not change
+    private final Map<String, Integer> index = new LinkedHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedByteBuffer buffer;
+    private int end;
+    // the bytes of the records the index points to; the rest of the bytes before end are shadowed
+    private long liveBytes;
+
+    /**
+     * Instantiates a MappedFileRecordStore, creating the file if it does not exist.
+     *
+     * @param file the file holding the records
+     * @throws IllegalStateException if another MappedFileRecordStore has the file open
+     */
+    public MappedFileRecordStore(Path file) {
+        this.file = file;
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try {
+            lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open lock file " + lockFile, e);
+        }
+        fileLock = tryLock(lockChannel, file);
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(channel.size(), INITIAL_SIZE_BYTES));
+        } catch (IOException e) {
+            closeQuietly(lockChannel);
+            throw new UncheckedIOException("Could not open record file " + file, e);
+        }
+        end = rebuildIndex();
+    }
+
+    @Override
+    public byte[] get(String key) {
+        lock.readLock().lock();
+        try {
+            Integer offset = index.get(key);
+            if (offset == null) {
+                return null;
+            }
+            ByteBuffer record = buffer.duplicate();
+            int keyLength = record.getInt(offset);
+            int valueLength = record.getInt(offset + 4);
+            byte[] value = new byte[valueLength];
+            record.position(offset + HEADER_BYTES + keyLength);
+            record.get(value);
+            return value;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long recordLength = (long) HEADER_BYTES + keyBytes.length + value.length;
+
+        lock.writeLock().lock();
+        try {
+            // keep room for the zero key length that marks the end of the records
+            long required = end + recordLength + 4;
+            if (required > buffer.capacity() && end - liveBytes >= liveBytes) {
+                compact();
+                required = end + recordLength + 4;
+            }
+            ensureCapacity(required);
+            buffer.putInt(end + 4, value.length);
+            ByteBuffer record = buffer.duplicate();
+            record.position(end + HEADER_BYTES);
+            record.put(keyBytes);
+            record.put(value);
+            buffer.putInt(end, keyBytes.length);
+
+            Integer shadowed = index.put(key, end);
+            if (shadowed != null) {
+                liveBytes -= recordLength(buffer, shadowed);
+            }
+            liveBytes += recordLength;
+            end += (int) recordLength;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> keys() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(index.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the bytes of the file used by records, including the shadowed ones.
+     *
+     * @return the used size
+     */
+    public long getUsedBytes() {
+        lock.readLock().lock();
+        try {
+            return end;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the mapped records to the file, closes it and releases its lock.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+            fileLock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close record file", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int rebuildIndex() {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= buffer.capacity()) {
+            int keyLength = buffer.getInt(offset);
+            int valueLength = buffer.getInt(offset + 4);
+            if (keyLength <= 0 || valueLength < 0
+                    || (long) offset + HEADER_BYTES + keyLength + valueLength > buffer.capacity()) {
+                break;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            ByteBuffer record = buffer.duplicate();
+            record.position(offset + HEADER_BYTES);
+            record.get(keyBytes);
+            Integer shadowed = index.put(new String(keyBytes, StandardCharsets.UTF_8), offset);
+            if (shadowed != null) {
+                liveBytes -= recordLength(buffer, shadowed);
+            }
+            liveBytes += HEADER_BYTES + keyLength + valueLength;
+            offset += HEADER_BYTES + keyLength + valueLength;
+        }
+        return offset;
+    }
+
+    /**
+     * Copies the live records, in index order, to a new file that replaces the current one. Called with the
+     * write lock held.
+     */
+    private void compact() {
+        Path compactedFile = file.resolveSibling(file.getFileName() + ".compact");
+        long size = INITIAL_SIZE_BYTES;
+        while (size < liveBytes + 4) {
+            size *= 2;
+        }
+
+        Map<String, Integer> compactedIndex = new LinkedHashMap<>();
+        int offset = 0;
+        try {
+            try (FileChannel compactedChannel = FileChannel.open(compactedFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer compacted = compactedChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        Math.min(size, Integer.MAX_VALUE));
+                for (Map.Entry<String, Integer> entry : index.entrySet()) {
+                    int length = recordLength(buffer, entry.getValue());
+                    ByteBuffer record = buffer.duplicate();
+                    record.limit(entry.getValue() + length).position(entry.getValue());
+                    compacted.position(offset);
+                    compacted.put(record);
+                    compactedIndex.put(entry.getKey(), offset);
+                    offset += length;
+                }
+                compacted.force();
+            }
+            Files.move(compactedFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            channel.close();
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact record file " + file, e);
+        }
+
+        index.clear();
+        index.putAll(compactedIndex);
+        end = offset;
+    }
+
+    private static int recordLength(ByteBuffer buffer, int offset) {
+        return HEADER_BYTES + buffer.getInt(offset) + buffer.getInt(offset + 4);
+    }
+
+    private static FileLock tryLock(FileChannel lockChannel, Path file) {
+        FileLock fileLock;
+        try {
+            fileLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        } catch (IOException e) {
+            closeQuietly(lockChannel);
+            throw new UncheckedIOException("Could not lock record file " + file, e);
+        }
+        if (fileLock == null) {
+            closeQuietly(lockChannel);
+            throw new IllegalStateException("Record file " + file + " is already open");
+        }
+        return fileLock;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // the open or lock failure being reported matters more
+        }
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Record file cannot grow past 2 GiB");
+        }
+        long size = buffer.capacity();
+        while (size < required) {
+            size *= 2;
+        }
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, Integer.MAX_VALUE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not grow record file", e);
+        }
+    }
+}
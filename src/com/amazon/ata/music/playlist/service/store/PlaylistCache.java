@@ -0,0 +1,279 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.util.ReportSchedule;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of playlists keyed by id, stamped with the version each entry was read or saved at.
+ * <p>
+ * An entry is only replaced by one at the same or a newer version, so a slow read cannot overwrite what a
+ * later write cached. A write whose full result is unknown leaves a marker at its version that counts as
+ * a miss but still turns away older reads. Entries expire after a TTL, which bounds how stale a playlist
+ * changed by another process can be, and the least recently used entries are evicted once full.
+ * <p>
+ * Entries are immutable snapshots, taken once when a playlist is cached. Every read returns a new
+ * Playlist that shares the snapshot's song list and tags, so a hit costs the same whatever the playlist's
+ * size. The shared song list, its songs and the tags are unmodifiable; callers can change the Playlist they
+ * get, but must copy the song list to change it, as every write path does.
+ * <p>
+ * The hit, miss and eviction counts and the hit ratio are logged at most once per minute, by the read that
+ * finds the minute has passed.
+ */
+public class PlaylistCache {
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+
+    private final Logger log = LogManager.getLogger();
+    private final Cache<String, Entry> playlists;
+    private final ReportSchedule reportSchedule;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Instantiates a PlaylistCache with the default size and TTL.
+     */
+    public PlaylistCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL, Ticker.systemTicker());
+    }
+
+    /**
+     * Instantiates a PlaylistCache.
+     *
+     * @param maximumSize the maximum number of playlists to keep
+     * @param ttl how long a playlist is kept after it was read or saved
+     * @param ticker the time source used for expiration
+     */
+    public PlaylistCache(long maximumSize, Duration ttl, Ticker ticker) {
+        this.playlists = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.reportSchedule = new ReportSchedule(ReportSchedule.DEFAULT_INTERVAL, ticker);
+    }
+
+    /**
+     * Returns the cached playlist with its songList, which is shared and unmodifiable.
+     *
+     * @param id the Playlist ID
+     * @return the cached Playlist, or null if it is not cached with its songList
+     */
+    public Playlist get(String id) {
+        Entry entry = playlists.getIfPresent(id);
+        return record(entry != null && entry.hasSongList() ? view(entry.playlist, true) : null);
+    }
+
+    /**
+     * Returns the cached playlist without its songList.
+     *
+     * @param id the Playlist ID
+     * @return the cached Playlist with a null songList, or null if it is not cached
+     */
+    public Playlist getSummary(String id) {
+        Entry entry = playlists.getIfPresent(id);
+        return record(entry != null && entry.playlist != null ? view(entry.playlist, false) : null);
+    }
+
+    /**
+     * Caches a snapshot of a playlist read or saved at its version. A playlist with a null songList is
+     * cached as a summary.
+     *
+     * @param playlist the Playlist
+     */
+    public void put(Playlist playlist) {
+        Entry candidate = new Entry(version(playlist), snapshot(playlist));
+        playlists.asMap().merge(playlist.getId(), candidate,
+            (cached, updated) -> updated.replaces(cached) ? updated : cached);
+    }
+
+    /**
+     * Marks the playlist as changed to a version whose attributes are not known here.
+     *
+     * @param id the Playlist ID
+     * @param version the version the playlist was saved at, or null to forget the playlist outright
+     */
+    public void invalidate(String id, Long version) {
+        if (version == null) {
+            playlists.invalidate(id);
+            return;
+        }
+        Entry marker = new Entry(version, null);
+        playlists.asMap().merge(id, marker,
+            (cached, updated) -> cached.version > updated.version ? cached : updated);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the fraction of reads answered from the cache.
+     *
+     * @return the hit ratio, or 0 if nothing was read
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Returns the number of playlists evicted by size or expiry.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return playlists.stats().evictionCount();
+    }
+
+    @Override
+    public String toString() {
+        return "PlaylistCache{" +
+                "hits=" + getHitCount() +
+                ", misses=" + getMissCount() +
+                ", hitRatio=" + getHitRatio() +
+                ", evictions=" + getEvictionCount() +
+                '}';
+    }
+
+    private Playlist record(Playlist playlist) {
+        if (playlist != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        if (reportSchedule.tryReport()) {
+            log.info("Playlist cache: {}", this);
+        }
+        return playlist;
+    }
+
+    // Playlists saved before versioning have no version and are older than any versioned save
+    private static long version(Playlist playlist) {
+        return playlist.getVersion() == null ? 0 : playlist.getVersion();
+    }
+
+    /**
+     * Returns an immutable snapshot of a playlist: its song list and tags are copied into unmodifiable
+     * collections, and each song into an unmodifiable AlbumTrack unless it already is one.
+     *
+     * @param playlist the Playlist
+     * @return a new Playlist holding the snapshot, to be handed out with {@link #view}
+     */
+    // package private for SingleFlightPlaylistStore
+    static Playlist snapshot(Playlist playlist) {
+        Playlist snapshot = view(playlist, false);
+        if (playlist.getTags() != null) {
+            snapshot.setTags(Collections.unmodifiableSet(new HashSet<>(playlist.getTags())));
+        }
+        if (playlist.getSongList() != null) {
+            List<AlbumTrack> songList = new ArrayList<>(playlist.getSongList().size());
+            for (AlbumTrack albumTrack : playlist.getSongList()) {
+                songList.add(albumTrack == null || albumTrack instanceof ImmutableAlbumTrack
+                        ? albumTrack
+                        : new ImmutableAlbumTrack(albumTrack));
+            }
+            snapshot.setSongList(Collections.unmodifiableList(songList));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns a new Playlist with the attributes of a snapshot, sharing its tags and, if asked, its song list.
+     *
+     * @param snapshot the Playlist returned by {@link #snapshot}
+     * @param withSongList whether to include the song list
+     * @return the new Playlist
+     */
+    // package private for SingleFlightPlaylistStore
+    static Playlist view(Playlist snapshot, boolean withSongList) {
+        Playlist view = new Playlist();
+        view.setId(snapshot.getId());
+        view.setName(snapshot.getName());
+        view.setCustomerId(snapshot.getCustomerId());
+        view.setSongCount(snapshot.getSongCount());
+        view.setVersion(snapshot.getVersion());
+        view.setTags(snapshot.getTags());
+        if (withSongList) {
+            view.setSongList(snapshot.getSongList());
+        }
+        return view;
+    }
+
+    /**
+     * A cached playlist, or a marker of a version that is not cached, which has no playlist.
+     */
+    private static final class Entry {
+        private final long version;
+        private final Playlist playlist;
+
+        private Entry(long version, Playlist playlist) {
+            this.version = version;
+            this.playlist = playlist;
+        }
+
+        private boolean hasSongList() {
+            return playlist != null && playlist.getSongList() != null;
+        }
+
+        // A newer version always wins; at the same version a playlist replaces a marker, and a full
+        // playlist replaces a summary
+        private boolean replaces(Entry cached) {
+            if (version != cached.version) {
+                return version > cached.version;
+            }
+            return cached.playlist == null || hasSongList() || !cached.hasSongList();
+        }
+    }
+
+    /**
+     * An AlbumTrack whose setters throw, so a cached song can be shared by every reader.
+     */
+    private static final class ImmutableAlbumTrack extends AlbumTrack {
+        private ImmutableAlbumTrack(AlbumTrack albumTrack) {
+            super.setAsin(albumTrack.getAsin());
+            super.setTrackNumber(albumTrack.getTrackNumber());
+            super.setAlbumName(albumTrack.getAlbumName());
+            super.setSongTitle(albumTrack.getSongTitle());
+        }
+
+        @Override
+        public void setAsin(String asin) {
+            throw new UnsupportedOperationException("Cached songs cannot be changed");
+        }
+
+        @Override
+        public void setTrackNumber(Integer trackNumber) {
+            throw new UnsupportedOperationException("Cached songs cannot be changed");
+        }
+
+        @Override
+        public void setAlbumName(String albumName) {
+            throw new UnsupportedOperationException("Cached songs cannot be changed");
+        }
+
+        @Override
+        public void setSongTitle(String songTitle) {
+            throw new UnsupportedOperationException("Cached songs cannot be changed");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import java.util.List;
+
+/**
+ * One page of playlist ids returned by a {@link PlaylistTagIndex} search, and the token that continues it.
+ */
+public class PlaylistIdPage {
+    private final List<String> playlistIds;
+    private final String nextPageToken;
+
+    /**
+     * Instantiates a PlaylistIdPage object.
+     *
+     * @param playlistIds the playlist ids on this page
+     * @param nextPageToken the token that requests the next page, or null if this is the last page
+     */
+    public PlaylistIdPage(List<String> playlistIds, String nextPageToken) {
+        this.playlistIds = playlistIds;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<String> getPlaylistIds() {
+        return playlistIds;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+}
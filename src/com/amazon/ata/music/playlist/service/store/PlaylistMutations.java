@@ -0,0 +1,99 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The playlist changes shared by the local {@link PlaylistStore} engines, written to match what the
+ * DynamoDB mapper and the playlists table do for the same calls.
+ */
+final class PlaylistMutations {
+    private PlaylistMutations() {
+    }
+
+    /**
+     * Checks the version of a Playlist being saved against the stored one. A null version saves only a
+     * playlist that has no stored version; any other version must match the stored one.
+     *
+     * @param id the Playlist ID
+     * @param expectedVersion the version the Playlist was read at
+     * @param storedVersion the stored version, or null if there is none
+     * @return the version the saved playlist will have
+     * @throws ConditionalCheckFailedException if the versions differ
+     */
+    static long nextVersion(String id, Long expectedVersion, Long storedVersion) {
+        if (!Objects.equals(expectedVersion, storedVersion)) {
+            throw new ConditionalCheckFailedException("Playlist " + id + " is at version " + storedVersion +
+                    ", not " + expectedVersion);
+        }
+        return storedVersion == null ? 1 : storedVersion + 1;
+    }
+
+    /**
+     * Copies the non-null attributes of a summary save onto the stored playlist.
+     *
+     * @param stored the stored playlist, changed in place
+     * @param summary the saved Playlist
+     */
+    static void mergeSummary(Playlist stored, Playlist summary) {
+        stored.setId(summary.getId());
+        if (summary.getName() != null) {
+            stored.setName(summary.getName());
+        }
+        if (summary.getCustomerId() != null) {
+            stored.setCustomerId(summary.getCustomerId());
+        }
+        if (summary.getSongCount() != null) {
+            stored.setSongCount(summary.getSongCount());
+        }
+        if (summary.getTags() != null) {
+            stored.setTags(summary.getTags());
+        }
+        if (summary.getSongList() != null) {
+            stored.setSongList(summary.getSongList());
+        }
+    }
+
+    /**
+     * Adds a song to the stored playlist and increments its songCount and version, like the list_append
+     * UpdateItem call of the DynamoDB engine.
+     *
+     * @param stored the stored playlist, changed in place
+     * @param albumTrack the song to add
+     * @param queueNext whether to add the song at the start instead of the end
+     */
+    static void addSong(Playlist stored, AlbumTrack albumTrack, boolean queueNext) {
+        List<AlbumTrack> songList = stored.getSongList() != null
+                ? new ArrayList<>(stored.getSongList())
+                : new ArrayList<>();
+        if (queueNext) {
+            songList.add(0, albumTrack);
+        } else {
+            songList.add(albumTrack);
+        }
+        stored.setSongList(songList);
+        stored.setSongCount(stored.getSongCount() != null ? stored.getSongCount() + 1 : 1);
+        stored.setVersion(stored.getVersion() != null ? stored.getVersion() + 1 : 1);
+    }
+
+    /**
+     * Returns the part of the playlist an appendSong or prependSong call returns.
+     *
+     * @param stored the updated playlist
+     * @return a Playlist holding the id, songList, songCount and version
+     */
+    static Playlist addSongResult(Playlist stored) {
+        Playlist playlist = new Playlist();
+        playlist.setId(stored.getId());
+        playlist.setSongList(stored.getSongList());
+        playlist.setSongCount(stored.getSongCount());
+        playlist.setVersion(stored.getVersion());
+        return playlist;
+    }
+}
@@ -0,0 +1,109 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stores playlists. Implementations select where: DynamoDB, process memory or local files, see
+ * {@link StorageEngine}.
+ * <p>
+ * Every implementation follows the playlists table's semantics: each save increments the playlist's
+ * version and only succeeds while the stored version matches the saved Playlist's version.
+ */
+public interface PlaylistStore {
+    /**
+     * Returns the {@link Playlist} corresponding to the specified id.
+     *
+     * @param id the Playlist ID
+     * @return the stored Playlist
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    Playlist getPlaylist(String id);
+
+    /**
+     * Returns the {@link Playlist} corresponding to the specified id without its songList.
+     *
+     * @param id the Playlist ID
+     * @return the stored Playlist's id, name, customerId, songCount, tags and version
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    Playlist getPlaylistSummary(String id);
+
+    /**
+     * Saves the provided {@link Playlist}, replacing any stored playlist with the same id.
+     *
+     * @param playlist the Playlist to save
+     * @return the saved Playlist
+     * @throws ConditionalCheckFailedException if the playlist was changed since it was read
+     */
+    Playlist savePlaylist(Playlist playlist);
+
+    /**
+     * Saves the non-null attributes of the provided {@link Playlist}, leaving the null ones as stored.
+     *
+     * @param playlist the Playlist to save
+     * @return the saved Playlist
+     * @throws ConditionalCheckFailedException if the playlist was changed since it was read
+     */
+    Playlist savePlaylistSummary(Playlist playlist);
+
+    /**
+     * Reads the playlist, applies the mutation and saves it, reapplying the mutation to a freshly read
+     * playlist if another writer saved it in between.
+     *
+     * @param id the Playlist ID
+     * @param mutation the change to make; it may run more than once
+     * @return the saved Playlist
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    Playlist updatePlaylist(String id, Consumer<Playlist> mutation);
+
+    /**
+     * Same as {@link #updatePlaylist}, but neither reads nor writes the songList.
+     *
+     * @param id the Playlist ID
+     * @param mutation the change to make; it may run more than once
+     * @return the saved Playlist
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    Playlist updatePlaylistSummary(String id, Consumer<Playlist> mutation);
+
+    /**
+     * Atomically adds a song to the end of the playlist and increments its songCount.
+     *
+     * @param id the Playlist ID
+     * @param albumTrack the song to add
+     * @return a Playlist holding the id and the updated songList, songCount and version
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    Playlist appendSong(String id, AlbumTrack albumTrack);
+
+    /**
+     * Atomically adds a song to the start of the playlist and increments its songCount.
+     *
+     * @param id the Playlist ID
+     * @param albumTrack the song to add
+     * @return a Playlist holding the id and the updated songList, songCount and version
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     */
+    Playlist prependSong(String id, AlbumTrack albumTrack);
+
+    /**
+     * Adds songs stored outside the playlist, in the playlist_songs table, together with the songCount
+     * increment that counts them, so the playlist's songCount always matches the songs stored.
+     *
+     * @param id the Playlist ID
+     * @param albumTracks the songs to add, in order
+     * @param queueNext for each song, true to place it before every other song
+     * @return a Playlist holding the id
+     * @throws PlaylistNotFoundException if no playlist with the id exists
+     * @throws UnsupportedOperationException if the store keeps no playlist_songs table
+     */
+    Playlist addPlaylistSongs(String id, List<AlbumTrack> albumTracks, List<Boolean> queueNext);
+}
@@ -0,0 +1,154 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from tag to the playlists that have it.
+ * <p>
+ * Each playlist gets an ordinal the first time it is indexed, tagged or not, so ordinals follow creation
+ * order for playlists indexed as they are created, and a playlist tagged long after it was created still
+ * ranks by its creation. Each tag maps to a {@link BitSet} of ordinals, so a search
+ * across several tags is a word-wise AND or OR of their bit sets, and walking the result from the highest
+ * set bit down lists the newest playlists first. A page token is the ordinal the next page starts below.
+ * <p>
+ * Ordinals live only in this process and are assigned again when the index is rebuilt at startup, so a
+ * page token does not survive a restart: the same token may then skip or repeat playlists.
+ */
+public class PlaylistTagIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> playlistIds = new ArrayList<>();
+    private final List<Set<String>> tagsByOrdinal = new ArrayList<>();
+    private final Map<String, BitSet> playlistsByTag = new HashMap<>();
+
+    /**
+     * Replaces the tags the playlist is indexed under.
+     *
+     * @param id the Playlist ID
+     * @param tags the playlist's tags; null or empty removes the playlist from every tag but keeps its ordinal
+     */
+    public void index(String id, Collection<String> tags) {
+        Set<String> newTags = tags == null ? Collections.emptySet() : new HashSet<>(tags);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinal = playlistIds.size();
+                ordinals.put(id, ordinal);
+                playlistIds.add(id);
+                tagsByOrdinal.add(Collections.emptySet());
+            }
+
+            Set<String> oldTags = tagsByOrdinal.get(ordinal);
+            for (String tag : oldTags) {
+                if (!newTags.contains(tag)) {
+                    BitSet playlists = playlistsByTag.get(tag);
+                    playlists.clear(ordinal);
+                    if (playlists.isEmpty()) {
+                        playlistsByTag.remove(tag);
+                    }
+                }
+            }
+            for (String tag : newTags) {
+                if (!oldTags.contains(tag)) {
+                    playlistsByTag.computeIfAbsent(tag, key -> new BitSet()).set(ordinal);
+                }
+            }
+            tagsByOrdinal.set(ordinal, newTags);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of the playlists matching the tags, newest first.
+     *
+     * @param tags the tags to match
+     * @param matchAll true to match playlists with every tag, false to match playlists with any of them
+     * @param limit the maximum number of playlist ids to return
+     * @param pageToken the nextPageToken of the previous page made by this process, or null for the first page
+     * @return the page of matching playlist ids
+     * @throws InvalidAttributeValueException if the page token was not issued by this index
+     */
+    public PlaylistIdPage search(Collection<String> tags, boolean matchAll, int limit, String pageToken) {
+        int start = pageToken == null ? Integer.MAX_VALUE : parsePageToken(pageToken);
+        List<String> page = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            BitSet matches = match(new LinkedHashSet<>(tags), matchAll);
+            int ordinal = matches.previousSetBit(Math.min(start, matches.length()) - 1);
+            int last = -1;
+            while (ordinal >= 0 && page.size() < limit) {
+                page.add(playlistIds.get(ordinal));
+                last = ordinal;
+                ordinal = matches.previousSetBit(ordinal - 1);
+            }
+            return new PlaylistIdPage(page, ordinal >= 0 ? Integer.toString(last) : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of playlists indexed with the tag.
+     *
+     * @param tag the tag
+     * @return the playlist count
+     */
+    public int getPlaylistCount(String tag) {
+        lock.readLock().lock();
+        try {
+            BitSet playlists = playlistsByTag.get(tag);
+            return playlists == null ? 0 : playlists.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Combines the tags' bit sets into a new one, leaving the index's own bit sets unchanged
+    private BitSet match(Set<String> tags, boolean matchAll) {
+        BitSet matches = null;
+        for (String tag : tags) {
+            BitSet playlists = playlistsByTag.get(tag);
+            if (playlists == null) {
+                if (matchAll) {
+                    return new BitSet();
+                }
+                continue;
+            }
+            if (matches == null) {
+                matches = (BitSet) playlists.clone();
+            } else if (matchAll) {
+                matches.and(playlists);
+            } else {
+                matches.or(playlists);
+            }
+        }
+        return matches == null ? new BitSet() : matches;
+    }
+
+    private static int parsePageToken(String pageToken) {
+        try {
+            int start = Integer.parseInt(pageToken);
+            if (start < 0) {
+                throw new InvalidAttributeValueException("Invalid page token " + pageToken);
+            }
+            return start;
+        } catch (NumberFormatException e) {
+            throw new InvalidAttributeValueException("Invalid page token " + pageToken, e);
+        }
+    }
+}
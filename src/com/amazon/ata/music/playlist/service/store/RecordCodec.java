@@ -0,0 +1,160 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.converters.AlbumTrackListCodec;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Encodes playlists and album tracks as the records kept by the local storage engines.
+ * <p>
+ * Every record starts with a format version byte. Strings are written as an int UTF-8 length and the
+ * bytes, with -1 meaning null; a playlist's songList is written with {@link AlbumTrackListCodec}.
+ */
+final class RecordCodec {
+    static final byte FORMAT_VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+    private static final AlbumTrackListCodec SONG_LIST_CODEC = new AlbumTrackListCodec();
+
+    private RecordCodec() {
+    }
+
+    static byte[] encodePlaylist(Playlist playlist) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeString(out, playlist.getId());
+            writeString(out, playlist.getName());
+            writeString(out, playlist.getCustomerId());
+            out.writeBoolean(playlist.getSongCount() != null);
+            if (playlist.getSongCount() != null) {
+                out.writeInt(playlist.getSongCount());
+            }
+            out.writeBoolean(playlist.getVersion() != null);
+            if (playlist.getVersion() != null) {
+                out.writeLong(playlist.getVersion());
+            }
+            if (playlist.getTags() == null) {
+                out.writeInt(NULL_LENGTH);
+            } else {
+                out.writeInt(playlist.getTags().size());
+                for (String tag : playlist.getTags()) {
+                    writeString(out, tag);
+                }
+            }
+            if (playlist.getSongList() == null) {
+                out.writeInt(NULL_LENGTH);
+            } else {
+                byte[] songList = SONG_LIST_CODEC.encode(playlist.getSongList());
+                out.writeInt(songList.length);
+                out.write(songList);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode playlist " + playlist.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Playlist decodePlaylist(byte[] record) {
+        try (DataInputStream in = open(record)) {
+            Playlist playlist = new Playlist();
+            playlist.setId(readString(in));
+            playlist.setName(readString(in));
+            playlist.setCustomerId(readString(in));
+            if (in.readBoolean()) {
+                playlist.setSongCount(in.readInt());
+            }
+            if (in.readBoolean()) {
+                playlist.setVersion(in.readLong());
+            }
+            int tagCount = in.readInt();
+            if (tagCount != NULL_LENGTH) {
+                Set<String> tags = new HashSet<>();
+                for (int i = 0; i < tagCount; i++) {
+                    tags.add(readString(in));
+                }
+                playlist.setTags(tags);
+            }
+            int songListLength = in.readInt();
+            if (songListLength != NULL_LENGTH) {
+                byte[] songList = new byte[songListLength];
+                in.readFully(songList);
+                playlist.setSongList(SONG_LIST_CODEC.decode(ByteBuffer.wrap(songList)));
+            }
+            return playlist;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode playlist record", e);
+        }
+    }
+
+    static byte[] encodeAlbumTrack(AlbumTrack albumTrack) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeString(out, albumTrack.getAsin());
+            out.writeBoolean(albumTrack.getTrackNumber() != null);
+            if (albumTrack.getTrackNumber() != null) {
+                out.writeInt(albumTrack.getTrackNumber());
+            }
+            writeString(out, albumTrack.getAlbumName());
+            writeString(out, albumTrack.getSongTitle());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode album track " + albumTrack.getAsin(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static AlbumTrack decodeAlbumTrack(byte[] record) {
+        try (DataInputStream in = open(record)) {
+            AlbumTrack albumTrack = new AlbumTrack();
+            albumTrack.setAsin(readString(in));
+            if (in.readBoolean()) {
+                albumTrack.setTrackNumber(in.readInt());
+            }
+            albumTrack.setAlbumName(readString(in));
+            albumTrack.setSongTitle(readString(in));
+            return albumTrack;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode album track record", e);
+        }
+    }
+
+    private static DataInputStream open(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte formatVersion = in.readByte();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported record format version " + formatVersion);
+        }
+        return in;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
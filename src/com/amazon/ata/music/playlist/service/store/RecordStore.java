@@ -0,0 +1,31 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import java.util.List;
+
+/**
+ * Keeps encoded records by key for the local storage engines.
+ */
+public interface RecordStore {
+    /**
+     * Returns the record stored under the key.
+     *
+     * @param key the record key
+     * @return the record's bytes, or null if there is none
+     */
+    byte[] get(String key);
+
+    /**
+     * Stores the record under the key, replacing any previous record.
+     *
+     * @param key the record key
+     * @param value the record's bytes
+     */
+    void put(String key, byte[] value);
+
+    /**
+     * Returns the key of every stored record.
+     *
+     * @return the keys, in the order each was first put if the store keeps one
+     */
+    List<String> keys();
+}
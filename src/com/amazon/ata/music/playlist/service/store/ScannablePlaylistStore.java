@@ -0,0 +1,16 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import java.util.List;
+
+/**
+ * {@link PlaylistStore} that can list every playlist it stores, which the local engines can do cheaply
+ * because they keep their key index in memory.
+ */
+public interface ScannablePlaylistStore extends PlaylistStore {
+    /**
+     * Returns the id of every stored playlist.
+     *
+     * @return the playlist ids, in the order the playlists were created if the engine keeps one
+     */
+    List<String> getPlaylistIds();
+}
@@ -0,0 +1,182 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * One append-only segment file of a {@link LogStructuredPlaylistStore}.
+ * <p>
+ * Each record is framed as
+ * <pre>
+ *   int bodyLength, int CRC32 of the body, body bytes
+ * </pre>
+ * so a record torn by a crash, whether its length, checksum or body was cut short, is detected when the
+ * segment is scanned and everything from it onwards is truncated. Appends are not thread-safe; reads are.
+ */
+final class Segment implements Closeable {
+    static final int HEADER_BYTES = 8;
+
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private long size;
+
+    private Segment(long id, Path path, FileChannel channel, long size) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Opens the segment file, creating it if it does not exist.
+     *
+     * @param id the segment's position in the log
+     * @param path the segment file
+     * @return the open Segment
+     */
+    static Segment open(long id, Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open segment " + path, e);
+        }
+    }
+
+    long getId() {
+        return id;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Appends one record.
+     *
+     * @param body the record body
+     * @param sync whether to force the record to the storage device before returning
+     * @return the offset of the record
+     */
+    long append(byte[] body, boolean sync) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        frame.putInt(body.length).putInt(checksum(body)).put(body).flip();
+        long offset = size;
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame, offset + frame.position());
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to segment " + path, e);
+        }
+        size += frame.limit();
+        return offset;
+    }
+
+    /**
+     * Reads the body of the record at the offset.
+     *
+     * @param offset an offset returned by {@link #append} or {@link #scan}
+     * @return the record body
+     */
+    byte[] read(long offset) {
+        try {
+            ByteBuffer header = readFully(offset, HEADER_BYTES);
+            return readFully(offset + HEADER_BYTES, header.getInt(0)).array();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read segment " + path + " at " + offset, e);
+        }
+    }
+
+    /**
+     * Passes every intact record to the visitor in order, then truncates the segment after the last one.
+     *
+     * @param visitor receives each record's offset and body
+     * @return whether a torn or corrupt record was truncated
+     */
+    boolean scan(RecordVisitor visitor) {
+        try {
+            long offset = 0;
+            long fileSize = channel.size();
+            while (offset + HEADER_BYTES <= fileSize) {
+                ByteBuffer header = readFully(offset, HEADER_BYTES);
+                int bodyLength = header.getInt(0);
+                if (bodyLength < 0 || offset + HEADER_BYTES + bodyLength > fileSize) {
+                    break;
+                }
+                byte[] body = readFully(offset + HEADER_BYTES, bodyLength).array();
+                if (checksum(body) != header.getInt(4)) {
+                    break;
+                }
+                visitor.visit(offset, body);
+                offset += HEADER_BYTES + bodyLength;
+            }
+            size = offset;
+            if (offset < fileSize) {
+                channel.truncate(offset);
+                return true;
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not scan segment " + path, e);
+        }
+    }
+
+    /**
+     * Forces appended records to the storage device.
+     */
+    void sync() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not sync segment " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close segment " + path, e);
+        }
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of segment " + path);
+            }
+        }
+        return buffer;
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Receives the records of a segment during a {@link #scan}.
+     */
+    interface RecordVisitor {
+        void visit(long offset, byte[] body);
+    }
+}
@@ -0,0 +1,79 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.util.SingleFlight;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link PlaylistStore} that collapses concurrent {@link #getPlaylist} calls for the same id into one read
+ * of the wrapped store, so a burst of requests for a popular playlist costs one read instead of one each.
+ * <p>
+ * Every caller receives its own Playlist sharing one unmodifiable song list, and a failed read, such as a
+ * PlaylistNotFoundException, is thrown to every caller that waited on it. All other calls go straight to
+ * the wrapped store.
+ */
+public class SingleFlightPlaylistStore implements PlaylistStore {
+    private final PlaylistStore delegate;
+    private final SingleFlight<String, Playlist> playlistLoads;
+
+    /**
+     * Instantiates a SingleFlightPlaylistStore object.
+     *
+     * @param delegate the {@link PlaylistStore} that stores the playlists
+     * @param playlistLoads the {@link SingleFlight} shared by every SingleFlightPlaylistStore in the process
+     */
+    public SingleFlightPlaylistStore(PlaylistStore delegate, SingleFlight<String, Playlist> playlistLoads) {
+        this.delegate = delegate;
+        this.playlistLoads = playlistLoads;
+    }
+
+    @Override
+    public Playlist getPlaylist(String id) {
+        // the loaded playlist is shared with the waiting callers as an immutable snapshot, so each gets a view
+        return PlaylistCache.view(playlistLoads.load(id, () -> PlaylistCache.snapshot(delegate.getPlaylist(id))),
+                true);
+    }
+
+    @Override
+    public Playlist getPlaylistSummary(String id) {
+        return delegate.getPlaylistSummary(id);
+    }
+
+    @Override
+    public Playlist savePlaylist(Playlist playlist) {
+        return delegate.savePlaylist(playlist);
+    }
+
+    @Override
+    public Playlist savePlaylistSummary(Playlist playlist) {
+        return delegate.savePlaylistSummary(playlist);
+    }
+
+    @Override
+    public Playlist updatePlaylist(String id, Consumer<Playlist> mutation) {
+        return delegate.updatePlaylist(id, mutation);
+    }
+
+    @Override
+    public Playlist updatePlaylistSummary(String id, Consumer<Playlist> mutation) {
+        return delegate.updatePlaylistSummary(id, mutation);
+    }
+
+    @Override
+    public Playlist appendSong(String id, AlbumTrack albumTrack) {
+        return delegate.appendSong(id, albumTrack);
+    }
+
+    @Override
+    public Playlist prependSong(String id, AlbumTrack albumTrack) {
+        return delegate.prependSong(id, albumTrack);
+    }
+
+    @Override
+    public Playlist addPlaylistSongs(String id, List<AlbumTrack> albumTracks, List<Boolean> queueNext) {
+        return delegate.addPlaylistSongs(id, albumTracks, queueNext);
+    }
+}
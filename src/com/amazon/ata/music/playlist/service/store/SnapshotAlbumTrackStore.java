@@ -0,0 +1,236 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackKey;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only {@link AlbumTrackStore} over an immutable catalog snapshot compiled by
+ * {@link CatalogSnapshotWriter}, for deployments that ship the catalog with the service.
+ * <p>
+ * Opening the store only maps the file; nothing is read onto the heap. The file is laid out as
+ * <pre>
+ *   header:       int magic, int version, int asinCount, int trackCount, int stringCount,
+ *                 int asinTableOffset, int trackTableOffset, int stringTableOffset
+ *   asin table:   asinCount x (long asin prefix, int asin string id, int first track, int track count),
+ *                 sorted by asin
+ *   track table:  trackCount x (int trackNumber, int albumName string id, int songTitle string id),
+ *                 grouped by asin and sorted by track number
+ *   string table: (stringCount + 1) x int offset into the string data, then the UTF-8 string data
+ * </pre>
+ * where each distinct asin, album name and song title is stored once, and string id -1 means null. The
+ * asin prefix is the asin's first 8 UTF-8 bytes, zero padded, so most steps of a search compare one long
+ * without following the string id.
+ * <p>
+ * A lookup binary searches the asin table, comparing the requested asin against the mapped bytes in
+ * place, then binary searches that asin's tracks, so the only allocations are the returned AlbumTrack
+ * and its strings.
+ */
+public class SnapshotAlbumTrackStore implements AlbumTrackStore {
+    static final int MAGIC = 0x41544353;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int ASIN_ENTRY_BYTES = 20;
+    static final int TRACK_ENTRY_BYTES = 12;
+    static final int NULL_STRING = -1;
+
+    private final ByteBuffer buffer;
+    private final int asinCount;
+    private final int asinTableOffset;
+    private final int trackTableOffset;
+    private final int stringTableOffset;
+    private final int stringDataOffset;
+
+    /**
+     * Instantiates a SnapshotAlbumTrackStore by mapping the snapshot file.
+     *
+     * @param file the catalog snapshot
+     * @throws IllegalArgumentException if the file is not a catalog snapshot of this format version
+     */
+    public SnapshotAlbumTrackStore(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open catalog snapshot " + file, e);
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException(file + " is not a catalog snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported catalog snapshot version " + buffer.getInt(4));
+        }
+        asinCount = buffer.getInt(8);
+        asinTableOffset = buffer.getInt(20);
+        trackTableOffset = buffer.getInt(24);
+        stringTableOffset = buffer.getInt(28);
+        stringDataOffset = stringTableOffset + (buffer.getInt(16) + 1) * Integer.BYTES;
+    }
+
+    @Override
+    public AlbumTrack getAlbumTrack(String asin, int trackNumber) {
+        AlbumTrack albumTrack = load(asin, trackNumber);
+        if (albumTrack == null) {
+            throw new AlbumTrackNotFoundException("Could not find album track with asin " + asin
+                    + " and track number " + trackNumber);
+        }
+        return albumTrack;
+    }
+
+    @Override
+    public List<AlbumTrack> getAlbumTracks(Collection<AlbumTrackKey> keys) {
+        List<AlbumTrack> albumTracks = new ArrayList<>(keys.size());
+        for (AlbumTrackKey key : keys) {
+            albumTracks.add(load(key.getAsin(), key.getTrackNumber()));
+        }
+        return albumTracks;
+    }
+
+    /**
+     * Returns the number of album tracks in the snapshot.
+     *
+     * @return the album track count
+     */
+    public int getAlbumTrackCount() {
+        return buffer.getInt(12);
+    }
+
+    private AlbumTrack load(String asin, int trackNumber) {
+        int asinEntry = findAsin(asin);
+        if (asinEntry < 0) {
+            return null;
+        }
+        int low = buffer.getInt(asinEntry + 12);
+        int high = low + buffer.getInt(asinEntry + 16) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int trackEntry = trackTableOffset + middle * TRACK_ENTRY_BYTES;
+            int middleTrackNumber = buffer.getInt(trackEntry);
+            if (middleTrackNumber < trackNumber) {
+                low = middle + 1;
+            } else if (middleTrackNumber > trackNumber) {
+                high = middle - 1;
+            } else {
+                AlbumTrack albumTrack = new AlbumTrack();
+                albumTrack.setAsin(asin);
+                albumTrack.setTrackNumber(trackNumber);
+                albumTrack.setAlbumName(readString(buffer.getInt(trackEntry + 4)));
+                albumTrack.setSongTitle(readString(buffer.getInt(trackEntry + 8)));
+                return albumTrack;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Binary searches the asin table.
+     *
+     * @return the offset of the asin's entry, or -1 if the snapshot has no tracks for it
+     */
+    private int findAsin(String asin) {
+        long prefix = prefix(asin);
+        int low = 0;
+        int high = asinCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int asinEntry = asinTableOffset + middle * ASIN_ENTRY_BYTES;
+            int comparison = Long.compareUnsigned(buffer.getLong(asinEntry), prefix);
+            if (comparison == 0) {
+                comparison = compareString(buffer.getInt(asinEntry + 8), asin);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return asinEntry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares a stored string with another in UTF-8 byte order, encoding the other string one code point
+     * at a time rather than into a new array.
+     */
+    private int compareString(int stringId, String other) {
+        int position = stringStart(stringId);
+        int end = stringStart(stringId + 1);
+        int index = 0;
+        while (index < other.length()) {
+            int codePoint = other.codePointAt(index);
+            index += Character.charCount(codePoint);
+            int byteCount = utf8Length(codePoint);
+            for (int i = 0; i < byteCount; i++) {
+                if (position == end) {
+                    return -1;
+                }
+                int difference = (buffer.get(position++) & 0xff) - utf8Byte(codePoint, byteCount, i);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+        }
+        return position == end ? 0 : 1;
+    }
+
+    /**
+     * Packs the first 8 UTF-8 bytes of a string, zero padded, into a long that orders as the bytes do.
+     */
+    static long prefix(String string) {
+        long prefix = 0;
+        int bytes = 0;
+        int index = 0;
+        while (bytes < Long.BYTES && index < string.length()) {
+            int codePoint = string.codePointAt(index);
+            index += Character.charCount(codePoint);
+            int byteCount = utf8Length(codePoint);
+            for (int i = 0; i < byteCount && bytes < Long.BYTES; i++, bytes++) {
+                prefix = (prefix << 8) | utf8Byte(codePoint, byteCount, i);
+            }
+        }
+        return prefix << (8 * (Long.BYTES - bytes));
+    }
+
+    private static int utf8Length(int codePoint) {
+        return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static int utf8Byte(int codePoint, int byteCount, int i) {
+        if (byteCount == 1) {
+            return codePoint;
+        }
+        int shift = 6 * (byteCount - 1 - i);
+        if (i == 0) {
+            // 110xxxxx, 1110xxxx or 11110xxx
+            return ((0xf00 >> byteCount) & 0xff) | (codePoint >> shift);
+        }
+        return 0x80 | ((codePoint >> shift) & 0x3f);
+    }
+
+    private String readString(int stringId) {
+        if (stringId == NULL_STRING) {
+            return null;
+        }
+        int start = stringStart(stringId);
+        byte[] bytes = new byte[stringStart(stringId + 1) - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int stringStart(int stringId) {
+        return stringDataOffset + buffer.getInt(stringTableOffset + stringId * Integer.BYTES);
+    }
+}
@@ -0,0 +1,24 @@
+package com.amazon.ata.music.playlist.service.store;
+
+/**
+ * Where playlists and album tracks are stored.
+ */
+public enum StorageEngine {
+    /**
+     * The playlists and album_tracks DynamoDB tables.
+     */
+    DYNAMODB,
+    /**
+     * Process memory; everything is lost when the process exits.
+     */
+    IN_MEMORY,
+    /**
+     * Memory-mapped files in a local directory, kept across restarts.
+     */
+    MAPPED_FILE,
+    /**
+     * Append-only segment files in a local directory, see {@link LogStructuredPlaylistStore}. Album tracks
+     * are kept as in MAPPED_FILE.
+     */
+    LOG_STRUCTURED
+}
@@ -0,0 +1,99 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+
+import com.google.common.util.concurrent.Striped;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link PlaylistStore} that keeps a {@link PlaylistTagIndex} current with the tags of every playlist
+ * saved through it. The index is updated after the save succeeds; a summary save that leaves the tags
+ * null leaves them as they are, like the stored playlist.
+ * <p>
+ * Each save and its index update hold a lock striped by playlist id, so concurrent saves of one playlist
+ * reach the index in the order they reached the store, and the index keeps the tags of the last save.
+ */
+public class TagIndexingPlaylistStore implements PlaylistStore {
+    private static final int LOCK_STRIPES = 64;
+
+    private final Striped<Lock> locks = Striped.lock(LOCK_STRIPES);
+    private final PlaylistStore delegate;
+    private final PlaylistTagIndex tagIndex;
+
+    /**
+     * Instantiates a TagIndexingPlaylistStore object.
+     *
+     * @param delegate the {@link PlaylistStore} that stores the playlists
+     * @param tagIndex the {@link PlaylistTagIndex} shared by every TagIndexingPlaylistStore in the process
+     */
+    public TagIndexingPlaylistStore(PlaylistStore delegate, PlaylistTagIndex tagIndex) {
+        this.delegate = delegate;
+        this.tagIndex = tagIndex;
+    }
+
+    @Override
+    public Playlist getPlaylist(String id) {
+        return delegate.getPlaylist(id);
+    }
+
+    @Override
+    public Playlist getPlaylistSummary(String id) {
+        return delegate.getPlaylistSummary(id);
+    }
+
+    @Override
+    public Playlist savePlaylist(Playlist playlist) {
+        return indexed(playlist.getId(), () -> delegate.savePlaylist(playlist));
+    }
+
+    @Override
+    public Playlist savePlaylistSummary(Playlist playlist) {
+        if (playlist.getTags() == null) {
+            return delegate.savePlaylistSummary(playlist);
+        }
+        return indexed(playlist.getId(), () -> delegate.savePlaylistSummary(playlist));
+    }
+
+    @Override
+    public Playlist updatePlaylist(String id, Consumer<Playlist> mutation) {
+        return indexed(id, () -> delegate.updatePlaylist(id, mutation));
+    }
+
+    @Override
+    public Playlist updatePlaylistSummary(String id, Consumer<Playlist> mutation) {
+        // the summary was read with its tags, so the saved playlist holds all of them
+        return indexed(id, () -> delegate.updatePlaylistSummary(id, mutation));
+    }
+
+    @Override
+    public Playlist appendSong(String id, AlbumTrack albumTrack) {
+        return delegate.appendSong(id, albumTrack);
+    }
+
+    @Override
+    public Playlist prependSong(String id, AlbumTrack albumTrack) {
+        return delegate.prependSong(id, albumTrack);
+    }
+
+    @Override
+    public Playlist addPlaylistSongs(String id, List<AlbumTrack> albumTracks, List<Boolean> queueNext) {
+        return delegate.addPlaylistSongs(id, albumTracks, queueNext);
+    }
+
+    private Playlist indexed(String id, Supplier<Playlist> save) {
+        Lock lock = locks.get(id);
+        lock.lock();
+        try {
+            Playlist saved = save.get();
+            tagIndex.index(saved.getId(), saved.getTags());
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
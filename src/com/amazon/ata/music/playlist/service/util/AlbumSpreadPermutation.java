@@ -0,0 +1,144 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded {@link SongPermutation} for {@link com.amazon.ata.music.playlist.service.models.SongOrder#SMART_SHUFFLED}
+ * that spreads the songs of each album as evenly as it can over the whole listing.
+ * <p>
+ * Songs are bucketed by album, their asin, or their albumName when they have no asin. Each bucket's songs are
+ * shuffled and each bucket gets a random offset in [0, 1); the j-th of a bucket's c songs then targets the
+ * fraction (j + offset) / c of the way through the listing, so a bucket's songs are 1/c apart. The k buckets
+ * are merged by target with a binary heap, in O(n log k). When every album has the same number of songs,
+ * no two songs of an album end up back to back.
+ * <p>
+ * Unlike {@link FeistelPermutation} the listing depends on the songs, so it is built in full, as an int index
+ * array, when the permutation is created.
+ */
+public class AlbumSpreadPermutation implements SongPermutation {
+    private final int[] indexes;
+
+    /**
+     * Instantiates an AlbumSpreadPermutation object.
+     *
+     * @param seed the seed of the shuffle
+     * @param songs the stored song list
+     */
+    public AlbumSpreadPermutation(long seed, List<AlbumTrack> songs) {
+        int size = songs.size();
+        int[] bucketOfSong = new int[size];
+        Map<String, Integer> bucketIds = new HashMap<>();
+        int[] bucketSizes = new int[size];
+        int buckets = 0;
+        for (int i = 0; i < size; i++) {
+            String album = albumOf(songs.get(i));
+            Integer bucket = album == null ? null : bucketIds.get(album);
+            if (bucket == null) {
+                bucket = buckets++;
+                if (album != null) {
+                    bucketIds.put(album, bucket);
+                }
+            }
+            bucketOfSong[i] = bucket;
+            bucketSizes[bucket]++;
+        }
+
+        // each bucket's songs, in stored order, in one array; a bucket starts where the previous one ends
+        int[] bucketStarts = new int[buckets + 1];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            bucketStarts[bucket + 1] = bucketStarts[bucket] + bucketSizes[bucket];
+        }
+        int[] songsByBucket = new int[size];
+        int[] filled = new int[buckets];
+        for (int i = 0; i < size; i++) {
+            int bucket = bucketOfSong[i];
+            songsByBucket[bucketStarts[bucket] + filled[bucket]++] = i;
+        }
+
+        Random random = new Random(seed);
+        double[] offsets = new double[buckets];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            shuffle(songsByBucket, bucketStarts[bucket], bucketStarts[bucket + 1], random);
+            offsets[bucket] = random.nextDouble();
+        }
+
+        // a binary min-heap of the buckets with songs left, keyed by the target of each one's next song
+        double[] targets = new double[buckets];
+        int[] taken = new int[buckets];
+        int[] heap = new int[buckets];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            targets[bucket] = offsets[bucket] / bucketSizes[bucket];
+            heap[bucket] = bucket;
+        }
+        int heapSize = buckets;
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, targets);
+        }
+        indexes = new int[size];
+        for (int position = 0; position < size; position++) {
+            int bucket = heap[0];
+            indexes[position] = songsByBucket[bucketStarts[bucket] + taken[bucket]++];
+            if (taken[bucket] < bucketSizes[bucket]) {
+                targets[bucket] = (taken[bucket] + offsets[bucket]) / bucketSizes[bucket];
+            } else {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(heap, heapSize, 0, targets);
+        }
+    }
+
+    @Override
+    public int size() {
+        return indexes.length;
+    }
+
+    @Override
+    public int indexAt(int position) {
+        return indexes[position];
+    }
+
+    private static String albumOf(AlbumTrack song) {
+        return song.getAsin() != null ? song.getAsin() : song.getAlbumName();
+    }
+
+    /**
+     * Moves the bucket at a heap slot down until its target is no later than its children's; ties go to the
+     * lower bucket.
+     */
+    private static void siftDown(int[] heap, int heapSize, int slot, double[] targets) {
+        int bucket = heap[slot];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && isBefore(heap[child + 1], heap[child], targets)) {
+                child++;
+            }
+            if (!isBefore(heap[child], bucket, targets)) {
+                break;
+            }
+            heap[slot] = heap[child];
+            slot = child;
+        }
+        heap[slot] = bucket;
+    }
+
+    private static boolean isBefore(int bucket, int other, double[] targets) {
+        return targets[bucket] < targets[other] || (targets[bucket] == targets[other] && bucket < other);
+    }
+
+    private static void shuffle(int[] values, int from, int to, Random random) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int swapped = values[i];
+            values[i] = values[j];
+            values[j] = swapped;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.amazon.ata.music.playlist.service.util;
+
+/**
+ * Pseudorandom {@link SongPermutation} that computes each position's index on demand, in O(1) time and
+ * space, so listing a page of a shuffle costs O(page) however long the playlist is.
+ * <p>
+ * The index is a balanced Feistel network over the smallest domain of 2^(2k) values covering the songs,
+ * whose rounds are keyed from the seed; a Feistel network is a bijection whatever its round function. Values
+ * outside [0, size) are fed back through the network (cycle walking) until one lands inside, which keeps
+ * the mapping a bijection on [0, size) and takes fewer than 4 passes on average, because the domain is less
+ * than 4 times the size. The round keys and function are fixed, so a seed gives the same permutation on
+ * every host.
+ */
+public class FeistelPermutation implements SongPermutation {
+    private static final int ROUNDS = 4;
+
+    private final int size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    /**
+     * Instantiates a FeistelPermutation object.
+     *
+     * @param seed the seed of the permutation
+     * @param size the number of songs
+     */
+    public FeistelPermutation(long seed, int size) {
+        this.size = size;
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(Math.max(size - 1, 1)));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        long state = seed;
+        for (int round = 0; round < ROUNDS; round++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[round] = mix(state);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int indexAt(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " of " + size);
+        }
+        long value = position;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return (int) value;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (mix(right ^ roundKey) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * SplitMix64's finalizer, which spreads every input bit over the whole output.
+     */
+    private static long mix(long value) {
+        long mixed = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+}
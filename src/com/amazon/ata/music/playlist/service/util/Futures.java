@@ -0,0 +1,31 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public final class Futures {
+    // do not instantiate
+    private Futures() {}
+
+    /**
+     * Waits for a future and returns its value, throwing what it failed with as is rather than wrapped in a
+     * {@link CompletionException}, so callers see the same exceptions as from the synchronous call.
+     *
+     * @param future the future to wait for
+     * @param <T> the value type
+     * @return the future's value
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
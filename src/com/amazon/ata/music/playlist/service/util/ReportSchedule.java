@@ -0,0 +1,43 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import com.google.common.base.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides when counters updated on request threads are next due to be reported.
+ * <p>
+ * Reports are triggered by the updates themselves rather than by a background thread, which Lambda
+ * freezes between invocations. Once the interval has passed, exactly one caller is told to report.
+ */
+public class ReportSchedule {
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+    private final Ticker ticker;
+    private final long intervalNanos;
+    private final AtomicLong nextReportNanos;
+
+    /**
+     * Instantiates a ReportSchedule whose first report is due one interval from now.
+     *
+     * @param interval the time between reports
+     * @param ticker the time source
+     */
+    public ReportSchedule(Duration interval, Ticker ticker) {
+        this.ticker = ticker;
+        this.intervalNanos = interval.toNanos();
+        this.nextReportNanos = new AtomicLong(ticker.read() + intervalNanos);
+    }
+
+    /**
+     * Returns whether the caller should report now, which is true for one caller per interval.
+     *
+     * @return true if a report is due and this caller claimed it
+     */
+    public boolean tryReport() {
+        long now = ticker.read();
+        long reportNanos = nextReportNanos.get();
+        return now - reportNanos >= 0 && nextReportNanos.compareAndSet(reportNanos, now + intervalNanos);
+    }
+}
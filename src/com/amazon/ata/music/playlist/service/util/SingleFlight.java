@@ -0,0 +1,70 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one.
+ * <p>
+ * The first caller for a key runs the load; callers that arrive while it is running wait for it and
+ * receive the same value, or the same exception, instead of loading again. Once the load finishes the
+ * next caller for the key starts a new one, so nothing is kept beyond the load itself.
+ *
+ * @param <K> the key type
+ * @param <V> the loaded value type
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder sharedLoads = new LongAdder();
+
+    /**
+     * Loads the value for a key, or waits for the load already running for it.
+     *
+     * @param key the key to load
+     * @param loader loads the value when no load for the key is running
+     * @return the loaded value
+     * @throws RuntimeException whatever the loader threw, to every caller that waited on it
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            sharedLoads.increment();
+            return Futures.join(running);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Returns the number of loads that ran.
+     *
+     * @return the load count
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Returns the number of callers that waited for a load another caller ran.
+     *
+     * @return the shared load count
+     */
+    public long getSharedLoadCount() {
+        return sharedLoads.sum();
+    }
+}
@@ -0,0 +1,129 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import com.amazon.ata.music.playlist.service.models.SongOrder;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Where a page of a playlist's songs, in some {@link SongOrder}, continues from.
+ * <p>
+ * The cursor remembers the order it was issued for and the seed of that order, so every page of a
+ * reordered song list comes from the same ordering. It also remembers how many songs the playlist had:
+ * every order but DEFAULT is computed over the whole list, so once songs are added or removed its offsets
+ * point elsewhere, and the cursor is stale. A page read by sort key from the playlist_songs table also
+ * remembers the position of its last song, so the next page starts after that song however many songs
+ * were added since. It is handed to clients as an opaque URL-safe token:
+ * <pre>
+ *   byte version, byte order ordinal, long seed, int song count, int offset, long position
+ * </pre>
+ * New SongOrder values must be added at the end so issued cursors keep their meaning.
+ */
+public final class SongCursor {
+    private static final byte VERSION = 3;
+    private static final int TOKEN_BYTES = 1 + 1 + Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES;
+    // song positions are non-zero microsecond timestamps, so this one is never a song's
+    private static final long NO_POSITION = Long.MIN_VALUE;
+
+    private final SongOrder order;
+    private final long seed;
+    private final int songCount;
+    private final int offset;
+    private final Long position;
+
+    /**
+     * Instantiates a SongCursor object.
+     *
+     * @param order the order the songs are listed in
+     * @param seed the seed of that order, or 0 for orders without one
+     * @param songCount the number of songs the playlist had when the cursor was issued
+     * @param offset the position, in that order, of the first song on the next page
+     */
+    public SongCursor(SongOrder order, long seed, int songCount, int offset) {
+        this(order, seed, songCount, offset, null);
+    }
+
+    /**
+     * Instantiates a SongCursor object for a page read by position.
+     *
+     * @param order the order the songs are listed in
+     * @param seed the seed of that order, or 0 for orders without one
+     * @param songCount the number of songs the playlist had when the cursor was issued
+     * @param offset the position, in that order, of the first song on the next page
+     * @param position the sort key of the last song listed, or null if the page was not read by position
+     */
+    public SongCursor(SongOrder order, long seed, int songCount, int offset, Long position) {
+        this.order = order;
+        this.seed = seed;
+        this.songCount = songCount;
+        this.offset = offset;
+        this.position = position;
+    }
+
+    /**
+     * Reads a cursor from the token {@link #toToken} made.
+     *
+     * @param token the opaque token
+     * @return the cursor
+     * @throws InvalidAttributeValueException if the token was not made by this class
+     */
+    public static SongCursor fromToken(String token) {
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            SongOrder[] orders = SongOrder.values();
+            int order = bytes.remaining() == TOKEN_BYTES && bytes.get() == VERSION ? bytes.get() : -1;
+            if (order < 0 || order >= orders.length) {
+                throw new InvalidAttributeValueException("Invalid cursor " + token);
+            }
+            long seed = bytes.getLong();
+            int songCount = bytes.getInt();
+            int offset = bytes.getInt();
+            long position = bytes.getLong();
+            if (songCount < 0 || offset < 0) {
+                throw new InvalidAttributeValueException("Invalid cursor " + token);
+            }
+            return new SongCursor(orders[order], seed, songCount, offset,
+                    position == NO_POSITION ? null : position);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new InvalidAttributeValueException("Invalid cursor " + token, e);
+        }
+    }
+
+    /**
+     * Writes the cursor as an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String toToken() {
+        ByteBuffer bytes = ByteBuffer.allocate(TOKEN_BYTES)
+                .put(VERSION)
+                .put((byte) order.ordinal())
+                .putLong(seed)
+                .putInt(songCount)
+                .putInt(offset)
+                .putLong(position == null ? NO_POSITION : position);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    public SongOrder getOrder() {
+        return order;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getSongCount() {
+        return songCount;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+}
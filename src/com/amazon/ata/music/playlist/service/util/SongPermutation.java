@@ -0,0 +1,22 @@
+package com.amazon.ata.music.playlist.service.util;
+
+/**
+ * The order a playlist's songs are listed in, as a mapping from each position in that order to the index of
+ * the song in the stored song list. Reordering never copies the songs themselves.
+ */
+public interface SongPermutation {
+    /**
+     * Returns the number of songs ordered.
+     *
+     * @return the song count
+     */
+    int size();
+
+    /**
+     * Returns which stored song is listed at a position.
+     *
+     * @param position the position in this order, from 0 to size() - 1
+     * @return the index of the song in the stored song list
+     */
+    int indexAt(int position);
+}
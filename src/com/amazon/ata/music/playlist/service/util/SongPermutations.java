@@ -0,0 +1,66 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.models.SongOrder;
+
+import java.util.List;
+
+/**
+ * Builds the {@link SongPermutation} for each {@link SongOrder}.
+ */
+public final class SongPermutations {
+    // do not instantiate
+    private SongPermutations() {}
+
+    /**
+     * Returns whether an order depends on a seed, which clients get back so they can repeat it.
+     *
+     * @param order the song order
+     * @return true if {@link #of} uses the seed for this order
+     */
+    public static boolean isSeeded(SongOrder order) {
+        return order == SongOrder.SHUFFLED || order == SongOrder.SMART_SHUFFLED;
+    }
+
+    /**
+     * Returns the permutation listing songs in an order.
+     *
+     * @param order the song order
+     * @param seed the seed of a seeded order; ignored by the others
+     * @param songs the stored song list; only SMART_SHUFFLED reads the songs, the others only its size
+     * @return the permutation
+     */
+    public static SongPermutation of(SongOrder order, long seed, List<AlbumTrack> songs) {
+        int size = songs.size();
+        switch (order) {
+            case REVERSED:
+                return new SongPermutation() {
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public int indexAt(int position) {
+                        return size - 1 - position;
+                    }
+                };
+            case SHUFFLED:
+                return new FeistelPermutation(seed, size);
+            case SMART_SHUFFLED:
+                return new AlbumSpreadPermutation(seed, songs);
+            default:
+                return new SongPermutation() {
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+
+                    @Override
+                    public int indexAt(int position) {
+                        return position;
+                    }
+                };
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.amazon.ata.music.playlist.service.activity;
 
 import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackDao;
 import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistSongDao;
+import com.amazon.ata.music.playlist.service.dynamodb.SongStorageMode;
 import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
 import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
 import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
@@ -16,10 +18,15 @@ import org.mockito.Mock;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -31,6 +38,9 @@ public class AddSongToPlaylistActivityTest {
     @Mock
     private AlbumTrackDao albumTrackDao;
 
+    @Mock
+    private PlaylistSongDao playlistSongDao;
+
     private AddSongToPlaylistActivity addSongToPlaylistActivity;
 
     @BeforeEach
@@ -63,6 +73,17 @@ public class AddSongToPlaylistActivityTest {
         return playlist;
     }
 
+    // what the playlists table returns after the server-side list_append
+    private Playlist withSongAdded(Playlist playlist, AlbumTrack albumTrack, boolean queueNext) {
+        List<AlbumTrack> songList = new ArrayList<>(playlist.getSongList());
+        songList.add(queueNext ? 0 : songList.size(), albumTrack);
+        Playlist updated = new Playlist();
+        updated.setId(playlist.getId());
+        updated.setSongList(songList);
+        updated.setSongCount(songList.size());
+        return updated;
+    }
+
     private AlbumTrack generateAlbumTrack(int trackNumber) {
         AlbumTrack albumTrack = new AlbumTrack();
         albumTrack.setAsin("test-asin-" + trackNumber);
@@ -83,8 +104,8 @@ public class AddSongToPlaylistActivityTest {
         songToAdd.setAsin(albumTrackToAdd.getAsin());
         songToAdd.setTrackNumber(albumTrackToAdd.getTrackNumber());
 
-        when(playlistDao.getPlaylist(playlistId)).thenReturn(originalPlaylist);
-        when(playlistDao.savePlaylist(any())).thenReturn(originalPlaylist);
+        when(playlistDao.appendSong(playlistId, albumTrackToAdd))
+                .thenReturn(withSongAdded(originalPlaylist, albumTrackToAdd, false));
         when(albumTrackDao.getAlbumTrack(albumTrackToAdd.getAsin(), albumTrackToAdd.getTrackNumber()))
                 .thenReturn(albumTrackToAdd);
 
@@ -98,6 +119,8 @@ public class AddSongToPlaylistActivityTest {
         AddSongToPlaylistResult result = addSongToPlaylistActivity.handleRequest(request, null);
 
         // THEN
+        verify(playlistDao, never()).getPlaylist(any());
+        verify(playlistDao, never()).savePlaylist(any());
         assertEquals(2, result.getSongList().size());
         SongModel secondSong = result.getSongList().get(1);
         assertEquals(albumTrackToAdd.getAsin(), secondSong.getAsin());
@@ -113,7 +136,8 @@ public class AddSongToPlaylistActivityTest {
                 .withAsin("asin")
                 .withTrackNumber(1)
                 .build();
-        when(playlistDao.getPlaylist(playlistId)).thenThrow(new PlaylistNotFoundException());
+        when(albumTrackDao.getAlbumTrack("asin", 1)).thenReturn(generateAlbumTrack(1));
+        when(playlistDao.appendSong(any(), any())).thenThrow(new PlaylistNotFoundException());
 
         // WHEN + THEN
         assertThrows(PlaylistNotFoundException.class, () ->
@@ -133,7 +157,7 @@ public class AddSongToPlaylistActivityTest {
                 .withTrackNumber(-1)
                 .build();
 
-        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+        when(playlistDao.getPlaylistSummary(playlistId)).thenReturn(playlist);
         when(albumTrackDao.getAlbumTrack("nonexistent asin", -1)).thenReturn(null);
 
         // THEN
@@ -142,6 +166,23 @@ public class AddSongToPlaylistActivityTest {
         );
     }
 
+    @Test
+    public void handleRequest_noMatchingPlaylistOrAlbumTrack_throwsPlaylistNotFoundException() {
+        // GIVEN
+        AddSongToPlaylistRequest request = AddSongToPlaylistRequest.builder()
+                .withId("missing id")
+                .withAsin("nonexistent asin")
+                .withTrackNumber(-1)
+                .build();
+        when(playlistDao.getPlaylistSummary("missing id")).thenThrow(new PlaylistNotFoundException());
+        when(albumTrackDao.getAlbumTrack("nonexistent asin", -1)).thenReturn(null);
+
+        // WHEN + THEN
+        assertThrows(PlaylistNotFoundException.class, () ->
+                addSongToPlaylistActivity.handleRequest(request, null)
+        );
+    }
+
     @Test
     void handleRequest_validRequestWithQueueNextFalse_addsSongToEndOfPlaylist() {
         // GIVEN
@@ -156,8 +197,8 @@ public class AddSongToPlaylistActivityTest {
         songToAdd.setAsin(albumTrackToAdd.getAsin());
         songToAdd.setTrackNumber(albumTrackToAdd.getTrackNumber());
 
-        when(playlistDao.getPlaylist(playlistId)).thenReturn(originalPlaylist);
-        when(playlistDao.savePlaylist(any())).thenReturn(originalPlaylist);
+        when(playlistDao.appendSong(playlistId, albumTrackToAdd))
+                .thenReturn(withSongAdded(originalPlaylist, albumTrackToAdd, false));
         when(albumTrackDao.getAlbumTrack(albumTrackToAdd.getAsin(), albumTrackToAdd.getTrackNumber()))
                 .thenReturn(albumTrackToAdd);
 
@@ -192,8 +233,8 @@ public class AddSongToPlaylistActivityTest {
         songToAdd.setAsin(albumTrackToAdd.getAsin());
         songToAdd.setTrackNumber(albumTrackToAdd.getTrackNumber());
 
-        when(playlistDao.getPlaylist(playlistId)).thenReturn(originalPlaylist);
-        when(playlistDao.savePlaylist(any())).thenReturn(originalPlaylist);
+        when(playlistDao.prependSong(playlistId, albumTrackToAdd))
+                .thenReturn(withSongAdded(originalPlaylist, albumTrackToAdd, true));
         when(albumTrackDao.getAlbumTrack(albumTrackToAdd.getAsin(), albumTrackToAdd.getTrackNumber()))
                 .thenReturn(albumTrackToAdd);
 
@@ -213,4 +254,150 @@ public class AddSongToPlaylistActivityTest {
         assertEquals(albumTrackToAdd.getAsin(), firstSong.getAsin());
         assertEquals(albumTrackToAdd.getTrackNumber(), firstSong.getTrackNumber());
     }
+
+    @Test
+    void handleRequest_normalizedSongStorage_putsSongWithoutRewritingPlaylist() {
+        // GIVEN
+        Playlist playlist = generatePlaylistWithNAlbumTracks(0);
+        String playlistId = playlist.getId();
+        AlbumTrack albumTrackToAdd = generateAlbumTrack(4);
+
+        AddSongToPlaylistActivity normalizedActivity = new AddSongToPlaylistActivity(playlistDao, albumTrackDao,
+                playlistSongDao, SongStorageMode.NORMALIZED);
+        when(playlistDao.getPlaylistSummary(playlistId)).thenReturn(playlist);
+        when(albumTrackDao.getAlbumTrack(albumTrackToAdd.getAsin(), albumTrackToAdd.getTrackNumber()))
+                .thenReturn(albumTrackToAdd);
+        when(playlistSongDao.getPlaylistSongs(playlistId)).thenReturn(List.of(albumTrackToAdd));
+
+        AddSongToPlaylistRequest request = AddSongToPlaylistRequest.builder()
+                .withId(playlistId)
+                .withAsin(albumTrackToAdd.getAsin())
+                .withTrackNumber(albumTrackToAdd.getTrackNumber())
+                .withQueueNext(true)
+                .build();
+
+        // WHEN
+        AddSongToPlaylistResult result = normalizedActivity.handleRequest(request, null);
+
+        // THEN
+        verify(playlistDao).addPlaylistSongs(playlistId, List.of(albumTrackToAdd), List.of(true));
+        verify(playlistDao, never()).savePlaylist(any());
+        assertEquals(1, result.getSongList().size());
+        assertEquals(albumTrackToAdd.getAsin(), result.getSongList().get(0).getAsin());
+    }
+
+    @Test
+    void handleRequest_embeddedSongStorageWithReadExecutor_readsAlbumTrackOnCallingThread() {
+        // GIVEN
+        Playlist originalPlaylist = generatePlaylist();
+        String playlistId = originalPlaylist.getId();
+        AlbumTrack albumTrackToAdd = generateAlbumTrack(2);
+        AddSongToPlaylistActivity activity = new AddSongToPlaylistActivity(playlistDao, albumTrackDao,
+                playlistSongDao, SongStorageMode.EMBEDDED, command -> {
+                    throw new AssertionError("EMBEDDED mode has no reads to run concurrently");
+                });
+        when(playlistDao.appendSong(playlistId, albumTrackToAdd))
+                .thenReturn(withSongAdded(originalPlaylist, albumTrackToAdd, false));
+        when(albumTrackDao.getAlbumTrack(albumTrackToAdd.getAsin(), albumTrackToAdd.getTrackNumber()))
+                .thenReturn(albumTrackToAdd);
+
+        AddSongToPlaylistRequest request = AddSongToPlaylistRequest.builder()
+                .withId(playlistId)
+                .withAsin(albumTrackToAdd.getAsin())
+                .withTrackNumber(albumTrackToAdd.getTrackNumber())
+                .build();
+
+        // WHEN
+        AddSongToPlaylistResult result = activity.handleRequest(request, null);
+
+        // THEN
+        assertEquals(2, result.getSongList().size());
+    }
+
+    @Test
+    void handleRequest_normalizedSongStorage_readsPlaylistAndAlbumTrackConcurrently() {
+        // GIVEN
+        Playlist playlist = generatePlaylistWithNAlbumTracks(0);
+        String playlistId = playlist.getId();
+        AlbumTrack albumTrackToAdd = generateAlbumTrack(4);
+        CountDownLatch playlistReadStarted = new CountDownLatch(1);
+
+        ExecutorService readExecutor = Executors.newFixedThreadPool(2);
+        AddSongToPlaylistActivity normalizedActivity = new AddSongToPlaylistActivity(playlistDao, albumTrackDao,
+                playlistSongDao, SongStorageMode.NORMALIZED, readExecutor);
+        when(playlistDao.getPlaylistSummary(playlistId)).thenAnswer(invocation -> {
+            playlistReadStarted.countDown();
+            return playlist;
+        });
+        // the album track read only finishes once the playlist read is under way
+        when(albumTrackDao.getAlbumTrack(albumTrackToAdd.getAsin(), albumTrackToAdd.getTrackNumber()))
+                .thenAnswer(invocation -> playlistReadStarted.await(5, TimeUnit.SECONDS) ? albumTrackToAdd : null);
+        when(playlistSongDao.getPlaylistSongs(playlistId)).thenReturn(List.of(albumTrackToAdd));
+
+        AddSongToPlaylistRequest request = AddSongToPlaylistRequest.builder()
+                .withId(playlistId)
+                .withAsin(albumTrackToAdd.getAsin())
+                .withTrackNumber(albumTrackToAdd.getTrackNumber())
+                .build();
+
+        try {
+            // WHEN
+            AddSongToPlaylistResult result = normalizedActivity.handleRequest(request, null);
+
+            // THEN
+            verify(playlistDao).addPlaylistSongs(playlistId, List.of(albumTrackToAdd), List.of(false));
+            assertEquals(1, result.getSongList().size());
+        } finally {
+            readExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void handleRequest_normalizedSongStorageWithReadExecutor_throwsPlaylistNotFoundException() {
+        // GIVEN
+        AlbumTrack albumTrackToAdd = generateAlbumTrack(4);
+        ExecutorService readExecutor = Executors.newFixedThreadPool(2);
+        AddSongToPlaylistActivity normalizedActivity = new AddSongToPlaylistActivity(playlistDao, albumTrackDao,
+                playlistSongDao, SongStorageMode.NORMALIZED, readExecutor);
+        when(playlistDao.getPlaylistSummary("missing id")).thenThrow(new PlaylistNotFoundException());
+        when(albumTrackDao.getAlbumTrack(albumTrackToAdd.getAsin(), albumTrackToAdd.getTrackNumber()))
+                .thenReturn(albumTrackToAdd);
+
+        AddSongToPlaylistRequest request = AddSongToPlaylistRequest.builder()
+                .withId("missing id")
+                .withAsin(albumTrackToAdd.getAsin())
+                .withTrackNumber(albumTrackToAdd.getTrackNumber())
+                .build();
+
+        try {
+            // WHEN + THEN
+            assertThrows(PlaylistNotFoundException.class, () -> normalizedActivity.handleRequest(request, null));
+            verify(playlistDao, never()).addPlaylistSongs(any(), any(), any());
+        } finally {
+            readExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void handleRequest_normalizedSongStorageNoMatchingPlaylistOrAlbumTrack_throwsPlaylistNotFoundException() {
+        // GIVEN
+        ExecutorService readExecutor = Executors.newFixedThreadPool(2);
+        AddSongToPlaylistActivity normalizedActivity = new AddSongToPlaylistActivity(playlistDao, albumTrackDao,
+                playlistSongDao, SongStorageMode.NORMALIZED, readExecutor);
+        when(playlistDao.getPlaylistSummary("missing id")).thenThrow(new PlaylistNotFoundException());
+        when(albumTrackDao.getAlbumTrack("nonexistent asin", -1)).thenReturn(null);
+
+        AddSongToPlaylistRequest request = AddSongToPlaylistRequest.builder()
+                .withId("missing id")
+                .withAsin("nonexistent asin")
+                .withTrackNumber(-1)
+                .build();
+
+        try {
+            // WHEN + THEN
+            assertThrows(PlaylistNotFoundException.class, () -> normalizedActivity.handleRequest(request, null));
+        } finally {
+            readExecutor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,199 @@
+package com.amazon.ata.music.playlist.service.activity;
+
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistSongDao;
+import com.amazon.ata.music.playlist.service.dynamodb.SongStorageMode;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import com.amazon.ata.music.playlist.service.helpers.PlaylistTestHelper;
+import com.amazon.ata.music.playlist.service.models.SongFailureModel;
+import com.amazon.ata.music.playlist.service.models.SongToAddModel;
+import com.amazon.ata.music.playlist.service.models.requests.AddSongsToPlaylistRequest;
+import com.amazon.ata.music.playlist.service.models.results.AddSongsToPlaylistResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class AddSongsToPlaylistActivityTest {
+    @Mock
+    private PlaylistDao playlistDao;
+
+    @Mock
+    private AlbumTrackDao albumTrackDao;
+
+    @Mock
+    private PlaylistSongDao playlistSongDao;
+
+    private AddSongsToPlaylistActivity addSongsToPlaylistActivity;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        addSongsToPlaylistActivity = new AddSongsToPlaylistActivity(playlistDao, albumTrackDao);
+    }
+
+    // the DAO applies the activity's mutation to the stored playlist and saves it
+    private void givenStoredPlaylist(Playlist storedPlaylist) {
+        when(playlistDao.updatePlaylist(eq(storedPlaylist.getId()), any())).thenAnswer(invocation -> {
+            Consumer<Playlist> mutation = invocation.getArgument(1);
+            mutation.accept(storedPlaylist);
+            return storedPlaylist;
+        });
+    }
+
+    private SongToAddModel songToAdd(AlbumTrack albumTrack, boolean queueNext) {
+        return SongToAddModel.builder()
+                .withAsin(albumTrack.getAsin())
+                .withTrackNumber(albumTrack.getTrackNumber())
+                .withQueueNext(queueNext)
+                .build();
+    }
+
+    @Test
+    void handleRequest_validRequest_appliesSongsInOrderWithOneSave() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(2);
+        AlbumTrack existingFirst = playlist.getSongList().get(0);
+        AlbumTrack existingSecond = playlist.getSongList().get(1);
+        AlbumTrack appended = AlbumTrackTestHelper.generateAlbumTrack(10);
+        AlbumTrack queuedFirst = AlbumTrackTestHelper.generateAlbumTrack(11);
+        AlbumTrack queuedSecond = AlbumTrackTestHelper.generateAlbumTrack(12);
+
+        givenStoredPlaylist(playlist);
+        when(albumTrackDao.getAlbumTracks(anyList()))
+                .thenReturn(Arrays.asList(appended, queuedFirst, queuedSecond));
+
+        AddSongsToPlaylistRequest request = AddSongsToPlaylistRequest.builder()
+                .withId(playlist.getId())
+                .withSongs(Arrays.asList(
+                        songToAdd(appended, false),
+                        songToAdd(queuedFirst, true),
+                        songToAdd(queuedSecond, true)))
+                .build();
+
+        // WHEN
+        AddSongsToPlaylistResult result = addSongsToPlaylistActivity.handleRequest(request, null);
+
+        // THEN
+        List<AlbumTrack> expected = Arrays.asList(queuedSecond, queuedFirst, existingFirst, existingSecond, appended);
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(expected, result.getSongList());
+        assertTrue(result.getFailures().isEmpty());
+        verify(albumTrackDao, times(1)).getAlbumTracks(anyList());
+        verify(playlistDao, times(1)).updatePlaylist(eq(playlist.getId()), any());
+    }
+
+    @Test
+    void handleRequest_someAlbumTracksMissing_reportsFailuresAndAddsTheRest() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(0);
+        AlbumTrack found = AlbumTrackTestHelper.generateAlbumTrack(1);
+        AlbumTrack missing = AlbumTrackTestHelper.generateAlbumTrack(2);
+
+        givenStoredPlaylist(playlist);
+        when(albumTrackDao.getAlbumTracks(anyList())).thenReturn(Arrays.asList(null, found));
+
+        AddSongsToPlaylistRequest request = AddSongsToPlaylistRequest.builder()
+                .withId(playlist.getId())
+                .withSongs(Arrays.asList(songToAdd(missing, false), songToAdd(found, false)))
+                .build();
+
+        // WHEN
+        AddSongsToPlaylistResult result = addSongsToPlaylistActivity.handleRequest(request, null);
+
+        // THEN
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(Arrays.asList(found), result.getSongList());
+        assertEquals(1, result.getFailures().size());
+        SongFailureModel failure = result.getFailures().get(0);
+        assertEquals(0, failure.getIndex());
+        assertEquals(missing.getAsin(), failure.getAsin());
+        assertEquals(missing.getTrackNumber(), failure.getTrackNumber());
+        verify(playlistDao, times(1)).updatePlaylist(eq(playlist.getId()), any());
+    }
+
+    @Test
+    void handleRequest_normalizedSongStorage_addsFoundSongsAndIncrementsSongCount() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(0);
+        AlbumTrack found = AlbumTrackTestHelper.generateAlbumTrack(1);
+        AlbumTrack missing = AlbumTrackTestHelper.generateAlbumTrack(2);
+        AddSongsToPlaylistActivity normalizedActivity = new AddSongsToPlaylistActivity(playlistDao, albumTrackDao,
+                playlistSongDao, SongStorageMode.NORMALIZED);
+
+        when(playlistDao.getPlaylist(playlist.getId())).thenReturn(playlist);
+        when(albumTrackDao.getAlbumTracks(anyList())).thenReturn(Arrays.asList(found, null));
+        when(playlistSongDao.getPlaylistSongs(playlist.getId())).thenReturn(Arrays.asList(found));
+
+        AddSongsToPlaylistRequest request = AddSongsToPlaylistRequest.builder()
+                .withId(playlist.getId())
+                .withSongs(Arrays.asList(songToAdd(found, false), songToAdd(missing, true)))
+                .build();
+
+        // WHEN
+        AddSongsToPlaylistResult result = normalizedActivity.handleRequest(request, null);
+
+        // THEN
+        verify(playlistDao).addPlaylistSongs(playlist.getId(), Arrays.asList(found), Arrays.asList(false));
+        verify(playlistDao, never()).updatePlaylist(any(), any());
+        assertEquals(1, result.getFailures().size());
+    }
+
+    @Test
+    void handleRequest_allAlbumTracksMissing_doesNotSavePlaylist() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(1);
+        AlbumTrack missing = AlbumTrackTestHelper.generateAlbumTrack(5);
+
+        when(playlistDao.getPlaylist(playlist.getId())).thenReturn(playlist);
+        when(albumTrackDao.getAlbumTracks(anyList())).thenReturn(Arrays.asList((AlbumTrack) null));
+
+        AddSongsToPlaylistRequest request = AddSongsToPlaylistRequest.builder()
+                .withId(playlist.getId())
+                .withSongs(Arrays.asList(songToAdd(missing, true)))
+                .build();
+
+        // WHEN
+        AddSongsToPlaylistResult result = addSongsToPlaylistActivity.handleRequest(request, null);
+
+        // THEN
+        assertEquals(1, result.getSongList().size());
+        assertEquals(1, result.getFailures().size());
+        verify(playlistDao, never()).updatePlaylist(any(), any());
+    }
+
+    @Test
+    public void handleRequest_noMatchingPlaylistId_throwsPlaylistNotFoundException() {
+        // GIVEN
+        String playlistId = "missing id";
+        AddSongsToPlaylistRequest request = AddSongsToPlaylistRequest.builder()
+                .withId(playlistId)
+                .withSongs(Arrays.asList(songToAdd(AlbumTrackTestHelper.generateAlbumTrack(1), false)))
+                .build();
+        when(albumTrackDao.getAlbumTracks(anyList()))
+                .thenReturn(Arrays.asList(AlbumTrackTestHelper.generateAlbumTrack(1)));
+        when(playlistDao.updatePlaylist(eq(playlistId), any())).thenThrow(new PlaylistNotFoundException());
+
+        // WHEN + THEN
+        assertThrows(PlaylistNotFoundException.class, () ->
+                addSongsToPlaylistActivity.handleRequest(request, null)
+        );
+    }
+}
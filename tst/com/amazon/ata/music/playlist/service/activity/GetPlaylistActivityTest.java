@@ -44,7 +44,7 @@ public class GetPlaylistActivityTest {
         playlist.setSongCount(expectedSongCount);
         playlist.setTags(Sets.newHashSet(expectedTags));
 
-        when(playlistDao.getPlaylist(expectedId)).thenReturn(playlist);
+        when(playlistDao.getPlaylistSummary(expectedId)).thenReturn(playlist);
 
         GetPlaylistRequest request = GetPlaylistRequest.builder()
                 .withId(expectedId)
@@ -1,9 +1,14 @@
 package com.amazon.ata.music.playlist.service.activity;
 
 import com.amazon.ata.music.playlist.service.converters.ModelConverter;
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackDao;
 import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistSongDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistSongPage;
+import com.amazon.ata.music.playlist.service.dynamodb.SongStorageMode;
 import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
 import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
 import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
 import com.amazon.ata.music.playlist.service.models.SongModel;
 import com.amazon.ata.music.playlist.service.models.SongOrder;
@@ -11,16 +16,22 @@ import com.amazon.ata.music.playlist.service.models.requests.GetPlaylistSongsReq
 import com.amazon.ata.music.playlist.service.models.results.GetPlaylistSongsResult;
 import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
 import com.amazon.ata.music.playlist.service.helpers.PlaylistTestHelper;
+import com.amazon.ata.music.playlist.service.store.AlbumTrackStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -28,6 +39,12 @@ public class GetPlaylistSongsActivityTest {
     @Mock
     private PlaylistDao playlistDao;
 
+    @Mock
+    private PlaylistSongDao playlistSongDao;
+
+    @Mock
+    private AlbumTrackDao albumTrackDao;
+
     private GetPlaylistSongsActivity getPlaylistSongsActivity;
 
     @BeforeEach
@@ -91,8 +108,338 @@ public class GetPlaylistSongsActivityTest {
     }
 
 
+    @Test
+    void handleRequest_normalizedSongStorage_returnsSongsFromPlaylistSongsTable() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(0);
+        String playlistId = playlist.getId();
+        List<AlbumTrack> storedSongs = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(4).getSongList();
+
+        GetPlaylistSongsActivity normalizedActivity =
+                new GetPlaylistSongsActivity(playlistDao, null, playlistSongDao, SongStorageMode.NORMALIZED);
+        GetPlaylistSongsRequest request = GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .build();
+        when(playlistDao.getPlaylistSummary(playlistId)).thenReturn(playlist);
+        when(playlistSongDao.getPlaylistSongs(playlistId)).thenReturn(storedSongs);
+
+        // WHEN
+        GetPlaylistSongsResult result = normalizedActivity.handleRequest(request, null);
+
+        // THEN
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(storedSongs, result.getSongList());
+    }
+
+    @Test
+    void handleRequest_normalizedSongStorageWithLimit_queriesEachPageAfterThePreviousPagesLastSong() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(0);
+        String playlistId = playlist.getId();
+        playlist.setSongCount(3);
+        List<AlbumTrack> storedSongs = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(3).getSongList();
+
+        GetPlaylistSongsActivity normalizedActivity =
+                new GetPlaylistSongsActivity(playlistDao, null, playlistSongDao, SongStorageMode.NORMALIZED);
+        when(playlistDao.getPlaylistSummary(playlistId)).thenReturn(playlist);
+        when(playlistSongDao.getPlaylistSongPage(playlistId, false, null, 2))
+                .thenReturn(new PlaylistSongPage(storedSongs.subList(0, 2), 42L));
+        when(playlistSongDao.getPlaylistSongPage(playlistId, false, 42L, 2))
+                .thenReturn(new PlaylistSongPage(storedSongs.subList(2, 3), null));
+        List<SongModel> songs = new ArrayList<>();
+        String cursor = null;
+
+        // WHEN
+        do {
+            GetPlaylistSongsResult result = normalizedActivity.handleRequest(GetPlaylistSongsRequest.builder()
+                    .withId(playlistId)
+                    .withLimit(2)
+                    .withCursor(cursor)
+                    .build(), null);
+            songs.addAll(result.getSongList());
+            cursor = result.getNextCursor();
+        } while (cursor != null);
+
+        // THEN
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(storedSongs, songs);
+        verify(playlistSongDao, never()).getPlaylistSongs(playlistId);
+    }
+
+    @Test
+    void handleRequest_normalizedSongStorageReversedWithLimit_queriesThePageLastFirst() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(0);
+        String playlistId = playlist.getId();
+        List<AlbumTrack> storedSongs = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(2).getSongList();
+
+        GetPlaylistSongsActivity normalizedActivity =
+                new GetPlaylistSongsActivity(playlistDao, null, playlistSongDao, SongStorageMode.NORMALIZED);
+        when(playlistDao.getPlaylistSummary(playlistId)).thenReturn(playlist);
+        when(playlistSongDao.getPlaylistSongPage(playlistId, true, null, 5))
+                .thenReturn(new PlaylistSongPage(storedSongs, null));
+
+        // WHEN
+        GetPlaylistSongsResult result = normalizedActivity.handleRequest(GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withOrder(SongOrder.REVERSED)
+                .withLimit(5)
+                .build(), null);
+
+        // THEN
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(storedSongs, result.getSongList());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void handleRequest_referenceSongStorage_returnsSongsHydratedFromCatalog() {
+        // GIVEN
+        List<AlbumTrack> catalogSongs = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(3).getSongList();
+        List<AlbumTrack> references = AlbumTrackStore.toReferences(catalogSongs);
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(0);
+        playlist.setSongList(references);
+        String playlistId = playlist.getId();
+
+        GetPlaylistSongsActivity referenceActivity =
+                new GetPlaylistSongsActivity(playlistDao, albumTrackDao, null, SongStorageMode.REFERENCE);
+        GetPlaylistSongsRequest request = GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .build();
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+        when(albumTrackDao.hydrateAlbumTracks(references)).thenReturn(catalogSongs);
+
+        // WHEN
+        GetPlaylistSongsResult result = referenceActivity.handleRequest(request, null);
+
+        // THEN
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(catalogSongs, result.getSongList());
+        assertNull(references.get(0).getSongTitle(), "Expected stored songs to hold only their keys");
+    }
+
+    @Test
+    void handleRequest_withLimit_pagesThroughEverySongOnce() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(5);
+        String playlistId = playlist.getId();
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+        List<SongModel> songs = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+
+        // WHEN
+        do {
+            GetPlaylistSongsResult result = getPlaylistSongsActivity.handleRequest(GetPlaylistSongsRequest.builder()
+                    .withId(playlistId)
+                    .withLimit(2)
+                    .withCursor(cursor)
+                    .build(), null);
+            songs.addAll(result.getSongList());
+            pageSizes.add(result.getSongList().size());
+            cursor = result.getNextCursor();
+        } while (cursor != null);
+
+        // THEN
+        assertEquals(Arrays.asList(2, 2, 1), pageSizes);
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(playlist.getSongList(), songs);
+    }
+
+    @Test
+    void handleRequest_defaultSongOrderOnLinkedList_neverReadsTheListByIndex() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(10);
+        String playlistId = playlist.getId();
+        // a legacy song list, where each get(index) walks the list
+        List<AlbumTrack> legacySongList = new LinkedList<AlbumTrack>(playlist.getSongList()) {
+            @Override
+            public AlbumTrack get(int index) {
+                throw new AssertionError("LinkedList read by index");
+            }
+        };
+        playlist.setSongList(legacySongList);
+
+        GetPlaylistSongsRequest request = GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withOrder(SongOrder.DEFAULT)
+                .build();
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+
+        // WHEN
+        GetPlaylistSongsResult result = getPlaylistSongsActivity.handleRequest(request, null);
+
+        // THEN
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(new ArrayList<>(legacySongList), result.getSongList());
+    }
+
+    @Test
+    void handleRequest_withReversedSongOrder_returnsSongsLastFirst() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(4);
+        String playlistId = playlist.getId();
+        GetPlaylistSongsRequest request = GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withOrder(SongOrder.REVERSED)
+                .build();
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+
+        // WHEN
+        GetPlaylistSongsResult result = getPlaylistSongsActivity.handleRequest(request, null);
+
+        // THEN
+        List<AlbumTrack> reversed = new ArrayList<>(playlist.getSongList());
+        Collections.reverse(reversed);
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(reversed, result.getSongList());
+        assertNull(result.getSeed());
+    }
+
+    @Test
+    void handleRequest_shuffledWithoutSeed_returnsSeedExactInAJavaScriptNumber() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(4);
+        String playlistId = playlist.getId();
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+        GetPlaylistSongsRequest request = GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withOrder(SongOrder.SHUFFLED)
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            // WHEN
+            GetPlaylistSongsResult result = getPlaylistSongsActivity.handleRequest(request, null);
 
+            // THEN
+            assertTrue(result.getSeed() >= 0 && result.getSeed() <= GetPlaylistSongsActivity.MAX_GENERATED_SEED,
+                    "Expected a seed of at most 53 bits, was " + result.getSeed());
+        }
+    }
 
+    @Test
+    void handleRequest_shuffledInPages_matchesTheWholeShuffleForTheReturnedSeed() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(7);
+        String playlistId = playlist.getId();
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+        List<SongModel> pagedSongs = new ArrayList<>();
+        Long seed = null;
+        String cursor = null;
+
+        // WHEN
+        do {
+            GetPlaylistSongsResult page = getPlaylistSongsActivity.handleRequest(GetPlaylistSongsRequest.builder()
+                    .withId(playlistId)
+                    .withOrder(SongOrder.SHUFFLED)
+                    .withLimit(3)
+                    .withCursor(cursor)
+                    .build(), null);
+            assertTrue(seed == null || seed.equals(page.getSeed()), "Expected every page to keep the seed");
+            seed = page.getSeed();
+            pagedSongs.addAll(page.getSongList());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        GetPlaylistSongsResult whole = getPlaylistSongsActivity.handleRequest(GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withOrder(SongOrder.SHUFFLED)
+                .withSeed(seed)
+                .build(), null);
+
+        // THEN
+        assertEquals(whole.getSongList(), pagedSongs);
+        assertEquals(7, new HashSet<>(pagedSongs).size());
+    }
+
+    @Test
+    void handleRequest_smartShuffledWithSeed_returnsTheSameSongsOnEveryFetch() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(6);
+        String playlistId = playlist.getId();
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+        GetPlaylistSongsRequest request = GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withOrder(SongOrder.SMART_SHUFFLED)
+                .withSeed(11L)
+                .build();
+
+        // WHEN
+        GetPlaylistSongsResult first = getPlaylistSongsActivity.handleRequest(request, null);
+        GetPlaylistSongsResult second = getPlaylistSongsActivity.handleRequest(request, null);
+
+        // THEN
+        assertEquals(11L, first.getSeed());
+        assertEquals(first.getSongList(), second.getSongList());
+        assertEquals(6, new HashSet<>(first.getSongList()).size());
+    }
+
+    @Test
+    void handleRequest_referenceSongStorageWithLimit_hydratesOnlyThePage() {
+        // GIVEN
+        List<AlbumTrack> catalogSongs = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(5).getSongList();
+        List<AlbumTrack> references = AlbumTrackStore.toReferences(catalogSongs);
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(0);
+        playlist.setSongList(references);
+        String playlistId = playlist.getId();
+
+        GetPlaylistSongsActivity referenceActivity =
+                new GetPlaylistSongsActivity(playlistDao, albumTrackDao, null, SongStorageMode.REFERENCE);
+        GetPlaylistSongsRequest request = GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withLimit(2)
+                .build();
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+        when(albumTrackDao.hydrateAlbumTracks(references.subList(0, 2))).thenReturn(catalogSongs.subList(0, 2));
+
+        // WHEN
+        GetPlaylistSongsResult result = referenceActivity.handleRequest(request, null);
+
+        // THEN
+        AlbumTrackTestHelper.assertAlbumTracksEqualSongModels(catalogSongs.subList(0, 2), result.getSongList());
+        assertNotNull(result.getNextCursor());
+    }
+
+    @Test
+    void handleRequest_cursorFromAnotherOrder_throwsInvalidAttributeValueException() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(5);
+        String playlistId = playlist.getId();
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist);
+        String cursor = getPlaylistSongsActivity.handleRequest(GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withLimit(2)
+                .build(), null).getNextCursor();
+        GetPlaylistSongsRequest request = GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withOrder(SongOrder.REVERSED)
+                .withLimit(2)
+                .withCursor(cursor)
+                .build();
+
+        // WHEN + THEN
+        assertThrows(InvalidAttributeValueException.class, () -> getPlaylistSongsActivity.handleRequest(request, null));
+        assertThrows(InvalidAttributeValueException.class,
+                () -> getPlaylistSongsActivity.handleRequest(GetPlaylistSongsRequest.builder()
+                        .withId(playlistId)
+                        .withCursor("not-a-cursor")
+                        .build(), null));
+    }
+
+    @Test
+    void handleRequest_cursorIssuedBeforeSongWasAdded_throwsInvalidAttributeValueException() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(5);
+        String playlistId = playlist.getId();
+        Playlist playlistWithAddedSong = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(6);
+        when(playlistDao.getPlaylist(playlistId)).thenReturn(playlist, playlistWithAddedSong);
+        String cursor = getPlaylistSongsActivity.handleRequest(GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withOrder(SongOrder.SHUFFLED)
+                .withLimit(2)
+                .build(), null).getNextCursor();
+        GetPlaylistSongsRequest request = GetPlaylistSongsRequest.builder()
+                .withId(playlistId)
+                .withOrder(SongOrder.SHUFFLED)
+                .withLimit(2)
+                .withCursor(cursor)
+                .build();
+
+        // WHEN + THEN
+        assertThrows(InvalidAttributeValueException.class, () -> getPlaylistSongsActivity.handleRequest(request, null));
+    }
 
     @Test
     public void handleRequest_noMatchingPlaylistId_throwsPlaylistNotFoundException() {
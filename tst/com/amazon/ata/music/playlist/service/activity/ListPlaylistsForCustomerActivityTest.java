@@ -0,0 +1,83 @@
+package com.amazon.ata.music.playlist.service.activity;
+
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
+import com.amazon.ata.music.playlist.service.dynamodb.PlaylistPage;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import com.amazon.ata.music.playlist.service.models.requests.ListPlaylistsForCustomerRequest;
+import com.amazon.ata.music.playlist.service.models.results.ListPlaylistsForCustomerResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ListPlaylistsForCustomerActivityTest {
+    @Mock
+    private PlaylistDao playlistDao;
+
+    private ListPlaylistsForCustomerActivity listPlaylistsForCustomerActivity;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        listPlaylistsForCustomerActivity = new ListPlaylistsForCustomerActivity(playlistDao);
+    }
+
+    @Test
+    void handleRequest_customerWithPlaylists_returnsPageOfPlaylistModelsAndNextToken() {
+        // GIVEN
+        Playlist first = new Playlist();
+        first.setId("first");
+        first.setName("first playlist");
+        first.setCustomerId("customer");
+        first.setSongCount(3);
+        first.setTags(Collections.singleton("tag"));
+        Playlist second = new Playlist();
+        second.setId("second");
+        second.setCustomerId("customer");
+        when(playlistDao.getPlaylistsForCustomer("customer", ListPlaylistsForCustomerActivity.DEFAULT_LIMIT, null))
+                .thenReturn(new PlaylistPage(Arrays.asList(first, second), "token"));
+
+        ListPlaylistsForCustomerRequest request = ListPlaylistsForCustomerRequest.builder()
+                .withCustomerId("customer")
+                .build();
+
+        // WHEN
+        ListPlaylistsForCustomerResult result = listPlaylistsForCustomerActivity.handleRequest(request, null);
+
+        // THEN
+        assertEquals(2, result.getPlaylists().size());
+        assertEquals("first", result.getPlaylists().get(0).getId());
+        assertEquals("first playlist", result.getPlaylists().get(0).getName());
+        assertEquals(3, result.getPlaylists().get(0).getSongCount());
+        assertEquals(Collections.singletonList("tag"), result.getPlaylists().get(0).getTags());
+        assertEquals(0, result.getPlaylists().get(1).getSongCount());
+        assertEquals("token", result.getNextToken());
+    }
+
+    @Test
+    void handleRequest_limitAboveMaximum_throwsInvalidAttributeValueException() {
+        // GIVEN
+        ListPlaylistsForCustomerRequest request = ListPlaylistsForCustomerRequest.builder()
+                .withCustomerId("customer")
+                .withLimit(ListPlaylistsForCustomerActivity.MAX_LIMIT + 1)
+                .build();
+
+        // WHEN + THEN
+        assertThrows(InvalidAttributeValueException.class,
+                () -> listPlaylistsForCustomerActivity.handleRequest(request, null));
+        verify(playlistDao, never()).getPlaylistsForCustomer(anyString(), anyInt(), any());
+    }
+}
@@ -0,0 +1,99 @@
+package com.amazon.ata.music.playlist.service.activity;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import com.amazon.ata.music.playlist.service.models.TagMatch;
+import com.amazon.ata.music.playlist.service.models.requests.SearchPlaylistsByTagRequest;
+import com.amazon.ata.music.playlist.service.models.results.SearchPlaylistsByTagResult;
+import com.amazon.ata.music.playlist.service.store.InMemoryRecordStore;
+import com.amazon.ata.music.playlist.service.store.LocalPlaylistStore;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
+import com.amazon.ata.music.playlist.service.store.PlaylistTagIndex;
+import com.amazon.ata.music.playlist.service.store.TagIndexingPlaylistStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SearchPlaylistsByTagActivityTest {
+    private PlaylistStore playlistStore;
+    private SearchPlaylistsByTagActivity searchPlaylistsByTagActivity;
+
+    @BeforeEach
+    public void setup() {
+        PlaylistTagIndex playlistTagIndex = new PlaylistTagIndex();
+        playlistStore = new TagIndexingPlaylistStore(new LocalPlaylistStore(new InMemoryRecordStore()),
+                playlistTagIndex);
+        searchPlaylistsByTagActivity = new SearchPlaylistsByTagActivity(playlistStore, playlistTagIndex);
+    }
+
+    private void savePlaylist(String id, String... tags) {
+        Playlist playlist = new Playlist();
+        playlist.setId(id);
+        playlist.setName(id + " name");
+        playlist.setCustomerId("customer");
+        playlist.setTags(new HashSet<>(Arrays.asList(tags)));
+        playlistStore.savePlaylist(playlist);
+    }
+
+    @Test
+    void handleRequest_anyOfTwoTags_returnsMatchingPlaylistsNewestFirst() {
+        // GIVEN
+        savePlaylist("first", "rock");
+        savePlaylist("second", "jazz");
+        savePlaylist("third", "pop");
+        SearchPlaylistsByTagRequest request = SearchPlaylistsByTagRequest.builder()
+                .withTags(Arrays.asList("rock", "pop"))
+                .withMatch(TagMatch.ANY)
+                .build();
+
+        // WHEN
+        SearchPlaylistsByTagResult result = searchPlaylistsByTagActivity.handleRequest(request, null);
+
+        // THEN
+        assertEquals(2, result.getPlaylists().size());
+        assertEquals("third", result.getPlaylists().get(0).getId());
+        assertEquals("third name", result.getPlaylists().get(0).getName());
+        assertEquals("first", result.getPlaylists().get(1).getId());
+        assertNull(result.getNextToken());
+    }
+
+    @Test
+    void handleRequest_playlistRetagged_isFoundUnderItsNewTagsOnly() {
+        // GIVEN
+        savePlaylist("first", "rock", "chill");
+        playlistStore.updatePlaylistSummary("first", playlist -> playlist.setTags(Collections.singleton("pop")));
+        SearchPlaylistsByTagRequest rockRequest = SearchPlaylistsByTagRequest.builder()
+                .withTags(Collections.singletonList("rock"))
+                .build();
+        SearchPlaylistsByTagRequest popRequest = SearchPlaylistsByTagRequest.builder()
+                .withTags(Collections.singletonList("pop"))
+                .build();
+
+        // WHEN
+        SearchPlaylistsByTagResult rockResult = searchPlaylistsByTagActivity.handleRequest(rockRequest, null);
+        SearchPlaylistsByTagResult popResult = searchPlaylistsByTagActivity.handleRequest(popRequest, null);
+
+        // THEN
+        assertEquals(0, rockResult.getPlaylists().size());
+        assertEquals("first", popResult.getPlaylists().get(0).getId());
+    }
+
+    @Test
+    void handleRequest_noTags_throwsInvalidAttributeValueException() {
+        // GIVEN
+        SearchPlaylistsByTagRequest request = SearchPlaylistsByTagRequest.builder()
+                .withTags(Collections.emptyList())
+                .build();
+
+        // WHEN + THEN
+        assertThrows(InvalidAttributeValueException.class,
+                () -> searchPlaylistsByTagActivity.handleRequest(request, null));
+    }
+}
@@ -2,6 +2,7 @@ package com.amazon.ata.music.playlist.service.activity;
 
 import com.amazon.ata.music.playlist.service.dynamodb.PlaylistDao;
 import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeChangeException;
 import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
 import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
 import com.amazon.ata.music.playlist.service.models.requests.UpdatePlaylistRequest;
@@ -10,8 +11,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
+import java.util.function.Consumer;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -27,6 +32,15 @@ public class UpdatePlaylistActivityTest {
         updatePlaylistActivity = new UpdatePlaylistActivity(playlistDao);
     }
 
+    // the DAO applies the activity's mutation to the stored playlist and saves it
+    private void givenStoredPlaylist(String id, Playlist storedPlaylist) {
+        when(playlistDao.updatePlaylistSummary(eq(id), any())).thenAnswer(invocation -> {
+            Consumer<Playlist> mutation = invocation.getArgument(1);
+            mutation.accept(storedPlaylist);
+            return storedPlaylist;
+        });
+    }
+
     @Test
     public void handleRequest_goodRequest_updatesPlaylistName() {
         // GIVEN
@@ -45,8 +59,7 @@ public class UpdatePlaylistActivityTest {
         startingPlaylist.setName("old name");
         startingPlaylist.setSongCount(0);
 
-        when(playlistDao.getPlaylist(id)).thenReturn(startingPlaylist);
-        when(playlistDao.savePlaylist(startingPlaylist)).thenReturn(startingPlaylist);
+        givenStoredPlaylist(id, startingPlaylist);
 
         // WHEN
         UpdatePlaylistResult result = updatePlaylistActivity.handleRequest(request, null);
@@ -79,7 +92,7 @@ public class UpdatePlaylistActivityTest {
                 .withCustomerId("customerId")
                 .build();
 
-        when(playlistDao.getPlaylist(id)).thenThrow(new PlaylistNotFoundException());
+        when(playlistDao.updatePlaylistSummary(eq(id), any())).thenThrow(new PlaylistNotFoundException());
 
         // THEN
         assertThrows(PlaylistNotFoundException.class, () -> updatePlaylistActivity.handleRequest(request, null));
@@ -98,9 +111,9 @@ public class UpdatePlaylistActivityTest {
         Playlist differentCustomerIdPlaylist = new Playlist();
         differentCustomerIdPlaylist.setCustomerId("different");
 
-        when(playlistDao.getPlaylist(id)).thenReturn(differentCustomerIdPlaylist);
+        givenStoredPlaylist(id, differentCustomerIdPlaylist);
 
         // THEN
-
+        assertThrows(InvalidAttributeChangeException.class, () -> updatePlaylistActivity.handleRequest(request, null));
     }
 }
\ No newline at end of file
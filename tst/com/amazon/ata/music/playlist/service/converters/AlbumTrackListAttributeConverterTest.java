@@ -0,0 +1,114 @@
+package com.amazon.ata.music.playlist.service.converters;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AlbumTrackListAttributeConverterTest {
+    private final AlbumTrackListAttributeConverter converter = new AlbumTrackListAttributeConverter();
+
+    private static List<AlbumTrack> generateAlbumTracks(int numTracks) {
+        List<AlbumTrack> albumTracks = new ArrayList<>();
+        for (int i = 0; i < numTracks; i++) {
+            AlbumTrack albumTrack = AlbumTrackTestHelper.generateAlbumTrack(i);
+            // a handful of albums shared by many songs, as in real playlists
+            albumTrack.setAsin("asin" + i % 7);
+            albumTrack.setAlbumName("album" + i % 7);
+            albumTracks.add(albumTrack);
+        }
+        return albumTracks;
+    }
+
+    private static void assertAlbumTracksEqual(List<AlbumTrack> expected, List<AlbumTrack> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getAsin(), actual.get(i).getAsin());
+            assertEquals(expected.get(i).getTrackNumber(), actual.get(i).getTrackNumber());
+            assertEquals(expected.get(i).getAlbumName(), actual.get(i).getAlbumName());
+            assertEquals(expected.get(i).getSongTitle(), actual.get(i).getSongTitle());
+        }
+    }
+
+    @Test
+    void convert_songList_roundTripsThroughNativeListAttribute() {
+        // GIVEN
+        List<AlbumTrack> albumTracks = generateAlbumTracks(2500);
+
+        // WHEN
+        AttributeValue attributeValue = converter.convert(albumTracks);
+
+        // THEN
+        assertEquals(2500, attributeValue.getL().size());
+        assertEquals("asin1", attributeValue.getL().get(1).getM().get("asin").getS());
+        assertNull(attributeValue.getB());
+        assertNull(attributeValue.getS());
+        assertAlbumTracksEqual(albumTracks, converter.unconvert(attributeValue));
+    }
+
+    @Test
+    void unconvert_binarySongList_isStillReadable() {
+        // GIVEN
+        List<AlbumTrack> albumTracks = generateAlbumTracks(2500);
+        ByteBuffer binary = ByteBuffer.wrap(new AlbumTrackListCodec().encode(albumTracks));
+
+        // WHEN
+        List<AlbumTrack> result = converter.unconvert(new AttributeValue().withB(binary));
+
+        // THEN
+        assertAlbumTracksEqual(albumTracks, result);
+    }
+
+    @Test
+    void convert_nullAndNegativeFields_roundTrip() {
+        // GIVEN
+        AlbumTrack sparse = new AlbumTrack();
+        AlbumTrack negative = AlbumTrackTestHelper.generateAlbumTrack(1);
+        negative.setTrackNumber(-1);
+        negative.setSongTitle("t\u00edtle \u266b");
+        List<AlbumTrack> albumTracks = Arrays.asList(sparse, negative);
+
+        // WHEN
+        List<AlbumTrack> result = converter.unconvert(converter.convert(albumTracks));
+
+        // THEN
+        assertAlbumTracksEqual(albumTracks, result);
+    }
+
+    @Test
+    void unconvert_legacyJsonString_isStillReadable() {
+        // GIVEN
+        List<AlbumTrack> albumTracks = generateAlbumTracks(3);
+        String legacyJson = new AlbumTrackLinkedListConverter().convert(albumTracks);
+
+        // WHEN
+        List<AlbumTrack> result = converter.unconvert(new AttributeValue().withS(legacyJson));
+
+        // THEN
+        assertAlbumTracksEqual(albumTracks, result);
+    }
+
+    @Test
+    void encode_largeSongList_isSmallerThanLegacyJson() {
+        // GIVEN
+        List<AlbumTrack> albumTracks = generateAlbumTracks(1000);
+
+        // WHEN
+        int binaryBytes = new AlbumTrackListCodec().encode(albumTracks).length;
+        int jsonBytes = new AlbumTrackLinkedListConverter().convert(albumTracks).length();
+
+        // THEN
+        assertTrue(binaryBytes * 3 < jsonBytes,
+                String.format("Expected binary encoding (%d bytes) to be well under JSON (%d bytes)",
+                        binaryBytes, jsonBytes));
+    }
+}
@@ -0,0 +1,80 @@
+package com.amazon.ata.music.playlist.service.converters;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the binary song list encoding with the legacy Gson JSON encoding.
+ * Run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+public class AlbumTrackListCodecBenchmark {
+    private static final int[] SONG_COUNTS = {10, 1_000, 2_500};
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 500;
+    // keeps the JIT from discarding decoded results
+    private static long sink;
+
+    private static List<AlbumTrack> generateAlbumTracks(int numTracks) {
+        List<AlbumTrack> albumTracks = new ArrayList<>();
+        for (int i = 0; i < numTracks; i++) {
+            AlbumTrack albumTrack = AlbumTrackTestHelper.generateAlbumTrack(i);
+            albumTrack.setAsin("B0" + (10_000_000 + i / 12));
+            albumTrack.setAlbumName("The Greatest Album Name Number " + i / 12);
+            albumTrack.setTrackNumber(i % 12 + 1);
+            albumTrack.setSongTitle("A Reasonably Long Song Title " + i);
+            albumTracks.add(albumTrack);
+        }
+        return albumTracks;
+    }
+
+    @Test
+    void encodeDecode_songLists_printsBytesPerSongAndNanos() {
+        AlbumTrackListCodec codec = new AlbumTrackListCodec();
+        AlbumTrackListCodec uncompressedCodec = new AlbumTrackListCodec(false);
+        AlbumTrackLinkedListConverter jsonConverter = new AlbumTrackLinkedListConverter();
+
+        System.out.println(String.format("%-14s %7s %14s %14s %14s",
+                "encoding", "songs", "bytes/song", "encode ns", "decode ns"));
+        for (int songCount : SONG_COUNTS) {
+            List<AlbumTrack> albumTracks = generateAlbumTracks(songCount);
+
+            byte[] binary = codec.encode(albumTracks);
+            report("binary+deflate", songCount, binary.length,
+                    () -> sink += codec.encode(albumTracks).length,
+                    () -> sink += codec.decode(ByteBuffer.wrap(binary)).size());
+
+            byte[] uncompressed = uncompressedCodec.encode(albumTracks);
+            report("binary", songCount, uncompressed.length,
+                    () -> sink += uncompressedCodec.encode(albumTracks).length,
+                    () -> sink += uncompressedCodec.decode(ByteBuffer.wrap(uncompressed)).size());
+
+            String json = jsonConverter.convert(albumTracks);
+            report("gson json", songCount, json.length(),
+                    () -> sink += jsonConverter.convert(albumTracks).length(),
+                    () -> sink += jsonConverter.unconvert(json).size());
+        }
+    }
+
+    private static void report(String encoding, int songCount, int encodedBytes, Runnable encode, Runnable decode) {
+        System.out.println(String.format("%-14s %7d %14.1f %14d %14d",
+                encoding, songCount, (double) encodedBytes / songCount, time(encode), time(decode)));
+    }
+
+    private static long time(Runnable operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+}
@@ -0,0 +1,131 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import com.amazon.ata.music.playlist.service.store.AlbumTrackStore;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class AlbumTrackDaoTest {
+    @Mock
+    private DynamoDBMapper dynamoDbMapper;
+
+    private AlbumTrackCache albumTrackCache;
+    private AlbumTrackDao albumTrackDao;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        albumTrackCache = new AlbumTrackCache();
+        albumTrackDao = new AlbumTrackDao(dynamoDbMapper, albumTrackCache);
+    }
+
+    @Test
+    void getAlbumTrack_calledTwice_loadsFromDynamoDbOnce() {
+        // GIVEN
+        AlbumTrack albumTrack = AlbumTrackTestHelper.generateAlbumTrack(1);
+        when(dynamoDbMapper.load(AlbumTrack.class, albumTrack.getAsin(), albumTrack.getTrackNumber()))
+                .thenReturn(albumTrack);
+
+        // WHEN
+        albumTrackDao.getAlbumTrack(albumTrack.getAsin(), albumTrack.getTrackNumber());
+        AlbumTrack result = albumTrackDao.getAlbumTrack(albumTrack.getAsin(), albumTrack.getTrackNumber());
+
+        // THEN
+        assertSame(albumTrack, result);
+        verify(dynamoDbMapper, times(1)).load(AlbumTrack.class, albumTrack.getAsin(), albumTrack.getTrackNumber());
+        assertEquals(1, albumTrackCache.getStats().hitCount());
+    }
+
+    @Test
+    void getAlbumTrack_missingTrackRequestedTwice_cachesNegativeLookup() {
+        // GIVEN
+        when(dynamoDbMapper.load(AlbumTrack.class, "missing", 1)).thenReturn(null);
+
+        // WHEN + THEN
+        assertThrows(AlbumTrackNotFoundException.class, () -> albumTrackDao.getAlbumTrack("missing", 1));
+        assertThrows(AlbumTrackNotFoundException.class, () -> albumTrackDao.getAlbumTrack("missing", 1));
+        verify(dynamoDbMapper, times(1)).load(AlbumTrack.class, "missing", 1);
+        assertEquals(1, albumTrackCache.getMissingStats().hitCount());
+    }
+
+    @Test
+    void getAlbumTracks_mixedKeys_returnsTracksInRequestOrderWithNullForMissing() {
+        // GIVEN
+        AlbumTrack first = AlbumTrackTestHelper.generateAlbumTrack(1);
+        AlbumTrack second = AlbumTrackTestHelper.generateAlbumTrack(2);
+        when(dynamoDbMapper.batchLoad(anyList(), any()))
+                .thenReturn(Collections.singletonMap("album_tracks", Arrays.asList(second, first)));
+
+        List<AlbumTrackKey> keys = Arrays.asList(
+                new AlbumTrackKey(first.getAsin(), first.getTrackNumber()),
+                new AlbumTrackKey("missing", 9),
+                new AlbumTrackKey(second.getAsin(), second.getTrackNumber()),
+                new AlbumTrackKey(first.getAsin(), first.getTrackNumber()));
+
+        // WHEN
+        List<AlbumTrack> result = albumTrackDao.getAlbumTracks(keys);
+
+        // THEN
+        assertEquals(4, result.size());
+        assertSame(first, result.get(0));
+        assertNull(result.get(1));
+        assertSame(second, result.get(2));
+        assertSame(first, result.get(3));
+        verify(dynamoDbMapper, times(1)).batchLoad(anyList(), any());
+    }
+
+    @Test
+    void getAlbumTracks_moreThanOneHundredKeys_splitsIntoBatches() {
+        // GIVEN
+        List<AlbumTrackKey> keys = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            keys.add(new AlbumTrackKey("asin" + i, i));
+        }
+        when(dynamoDbMapper.batchLoad(anyList(), any())).thenReturn(Collections.emptyMap());
+
+        // WHEN
+        albumTrackDao.getAlbumTracks(keys);
+
+        // THEN
+        verify(dynamoDbMapper, times(3)).batchLoad(anyList(), any());
+    }
+
+    @Test
+    void hydrateAlbumTracks_referencesWithOneMissing_returnsCatalogTracksAndKeepsMissingReference() {
+        // GIVEN
+        AlbumTrack catalogTrack = AlbumTrackTestHelper.generateAlbumTrack(1);
+        AlbumTrack removedTrack = AlbumTrackTestHelper.generateAlbumTrack(2);
+        List<AlbumTrack> references = AlbumTrackStore.toReferences(Arrays.asList(catalogTrack, removedTrack));
+        when(dynamoDbMapper.batchLoad(anyList(), any()))
+                .thenReturn(Collections.singletonMap("album_tracks", Collections.singletonList(catalogTrack)));
+
+        // WHEN
+        List<AlbumTrack> result = albumTrackDao.hydrateAlbumTracks(references);
+
+        // THEN
+        assertEquals(2, result.size());
+        assertSame(catalogTrack, result.get(0));
+        assertSame(references.get(1), result.get(1));
+        assertNull(result.get(1).getSongTitle());
+    }
+}
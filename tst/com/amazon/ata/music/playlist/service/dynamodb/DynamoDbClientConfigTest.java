@@ -0,0 +1,120 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.regions.Regions;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.ConsistentReads;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.SaveBehavior;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DynamoDbClientConfigTest {
+    @Test
+    void fromSettings_nothingSet_usesSdkDefaults() {
+        // GIVEN
+        Map<String, String> settings = new HashMap<>();
+
+        // WHEN
+        DynamoDbClientConfig config = DynamoDbClientConfig.fromSettings(settings::get);
+
+        // THEN
+        ClientConfiguration clientConfiguration = config.toClientConfiguration();
+        assertEquals(Regions.US_WEST_2, config.getRegion());
+        assertEquals(ClientConfiguration.DEFAULT_MAX_CONNECTIONS, clientConfiguration.getMaxConnections());
+        assertEquals(ClientConfiguration.DEFAULT_CLIENT_EXECUTION_TIMEOUT,
+                clientConfiguration.getClientExecutionTimeout());
+        assertEquals(PredefinedRetryPolicies.DYNAMODB_DEFAULT_MAX_ERROR_RETRY,
+                clientConfiguration.getRetryPolicy().getMaxErrorRetry());
+        DynamoDBMapperConfig mapperConfig = config.toMapperConfig();
+        assertEquals(ConsistentReads.EVENTUAL, mapperConfig.getConsistentReads());
+        assertEquals(SaveBehavior.UPDATE, mapperConfig.getSaveBehavior());
+    }
+
+    @Test
+    void fromSettings_everythingSet_drivesClientAndMapperConfig() {
+        // GIVEN
+        Map<String, String> settings = new HashMap<>();
+        settings.put(DynamoDbClientConfig.REGION, "us-east-1");
+        settings.put(DynamoDbClientConfig.MAX_CONNECTIONS, "200");
+        settings.put(DynamoDbClientConfig.CONNECTION_TIMEOUT_MILLIS, "500");
+        settings.put(DynamoDbClientConfig.SOCKET_TIMEOUT_MILLIS, "1000");
+        settings.put(DynamoDbClientConfig.REQUEST_TIMEOUT_MILLIS, "300");
+        settings.put(DynamoDbClientConfig.OPERATION_TIMEOUT_MILLIS, "1500");
+        settings.put(DynamoDbClientConfig.TCP_KEEP_ALIVE, "true");
+        settings.put(DynamoDbClientConfig.MAX_ERROR_RETRY, "3");
+        settings.put(DynamoDbClientConfig.CONSISTENT_READS, "CONSISTENT");
+        settings.put(DynamoDbClientConfig.SAVE_BEHAVIOR, "UPDATE_SKIP_NULL_ATTRIBUTES");
+
+        // WHEN
+        DynamoDbClientConfig config = DynamoDbClientConfig.fromSettings(settings::get);
+
+        // THEN
+        ClientConfiguration clientConfiguration = config.toClientConfiguration();
+        assertEquals(Regions.US_EAST_1, config.getRegion());
+        assertEquals(200, clientConfiguration.getMaxConnections());
+        assertEquals(500, clientConfiguration.getConnectionTimeout());
+        assertEquals(1000, clientConfiguration.getSocketTimeout());
+        assertEquals(300, clientConfiguration.getRequestTimeout());
+        assertEquals(1500, clientConfiguration.getClientExecutionTimeout());
+        assertTrue(clientConfiguration.useTcpKeepAlive());
+        assertEquals(3, clientConfiguration.getRetryPolicy().getMaxErrorRetry());
+        DynamoDBMapperConfig mapperConfig = config.toMapperConfig();
+        assertEquals(ConsistentReads.CONSISTENT, mapperConfig.getConsistentReads());
+        assertEquals(SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES, mapperConfig.getSaveBehavior());
+    }
+
+    @Test
+    void fromSettings_invalidNumber_throwsIllegalArgumentException() {
+        // GIVEN
+        Map<String, String> settings = new HashMap<>();
+        settings.put(DynamoDbClientConfig.OPERATION_TIMEOUT_MILLIS, "soon");
+
+        // WHEN + THEN
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> DynamoDbClientConfig.fromSettings(settings::get));
+        assertTrue(e.getMessage().contains(DynamoDbClientConfig.OPERATION_TIMEOUT_MILLIS));
+    }
+
+    @Test
+    void fromSettings_clobberSaveBehavior_throwsIllegalArgumentException() {
+        // GIVEN
+        Map<String, String> settings = new HashMap<>();
+        settings.put(DynamoDbClientConfig.SAVE_BEHAVIOR, "CLOBBER");
+
+        // WHEN + THEN
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> DynamoDbClientConfig.fromSettings(settings::get));
+        assertTrue(e.getMessage().contains(DynamoDbClientConfig.SAVE_BEHAVIOR));
+    }
+
+    @Test
+    void fromSettings_unknownRegion_throwsIllegalArgumentException() {
+        // GIVEN
+        Map<String, String> settings = new HashMap<>();
+        settings.put(DynamoDbClientConfig.REGION, "mars-north-1");
+
+        // WHEN + THEN
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> DynamoDbClientConfig.fromSettings(settings::get));
+        assertTrue(e.getMessage().contains(DynamoDbClientConfig.REGION));
+    }
+
+    @Test
+    void fromSettings_unknownConsistentReads_throwsIllegalArgumentException() {
+        // GIVEN
+        Map<String, String> settings = new HashMap<>();
+        settings.put(DynamoDbClientConfig.CONSISTENT_READS, "STRONG");
+
+        // WHEN + THEN
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> DynamoDbClientConfig.fromSettings(settings::get));
+        assertTrue(e.getMessage().contains(DynamoDbClientConfig.CONSISTENT_READS));
+    }
+}
@@ -0,0 +1,374 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazon.ata.music.playlist.service.converters.AlbumTrackListAttributeConverter;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.ConsistentReads;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class PlaylistDaoTest {
+    @Mock
+    private DynamoDBMapper dynamoDbMapper;
+
+    @Mock
+    private AmazonDynamoDB amazonDynamoDb;
+
+    private PlaylistUpdateMetrics playlistUpdateMetrics;
+    private PlaylistDao playlistDao;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        playlistUpdateMetrics = new PlaylistUpdateMetrics();
+        playlistDao = new PlaylistDao(dynamoDbMapper, amazonDynamoDb, playlistUpdateMetrics);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPlaylistSummary_playlistExists_queriesSummaryAttributesOnly() {
+        // GIVEN
+        Playlist summary = new Playlist();
+        summary.setId("id");
+        QueryResultPage<Playlist> page = new QueryResultPage<>();
+        page.setResults(Collections.singletonList(summary));
+        ArgumentCaptor<DynamoDBQueryExpression<Playlist>> queryCaptor =
+                ArgumentCaptor.forClass(DynamoDBQueryExpression.class);
+        when(dynamoDbMapper.queryPage(eq(Playlist.class), any(DynamoDBQueryExpression.class))).thenReturn(page);
+
+        // WHEN
+        Playlist result = playlistDao.getPlaylistSummary("id");
+
+        // THEN
+        assertSame(summary, result);
+        verify(dynamoDbMapper).queryPage(eq(Playlist.class), queryCaptor.capture());
+        DynamoDBQueryExpression<Playlist> query = queryCaptor.getValue();
+        assertEquals("id", query.getHashKeyValues().getId());
+        assertEquals(PlaylistDao.SUMMARY_PROJECTION_EXPRESSION, query.getProjectionExpression());
+        assertEquals("name", query.getExpressionAttributeNames().get("#name"));
+        assertFalse(query.isConsistentRead());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPlaylistSummary_consistentReadsConfigured_queriesWithConsistentRead() {
+        // GIVEN
+        PlaylistDao consistentPlaylistDao = new PlaylistDao(dynamoDbMapper, amazonDynamoDb, playlistUpdateMetrics,
+                ConsistentReads.CONSISTENT);
+        Playlist summary = new Playlist();
+        summary.setId("id");
+        QueryResultPage<Playlist> page = new QueryResultPage<>();
+        page.setResults(Collections.singletonList(summary));
+        ArgumentCaptor<DynamoDBQueryExpression<Playlist>> queryCaptor =
+                ArgumentCaptor.forClass(DynamoDBQueryExpression.class);
+        when(dynamoDbMapper.queryPage(eq(Playlist.class), any(DynamoDBQueryExpression.class))).thenReturn(page);
+
+        // WHEN
+        consistentPlaylistDao.getPlaylistSummary("id");
+
+        // THEN
+        verify(dynamoDbMapper).queryPage(eq(Playlist.class), queryCaptor.capture());
+        assertTrue(queryCaptor.getValue().isConsistentRead());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPlaylistSummary_noMatchingPlaylist_throwsPlaylistNotFoundException() {
+        // GIVEN
+        QueryResultPage<Playlist> emptyPage = new QueryResultPage<>();
+        emptyPage.setResults(Collections.emptyList());
+        when(dynamoDbMapper.queryPage(eq(Playlist.class), any(DynamoDBQueryExpression.class))).thenReturn(emptyPage);
+
+        // WHEN + THEN
+        assertThrows(PlaylistNotFoundException.class, () -> playlistDao.getPlaylistSummary("missing"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPlaylistsForCustomer_morePagesExist_queriesIndexAndReturnsTokenForNextPage() {
+        // GIVEN
+        Playlist summary = new Playlist();
+        summary.setId("first");
+        QueryResultPage<Playlist> firstPage = new QueryResultPage<>();
+        firstPage.setResults(Collections.singletonList(summary));
+        firstPage.setLastEvaluatedKey(Collections.singletonMap("id", new AttributeValue().withS("first")));
+        QueryResultPage<Playlist> lastPage = new QueryResultPage<>();
+        lastPage.setResults(Collections.emptyList());
+        ArgumentCaptor<DynamoDBQueryExpression<Playlist>> queryCaptor =
+                ArgumentCaptor.forClass(DynamoDBQueryExpression.class);
+        when(dynamoDbMapper.queryPage(eq(Playlist.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(firstPage, lastPage);
+
+        // WHEN
+        PlaylistPage page = playlistDao.getPlaylistsForCustomer("customer", 1, null);
+        PlaylistPage nextPage = playlistDao.getPlaylistsForCustomer("customer", 1, page.getNextPageToken());
+
+        // THEN
+        assertEquals(Collections.singletonList(summary), page.getPlaylists());
+        assertNull(nextPage.getNextPageToken());
+        verify(dynamoDbMapper, times(2)).queryPage(eq(Playlist.class), queryCaptor.capture());
+        DynamoDBQueryExpression<Playlist> firstQuery = queryCaptor.getAllValues().get(0);
+        assertEquals(Playlist.CUSTOMER_ID_INDEX, firstQuery.getIndexName());
+        assertEquals("customer", firstQuery.getHashKeyValues().getCustomerId());
+        assertEquals(PlaylistDao.SUMMARY_PROJECTION_EXPRESSION, firstQuery.getProjectionExpression());
+        assertEquals(1, firstQuery.getLimit());
+        assertNull(firstQuery.getExclusiveStartKey());
+        Map<String, AttributeValue> startKey = queryCaptor.getAllValues().get(1).getExclusiveStartKey();
+        assertEquals("first", startKey.get("id").getS());
+        assertEquals("customer", startKey.get("customerId").getS());
+    }
+
+    @Test
+    void getPlaylistsForCustomer_malformedPageToken_throwsInvalidAttributeValueException() {
+        // WHEN + THEN
+        assertThrows(InvalidAttributeValueException.class,
+                () -> playlistDao.getPlaylistsForCustomer("customer", 1, "not a token!"));
+    }
+
+    @Test
+    void prependSong_playlistExists_issuesOneListAppendUpdateAndReturnsUpdatedSongs() {
+        // GIVEN
+        AlbumTrack existing = AlbumTrackTestHelper.generateAlbumTrack(1);
+        AlbumTrack added = AlbumTrackTestHelper.generateAlbumTrack(2);
+        List<AlbumTrack> updatedSongs = Arrays.asList(added, existing);
+        Map<String, AttributeValue> updatedAttributes = new HashMap<>();
+        updatedAttributes.put("songList", new AlbumTrackListAttributeConverter().convert(updatedSongs));
+        updatedAttributes.put("songCount", new AttributeValue().withN("2"));
+        ArgumentCaptor<UpdateItemRequest> updateCaptor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        when(amazonDynamoDb.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(new UpdateItemResult().withAttributes(updatedAttributes));
+
+        // WHEN
+        Playlist result = playlistDao.prependSong("id", added);
+
+        // THEN
+        verify(amazonDynamoDb).updateItem(updateCaptor.capture());
+        UpdateItemRequest update = updateCaptor.getValue();
+        assertEquals(PlaylistDao.PREPEND_SONG_EXPRESSION, update.getUpdateExpression());
+        assertEquals("id", update.getKey().get("id").getS());
+        assertEquals(added.getAsin(),
+                update.getExpressionAttributeValues().get(":songs").getL().get(0).getM().get("asin").getS());
+        verify(dynamoDbMapper, never()).load(eq(Playlist.class), any(Object.class));
+        assertEquals(2, result.getSongCount());
+        assertEquals(2, result.getSongList().size());
+        assertEquals(added.getSongTitle(), result.getSongList().get(0).getSongTitle());
+    }
+
+    @Test
+    void appendSong_noMatchingPlaylist_throwsPlaylistNotFoundException() {
+        // GIVEN
+        when(amazonDynamoDb.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("The conditional request failed"));
+
+        // WHEN + THEN
+        assertThrows(PlaylistNotFoundException.class,
+                () -> playlistDao.appendSong("missing", AlbumTrackTestHelper.generateAlbumTrack(1)));
+    }
+
+    @Test
+    void addPlaylistSongs_playlistExists_writesSongsAndSongCountInOneTransaction() {
+        // GIVEN
+        List<AlbumTrack> albumTracks = Arrays.asList(AlbumTrackTestHelper.generateAlbumTrack(1),
+                AlbumTrackTestHelper.generateAlbumTrack(2));
+        ArgumentCaptor<TransactWriteItemsRequest> transactionCaptor =
+                ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+
+        // WHEN
+        Playlist result = playlistDao.addPlaylistSongs("id", albumTracks, Arrays.asList(false, true));
+
+        // THEN
+        verify(amazonDynamoDb).transactWriteItems(transactionCaptor.capture());
+        List<TransactWriteItem> items = transactionCaptor.getValue().getTransactItems();
+        assertEquals(3, items.size());
+        Update update = items.get(0).getUpdate();
+        assertEquals(PlaylistDao.INCREMENT_SONG_COUNT_EXPRESSION, update.getUpdateExpression());
+        assertEquals("2", update.getExpressionAttributeValues().get(":count").getN());
+        Map<String, AttributeValue> appended = items.get(1).getPut().getItem();
+        Map<String, AttributeValue> queuedNext = items.get(2).getPut().getItem();
+        assertEquals(albumTracks.get(0).getAsin(), appended.get("asin").getS());
+        assertTrue(Long.parseLong(appended.get("position").getN()) > 0);
+        assertTrue(Long.parseLong(queuedNext.get("position").getN()) < 0);
+        verify(amazonDynamoDb, never()).updateItem(any(UpdateItemRequest.class));
+        assertEquals("id", result.getId());
+    }
+
+    @Test
+    void addPlaylistSongs_moreSongsThanOneTransactionHolds_countsEachTransactionsSongs() {
+        // GIVEN
+        int songCount = PlaylistDao.MAX_TRANSACTION_SONGS + 1;
+        List<AlbumTrack> albumTracks = Collections.nCopies(songCount, AlbumTrackTestHelper.generateAlbumTrack(1));
+        ArgumentCaptor<TransactWriteItemsRequest> transactionCaptor =
+                ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+
+        // WHEN
+        playlistDao.addPlaylistSongs("id", albumTracks, Collections.nCopies(songCount, false));
+
+        // THEN
+        verify(amazonDynamoDb, times(2)).transactWriteItems(transactionCaptor.capture());
+        List<TransactWriteItemsRequest> transactions = transactionCaptor.getAllValues();
+        assertEquals(Integer.toString(PlaylistDao.MAX_TRANSACTION_SONGS), transactions.get(0).getTransactItems()
+                .get(0).getUpdate().getExpressionAttributeValues().get(":count").getN());
+        assertEquals(2, transactions.get(1).getTransactItems().size());
+        assertEquals("1", transactions.get(1).getTransactItems()
+                .get(0).getUpdate().getExpressionAttributeValues().get(":count").getN());
+    }
+
+    @Test
+    void addPlaylistSongs_playlistMissing_throwsPlaylistNotFoundException() {
+        // GIVEN
+        TransactionCanceledException canceled = new TransactionCanceledException("Transaction cancelled")
+                .withCancellationReasons(new CancellationReason().withCode("ConditionalCheckFailed"),
+                        new CancellationReason().withCode("None"));
+        when(amazonDynamoDb.transactWriteItems(any(TransactWriteItemsRequest.class))).thenThrow(canceled);
+
+        // WHEN + THEN
+        assertThrows(PlaylistNotFoundException.class, () -> playlistDao.addPlaylistSongs("missing",
+                Collections.singletonList(AlbumTrackTestHelper.generateAlbumTrack(1)),
+                Collections.singletonList(false)));
+    }
+
+    @Test
+    void addPlaylistSongs_positionTaken_retriesWithNewPositions() {
+        // GIVEN
+        TransactionCanceledException canceled = new TransactionCanceledException("Transaction cancelled")
+                .withCancellationReasons(new CancellationReason().withCode("None"),
+                        new CancellationReason().withCode("ConditionalCheckFailed"));
+        ArgumentCaptor<TransactWriteItemsRequest> transactionCaptor =
+                ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        when(amazonDynamoDb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(canceled)
+                .thenReturn(new TransactWriteItemsResult());
+
+        // WHEN
+        playlistDao.addPlaylistSongs("id", Collections.singletonList(AlbumTrackTestHelper.generateAlbumTrack(1)),
+                Collections.singletonList(false));
+
+        // THEN
+        verify(amazonDynamoDb, times(2)).transactWriteItems(transactionCaptor.capture());
+        List<TransactWriteItemsRequest> attempts = transactionCaptor.getAllValues();
+        assertFalse(attempts.get(0).getTransactItems().get(1).getPut().getItem().get("position").equals(
+                attempts.get(1).getTransactItems().get(1).getPut().getItem().get("position")));
+    }
+
+    @Test
+    void appendSong_itemTooLarge_throwsWithoutSavingWholePlaylist() {
+        // GIVEN
+        AmazonDynamoDBException itemTooLarge = new AmazonDynamoDBException("Item size to update has exceeded " +
+                "the maximum allowed size");
+        itemTooLarge.setErrorCode("ValidationException");
+        when(amazonDynamoDb.updateItem(any(UpdateItemRequest.class))).thenThrow(itemTooLarge);
+
+        // WHEN + THEN
+        assertThrows(AmazonDynamoDBException.class,
+                () -> playlistDao.appendSong("id", AlbumTrackTestHelper.generateAlbumTrack(1)));
+        verify(dynamoDbMapper, never()).load(eq(Playlist.class), any(Object.class));
+        verify(dynamoDbMapper, never()).save(any());
+    }
+
+    @Test
+    void appendSong_songListInBinaryFormat_fallsBackToSavingWholePlaylist() {
+        // GIVEN
+        AlbumTrack existing = AlbumTrackTestHelper.generateAlbumTrack(1);
+        AlbumTrack added = AlbumTrackTestHelper.generateAlbumTrack(2);
+        Playlist stored = new Playlist();
+        stored.setId("id");
+        stored.setSongList(Collections.singletonList(existing));
+        AmazonDynamoDBException wrongOperandType = new AmazonDynamoDBException("An operand in the update " +
+                "expression has an incorrect data type");
+        wrongOperandType.setErrorCode("ValidationException");
+        when(amazonDynamoDb.updateItem(any(UpdateItemRequest.class))).thenThrow(wrongOperandType);
+        when(dynamoDbMapper.load(Playlist.class, "id")).thenReturn(stored);
+
+        // WHEN
+        Playlist result = playlistDao.appendSong("id", added);
+
+        // THEN
+        verify(dynamoDbMapper).save(stored);
+        assertEquals(Arrays.asList(existing, added), result.getSongList());
+        assertEquals(2, result.getSongCount());
+    }
+
+    @Test
+    void updatePlaylist_versionConflictThenSuccess_reappliesMutationToReloadedPlaylist() {
+        // GIVEN
+        Playlist firstRead = new Playlist();
+        firstRead.setId("id");
+        firstRead.setName("first read");
+        Playlist secondRead = new Playlist();
+        secondRead.setId("id");
+        secondRead.setName("second read");
+        when(dynamoDbMapper.load(Playlist.class, "id")).thenReturn(firstRead, secondRead);
+        doThrow(new ConditionalCheckFailedException("version changed")).when(dynamoDbMapper).save(firstRead);
+        doNothing().when(dynamoDbMapper).save(secondRead);
+
+        // WHEN
+        Playlist result = playlistDao.updatePlaylist("id", playlist -> playlist.setSongCount(7));
+
+        // THEN
+        assertSame(secondRead, result);
+        assertEquals(7, secondRead.getSongCount());
+        verify(dynamoDbMapper, times(2)).load(Playlist.class, "id");
+        assertEquals(1, playlistUpdateMetrics.getUpdateCount());
+        assertEquals(1, playlistUpdateMetrics.getConflictCount());
+        assertEquals(1, playlistUpdateMetrics.getRetryCount());
+        assertEquals(0.5, playlistUpdateMetrics.getConflictRate());
+    }
+
+    @Test
+    void updatePlaylist_everyAttemptConflicts_givesUpAfterMaxAttempts() {
+        // GIVEN
+        Playlist stored = new Playlist();
+        stored.setId("id");
+        when(dynamoDbMapper.load(Playlist.class, "id")).thenReturn(stored);
+        doThrow(new ConditionalCheckFailedException("version changed")).when(dynamoDbMapper).save(stored);
+
+        // WHEN + THEN
+        assertThrows(ConditionalCheckFailedException.class,
+                () -> playlistDao.updatePlaylist("id", playlist -> playlist.setName("name")));
+        verify(dynamoDbMapper, times(PlaylistDao.MAX_UPDATE_ATTEMPTS)).save(stored);
+        assertEquals(1, playlistUpdateMetrics.getExhaustedCount());
+        assertEquals(PlaylistDao.MAX_UPDATE_ATTEMPTS, playlistUpdateMetrics.getConflictCount());
+    }
+}
@@ -0,0 +1,106 @@
+package com.amazon.ata.music.playlist.service.dynamodb;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.PlaylistSong;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class PlaylistSongDaoTest {
+    private static final String PLAYLIST_ID = "playlistId";
+
+    @Mock
+    private DynamoDBMapper dynamoDbMapper;
+
+    private PlaylistSongDao playlistSongDao;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        playlistSongDao = new PlaylistSongDao(dynamoDbMapper);
+    }
+
+    @Test
+    void getPlaylistSongPage_queryPageCutShort_readsOnUntilOneSongPastTheLimit() {
+        // GIVEN
+        when(dynamoDbMapper.queryPage(eq(PlaylistSong.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(queryResultPage(Collections.singletonList(playlistSong(-5L)), playlistSong(-5L)))
+                .thenReturn(queryResultPage(Arrays.asList(playlistSong(3L), playlistSong(7L)), playlistSong(7L)));
+
+        // WHEN
+        PlaylistSongPage page = playlistSongDao.getPlaylistSongPage(PLAYLIST_ID, false, -9L, 2);
+
+        // THEN
+        assertEquals(Arrays.asList("asin-5", "asin3"),
+                page.getSongs().stream().map(AlbumTrack::getAsin).collect(Collectors.toList()));
+        assertEquals(3L, page.getLastPosition());
+
+        ArgumentCaptor<DynamoDBQueryExpression<PlaylistSong>> captor =
+                ArgumentCaptor.forClass(DynamoDBQueryExpression.class);
+        verify(dynamoDbMapper, times(2)).queryPage(eq(PlaylistSong.class), captor.capture());
+        DynamoDBQueryExpression<PlaylistSong> first = captor.getAllValues().get(0);
+        assertEquals("-9", first.getExclusiveStartKey().get("position").getN());
+        assertEquals(3, first.getLimit());
+        assertEquals(2, captor.getAllValues().get(1).getLimit());
+    }
+
+    @Test
+    void getPlaylistSongPage_reversedLastPage_queriesBackwardsWithoutLastPosition() {
+        // GIVEN
+        when(dynamoDbMapper.queryPage(eq(PlaylistSong.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(queryResultPage(Collections.singletonList(playlistSong(3L)), null));
+
+        // WHEN
+        PlaylistSongPage page = playlistSongDao.getPlaylistSongPage(PLAYLIST_ID, true, null, 2);
+
+        // THEN
+        assertEquals(1, page.getSongs().size());
+        assertNull(page.getLastPosition());
+
+        ArgumentCaptor<DynamoDBQueryExpression<PlaylistSong>> captor =
+                ArgumentCaptor.forClass(DynamoDBQueryExpression.class);
+        verify(dynamoDbMapper).queryPage(eq(PlaylistSong.class), captor.capture());
+        assertFalse(captor.getValue().isScanIndexForward());
+        assertNull(captor.getValue().getExclusiveStartKey());
+    }
+
+    private static PlaylistSong playlistSong(long position) {
+        PlaylistSong playlistSong = new PlaylistSong();
+        playlistSong.setPlaylistId(PLAYLIST_ID);
+        playlistSong.setPosition(position);
+        playlistSong.setAsin("asin" + position);
+        playlistSong.setTrackNumber(1);
+        return playlistSong;
+    }
+
+    private static QueryResultPage<PlaylistSong> queryResultPage(List<PlaylistSong> results, PlaylistSong last) {
+        QueryResultPage<PlaylistSong> page = new QueryResultPage<>();
+        page.setResults(results);
+        Map<String, AttributeValue> lastEvaluatedKey = last == null
+                ? null
+                : PlaylistSongDao.toItem(last);
+        page.setLastEvaluatedKey(lastEvaluatedKey);
+        return page;
+    }
+}
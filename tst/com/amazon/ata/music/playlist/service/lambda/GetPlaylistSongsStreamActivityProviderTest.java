@@ -0,0 +1,140 @@
+package com.amazon.ata.music.playlist.service.lambda;
+
+import com.amazon.ata.music.playlist.service.activity.GetPlaylistSongsActivity;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.helpers.PlaylistTestHelper;
+import com.amazon.ata.music.playlist.service.models.SongModel;
+import com.amazon.ata.music.playlist.service.models.requests.GetPlaylistSongsRequest;
+import com.amazon.ata.music.playlist.service.models.results.GetPlaylistSongsResult;
+import com.amazon.ata.music.playlist.service.store.PlaylistStore;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class GetPlaylistSongsStreamActivityProviderTest {
+    @Mock
+    private PlaylistStore playlistDao;
+
+    private GetPlaylistSongsActivity getPlaylistSongsActivity;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        getPlaylistSongsActivity = new GetPlaylistSongsActivity(playlistDao);
+    }
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamSongs_pageOfSongs_writesThemAndTheNextCursor() throws IOException {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(3);
+        when(playlistDao.getPlaylist(playlist.getId())).thenReturn(playlist);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // WHEN
+        GetPlaylistSongsStreamActivityProvider.streamSongs(getPlaylistSongsActivity,
+                json("{\"id\": \"" + playlist.getId() + "\", \"order\": \"DEFAULT\", \"limit\": 2}"), output);
+
+        // THEN
+        JsonObject result = new JsonParser().parse(output.toString("UTF-8")).getAsJsonObject();
+        JsonArray songList = result.getAsJsonArray("songList");
+        assertEquals(2, songList.size());
+        for (int i = 0; i < songList.size(); i++) {
+            AlbumTrack expected = playlist.getSongList().get(i);
+            JsonObject song = songList.get(i).getAsJsonObject();
+            assertEquals(expected.getAsin(), song.get("asin").getAsString());
+            assertEquals(expected.getAlbumName(), song.get("album").getAsString());
+            assertEquals((int) expected.getTrackNumber(), song.get("trackNumber").getAsInt());
+            assertEquals(expected.getSongTitle(), song.get("title").getAsString());
+        }
+        assertFalse(result.get("nextCursor").isJsonNull());
+    }
+
+    @Test
+    void streamSongs_lastPage_writesNullNextCursor() throws IOException {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(2);
+        when(playlistDao.getPlaylist(playlist.getId())).thenReturn(playlist);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // WHEN
+        GetPlaylistSongsStreamActivityProvider.streamSongs(getPlaylistSongsActivity,
+                json("{\"id\": \"" + playlist.getId() + "\"}"), output);
+
+        // THEN
+        JsonObject result = new JsonParser().parse(output.toString("UTF-8")).getAsJsonObject();
+        assertEquals(2, result.getAsJsonArray("songList").size());
+        assertTrue(result.get("nextCursor").isJsonNull());
+    }
+
+    @Test
+    void streamSongs_noMatchingPlaylist_throwsWithoutWritingOutput() {
+        // GIVEN
+        when(playlistDao.getPlaylist("missing")).thenThrow(new PlaylistNotFoundException());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // WHEN + THEN
+        assertThrows(PlaylistNotFoundException.class, () -> GetPlaylistSongsStreamActivityProvider.streamSongs(
+                getPlaylistSongsActivity, json("{\"id\": \"missing\"}"), output));
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    void streamSongs_emptyOrNullInput_throwsInvalidAttributeValueException() {
+        // GIVEN
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // WHEN + THEN
+        assertThrows(InvalidAttributeValueException.class, () -> GetPlaylistSongsStreamActivityProvider.streamSongs(
+                getPlaylistSongsActivity, json(""), output));
+        assertThrows(InvalidAttributeValueException.class, () -> GetPlaylistSongsStreamActivityProvider.streamSongs(
+                getPlaylistSongsActivity, json("null"), output));
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    void streamSongs_failsAfterOutputBuffer_leavesTruncatedResult() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(1000);
+        when(playlistDao.getPlaylist(playlist.getId())).thenReturn(playlist);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        GetPlaylistSongsActivity failingActivity = new GetPlaylistSongsActivity(playlistDao) {
+            @Override
+            public GetPlaylistSongsResult.Builder forEachSong(GetPlaylistSongsRequest request,
+                                                             Consumer<SongModel> songConsumer) {
+                super.forEachSong(request, songConsumer);
+                throw new IllegalStateException("failed after the songs were written");
+            }
+        };
+
+        // WHEN + THEN
+        assertThrows(IllegalStateException.class, () -> GetPlaylistSongsStreamActivityProvider.streamSongs(
+                failingActivity, json("{\"id\": \"" + playlist.getId() + "\"}"), output));
+        assertTrue(output.size() > 0);
+        assertThrows(JsonParseException.class, () -> new JsonParser().parse(output.toString("UTF-8")));
+    }
+}
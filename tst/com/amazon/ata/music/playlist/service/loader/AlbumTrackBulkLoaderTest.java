@@ -0,0 +1,101 @@
+package com.amazon.ata.music.playlist.service.loader;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.store.InMemoryRecordStore;
+import com.amazon.ata.music.playlist.service.store.LocalAlbumTrackStore;
+
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AlbumTrackBulkLoaderTest {
+    private static String seedData(int tracks) {
+        // another table's items come first, and are skipped
+        StringBuilder json = new StringBuilder("{\"playlists\": [")
+                .append("{\"PutRequest\": {\"Item\": {\"id\": {\"S\": \"p\"}}}}],")
+                .append(" \"album_tracks\": [");
+        for (int i = 1; i <= tracks; i++) {
+            json.append(i > 1 ? "," : "")
+                    .append("{\"PutRequest\": {\"Item\": {")
+                    .append("\"asin\": {\"S\": \"B0000\"}, ")
+                    .append("\"track_number\": {\"N\": \"").append(i).append("\"}, ")
+                    .append("\"album_name\": {\"S\": \"Album\"}, ")
+                    .append("\"song_title\": {\"S\": \"Song ").append(i).append("\"}}}}");
+        }
+        return json.append("]}").toString();
+    }
+
+    @Test
+    void load_localStore_writesEveryAlbumTrackInTheFile() throws IOException {
+        // GIVEN
+        LocalAlbumTrackStore albumTrackStore = new LocalAlbumTrackStore(new InMemoryRecordStore());
+        AlbumTrackBulkLoader loader = new AlbumTrackBulkLoader(new AlbumTrackStoreBatchWriter(albumTrackStore), 4, 0);
+
+        // WHEN
+        LoadSummary summary = loader.load(new StringReader(seedData(60)));
+
+        // THEN
+        assertEquals(60, summary.getItemsWritten());
+        assertEquals(0, summary.getItemsFailed());
+        AlbumTrack albumTrack = albumTrackStore.getAlbumTrack("B0000", 37);
+        assertEquals("Song 37", albumTrack.getSongTitle());
+        assertEquals("Album", albumTrack.getAlbumName());
+    }
+
+    @Test
+    void load_unprocessedItems_resubmitsThemInBatchesOfAtMost25() throws IOException {
+        // GIVEN
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean throttled = new AtomicBoolean();
+        BatchWriter batchWriter = batch -> {
+            batchSizes.add(batch.size());
+            // the first call leaves the last 5 items unprocessed
+            if (throttled.compareAndSet(false, true)) {
+                return new ArrayList<>(batch.subList(batch.size() - 5, batch.size()));
+            }
+            return Collections.emptyList();
+        };
+        AlbumTrackBulkLoader loader = new AlbumTrackBulkLoader(batchWriter, 2, 0, 3, Duration.ZERO, Duration.ZERO);
+
+        // WHEN
+        LoadSummary summary = loader.load(new StringReader(seedData(60)));
+
+        // THEN
+        assertEquals(60, summary.getItemsWritten());
+        assertEquals(5, summary.getItemsResubmitted());
+        assertEquals(4, batchSizes.size());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= AlbumTrackBulkLoader.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    void load_itemsNeverProcessed_countsThemAsFailedAfterMaxAttempts() throws IOException {
+        // GIVEN
+        BatchWriter batchWriter = batch -> {
+            // each attempt processes only the first item
+            List<WriteRequest> unprocessed = new ArrayList<>(batch);
+            if (unprocessed.size() > 1) {
+                unprocessed.remove(0);
+            }
+            return unprocessed;
+        };
+        AlbumTrackBulkLoader loader = new AlbumTrackBulkLoader(batchWriter, 1, 0, 3, Duration.ZERO, Duration.ZERO);
+
+        // WHEN
+        LoadSummary summary = loader.load(new StringReader(seedData(10)));
+
+        // THEN
+        assertEquals(3, summary.getItemsWritten());
+        assertEquals(7, summary.getItemsFailed());
+        assertEquals(9 + 8, summary.getItemsResubmitted());
+    }
+}
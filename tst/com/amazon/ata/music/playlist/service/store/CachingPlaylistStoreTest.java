@@ -0,0 +1,142 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import com.amazon.ata.music.playlist.service.helpers.PlaylistTestHelper;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CachingPlaylistStoreTest {
+    @Mock
+    private PlaylistStore delegate;
+
+    private AtomicLong nanos;
+    private PlaylistCache playlistCache;
+    private CachingPlaylistStore playlistStore;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        nanos = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        playlistCache = new PlaylistCache(10, Duration.ofSeconds(30), ticker);
+        playlistStore = new CachingPlaylistStore(delegate, playlistCache);
+    }
+
+    @Test
+    void getPlaylist_repeatedReads_loadsOnceAndSharesAnUnmodifiableSongList() {
+        // GIVEN
+        when(delegate.getPlaylist("id")).thenReturn(storedPlaylist(3L));
+
+        // WHEN
+        playlistStore.getPlaylist("id");
+        Playlist first = playlistStore.getPlaylist("id");
+        first.setName("changed by the caller");
+        Playlist second = playlistStore.getPlaylist("id");
+
+        // THEN
+        verify(delegate, times(1)).getPlaylist("id");
+        assertNotSame(first, second);
+        assertSame(first.getSongList(), second.getSongList());
+        assertThrows(UnsupportedOperationException.class, () -> first.getSongList().clear());
+        assertThrows(UnsupportedOperationException.class, () -> first.getSongList().get(0).setSongTitle("changed"));
+        assertEquals("a playlist", second.getName());
+        assertEquals(1, second.getSongList().size());
+        assertEquals(2.0 / 3, playlistCache.getHitRatio());
+    }
+
+    @Test
+    void getPlaylist_afterTtl_loadsAgain() {
+        // GIVEN
+        when(delegate.getPlaylist("id")).thenReturn(storedPlaylist(3L));
+        playlistStore.getPlaylist("id");
+
+        // WHEN
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        playlistStore.getPlaylist("id");
+
+        // THEN
+        verify(delegate, times(2)).getPlaylist("id");
+    }
+
+    @Test
+    void appendSong_afterRead_nextReadLoadsNewVersion() {
+        // GIVEN
+        when(delegate.getPlaylist("id")).thenReturn(storedPlaylist(3L), storedPlaylist(4L));
+        Playlist appended = new Playlist();
+        appended.setId("id");
+        appended.setVersion(4L);
+        when(delegate.appendSong("id", null)).thenReturn(appended);
+        playlistStore.getPlaylist("id");
+
+        // WHEN
+        playlistStore.appendSong("id", null);
+        Playlist result = playlistStore.getPlaylist("id");
+
+        // THEN
+        assertEquals(4L, result.getVersion());
+        verify(delegate, times(2)).getPlaylist("id");
+    }
+
+    @Test
+    void put_olderVersionAfterNewerWrite_keepsNewerPlaylist() {
+        // GIVEN
+        Playlist saved = storedPlaylist(5L);
+        saved.setName("newer");
+        when(delegate.updatePlaylist(any(), any())).thenReturn(saved);
+        playlistStore.updatePlaylist("id", playlist -> { });
+
+        // WHEN
+        // a read that started before the update finishes after it
+        playlistCache.put(storedPlaylist(4L));
+
+        // THEN
+        assertEquals("newer", playlistStore.getPlaylist("id").getName());
+    }
+
+    @Test
+    void savePlaylist_versionConflict_forgetsCachedPlaylist() {
+        // GIVEN
+        when(delegate.getPlaylist("id")).thenReturn(storedPlaylist(3L));
+        Playlist stale = playlistStore.getPlaylist("id");
+        when(delegate.savePlaylist(stale)).thenThrow(new ConditionalCheckFailedException("version changed"));
+
+        // WHEN
+        assertThrows(ConditionalCheckFailedException.class, () -> playlistStore.savePlaylist(stale));
+        playlistStore.getPlaylist("id");
+
+        // THEN
+        verify(delegate, times(2)).getPlaylist("id");
+    }
+
+    private static Playlist storedPlaylist(long version) {
+        Playlist playlist = PlaylistTestHelper.generatePlaylist();
+        playlist.setSongList(new ArrayList<>(playlist.getSongList()));
+        playlist.getSongList().set(0, AlbumTrackTestHelper.generateAlbumTrack((int) version));
+        playlist.setVersion(version);
+        return playlist;
+    }
+}
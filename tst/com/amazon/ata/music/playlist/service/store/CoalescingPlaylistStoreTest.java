@@ -0,0 +1,104 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import com.amazon.ata.music.playlist.service.helpers.PlaylistTestHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CoalescingPlaylistStoreTest {
+    private static final int SONGS = 10;
+
+    private PlaylistStore delegate;
+    private ScheduledExecutorService flushExecutor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    public void setup() {
+        delegate = spy(new LocalPlaylistStore(new InMemoryRecordStore()));
+        delegate.savePlaylist(PlaylistTestHelper.generatePlaylistWithNAlbumTracks(1));
+        flushExecutor = Executors.newScheduledThreadPool(2);
+        callers = Executors.newFixedThreadPool(SONGS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        flushExecutor.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void appendSong_burstFillingBatch_writesOnceAndReturnsEachCallersSongList() throws Exception {
+        // GIVEN
+        CoalescingPlaylistStore playlistStore = new CoalescingPlaylistStore(delegate, 60_000, SONGS, flushExecutor);
+        List<AlbumTrack> albumTracks = new ArrayList<>();
+        List<Future<Playlist>> results = new ArrayList<>();
+
+        // WHEN
+        for (int i = 0; i < SONGS; i++) {
+            AlbumTrack albumTrack = AlbumTrackTestHelper.generateAlbumTrack(100 + i);
+            albumTracks.add(albumTrack);
+            results.add(callers.submit(() -> playlistStore.appendSong("id", albumTrack)));
+        }
+
+        // THEN
+        for (Future<Playlist> future : results) {
+            Playlist result = future.get();
+            int songCount = result.getSongCount();
+            assertEquals(songCount, result.getSongList().size());
+            // only appends, so each caller's list ends where the final list had reached after its song
+            assertEquals(result.getSongList().get(songCount - 1).getAsin(),
+                    delegate.getPlaylist("id").getSongList().get(songCount - 1).getAsin());
+        }
+        assertEquals(SONGS + 1, delegate.getPlaylist("id").getSongCount());
+        verify(delegate, times(1)).updatePlaylist(eq("id"), any());
+        assertEquals(1, playlistStore.getFlushCount());
+        assertEquals(SONGS, playlistStore.getSongsAddedCount());
+    }
+
+    @Test
+    void appendSong_and_prependSong_windowEnds_appliesInArrivalOrder() {
+        // GIVEN
+        CoalescingPlaylistStore playlistStore = new CoalescingPlaylistStore(delegate, 10, SONGS, flushExecutor);
+        AlbumTrack appended = AlbumTrackTestHelper.generateAlbumTrack(7);
+        AlbumTrack prepended = AlbumTrackTestHelper.generateAlbumTrack(8);
+
+        // WHEN
+        Playlist afterAppend = playlistStore.appendSong("id", appended);
+        Playlist afterPrepend = playlistStore.prependSong("id", prepended);
+
+        // THEN
+        assertEquals(2, afterAppend.getSongCount());
+        assertEquals(appended.getAsin(), afterAppend.getSongList().get(1).getAsin());
+        assertEquals(3, afterPrepend.getSongCount());
+        assertEquals(prepended.getAsin(), afterPrepend.getSongList().get(0).getAsin());
+    }
+
+    @Test
+    void appendSong_unknownPlaylist_throwsPlaylistNotFoundException() {
+        // GIVEN
+        CoalescingPlaylistStore playlistStore = new CoalescingPlaylistStore(delegate, 10, SONGS, flushExecutor);
+
+        // WHEN + THEN
+        assertThrows(PlaylistNotFoundException.class,
+            () -> playlistStore.appendSong("missing", AlbumTrackTestHelper.generateAlbumTrack(1)));
+    }
+}
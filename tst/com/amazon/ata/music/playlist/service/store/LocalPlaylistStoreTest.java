@@ -0,0 +1,133 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import com.amazon.ata.music.playlist.service.helpers.PlaylistTestHelper;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LocalPlaylistStoreTest {
+    private LocalPlaylistStore playlistStore;
+
+    @BeforeEach
+    public void setup() {
+        playlistStore = new LocalPlaylistStore(new InMemoryRecordStore());
+    }
+
+    @Test
+    void savePlaylist_newPlaylist_storesPlaylistAtVersionOne() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(3);
+
+        // WHEN
+        playlistStore.savePlaylist(playlist);
+
+        // THEN
+        Playlist stored = playlistStore.getPlaylist("id");
+        assertEquals(1L, stored.getVersion());
+        assertEquals("a playlist", stored.getName());
+        assertEquals("CustomerABC", stored.getCustomerId());
+        assertEquals(Collections.singleton("tag"), stored.getTags());
+        assertEquals(3, stored.getSongCount());
+        assertEquals(3, stored.getSongList().size());
+        assertEquals(playlist.getSongList().get(2).getSongTitle(), stored.getSongList().get(2).getSongTitle());
+    }
+
+    @Test
+    void savePlaylist_staleVersion_throwsConditionalCheckFailedException() {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylist());
+        Playlist first = playlistStore.getPlaylist("id");
+        Playlist second = playlistStore.getPlaylist("id");
+        first.setName("first");
+        playlistStore.savePlaylist(first);
+        second.setName("second");
+
+        // WHEN + THEN
+        assertThrows(ConditionalCheckFailedException.class, () -> playlistStore.savePlaylist(second));
+        assertEquals("first", playlistStore.getPlaylist("id").getName());
+    }
+
+    @Test
+    void savePlaylistSummary_nullSongList_keepsStoredSongs() {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylistWithNAlbumTracks(2));
+        Playlist summary = playlistStore.getPlaylistSummary("id");
+        summary.setName("renamed");
+
+        // WHEN
+        playlistStore.savePlaylistSummary(summary);
+
+        // THEN
+        Playlist stored = playlistStore.getPlaylist("id");
+        assertNull(summary.getSongList());
+        assertEquals("renamed", stored.getName());
+        assertEquals(2, stored.getSongList().size());
+        assertEquals(2L, stored.getVersion());
+    }
+
+    @Test
+    void addPlaylistSongs_localStore_throwsUnsupportedOperationException() {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylistWithNAlbumTracks(2));
+
+        // WHEN + THEN
+        assertThrows(UnsupportedOperationException.class, () -> playlistStore.addPlaylistSongs("id",
+                Collections.singletonList(AlbumTrackTestHelper.generateAlbumTrack(1)),
+                Collections.singletonList(false)));
+        assertEquals(2, playlistStore.getPlaylist("id").getSongCount());
+    }
+
+    @Test
+    void appendSong_and_prependSong_addSongsAtEachEndAndIncrementCounts() {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylistWithNAlbumTracks(1));
+        AlbumTrack last = AlbumTrackTestHelper.generateAlbumTrack(7);
+        AlbumTrack first = AlbumTrackTestHelper.generateAlbumTrack(8);
+
+        // WHEN
+        playlistStore.appendSong("id", last);
+        Playlist result = playlistStore.prependSong("id", first);
+
+        // THEN
+        assertEquals(3, result.getSongCount());
+        Playlist stored = playlistStore.getPlaylist("id");
+        assertEquals(first.getAsin(), stored.getSongList().get(0).getAsin());
+        assertEquals(last.getAsin(), stored.getSongList().get(2).getAsin());
+        assertEquals(3, stored.getSongCount());
+        assertEquals(3L, stored.getVersion());
+    }
+
+    @Test
+    void appendSong_unknownPlaylist_throwsPlaylistNotFoundException() {
+        // WHEN + THEN
+        assertThrows(PlaylistNotFoundException.class,
+            () -> playlistStore.appendSong("missing", AlbumTrackTestHelper.generateAlbumTrack(1)));
+    }
+
+    @Test
+    void updatePlaylistSummary_mutation_savesChangeWithoutReadingSongs() {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylistWithNAlbumTracks(2));
+
+        // WHEN
+        Playlist result = playlistStore.updatePlaylistSummary("id", playlist -> {
+            assertNull(playlist.getSongList());
+            playlist.setName("updated");
+        });
+
+        // THEN
+        assertEquals(2L, result.getVersion());
+        assertEquals("updated", playlistStore.getPlaylist("id").getName());
+        assertEquals(2, playlistStore.getPlaylist("id").getSongList().size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import com.amazon.ata.music.playlist.service.helpers.PlaylistTestHelper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+/**
+ * Compares song append throughput of the log-structured engine with the mapped-file engine, which
+ * rewrites the whole playlist on every append, and times recovery of the log.
+ * Run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+public class LogStructuredPlaylistStoreBenchmark {
+    private static final int PLAYLISTS = 100;
+    private static final int[] STARTING_SONG_COUNTS = {10, 500};
+    private static final int APPENDS_PER_PLAYLIST = 50;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendSong_playlistsOfIncreasingSize_printsAppendsPerSecond() {
+        System.out.println(String.format("%-14s %14s %14s %14s",
+                "engine", "start songs", "appends/s", "bytes/append"));
+        for (int songCount : STARTING_SONG_COUNTS) {
+            Path logDirectory = directory.resolve("log-" + songCount);
+            LogStructuredPlaylistStore logStore = new LogStructuredPlaylistStore(logDirectory);
+            report("log", songCount, logStore, logStore::getTotalBytes);
+
+            long start = System.nanoTime();
+            new LogStructuredPlaylistStore(logDirectory).close();
+            System.out.println(String.format("%-14s %14d %14.1f ms to recover",
+                    "log", songCount, (System.nanoTime() - start) / 1e6));
+            logStore.close();
+
+            Path mappedFile = directory.resolve("mapped-" + songCount + ".db");
+            MappedFileRecordStore records = new MappedFileRecordStore(mappedFile);
+            report("mapped file", songCount, new LocalPlaylistStore(records), () -> mappedFile.toFile().length());
+            records.close();
+        }
+    }
+
+    private static void report(String engine, int songCount, PlaylistStore playlistStore, ByteCounter bytes) {
+        for (int i = 0; i < PLAYLISTS; i++) {
+            Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(songCount);
+            playlist.setId("playlist" + i);
+            playlistStore.savePlaylist(playlist);
+        }
+        long bytesBefore = bytes.count();
+        AlbumTrack albumTrack = AlbumTrackTestHelper.generateAlbumTrack(1);
+
+        long start = System.nanoTime();
+        for (int append = 0; append < APPENDS_PER_PLAYLIST; append++) {
+            for (int i = 0; i < PLAYLISTS; i++) {
+                playlistStore.appendSong("playlist" + i, albumTrack);
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        int appends = PLAYLISTS * APPENDS_PER_PLAYLIST;
+        System.out.println(String.format("%-14s %14d %14.0f %14.1f", engine, songCount,
+                appends / (elapsedNanos / 1e9), (double) (bytes.count() - bytesBefore) / appends));
+    }
+
+    private interface ByteCounter {
+        long count();
+    }
+}
@@ -0,0 +1,200 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.helpers.AlbumTrackTestHelper;
+import com.amazon.ata.music.playlist.service.helpers.PlaylistTestHelper;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogStructuredPlaylistStoreTest {
+    @TempDir
+    Path directory;
+
+    private LogStructuredPlaylistStore playlistStore;
+
+    @BeforeEach
+    public void setup() {
+        playlistStore = new LogStructuredPlaylistStore(directory);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        playlistStore.close();
+    }
+
+    @Test
+    void reopen_afterEveryKindOfChange_replaysSamePlaylist() {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylistWithNAlbumTracks(2));
+        playlistStore.updatePlaylistSummary("id", playlist -> playlist.setName("renamed"));
+        playlistStore.appendSong("id", AlbumTrackTestHelper.generateAlbumTrack(5));
+        playlistStore.prependSong("id", AlbumTrackTestHelper.generateAlbumTrack(6));
+        Playlist expected = playlistStore.getPlaylist("id");
+
+        // WHEN
+        Playlist replayed = reopen().getPlaylist("id");
+
+        // THEN
+        assertPlaylistsEqual(expected, replayed);
+        assertEquals("renamed", replayed.getName());
+        assertEquals(4, replayed.getSongCount());
+        assertEquals(4L, replayed.getVersion());
+    }
+
+    @Test
+    void reopen_tornLastRecord_keepsEarlierRecordsAndAcceptsNewWrites() throws IOException {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylistWithNAlbumTracks(1));
+        playlistStore.appendSong("id", AlbumTrackTestHelper.generateAlbumTrack(2));
+        Playlist expected = playlistStore.getPlaylist("id");
+        playlistStore.appendSong("id", AlbumTrackTestHelper.generateAlbumTrack(3));
+        playlistStore.close();
+        Path segment = onlySegment();
+        long size = Files.size(segment);
+        // a crash part way through the last append
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5);
+        }
+
+        // WHEN
+        playlistStore = new LogStructuredPlaylistStore(directory);
+
+        // THEN
+        assertPlaylistsEqual(expected, playlistStore.getPlaylist("id"));
+        playlistStore.appendSong("id", AlbumTrackTestHelper.generateAlbumTrack(4));
+        assertEquals(3, reopen().getPlaylist("id").getSongCount());
+    }
+
+    @Test
+    void reopen_corruptLastRecord_dropsIt() throws IOException {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylistWithNAlbumTracks(1));
+        Playlist expected = playlistStore.getPlaylist("id");
+        playlistStore.appendSong("id", AlbumTrackTestHelper.generateAlbumTrack(2));
+        playlistStore.close();
+        Path segment = onlySegment();
+        // flip the last byte, as if the page holding it was never written
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            channel.read(lastByte, channel.size() - 1);
+            lastByte.put(0, (byte) ~lastByte.get(0));
+            lastByte.rewind();
+            channel.write(lastByte, channel.size() - 1);
+        }
+
+        // WHEN
+        playlistStore = new LogStructuredPlaylistStore(directory);
+
+        // THEN
+        assertPlaylistsEqual(expected, playlistStore.getPlaylist("id"));
+    }
+
+    @Test
+    void reopen_unfinishedCompaction_ignoresPartialSegment() throws IOException {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylistWithNAlbumTracks(3));
+        Playlist expected = playlistStore.getPlaylist("id");
+        playlistStore.close();
+        Path partial = directory.resolve(String.format("segment-%020d.log.tmp", 7));
+        Files.write(partial, new byte[] {0, 0, 0, 42, 1, 2});
+
+        // WHEN
+        playlistStore = new LogStructuredPlaylistStore(directory);
+
+        // THEN
+        assertPlaylistsEqual(expected, playlistStore.getPlaylist("id"));
+        assertTrue(Files.notExists(partial));
+    }
+
+    @Test
+    void compact_afterManyChanges_keepsPlaylistsAndFreesGarbage() {
+        // GIVEN
+        for (int i = 0; i < 50; i++) {
+            Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(5);
+            playlist.setId("id" + i);
+            playlistStore.savePlaylist(playlist);
+            for (int j = 0; j < 40; j++) {
+                playlistStore.appendSong("id" + i, AlbumTrackTestHelper.generateAlbumTrack(j));
+            }
+        }
+        Playlist expected = playlistStore.getPlaylist("id7");
+        long bytesBefore = playlistStore.getTotalBytes();
+
+        // WHEN
+        playlistStore.compact();
+
+        // THEN
+        assertTrue(playlistStore.getTotalBytes() < bytesBefore);
+        assertEquals(0, playlistStore.getGarbageRatio(), 0.001);
+        assertPlaylistsEqual(expected, playlistStore.getPlaylist("id7"));
+        playlistStore.appendSong("id7", AlbumTrackTestHelper.generateAlbumTrack(99));
+        assertEquals(46, reopen().getPlaylist("id7").getSongCount());
+    }
+
+    @Test
+    void savePlaylist_staleVersion_throwsConditionalCheckFailedException() {
+        // GIVEN
+        playlistStore.savePlaylist(PlaylistTestHelper.generatePlaylist());
+        Playlist stale = playlistStore.getPlaylist("id");
+        playlistStore.appendSong("id", AlbumTrackTestHelper.generateAlbumTrack(2));
+
+        // WHEN + THEN
+        assertThrows(ConditionalCheckFailedException.class, () -> playlistStore.savePlaylist(stale));
+    }
+
+    @Test
+    void getPlaylist_unknownId_throwsPlaylistNotFoundException() {
+        // WHEN + THEN
+        assertThrows(PlaylistNotFoundException.class, () -> playlistStore.getPlaylist("missing"));
+    }
+
+    private LogStructuredPlaylistStore reopen() {
+        playlistStore.close();
+        playlistStore = new LogStructuredPlaylistStore(directory);
+        return playlistStore;
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.collect(Collectors.toList());
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+
+    private static void assertPlaylistsEqual(Playlist expected, Playlist actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getCustomerId(), actual.getCustomerId());
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getSongCount(), actual.getSongCount());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getSongList().size(), actual.getSongList().size());
+        for (int i = 0; i < expected.getSongList().size(); i++) {
+            AlbumTrack expectedSong = expected.getSongList().get(i);
+            AlbumTrack actualSong = actual.getSongList().get(i);
+            assertEquals(expectedSong.getAsin(), actualSong.getAsin());
+            assertEquals(expectedSong.getTrackNumber(), actualSong.getTrackNumber());
+            assertEquals(expectedSong.getSongTitle(), actualSong.getSongTitle());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedFileRecordStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void put_thenReopen_returnsLatestRecords() {
+        // GIVEN
+        Path file = directory.resolve("records.db");
+        MappedFileRecordStore records = new MappedFileRecordStore(file);
+        records.put("a", bytes("first"));
+        records.put("b", bytes("other"));
+        records.put("a", bytes("second"));
+        records.close();
+
+        // WHEN
+        MappedFileRecordStore reopened = new MappedFileRecordStore(file);
+
+        // THEN
+        assertEquals("second", string(reopened.get("a")));
+        assertEquals("other", string(reopened.get("b")));
+        assertNull(reopened.get("c"));
+        reopened.close();
+    }
+
+    @Test
+    void put_pastInitialSize_growsFile() {
+        // GIVEN
+        Path file = directory.resolve("records.db");
+        MappedFileRecordStore records = new MappedFileRecordStore(file);
+        byte[] value = new byte[MappedFileRecordStore.INITIAL_SIZE_BYTES / 4];
+
+        // WHEN
+        for (int i = 0; i < 8; i++) {
+            value[0] = (byte) i;
+            records.put("key" + i, value);
+        }
+        records.close();
+
+        // THEN
+        MappedFileRecordStore reopened = new MappedFileRecordStore(file);
+        for (int i = 0; i < 8; i++) {
+            assertEquals((byte) i, reopened.get("key" + i)[0]);
+            assertEquals(value.length, reopened.get("key" + i).length);
+        }
+        reopened.close();
+    }
+
+    @Test
+    void put_sameKeyRepeatedly_reclaimsShadowedRecords() throws IOException {
+        // GIVEN
+        Path file = directory.resolve("records.db");
+        MappedFileRecordStore records = new MappedFileRecordStore(file);
+        records.put("other", bytes("kept"));
+        byte[] value = new byte[MappedFileRecordStore.INITIAL_SIZE_BYTES / 4];
+
+        // WHEN
+        for (int i = 0; i < 40; i++) {
+            value[0] = (byte) i;
+            records.put("a", value);
+        }
+
+        // THEN
+        assertTrue(records.getUsedBytes() < MappedFileRecordStore.INITIAL_SIZE_BYTES);
+        assertEquals(MappedFileRecordStore.INITIAL_SIZE_BYTES, Files.size(file));
+        assertEquals(Arrays.asList("other", "a"), records.keys());
+        records.close();
+        MappedFileRecordStore reopened = new MappedFileRecordStore(file);
+        assertEquals((byte) 39, reopened.get("a")[0]);
+        assertEquals("kept", string(reopened.get("other")));
+        reopened.close();
+    }
+
+    @Test
+    void constructor_fileAlreadyOpen_throwsIllegalStateException() {
+        // GIVEN
+        Path file = directory.resolve("records.db");
+        MappedFileRecordStore records = new MappedFileRecordStore(file);
+
+        // WHEN + THEN
+        assertThrows(IllegalStateException.class, () -> new MappedFileRecordStore(file));
+        records.close();
+        new MappedFileRecordStore(file).close();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,56 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Times first-page tag searches over tags held by 100k playlists each.
+ * Run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+public class PlaylistTagIndexBenchmark {
+    private static final int PLAYLISTS = 400_000;
+    private static final String[] TAGS = {"rock", "pop", "chill", "live"};
+    private static final int SEARCHES = 1_000;
+
+    @Test
+    void search_tagsWith100kPlaylists_printsLatency() {
+        PlaylistTagIndex tagIndex = new PlaylistTagIndex();
+        Random random = new Random(42);
+        for (int i = 0; i < PLAYLISTS; i++) {
+            // each tag is on about a quarter of the playlists
+            List<String> tags = new ArrayList<>();
+            for (String tag : TAGS) {
+                if (random.nextInt(4) == 0) {
+                    tags.add(tag);
+                }
+            }
+            tagIndex.index("playlist" + i, tags);
+        }
+        for (String tag : TAGS) {
+            System.out.println(String.format("%-8s %8d playlists", tag, tagIndex.getPlaylistCount(tag)));
+        }
+
+        time("one tag", tagIndex, Collections.singletonList("rock"), true);
+        time("all of 3", tagIndex, Arrays.asList("rock", "pop", "chill"), true);
+        time("any of 3", tagIndex, Arrays.asList("rock", "pop", "chill"), false);
+    }
+
+    private static void time(String label, PlaylistTagIndex tagIndex, List<String> tags, boolean matchAll) {
+        long[] nanos = new long[SEARCHES];
+        for (int i = 0; i < SEARCHES; i++) {
+            long start = System.nanoTime();
+            tagIndex.search(tags, matchAll, 20, null);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.println(String.format("%-10s p50 %8.3f ms   p99 %8.3f ms", label,
+                nanos[SEARCHES / 2] / 1e6, nanos[SEARCHES * 99 / 100] / 1e6));
+    }
+}
@@ -0,0 +1,90 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.exceptions.InvalidAttributeValueException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PlaylistTagIndexTest {
+    private PlaylistTagIndex tagIndex;
+
+    @BeforeEach
+    public void setup() {
+        tagIndex = new PlaylistTagIndex();
+        tagIndex.index("oldest", Arrays.asList("rock", "chill"));
+        tagIndex.index("middle", Collections.singletonList("rock"));
+        tagIndex.index("newest", Arrays.asList("rock", "chill", "live"));
+    }
+
+    @Test
+    void search_matchAll_returnsPlaylistsWithEveryTagNewestFirst() {
+        // WHEN
+        PlaylistIdPage page = tagIndex.search(Arrays.asList("rock", "chill"), true, 10, null);
+
+        // THEN
+        assertEquals(Arrays.asList("newest", "oldest"), page.getPlaylistIds());
+        assertNull(page.getNextPageToken());
+    }
+
+    @Test
+    void search_matchAny_returnsPlaylistsWithAnyTagNewestFirst() {
+        // WHEN
+        PlaylistIdPage page = tagIndex.search(Arrays.asList("live", "missing", "rock"), false, 10, null);
+
+        // THEN
+        assertEquals(Arrays.asList("newest", "middle", "oldest"), page.getPlaylistIds());
+    }
+
+    @Test
+    void search_morePlaylistsThanLimit_pagesThroughEveryPlaylistOnce() {
+        // WHEN
+        PlaylistIdPage first = tagIndex.search(Collections.singletonList("rock"), true, 2, null);
+        PlaylistIdPage second = tagIndex.search(Collections.singletonList("rock"), true, 2,
+                first.getNextPageToken());
+
+        // THEN
+        assertEquals(Arrays.asList("newest", "middle"), first.getPlaylistIds());
+        assertEquals(Collections.singletonList("oldest"), second.getPlaylistIds());
+        assertNull(second.getNextPageToken());
+    }
+
+    @Test
+    void index_tagsChanged_movesPlaylistBetweenTagsAndKeepsItsPosition() {
+        // WHEN
+        tagIndex.index("oldest", Collections.singletonList("live"));
+
+        // THEN
+        assertEquals(Collections.singletonList("newest"),
+                tagIndex.search(Collections.singletonList("chill"), true, 10, null).getPlaylistIds());
+        assertEquals(Arrays.asList("newest", "oldest"),
+                tagIndex.search(Collections.singletonList("live"), true, 10, null).getPlaylistIds());
+        assertEquals(2, tagIndex.getPlaylistCount("rock"));
+    }
+
+    @Test
+    void index_untaggedPlaylistTaggedLater_keepsItsCreationOrder() {
+        // GIVEN
+        tagIndex.index("untagged", Collections.emptyList());
+        tagIndex.index("newer", Collections.singletonList("live"));
+
+        // WHEN
+        tagIndex.index("untagged", Collections.singletonList("live"));
+
+        // THEN
+        assertEquals(Arrays.asList("newer", "untagged", "newest"),
+                tagIndex.search(Collections.singletonList("live"), true, 10, null).getPlaylistIds());
+    }
+
+    @Test
+    void search_malformedPageToken_throwsInvalidAttributeValueException() {
+        // WHEN + THEN
+        assertThrows(InvalidAttributeValueException.class,
+                () -> tagIndex.search(Collections.singletonList("rock"), true, 10, "later"));
+    }
+}
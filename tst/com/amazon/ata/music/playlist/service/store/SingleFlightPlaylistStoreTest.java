@@ -0,0 +1,134 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import com.amazon.ata.music.playlist.service.exceptions.PlaylistNotFoundException;
+import com.amazon.ata.music.playlist.service.helpers.PlaylistTestHelper;
+import com.amazon.ata.music.playlist.service.util.SingleFlight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class SingleFlightPlaylistStoreTest {
+    private static final int CALLERS = 8;
+
+    @Mock
+    private PlaylistStore delegate;
+
+    private SingleFlight<String, Playlist> playlistLoads;
+    private SingleFlightPlaylistStore playlistStore;
+    private ExecutorService callers;
+    private CountDownLatch release;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        playlistLoads = new SingleFlight<>();
+        playlistStore = new SingleFlightPlaylistStore(delegate, playlistLoads);
+        callers = Executors.newFixedThreadPool(CALLERS);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void getPlaylist_concurrentCallers_shareOneLoadAndGetTheirOwnCopies() throws Exception {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylistWithNAlbumTracks(3);
+        when(delegate.getPlaylist(playlist.getId())).thenAnswer(invocation -> {
+            release.await();
+            return playlist;
+        });
+
+        // WHEN
+        List<Future<Playlist>> results = submitAndRelease(playlist.getId());
+
+        // THEN
+        verify(delegate, times(1)).getPlaylist(playlist.getId());
+        List<Playlist> playlists = new ArrayList<>();
+        for (Future<Playlist> result : results) {
+            Playlist copy = result.get();
+            assertNotSame(playlist, copy);
+            assertNotSame(playlist.getSongList(), copy.getSongList());
+            assertEquals(playlist.getSongList().size(), copy.getSongList().size());
+            for (Playlist other : playlists) {
+                assertNotSame(other, copy);
+            }
+            playlists.add(copy);
+        }
+    }
+
+    @Test
+    void getPlaylist_loadFails_throwsToEveryCaller() throws Exception {
+        // GIVEN
+        when(delegate.getPlaylist("id")).thenAnswer(invocation -> {
+            release.await();
+            throw new PlaylistNotFoundException("Could not find playlist with id id");
+        });
+
+        // WHEN
+        List<Future<Playlist>> results = submitAndRelease("id");
+
+        // THEN
+        verify(delegate, times(1)).getPlaylist("id");
+        for (Future<Playlist> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, result::get);
+            assertTrue(e.getCause() instanceof PlaylistNotFoundException);
+        }
+    }
+
+    @Test
+    void getPlaylist_afterLoadFinished_loadsAgain() {
+        // GIVEN
+        Playlist playlist = PlaylistTestHelper.generatePlaylist();
+        when(delegate.getPlaylist(playlist.getId())).thenReturn(playlist);
+
+        // WHEN
+        playlistStore.getPlaylist(playlist.getId());
+        playlistStore.getPlaylist(playlist.getId());
+
+        // THEN
+        verify(delegate, times(2)).getPlaylist(playlist.getId());
+        assertEquals(2, playlistLoads.getLoadCount());
+    }
+
+    // Submits CALLERS reads and releases the load once every caller but the leader is waiting on it
+    private List<Future<Playlist>> submitAndRelease(String id) throws InterruptedException {
+        List<Future<Playlist>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> playlistStore.getPlaylist(id)));
+        }
+        while (playlistLoads.getSharedLoadCount() < CALLERS - 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        for (Future<Playlist> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                // checked by the caller
+            }
+        }
+        return results;
+    }
+}
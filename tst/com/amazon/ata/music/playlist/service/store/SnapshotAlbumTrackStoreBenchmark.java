@@ -0,0 +1,77 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Times album track lookups against a catalog snapshot of a million tracks.
+ * Run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+public class SnapshotAlbumTrackStoreBenchmark {
+    private static final int ALBUMS = 100_000;
+    private static final int TRACKS_PER_ALBUM = 10;
+    private static final int LOOKUPS = 1_000_000;
+
+    /**
+     * Builds an asin shaped like a real one, "B0" and eight letters or digits, that differs from its
+     * neighbours early on.
+     */
+    private static String asin(int album) {
+        Random random = new Random(album);
+        StringBuilder asin = new StringBuilder("B0");
+        for (int i = 0; i < 8; i++) {
+            asin.append(Character.toUpperCase(Character.forDigit(random.nextInt(36), 36)));
+        }
+        return asin.toString();
+    }
+
+    @Test
+    void getAlbumTrack_millionTrackSnapshot_printsLatency() throws IOException {
+        Path file = Files.createTempFile("album_tracks", ".snapshot");
+        try {
+            CatalogSnapshotWriter writer = new CatalogSnapshotWriter();
+            for (int album = 0; album < ALBUMS; album++) {
+                for (int track = 1; track <= TRACKS_PER_ALBUM; track++) {
+                    AlbumTrack albumTrack = new AlbumTrack();
+                    albumTrack.setAsin(asin(album));
+                    albumTrack.setTrackNumber(track);
+                    albumTrack.setAlbumName("Album " + album);
+                    albumTrack.setSongTitle("Song " + (album * 7 + track) % 50_000);
+                    writer.add(albumTrack);
+                }
+            }
+            writer.write(file);
+
+            long openStart = System.nanoTime();
+            SnapshotAlbumTrackStore albumTrackStore = new SnapshotAlbumTrackStore(file);
+            long openNanos = System.nanoTime() - openStart;
+            System.out.println(String.format("%d tracks, %d MB, opened in %.3f ms",
+                    albumTrackStore.getAlbumTrackCount(), Files.size(file) >> 20, openNanos / 1e6));
+
+            Random random = new Random(42);
+            String[] asins = new String[LOOKUPS];
+            int[] trackNumbers = new int[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                asins[i] = asin(random.nextInt(ALBUMS));
+                trackNumbers[i] = 1 + random.nextInt(TRACKS_PER_ALBUM);
+            }
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < LOOKUPS; i++) {
+                    albumTrackStore.getAlbumTrack(asins[i], trackNumbers[i]);
+                }
+                System.out.println(String.format("round %d: %.0f ns per lookup", round,
+                        (System.nanoTime() - start) / (double) LOOKUPS));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.AlbumTrackKey;
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.exceptions.AlbumTrackNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnapshotAlbumTrackStoreTest {
+    @TempDir
+    Path directory;
+
+    private SnapshotAlbumTrackStore albumTrackStore;
+
+    private static AlbumTrack albumTrack(String asin, int trackNumber, String albumName, String songTitle) {
+        AlbumTrack albumTrack = new AlbumTrack();
+        albumTrack.setAsin(asin);
+        albumTrack.setTrackNumber(trackNumber);
+        albumTrack.setAlbumName(albumName);
+        albumTrack.setSongTitle(songTitle);
+        return albumTrack;
+    }
+
+    @BeforeEach
+    public void setup() throws IOException {
+        CatalogSnapshotWriter writer = new CatalogSnapshotWriter();
+        writer.add(albumTrack("B2", 2, "Second", "Two"));
+        writer.add(albumTrack("B1", 10, "First", "Ten"));
+        writer.add(albumTrack("B1", 2, "First", "Old two"));
+        writer.add(albumTrack("B1", 2, "First", "Two"));
+        writer.add(albumTrack("B\u00e9", 1, "Caf\u00e9", null));
+        writer.add(albumTrack("B\ud83c\udfb5", 1, "Notes", "\u266a"));
+        Path file = directory.resolve("album_tracks.snapshot");
+        assertEquals(5, writer.write(file));
+        albumTrackStore = new SnapshotAlbumTrackStore(file);
+    }
+
+    @Test
+    void getAlbumTrack_inSnapshot_returnsLatestAddedTrack() {
+        // WHEN
+        AlbumTrack albumTrack = albumTrackStore.getAlbumTrack("B1", 2);
+
+        // THEN
+        assertEquals("B1", albumTrack.getAsin());
+        assertEquals(2, albumTrack.getTrackNumber());
+        assertEquals("First", albumTrack.getAlbumName());
+        assertEquals("Two", albumTrack.getSongTitle());
+        assertEquals(5, albumTrackStore.getAlbumTrackCount());
+    }
+
+    @Test
+    void getAlbumTrack_nonAsciiStrings_roundTrips() {
+        // WHEN
+        AlbumTrack accented = albumTrackStore.getAlbumTrack("B\u00e9", 1);
+        AlbumTrack supplementary = albumTrackStore.getAlbumTrack("B\ud83c\udfb5", 1);
+
+        // THEN
+        assertEquals("Caf\u00e9", accented.getAlbumName());
+        assertNull(accented.getSongTitle());
+        assertEquals("\u266a", supplementary.getSongTitle());
+    }
+
+    @Test
+    void getAlbumTrack_notInSnapshot_throwsAlbumTrackNotFoundException() {
+        // WHEN + THEN
+        assertThrows(AlbumTrackNotFoundException.class, () -> albumTrackStore.getAlbumTrack("B1", 3));
+        assertThrows(AlbumTrackNotFoundException.class, () -> albumTrackStore.getAlbumTrack("B", 2));
+        assertThrows(AlbumTrackNotFoundException.class, () -> albumTrackStore.getAlbumTrack("B10", 10));
+    }
+
+    @Test
+    void getAlbumTracks_someMissing_returnsNullInTheirPositions() {
+        // WHEN
+        List<AlbumTrack> albumTracks = albumTrackStore.getAlbumTracks(Arrays.asList(
+                new AlbumTrackKey("B2", 2), new AlbumTrackKey("B3", 1), new AlbumTrackKey("B1", 10)));
+
+        // THEN
+        assertEquals("Two", albumTracks.get(0).getSongTitle());
+        assertNull(albumTracks.get(1));
+        assertEquals("Ten", albumTracks.get(2).getSongTitle());
+    }
+
+    @Test
+    void constructor_notASnapshot_throwsIllegalArgumentException() throws IOException {
+        // GIVEN
+        Path file = Files.write(directory.resolve("other.db"), new byte[64]);
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotAlbumTrackStore(file));
+    }
+}
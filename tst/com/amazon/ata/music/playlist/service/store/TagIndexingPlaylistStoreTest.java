@@ -0,0 +1,71 @@
+package com.amazon.ata.music.playlist.service.store;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.Playlist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class TagIndexingPlaylistStoreTest {
+    @Mock
+    private PlaylistStore delegate;
+
+    private PlaylistTagIndex tagIndex;
+    private TagIndexingPlaylistStore playlistStore;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        tagIndex = new PlaylistTagIndex();
+        playlistStore = new TagIndexingPlaylistStore(delegate, tagIndex);
+    }
+
+    private static Playlist playlistWithTag(String tag) {
+        Playlist playlist = new Playlist();
+        playlist.setId("id");
+        playlist.setTags(Collections.singleton(tag));
+        return playlist;
+    }
+
+    @Test
+    void savePlaylist_concurrentSavesOfOnePlaylist_indexesTheTagsOfTheLastSave() throws Exception {
+        // GIVEN
+        CountDownLatch firstSaveStored = new CountDownLatch(1);
+        CountDownLatch releaseFirstSave = new CountDownLatch(1);
+        when(delegate.savePlaylist(any())).thenAnswer(invocation -> {
+            Playlist playlist = invocation.getArgument(0);
+            if (playlist.getTags().contains("first")) {
+                // the first save reaches the store, then stalls before it returns
+                firstSaveStored.countDown();
+                releaseFirstSave.await(5, TimeUnit.SECONDS);
+            }
+            return playlist;
+        });
+        Thread firstSave = new Thread(() -> playlistStore.savePlaylist(playlistWithTag("first")));
+        firstSave.start();
+        assertTrue(firstSaveStored.await(5, TimeUnit.SECONDS));
+        Thread secondSave = new Thread(() -> playlistStore.savePlaylist(playlistWithTag("second")));
+        secondSave.start();
+
+        // WHEN
+        while (secondSave.getState() != Thread.State.WAITING && secondSave.isAlive()) {
+            Thread.sleep(1);
+        }
+        releaseFirstSave.countDown();
+        firstSave.join(5_000);
+        secondSave.join(5_000);
+
+        // THEN
+        assertEquals(0, tagIndex.getPlaylistCount("first"));
+        assertEquals(1, tagIndex.getPlaylistCount("second"));
+    }
+}
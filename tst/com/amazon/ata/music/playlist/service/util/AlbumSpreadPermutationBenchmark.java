@@ -0,0 +1,62 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.models.SongOrder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Times SMART_SHUFFLED listings of 10k-song playlists, and counts how often each of SHUFFLED and
+ * SMART_SHUFFLED lists two songs of the same album back to back. Run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+public class AlbumSpreadPermutationBenchmark {
+    private static final int SONGS = 10_000;
+    private static final int[] ALBUMS = {10, 500, 5_000};
+    private static final int ROUNDS = 200;
+
+    @Test
+    void smartShuffle_10kSongs_printsTimeAndRepeats() {
+        for (int albums : ALBUMS) {
+            // album sizes vary from 1 to about twice the average
+            Random random = new Random(albums);
+            List<AlbumTrack> songs = new ArrayList<>(SONGS);
+            for (int i = 0; i < SONGS; i++) {
+                AlbumTrack song = new AlbumTrack();
+                int album = (int) (albums * Math.sqrt(random.nextDouble()));
+                song.setAsin("B" + album);
+                song.setTrackNumber(i);
+                songs.add(song);
+            }
+
+            long smartNanos = 0;
+            long smartRepeats = 0;
+            long shuffledRepeats = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                SongPermutation smart = SongPermutations.of(SongOrder.SMART_SHUFFLED, round, songs);
+                smartNanos += System.nanoTime() - start;
+                smartRepeats += repeats(songs, smart);
+                shuffledRepeats += repeats(songs, SongPermutations.of(SongOrder.SHUFFLED, round, songs));
+            }
+            System.out.println(String.format("%5d albums: smart shuffle %8.1f us;  back-to-back repeats:"
+                    + " smart %7.1f  shuffled %7.1f", albums, smartNanos / 1e3 / ROUNDS,
+                    smartRepeats / (double) ROUNDS, shuffledRepeats / (double) ROUNDS));
+        }
+    }
+
+    private static int repeats(List<AlbumTrack> songs, SongPermutation permutation) {
+        int repeats = 0;
+        for (int position = 1; position < permutation.size(); position++) {
+            if (songs.get(permutation.indexAt(position)).getAsin()
+                    .equals(songs.get(permutation.indexAt(position - 1)).getAsin())) {
+                repeats++;
+            }
+        }
+        return repeats;
+    }
+}
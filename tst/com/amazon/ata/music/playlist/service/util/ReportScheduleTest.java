@@ -0,0 +1,55 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReportScheduleTest {
+    private AtomicLong nanos;
+    private ReportSchedule reportSchedule;
+
+    @BeforeEach
+    public void setup() {
+        nanos = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        reportSchedule = new ReportSchedule(Duration.ofSeconds(60), ticker);
+    }
+
+    @Test
+    void tryReport_beforeInterval_returnsFalse() {
+        // GIVEN
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+
+        // WHEN + THEN
+        assertFalse(reportSchedule.tryReport());
+    }
+
+    @Test
+    void tryReport_afterInterval_returnsTrueOnceUntilTheNextInterval() {
+        // GIVEN
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // WHEN
+        boolean first = reportSchedule.tryReport();
+        boolean second = reportSchedule.tryReport();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        boolean nextInterval = reportSchedule.tryReport();
+
+        // THEN
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(nextInterval);
+    }
+}
@@ -0,0 +1,104 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.models.SongOrder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares listing a shuffled playlist through {@link FeistelPermutation} with a Fisher-Yates shuffle of an
+ * index array, and with Collections.shuffle of a LinkedList copy, for the whole playlist and for its last
+ * page of 20 songs. Run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+public class SongPermutationBenchmark {
+    private static final int[] SIZES = {100, 2_500, 100_000};
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 200;
+
+    private long sink;
+
+    @Test
+    void shuffle_playlistSizes_printsTimePerListing() {
+        for (int size : SIZES) {
+            List<AlbumTrack> songs = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                AlbumTrack albumTrack = new AlbumTrack();
+                albumTrack.setTrackNumber(i);
+                songs.add(albumTrack);
+            }
+            int lastPage = size - PAGE_SIZE;
+
+            long feistelWhole = 0;
+            long feistelPage = 0;
+            long fisherYatesPage = 0;
+            long linkedListWhole = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                list(songs, SongPermutations.of(SongOrder.SHUFFLED, round, songs), 0);
+                feistelWhole += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                list(songs, SongPermutations.of(SongOrder.SHUFFLED, round, songs), lastPage);
+                feistelPage += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                list(songs, fisherYates(round, size), lastPage);
+                fisherYatesPage += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                List<AlbumTrack> shuffled = new LinkedList<>(songs);
+                Collections.shuffle(shuffled, new Random(round));
+                for (AlbumTrack albumTrack : shuffled) {
+                    sink += albumTrack.getTrackNumber();
+                }
+                linkedListWhole += System.nanoTime() - start;
+            }
+            System.out.println(String.format("%7d songs, whole: Feistel %9.1f us  LinkedList shuffle %9.1f us;"
+                    + "  last page: Feistel %7.2f us  Fisher-Yates %9.1f us", size,
+                    feistelWhole / 1e3 / ROUNDS, linkedListWhole / 1e3 / ROUNDS,
+                    feistelPage / 1e3 / ROUNDS, fisherYatesPage / 1e3 / ROUNDS));
+        }
+        System.out.println(sink % 10);
+    }
+
+    private void list(List<AlbumTrack> songs, SongPermutation permutation, int start) {
+        for (int position = start; position < permutation.size(); position++) {
+            sink += songs.get(permutation.indexAt(position)).getTrackNumber();
+        }
+    }
+
+    /**
+     * The shuffle a page costs without a lazy permutation: every index, shuffled in place.
+     */
+    private static SongPermutation fisherYates(long seed, int size) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swapped;
+        }
+        return new SongPermutation() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public int indexAt(int position) {
+                return indexes[position];
+            }
+        };
+    }
+}
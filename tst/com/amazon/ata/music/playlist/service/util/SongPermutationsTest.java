@@ -0,0 +1,123 @@
+package com.amazon.ata.music.playlist.service.util;
+
+import com.amazon.ata.music.playlist.service.dynamodb.models.AlbumTrack;
+import com.amazon.ata.music.playlist.service.models.SongOrder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SongPermutationsTest {
+    /**
+     * Builds albums * tracksPerAlbum songs, with every album's tracks stored together.
+     */
+    private static List<AlbumTrack> songs(int albums, int tracksPerAlbum) {
+        List<AlbumTrack> songs = new ArrayList<>();
+        for (int album = 0; album < albums; album++) {
+            for (int track = 1; track <= tracksPerAlbum; track++) {
+                AlbumTrack song = new AlbumTrack();
+                song.setAsin("B" + album);
+                song.setTrackNumber(track);
+                songs.add(song);
+            }
+        }
+        return songs;
+    }
+
+    private static int[] indexes(SongPermutation permutation) {
+        int[] indexes = new int[permutation.size()];
+        for (int position = 0; position < indexes.length; position++) {
+            indexes[position] = permutation.indexAt(position);
+        }
+        return indexes;
+    }
+
+    private static void assertIsPermutation(int[] indexes) {
+        BitSet seen = new BitSet(indexes.length);
+        for (int index : indexes) {
+            assertTrue(index >= 0 && index < indexes.length, "Index out of range " + index);
+            assertFalse(seen.get(index), "Index listed twice " + index);
+            seen.set(index);
+        }
+    }
+
+    @Test
+    void of_defaultAndReversed_listStoredOrderForwardsAndBackwards() {
+        // WHEN + THEN
+        assertArrayEquals(new int[] {0, 1, 2, 3}, indexes(SongPermutations.of(SongOrder.DEFAULT, 7, songs(4, 1))));
+        assertArrayEquals(new int[] {3, 2, 1, 0}, indexes(SongPermutations.of(SongOrder.REVERSED, 7, songs(4, 1))));
+    }
+
+    @Test
+    void of_shuffledWithSameSeed_listsSamePermutation() {
+        // WHEN
+        int[] first = indexes(SongPermutations.of(SongOrder.SHUFFLED, 42, songs(500, 1)));
+        int[] second = indexes(SongPermutations.of(SongOrder.SHUFFLED, 42, songs(500, 1)));
+        int[] otherSeed = indexes(SongPermutations.of(SongOrder.SHUFFLED, 43, songs(500, 1)));
+
+        // THEN
+        assertIsPermutation(first);
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, otherSeed), "Expected another seed to shuffle differently");
+    }
+
+    @Test
+    void of_shuffledAnySize_listsEveryIndexOnce() {
+        for (int size = 0; size <= 300; size++) {
+            // WHEN + THEN
+            assertIsPermutation(indexes(SongPermutations.of(SongOrder.SHUFFLED, size * 31L, songs(size, 1))));
+        }
+    }
+
+    @Test
+    void of_shuffledSmallLists_listsEveryIndex() {
+        // WHEN + THEN
+        assertEquals(0, SongPermutations.of(SongOrder.SHUFFLED, 1, songs(0, 1)).size());
+        assertArrayEquals(new int[] {0}, indexes(SongPermutations.of(SongOrder.SHUFFLED, 1, songs(1, 1))));
+        assertIsPermutation(indexes(SongPermutations.of(SongOrder.SHUFFLED, 1, songs(2, 1))));
+    }
+
+    @Test
+    void of_smartShuffledEqualSizeAlbums_neverListsAnAlbumTwiceInARow() {
+        // GIVEN
+        List<AlbumTrack> songs = songs(5, 6);
+
+        for (long seed = 0; seed < 50; seed++) {
+            // WHEN
+            int[] indexes = indexes(SongPermutations.of(SongOrder.SMART_SHUFFLED, seed, songs));
+
+            // THEN
+            assertIsPermutation(indexes);
+            for (int position = 1; position < indexes.length; position++) {
+                assertFalse(songs.get(indexes[position]).getAsin().equals(songs.get(indexes[position - 1]).getAsin()),
+                        "Expected no album twice in a row for seed " + seed + ": " + Arrays.toString(indexes));
+            }
+        }
+    }
+
+    @Test
+    void of_smartShuffledUnevenAlbums_listsEveryIndexOnceForEachSeed() {
+        // GIVEN
+        List<AlbumTrack> songs = songs(3, 7);
+        songs.addAll(songs(1, 2));
+        AlbumTrack withoutAsin = new AlbumTrack();
+        withoutAsin.setAlbumName("Loose tracks");
+        withoutAsin.setTrackNumber(1);
+        songs.add(withoutAsin);
+
+        // WHEN
+        int[] first = indexes(SongPermutations.of(SongOrder.SMART_SHUFFLED, 9, songs));
+        int[] second = indexes(SongPermutations.of(SongOrder.SMART_SHUFFLED, 9, songs));
+
+        // THEN
+        assertIsPermutation(first);
+        assertArrayEquals(first, second);
+    }
+}